@@ -0,0 +1,47 @@
+package ro.lexera.wallet.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import ro.lexera.wallet.config.JacksonConfig;
+import ro.lexera.wallet.config.SigningAlgorithm;
+import ro.lexera.wallet.config.SigningKeyMockProvider;
+import ro.lexera.wallet.service.crypto.SigningExecutor;
+import ro.lexera.wallet.service.crypto.SigningService;
+
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Production components wired by hand, without a Spring context or a database.
+ * <p>
+ * Public for the benchmarks that live in the package of the non-public class they measure.
+ * </p>
+ */
+public final class BenchmarkFixtures {
+
+    /**
+     * Threads of the {@code *Concurrent} variants. Fixed rather than {@code Threads.MAX}, so a run records the same
+     * configuration on every machine: on fewer cores the threads are time-sliced, which still exercises contention.
+     */
+    public static final int CONCURRENT_THREADS = 4;
+
+    public static final String ROOT_IDENTITY_HASH = "a591a6d40bf420404a011733cfb7b190d62c65bf0bcda32b57b277d9ad9f146e";
+
+    public static final Map<String, Object> DIPLOMA_CLAIMS = Map.of(
+            "degree", "Bachelor of Science",
+            "university", "University of Bucharest",
+            "graduationYear", 2024);
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * A signing service backed by an in-memory key ring (no rotation, no persistence) and an inline signing executor.
+     */
+    static SigningService signingService(SigningAlgorithm algorithm) throws GeneralSecurityException {
+        SigningKeyMockProvider keyProvider = new SigningKeyMockProvider(algorithm, Duration.ZERO, Duration.ofDays(2), "");
+        SigningExecutor signingExecutor = new SigningExecutor(false, 0, 0, Duration.ofSeconds(1), new SimpleMeterRegistry());
+        return new SigningService(keyProvider, new JacksonConfig().objectMapper(), signingExecutor);
+    }
+
+}
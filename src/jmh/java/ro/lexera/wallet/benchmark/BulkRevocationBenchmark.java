@@ -0,0 +1,101 @@
+package ro.lexera.wallet.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+import ro.lexera.wallet.model.entity.RevocationReason;
+import ro.lexera.wallet.model.entity.StatusRegistryEntity;
+import ro.lexera.wallet.repository.StatusRegistryRepositoryCustom.RevokedStatus;
+import ro.lexera.wallet.repository.StatusRegistryRepositoryCustomImpl;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Bulk revocation against a real PostgreSQL registry, by ID list and by holder.
+ * <p>
+ * Each invocation revokes {@code count} freshly reset credentials in one transaction; divide
+ * {@code count} by the reported time for IDs per second. The database must already hold the
+ * application schema (start the application against it once). Rows are tagged with a random
+ * holder hash and deleted on tear-down. The benchmark is excluded from the default run.
+ * </p>
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="BulkRevocationBenchmark -jvmArgs -Dwallet.benchmark.jdbc-url=jdbc:postgresql://localhost:5432/mydb"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class BulkRevocationBenchmark {
+
+    private static final String RESET_SQL =
+            "UPDATE status_registry SET is_revoked = false, revocation_code = NULL WHERE holder_hash = ?";
+
+    private static final String DELETE_SQL = "DELETE FROM status_registry WHERE holder_hash = ?";
+
+    @Param({"10000", "100000"})
+    private int count;
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private StatusRegistryRepositoryCustomImpl repository;
+    private String holderHash;
+    private List<UUID> credentialIds;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                System.getProperty("wallet.benchmark.jdbc-url", "jdbc:postgresql://localhost:5432/mydb"),
+                System.getProperty("wallet.benchmark.jdbc-user", "postgres"),
+                System.getProperty("wallet.benchmark.jdbc-password", "password"));
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        repository = new StatusRegistryRepositoryCustomImpl(jdbcTemplate);
+
+        holderHash = "benchmark-" + UUID.randomUUID();
+        credentialIds = IntStream.range(0, count).mapToObj(i -> UUID.randomUUID()).toList();
+        transactionTemplate.executeWithoutResult(tx -> repository.insertAll(credentialIds.stream()
+                .map(id -> StatusRegistryEntity.builder().credentialId(id).holderHash(holderHash).build())
+                .toList()));
+    }
+
+    @Setup(Level.Invocation)
+    public void reset() {
+        jdbcTemplate.update(RESET_SQL, holderHash);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        jdbcTemplate.update(DELETE_SQL, holderHash);
+    }
+
+    @Benchmark
+    public List<RevokedStatus> revokeByIds() {
+        return transactionTemplate.execute(tx -> repository.revokeAll(credentialIds, RevocationReason.SUPERSEDED));
+    }
+
+    @Benchmark
+    public List<RevokedStatus> revokeByHolder() {
+        return transactionTemplate.execute(tx -> repository.revokeAllByHolderHash(holderHash, RevocationReason.SUPERSEDED));
+    }
+
+}
@@ -0,0 +1,56 @@
+package ro.lexera.wallet.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import ro.lexera.wallet.service.issuance.CredentialIdGenerator;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JTI generation: random version 4 UUIDs versus time-ordered version 7 ({@link CredentialIdGenerator}).
+ * The concurrent variants show the cost of the shared counter under contention.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CredentialIdBenchmark {
+
+    private final CredentialIdGenerator generator = new CredentialIdGenerator();
+
+    @Benchmark
+    @Threads(1)
+    public UUID randomV4() {
+        return UUID.randomUUID();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public UUID timeOrderedV7() {
+        return generator.next();
+    }
+
+    @Benchmark
+    @Threads(BenchmarkFixtures.CONCURRENT_THREADS)
+    public UUID randomV4Concurrent() {
+        return randomV4();
+    }
+
+    @Benchmark
+    @Threads(BenchmarkFixtures.CONCURRENT_THREADS)
+    public UUID timeOrderedV7Concurrent() {
+        return timeOrderedV7();
+    }
+
+}
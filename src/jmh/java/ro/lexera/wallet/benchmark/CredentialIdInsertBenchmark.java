@@ -0,0 +1,111 @@
+package ro.lexera.wallet.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import ro.lexera.wallet.service.issuance.CredentialIdGenerator;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Primary-key insert cost of random (v4) versus time-ordered (v7) JTIs on a large table in PostgreSQL.
+ * <p>
+ * A scratch table keyed like {@code status_registry} is pre-filled with {@code tableSize} rows, then each
+ * invocation inserts a batch of {@value #BATCH_SIZE} new rows; divide by the reported time for rows per second.
+ * At tear-down the primary key index size and its average leaf density are printed: random keys split pages
+ * all over the tree and leave them half full, time-ordered keys fill the rightmost page. Needs the
+ * {@code pgstattuple} extension for the density figure; the table is dropped afterwards. Excluded from the
+ * default run.
+ * </p>
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="CredentialIdInsertBenchmark -jvmArgs -Dwallet.benchmark.jdbc-url=jdbc:postgresql://localhost:5432/mydb"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 20)
+@Fork(1)
+public class CredentialIdInsertBenchmark {
+
+    static final int BATCH_SIZE = 10_000;
+
+    private static final String INSERT_SQL = "INSERT INTO %s (credential_id, status_index) VALUES (?, ?)";
+
+    public enum IdVersion {
+        V4, V7
+    }
+
+    @Param({"V4", "V7"})
+    private IdVersion idVersion;
+
+    @Param({"5000000"})
+    private int tableSize;
+
+    private JdbcTemplate jdbcTemplate;
+    private Supplier<UUID> ids;
+    private String table;
+    private String insertSql;
+    private long nextIndex;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                System.getProperty("wallet.benchmark.jdbc-url", "jdbc:postgresql://localhost:5432/mydb"),
+                System.getProperty("wallet.benchmark.jdbc-user", "postgres"),
+                System.getProperty("wallet.benchmark.jdbc-password", "password"));
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        CredentialIdGenerator generator = new CredentialIdGenerator();
+        ids = idVersion == IdVersion.V4 ? UUID::randomUUID : generator::next;
+
+        table = "benchmark_jti_" + idVersion.name().toLowerCase();
+        insertSql = INSERT_SQL.formatted(table);
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + table);
+        jdbcTemplate.execute("CREATE TABLE " + table + " (credential_id UUID PRIMARY KEY, status_index BIGINT)");
+        for (int filled = 0; filled < tableSize; filled += BATCH_SIZE) {
+            insertBatch();
+        }
+        jdbcTemplate.execute("VACUUM ANALYZE " + table);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        Long indexBytes = jdbcTemplate.queryForObject("SELECT pg_relation_size('" + table + "_pkey')", Long.class);
+        System.out.printf("%n%s: %d rows, primary key index %d MiB%n", idVersion, nextIndex, indexBytes / (1024 * 1024));
+        try {
+            jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS pgstattuple");
+            Double density = jdbcTemplate.queryForObject(
+                    "SELECT avg_leaf_density FROM pgstatindex('" + table + "_pkey')", Double.class);
+            System.out.printf("%s: average leaf density %.1f%%%n", idVersion, density);
+        } catch (RuntimeException ex) {
+            System.out.println("pgstattuple is not available, leaf density skipped");
+        }
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + table);
+    }
+
+    @Benchmark
+    public int[] insertBatch() {
+        List<Object[]> rows = Stream.generate(() -> new Object[]{ids.get(), nextIndex++})
+                .limit(BATCH_SIZE)
+                .toList();
+        return jdbcTemplate.batchUpdate(insertSql, rows);
+    }
+
+}
@@ -0,0 +1,67 @@
+package ro.lexera.wallet.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+import ro.lexera.wallet.service.identity.IdentityService;
+import ro.lexera.wallet.service.identity.LegalIdentity;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Root Identity Hash derivation, one at a time ({@link IdentityService#createRootHash}) and in bulk
+ * ({@link IdentityService#createRootHashes}, reported per batch of {@value #BATCH_SIZE}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IdentityBenchmark {
+
+    static final int BATCH_SIZE = 100_000;
+
+    private IdentityService identityService;
+    private List<LegalIdentity> batch;
+
+    @Setup
+    public void setup() {
+        identityService = new IdentityService(null, null); // hashing never touches the repository or the filter
+        ReflectionTestUtils.setField(identityService, "secretSalt", "super-secret-salt");
+        batch = IntStream.range(0, BATCH_SIZE)
+                .mapToObj(i -> new LegalIdentity("Ion Andrei", "Popescu", String.valueOf(1960512000000L + i)))
+                .toList();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String createRootHash() {
+        return identityService.createRootHash("Ion Andrei", "Popescu", "1960512123456");
+    }
+
+    @Benchmark
+    @Threads(BenchmarkFixtures.CONCURRENT_THREADS)
+    public String createRootHashConcurrent() {
+        return createRootHash();
+    }
+
+    @Benchmark
+    @Threads(1)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<String> createRootHashes() {
+        return identityService.createRootHashes(batch);
+    }
+
+}
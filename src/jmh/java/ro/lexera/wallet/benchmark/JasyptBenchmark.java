@@ -0,0 +1,83 @@
+package ro.lexera.wallet.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.env.MockEnvironment;
+import ro.lexera.wallet.util.JasyptAttributeConverter;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PII column encryption and decryption through {@link JasyptAttributeConverter}, per field, in legacy
+ * {@code JASYPT} (PBEWithMD5AndDES) and {@code AES_GCM} mode. {@code decryptLegacy} reads a Jasypt value in
+ * either mode, as for rows not yet re-encrypted.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JasyptBenchmark {
+
+    private static final String NATIONAL_ID = "1960512123456";
+
+    @Param({"JASYPT", "AES_GCM"})
+    private String mode;
+
+    private JasyptAttributeConverter converter;
+    private String encrypted;
+    private String legacyEncrypted;
+
+    @Setup
+    public void setup() {
+        converter = new JasyptAttributeConverter(new MockEnvironment()
+                .withProperty("jasypt.encryptor.password", "benchmark-password")
+                .withProperty("wallet.pii.encryption.mode", mode));
+        encrypted = converter.convertToDatabaseColumn(NATIONAL_ID);
+        legacyEncrypted = new JasyptAttributeConverter(new MockEnvironment()
+                .withProperty("jasypt.encryptor.password", "benchmark-password"))
+                .convertToDatabaseColumn(NATIONAL_ID);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String encrypt() {
+        return converter.convertToDatabaseColumn(NATIONAL_ID);
+    }
+
+    @Benchmark
+    @Threads(BenchmarkFixtures.CONCURRENT_THREADS)
+    public String encryptConcurrent() {
+        return encrypt();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String decrypt() {
+        return converter.convertToEntityAttribute(encrypted);
+    }
+
+    @Benchmark
+    @Threads(BenchmarkFixtures.CONCURRENT_THREADS)
+    public String decryptConcurrent() {
+        return decrypt();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String decryptLegacy() {
+        return converter.convertToEntityAttribute(legacyEncrypted);
+    }
+
+}
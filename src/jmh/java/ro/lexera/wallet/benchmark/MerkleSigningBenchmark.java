@@ -0,0 +1,91 @@
+package ro.lexera.wallet.benchmark;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import ro.lexera.wallet.config.SigningAlgorithm;
+import ro.lexera.wallet.service.crypto.CredentialPayload;
+import ro.lexera.wallet.service.crypto.SigningService;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Per-credential JWS signing versus one Merkle-root signature per batch.
+ * <p>
+ * Both benchmarks sign a whole batch per invocation. The {@code credentials} secondary result is
+ * the number of credentials signed per second, i.e. the amortised cost per credential.
+ * </p>
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="MerkleSigningBenchmark"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class MerkleSigningBenchmark {
+
+    @Param({"1", "10", "100", "1000", "10000"})
+    private int batchSize;
+
+    @Param({"RS256", "ES256", "EdDSA"})
+    private SigningAlgorithm algorithm;
+
+    private SigningService signingService;
+    private List<CredentialPayload> credentials;
+
+    @Setup
+    public void setup() throws Exception {
+        signingService = BenchmarkFixtures.signingService(algorithm);
+        credentials = IntStream.range(0, batchSize)
+                .mapToObj(i -> new CredentialPayload(
+                        BenchmarkFixtures.ROOT_IDENTITY_HASH, "UNIVERSITY_DIPLOMA", BenchmarkFixtures.DIPLOMA_CLAIMS, UUID.randomUUID()))
+                .toList();
+    }
+
+    @Benchmark
+    public void perCredential(SignedCredentials signed, Blackhole blackhole) {
+        for (CredentialPayload credential : credentials) {
+            blackhole.consume(signingService.signCredential(
+                    credential.subjectId(), credential.docType(), credential.claims(), credential.jti()));
+        }
+        signed.credentials += batchSize;
+    }
+
+    @Benchmark
+    public void merkleBatch(SignedCredentials signed, Blackhole blackhole) {
+        blackhole.consume(signingService.signCredentialBatch(credentials));
+        signed.credentials += batchSize;
+    }
+
+    /**
+     * Reported by JMH as a rate next to the per-batch throughput.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class SignedCredentials {
+        public long credentials;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            credentials = 0;
+        }
+    }
+
+}
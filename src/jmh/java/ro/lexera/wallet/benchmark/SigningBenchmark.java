@@ -0,0 +1,77 @@
+package ro.lexera.wallet.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import ro.lexera.wallet.config.SigningAlgorithm;
+import ro.lexera.wallet.service.crypto.SigningService;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link SigningService} credential and status-proof signing, per algorithm.
+ * <p>
+ * The {@code *Concurrent} variants run on every available core against one shared service,
+ * which exercises the signer pool and key-ring lookups under contention.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SigningBenchmark {
+
+    @Param({"RS256", "ES256", "EdDSA"})
+    private SigningAlgorithm algorithm;
+
+    private SigningService signingService;
+    private UUID credentialId;
+    private Map<String, Object> statusClaims;
+
+    @Setup
+    public void setup() throws Exception {
+        signingService = BenchmarkFixtures.signingService(algorithm);
+        credentialId = UUID.randomUUID();
+        statusClaims = Map.of("status", "VALID", "verifiedAt", Instant.now());
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String signCredential() {
+        return signingService.signCredential(BenchmarkFixtures.ROOT_IDENTITY_HASH, "UNIVERSITY_DIPLOMA",
+                BenchmarkFixtures.DIPLOMA_CLAIMS, credentialId);
+    }
+
+    @Benchmark
+    @Threads(BenchmarkFixtures.CONCURRENT_THREADS)
+    public String signCredentialConcurrent() {
+        return signCredential();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String signStatusProof() {
+        return signingService.signStatusProof(credentialId.toString(), statusClaims);
+    }
+
+    @Benchmark
+    @Threads(BenchmarkFixtures.CONCURRENT_THREADS)
+    public String signStatusProofConcurrent() {
+        return signStatusProof();
+    }
+
+}
@@ -0,0 +1,61 @@
+package ro.lexera.wallet.service.crypto;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import ro.lexera.wallet.benchmark.BenchmarkFixtures;
+import ro.lexera.wallet.config.JacksonConfig;
+import ro.lexera.wallet.config.SigningAlgorithm;
+import ro.lexera.wallet.config.SigningKey;
+
+import java.security.GeneralSecurityException;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWT claim serialization as {@link SigningService} runs it: a credential payload streamed into the pooled
+ * buffers of a {@link CompactJwsSigner}, without the signature. Lives in the package of {@link CompactJwsSigner},
+ * which is not public.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtSerializerBenchmark {
+
+    private CompactJwsSigner signer;
+    private CredentialPayload credential;
+    private long issuedAt;
+
+    @Setup
+    public void setup() throws GeneralSecurityException {
+        signer = new CompactJwsSigner(SigningKey.generate(SigningAlgorithm.ES256, Instant.now()), new JacksonConfig().objectMapper());
+        credential = new CredentialPayload(BenchmarkFixtures.ROOT_IDENTITY_HASH, "UNIVERSITY_DIPLOMA",
+                BenchmarkFixtures.DIPLOMA_CLAIMS, UUID.randomUUID());
+        issuedAt = Instant.now().getEpochSecond();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public byte[] serialize() {
+        return signer.serialize(json -> SigningService.writeCredential(json, credential, issuedAt));
+    }
+
+    @Benchmark
+    @Threads(BenchmarkFixtures.CONCURRENT_THREADS)
+    public byte[] serializeConcurrent() {
+        return serialize();
+    }
+
+}
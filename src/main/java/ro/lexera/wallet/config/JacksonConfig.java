@@ -3,12 +3,9 @@ package ro.lexera.wallet.config;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
-import io.jsonwebtoken.jackson.io.JacksonSerializer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
-import java.util.Map;
-
 @Configuration
 public class JacksonConfig {
 
@@ -18,9 +15,4 @@ public class JacksonConfig {
                 .registerModule(new JavaTimeModule())
                 .configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
     }
-
-    @Bean
-    public JacksonSerializer<Map<String, ?>> jwtSerializer(ObjectMapper objectMapper) {
-        return new JacksonSerializer<>(objectMapper);
-    }
 }
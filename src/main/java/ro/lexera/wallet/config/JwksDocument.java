@@ -0,0 +1,10 @@
+package ro.lexera.wallet.config;
+
+/**
+ * Pre-rendered JSON Web Key Set, rebuilt only when the key ring changes.
+ *
+ * @param body The UTF-8 encoded {@code {"keys":[...]}} document.
+ * @param eTag A strong entity tag (quoted Base64URL SHA-256 of {@code body}) for conditional requests.
+ */
+public record JwksDocument(byte[] body, String eTag) {
+}
@@ -0,0 +1,124 @@
+package ro.lexera.wallet.config;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.OctetKeyPair;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.util.Base64URL;
+import io.jsonwebtoken.Jwts;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Arrays;
+
+/**
+ * JWS signature algorithms supported by the Lexera issuer.
+ * <p>
+ * The algorithm is selected through {@code wallet.signing.algorithm} and drives both key
+ * generation and the {@code alg}/{@code kty} published to Verifiers. RSA remains the default
+ * for compatibility; {@link #ES256} and {@link #EdDSA} produce several times cheaper
+ * signatures and considerably shorter tokens.
+ * </p>
+ */
+public enum SigningAlgorithm {
+
+    /** RSASSA-PKCS1-v1_5 with SHA-256 over a 2048-bit RSA key. */
+    RS256("RSA", "SHA256withRSA", Jwts.SIG.RS256),
+
+    /** ECDSA with SHA-256 over the NIST P-256 curve. */
+    ES256("EC", "SHA256withECDSAinP1363Format", Jwts.SIG.ES256),
+
+    /** Edwards-curve signatures over Ed25519. */
+    EdDSA("Ed25519", "Ed25519", Jwts.SIG.EdDSA);
+
+    private static final int ED25519_KEY_LENGTH = 32;
+
+    private final String keyAlgorithm;
+    private final String jcaName;
+    private final io.jsonwebtoken.security.SignatureAlgorithm jwtAlgorithm;
+
+    SigningAlgorithm(String keyAlgorithm, String jcaName, io.jsonwebtoken.security.SignatureAlgorithm jwtAlgorithm) {
+        this.keyAlgorithm = keyAlgorithm;
+        this.jcaName = jcaName;
+        this.jwtAlgorithm = jwtAlgorithm;
+    }
+
+    /**
+     * @return The JCA {@link java.security.KeyFactory} / {@link KeyPairGenerator} algorithm of the keys.
+     */
+    public String keyAlgorithm() {
+        return keyAlgorithm;
+    }
+
+    /**
+     * @return The JCA {@link java.security.Signature} name producing JWS-compatible signature bytes.
+     */
+    public String jcaName() {
+        return jcaName;
+    }
+
+    /**
+     * @return The matching JJWT algorithm, used when building or parsing tokens with JJWT.
+     */
+    public io.jsonwebtoken.security.SignatureAlgorithm jwtAlgorithm() {
+        return jwtAlgorithm;
+    }
+
+    /**
+     * Generates a fresh key pair suitable for this algorithm.
+     *
+     * @return The generated {@link KeyPair}.
+     * @throws GeneralSecurityException If the algorithm or curve is not available in the current JVM.
+     */
+    public KeyPair generateKeyPair() throws GeneralSecurityException {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance(keyAlgorithm);
+        switch (this) {
+            case RS256 -> generator.initialize(2048);
+            case ES256 -> generator.initialize(new ECGenParameterSpec("secp256r1"));
+            case EdDSA -> { } // Ed25519 has a single parameter set
+        }
+        return generator.generateKeyPair();
+    }
+
+    /**
+     * Exports a public key of this algorithm as a JSON Web Key.
+     *
+     * @param publicKey The public half of a key pair generated for this algorithm.
+     * @param keyId     The {@code kid} under which Verifiers will look the key up.
+     * @return The public {@link JWK} (kty {@code RSA}, {@code EC} or {@code OKP}).
+     */
+    public JWK toPublicJwk(PublicKey publicKey, String keyId) {
+        return switch (this) {
+            case RS256 -> new RSAKey.Builder((RSAPublicKey) publicKey)
+                    .keyID(keyId)
+                    .keyUse(KeyUse.SIGNATURE)
+                    .algorithm(JWSAlgorithm.RS256)
+                    .build();
+            case ES256 -> new ECKey.Builder(Curve.P_256, (ECPublicKey) publicKey)
+                    .keyID(keyId)
+                    .keyUse(KeyUse.SIGNATURE)
+                    .algorithm(JWSAlgorithm.ES256)
+                    .build();
+            case EdDSA -> new OctetKeyPair.Builder(Curve.Ed25519, Base64URL.encode(rawEd25519Key(publicKey)))
+                    .keyID(keyId)
+                    .keyUse(KeyUse.SIGNATURE)
+                    .algorithm(JWSAlgorithm.EdDSA)
+                    .build();
+        };
+    }
+
+    // The X.509 encoding of an Ed25519 key is a fixed 12-byte prefix followed by the raw 32-byte point
+    private static byte[] rawEd25519Key(PublicKey publicKey) {
+        byte[] encoded = publicKey.getEncoded();
+        return Arrays.copyOfRange(encoded, encoded.length - ED25519_KEY_LENGTH, encoded.length);
+    }
+
+}
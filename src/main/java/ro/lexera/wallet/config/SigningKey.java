@@ -0,0 +1,82 @@
+package ro.lexera.wallet.config;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.jwk.JWK;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.time.Instant;
+
+/**
+ * A single entry of the issuer's signing key ring.
+ * <p>
+ * The {@code keyId} is the RFC 7638 JWK thumbprint of the public key, so it is derived from the
+ * key material itself and stays stable across restarts and nodes. A key is <i>next</i> until it is
+ * activated, <i>active</i> while it signs new documents and <i>retiring</i> once it has been
+ * replaced but is still published so that previously issued documents keep verifying.
+ * </p>
+ *
+ * @param keyId       The {@code kid} written into JWS headers and published in the JWKS.
+ * @param algorithm   The algorithm this key was generated for.
+ * @param keyPair     The key material.
+ * @param createdAt   When the key was generated.
+ * @param activatedAt When the key started signing, or {@code null} while it is still the next key.
+ * @param retiredAt   When the key stopped signing, or {@code null} while it is not retiring.
+ */
+public record SigningKey(String keyId, SigningAlgorithm algorithm, KeyPair keyPair,
+                         Instant createdAt, Instant activatedAt, Instant retiredAt) {
+
+    /**
+     * Generates a fresh, not yet activated key.
+     *
+     * @param algorithm The algorithm to generate the key for.
+     * @param now       The creation timestamp.
+     * @return The new key, identified by its JWK thumbprint.
+     * @throws GeneralSecurityException If the algorithm is not available in the current JVM.
+     */
+    public static SigningKey generate(SigningAlgorithm algorithm, Instant now) throws GeneralSecurityException {
+        KeyPair keyPair = algorithm.generateKeyPair();
+        return new SigningKey(thumbprint(algorithm, keyPair), algorithm, keyPair, now, null, null);
+    }
+
+    /**
+     * Computes the RFC 7638 thumbprint used as {@code kid} for a key pair.
+     */
+    static String thumbprint(SigningAlgorithm algorithm, KeyPair keyPair) {
+        try {
+            return algorithm.toPublicJwk(keyPair.getPublic(), null).computeThumbprint().toString();
+        } catch (JOSEException ex) {
+            throw new IllegalStateException("Unable to compute the JWK thumbprint of a " + algorithm + " key", ex);
+        }
+    }
+
+    public PrivateKey privateKey() {
+        return keyPair.getPrivate();
+    }
+
+    public PublicKey publicKey() {
+        return keyPair.getPublic();
+    }
+
+    /**
+     * @return The public half of this key as a JWK carrying its {@code kid}.
+     */
+    public JWK toPublicJwk() {
+        return algorithm.toPublicJwk(publicKey(), keyId);
+    }
+
+    public boolean isActivated() {
+        return activatedAt != null;
+    }
+
+    SigningKey activate(Instant now) {
+        return new SigningKey(keyId, algorithm, keyPair, createdAt, now, null);
+    }
+
+    SigningKey retire(Instant now) {
+        return new SigningKey(keyId, algorithm, keyPair, createdAt, activatedAt, now);
+    }
+
+}
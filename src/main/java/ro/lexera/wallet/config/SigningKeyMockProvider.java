@@ -0,0 +1,279 @@
+package ro.lexera.wallet.config;
+
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.MessageDigest;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Properties;
+import java.util.stream.Stream;
+
+/**
+ * Local, software-only signing key ring.
+ * <p>
+ * The ring always holds an <i>active</i> key, a pre-published <i>next</i> key and the <i>retiring</i>
+ * keys replaced within the last {@code wallet.signing.key-retention}. Because the next key is in the
+ * JWKS for a whole rotation interval before it signs anything, Verifiers that cache the key set for
+ * up to {@code wallet.signing.jwks.max-age} never meet an unknown {@code kid}, as long as the
+ * rotation interval is longer than that max-age.
+ * </p>
+ * <p>
+ * When {@code wallet.signing.key-store-dir} is set, the ring is persisted there (one properties file
+ * per {@code kid}, owner-readable only) and reloaded on startup, so restarts do not invalidate issued
+ * credentials. The directory must be owned by a single node; a production deployment should plug an
+ * HSM or Vault-backed {@link SigningKeyProvider} instead.
+ * </p>
+ */
+@Slf4j
+@Configuration
+public class SigningKeyMockProvider implements SigningKeyProvider {
+
+    private static final String KEY_FILE_SUFFIX = ".properties";
+
+    private final SigningAlgorithm algorithm;
+    private final Duration rotationInterval;
+    private final Duration retention;
+    private final Path keyStoreDir;
+    private final Clock clock;
+
+    private volatile KeyRing ring;
+
+    @Autowired
+    public SigningKeyMockProvider(@Value("${wallet.signing.algorithm:RS256}") SigningAlgorithm algorithm,
+                                  @Value("${wallet.signing.rotation-interval:P30D}") Duration rotationInterval,
+                                  @Value("${wallet.signing.key-retention:P2D}") Duration retention,
+                                  @Value("${wallet.signing.key-store-dir:}") String keyStoreDir)
+            throws GeneralSecurityException {
+        this(algorithm, rotationInterval, retention, keyStoreDir.isBlank() ? null : Path.of(keyStoreDir), Clock.systemUTC());
+    }
+
+    SigningKeyMockProvider(SigningAlgorithm algorithm, Duration rotationInterval, Duration retention,
+                           Path keyStoreDir, Clock clock) throws GeneralSecurityException {
+        this.algorithm = algorithm;
+        this.rotationInterval = rotationInterval;
+        this.retention = retention;
+        this.keyStoreDir = keyStoreDir;
+        this.clock = clock;
+        initialize();
+    }
+
+    @Override
+    public SigningKey activeKey() {
+        return ring.active();
+    }
+
+    @Override
+    public List<SigningKey> publishedKeys() {
+        return ring.published();
+    }
+
+    @Override
+    public JwksDocument jwks() {
+        return ring.jwks();
+    }
+
+    /**
+     * Promotes the next key to active, moves the active key to the retiring set and
+     * pre-publishes a freshly generated next key.
+     */
+    public synchronized void rotate() throws GeneralSecurityException {
+        Instant now = clock.instant();
+        KeyRing current = ring;
+
+        List<SigningKey> retiring = new ArrayList<>();
+        retiring.add(current.active().retire(now));
+        retiring.addAll(unexpired(current.retiring(), now));
+
+        publish(current.next().activate(now), SigningKey.generate(algorithm, now), retiring);
+        log.info("Rotated signing key: {} is now active, {} is retiring", ring.active().keyId(), current.active().keyId());
+    }
+
+    /**
+     * Rotates the active key once it has been signing for {@code wallet.signing.rotation-interval}
+     * (a zero interval disables rotation) and drops retiring keys past their retention.
+     */
+    @Scheduled(fixedDelayString = "${wallet.signing.rotation-check-interval:PT1M}")
+    public synchronized void rotateIfDue() throws GeneralSecurityException {
+        Instant now = clock.instant();
+        KeyRing current = ring;
+
+        if (!rotationInterval.isZero() && !now.isBefore(current.active().activatedAt().plus(rotationInterval))) {
+            rotate();
+        } else if (unexpired(current.retiring(), now).size() != current.retiring().size()) {
+            publish(current.active(), current.next(), unexpired(current.retiring(), now));
+        }
+    }
+
+    private void initialize() throws GeneralSecurityException {
+        Instant now = clock.instant();
+        List<SigningKey> stored = keyStoreDir == null ? List.of() : load();
+
+        SigningKey active = stored.stream()
+                .filter(key -> key.isActivated() && key.retiredAt() == null)
+                .max(Comparator.comparing(SigningKey::activatedAt))
+                .orElse(null);
+        SigningKey next = stored.stream()
+                .filter(key -> !key.isActivated() && key.algorithm() == algorithm)
+                .max(Comparator.comparing(SigningKey::createdAt))
+                .orElse(null);
+        List<SigningKey> retiring = new ArrayList<>(unexpired(stored.stream()
+                .filter(key -> key.retiredAt() != null)
+                .toList(), now));
+
+        if (active != null && active.algorithm() != algorithm) {
+            // The configured algorithm changed: keep verifying the old key, stop signing with it
+            retiring.add(0, active.retire(now));
+            active = null;
+        }
+        if (active == null) {
+            active = (next != null ? next : SigningKey.generate(algorithm, now)).activate(now);
+            next = null;
+        }
+        if (next == null) {
+            next = SigningKey.generate(algorithm, now);
+        }
+
+        publish(active, next, retiring);
+    }
+
+    private List<SigningKey> unexpired(List<SigningKey> retiring, Instant now) {
+        return retiring.stream()
+                .filter(key -> now.isBefore(key.retiredAt().plus(retention)))
+                .toList();
+    }
+
+    private void publish(SigningKey active, SigningKey next, List<SigningKey> retiring) {
+        List<SigningKey> published = new ArrayList<>();
+        published.add(active);
+        published.add(next);
+        published.addAll(retiring);
+
+        List<JWK> jwks = published.stream().map(SigningKey::toPublicJwk).toList();
+        byte[] body = new JWKSet(jwks).toString().getBytes(StandardCharsets.UTF_8);
+
+        if (keyStoreDir != null) {
+            store(published);
+        }
+        this.ring = new KeyRing(active, next, List.copyOf(retiring), List.copyOf(published), new JwksDocument(body, eTag(body)));
+    }
+
+    private static String eTag(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(digest) + "\"";
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    // --- Persistence -------------------------------------------------------------------------
+
+    private List<SigningKey> load() throws GeneralSecurityException {
+        if (!Files.isDirectory(keyStoreDir)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(keyStoreDir)) {
+            List<SigningKey> keys = new ArrayList<>();
+            for (Path file : files.filter(path -> path.toString().endsWith(KEY_FILE_SUFFIX)).toList()) {
+                keys.add(read(file));
+            }
+            return keys;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to load signing keys from " + keyStoreDir, ex);
+        }
+    }
+
+    private void store(List<SigningKey> published) {
+        try {
+            Files.createDirectories(keyStoreDir);
+            for (SigningKey key : published) {
+                write(key);
+            }
+            List<String> publishedFiles = published.stream().map(key -> key.keyId() + KEY_FILE_SUFFIX).toList();
+            try (Stream<Path> files = Files.list(keyStoreDir)) {
+                for (Path file : files.filter(path -> path.toString().endsWith(KEY_FILE_SUFFIX)).toList()) {
+                    if (!publishedFiles.contains(file.getFileName().toString())) {
+                        Files.delete(file); // expired retiring key
+                    }
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to persist signing keys to " + keyStoreDir, ex);
+        }
+    }
+
+    private static SigningKey read(Path file) throws IOException, GeneralSecurityException {
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            properties.load(in);
+        }
+        SigningAlgorithm algorithm = SigningAlgorithm.valueOf(properties.getProperty("alg"));
+        KeyFactory keyFactory = KeyFactory.getInstance(algorithm.keyAlgorithm());
+        KeyPair keyPair = new KeyPair(
+                keyFactory.generatePublic(new X509EncodedKeySpec(Base64.getDecoder().decode(properties.getProperty("publicKey")))),
+                keyFactory.generatePrivate(new PKCS8EncodedKeySpec(Base64.getDecoder().decode(properties.getProperty("privateKey")))));
+
+        return new SigningKey(
+                properties.getProperty("kid"),
+                algorithm,
+                keyPair,
+                Instant.parse(properties.getProperty("createdAt")),
+                instantOrNull(properties.getProperty("activatedAt")),
+                instantOrNull(properties.getProperty("retiredAt")));
+    }
+
+    private void write(SigningKey key) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("kid", key.keyId());
+        properties.setProperty("alg", key.algorithm().name());
+        properties.setProperty("createdAt", key.createdAt().toString());
+        if (key.activatedAt() != null) {
+            properties.setProperty("activatedAt", key.activatedAt().toString());
+        }
+        if (key.retiredAt() != null) {
+            properties.setProperty("retiredAt", key.retiredAt().toString());
+        }
+        properties.setProperty("publicKey", Base64.getEncoder().encodeToString(key.publicKey().getEncoded()));
+        properties.setProperty("privateKey", Base64.getEncoder().encodeToString(key.privateKey().getEncoded()));
+
+        Path target = keyStoreDir.resolve(key.keyId() + KEY_FILE_SUFFIX);
+        Path temp = Files.createTempFile(keyStoreDir, key.keyId(), ".tmp"); // owner-only (rw-------) on POSIX
+        try (OutputStream out = Files.newOutputStream(temp)) {
+            properties.store(out, "Lexera signing key " + key.keyId());
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static Instant instantOrNull(String value) {
+        return value == null ? null : Instant.parse(value);
+    }
+
+    private record KeyRing(SigningKey active, SigningKey next, List<SigningKey> retiring,
+                           List<SigningKey> published, JwksDocument jwks) {
+    }
+
+}
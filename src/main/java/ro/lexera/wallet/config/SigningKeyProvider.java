@@ -0,0 +1,43 @@
+package ro.lexera.wallet.config;
+
+import java.util.List;
+
+/**
+ * Interface for providing the asymmetric key material used to sign documents throughout the Lexera system.
+ * <p>
+ * This provider centralizes the management of the Issuer's signing key ring, which is
+ * essential for signing Verifiable Credentials (VCs) and generating JSON Web Key Sets (JWKS).
+ * Several keys can be published at once: the active key, the key that will replace it on the
+ * next rotation and the retiring keys whose documents may still be in circulation. Each key is
+ * addressed by its {@code kid}.
+ * </p>
+ */
+public interface SigningKeyProvider {
+
+    /**
+     * Provides the key used for signing new documents.
+     * <p>
+     * <b>Security Note:</b> The private half of this key must be handled with extreme care as
+     * it is used to create non-repudiable digital signatures.
+     * </p>
+     * @return The active {@link SigningKey}.
+     */
+    SigningKey activeKey();
+
+    /**
+     * Provides every key Verifiers should currently accept signatures from.
+     * @return The active, next and retiring keys.
+     */
+    List<SigningKey> publishedKeys();
+
+    /**
+     * Exports the published keys as a JSON Web Key Set.
+     * <p>
+     * This is typically used to populate the {@code /well-known/jwks.json} endpoint,
+     * allowing external Verifiers to dynamically fetch the keys needed to validate
+     * credentials issued by this server. The document is rendered once per key ring change.
+     * </p>
+     * @return The rendered {@link JwksDocument} with its entity tag.
+     */
+    JwksDocument jwks();
+}
@@ -5,8 +5,10 @@ import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -15,23 +17,38 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import ro.lexera.wallet.exception.DigitalWalletException;
+import ro.lexera.wallet.model.entity.RevocationReason;
 import ro.lexera.wallet.model.entity.UserEntity;
-import ro.lexera.wallet.repository.UserRepository;
+import ro.lexera.wallet.service.crypto.MerkleCredentialVerifier;
 import ro.lexera.wallet.service.identity.IdentityService;
+import ro.lexera.wallet.service.identity.UserImportService;
+import ro.lexera.wallet.service.identity.UserSearchService;
+import ro.lexera.wallet.service.issuance.ClaimsCache;
+import ro.lexera.wallet.service.issuance.IssuanceRequest;
+import ro.lexera.wallet.service.issuance.IssuanceResult;
 import ro.lexera.wallet.service.issuance.IssuanceService;
+import ro.lexera.wallet.service.status.RevocationResult;
 import ro.lexera.wallet.service.status.StatusService;
 
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/debug")
 @RequiredArgsConstructor
 public class DebugController {
 
-    private final UserRepository userRepository;
     private final IdentityService identityService;
+    private final UserImportService userImportService;
+    private final UserSearchService userSearchService;
     private final IssuanceService issuanceService;
+    private final ClaimsCache claimsCache;
     private final StatusService statusService;
+    private final MerkleCredentialVerifier merkleCredentialVerifier;
 
     @Operation(
             summary = "Register a new user",
@@ -53,10 +70,77 @@ public class DebugController {
                 .email(request.email)
                 .nationalId(request.nationalId)
                 .build();
-        var savedUser = userRepository.save(user);
+        var savedUser = identityService.registerUser(user);
         return new CreateUserResponse(savedUser.getId().toString(), savedUser.getRootIdentityHash());
     }
 
+    @Operation(
+            summary = "Find users by national ID or email",
+            description = "Equality lookup for support and fraud tooling. National IDs are matched through their blind index "
+                    + "(case and whitespace are ignored), so the encrypted column is never scanned.",
+            tags = {"Users"}
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Matching users (possibly none)"),
+            @ApiResponse(responseCode = "400", description = "Neither or both of nationalId and email given")
+    })
+    @GetMapping("/users/search")
+    public List<CreateUserResponse> searchUsers(
+            @Parameter(description = "National ID to look up", example = "ABC9876")
+            @RequestParam(required = false) String nationalId,
+            @Parameter(description = "Email address to look up", example = "john.doe@lexera.ro")
+            @RequestParam(required = false) String email) {
+        if ((nationalId == null) == (email == null)) {
+            throw new DigitalWalletException(
+                    "Search by exactly one of nationalId and email.",
+                    "ERR_INVALID_SEARCH",
+                    HttpStatus.BAD_REQUEST
+            );
+        }
+        List<UserEntity> users = nationalId != null
+                ? userSearchService.findByNationalId(nationalId)
+                : userSearchService.findByEmail(email);
+        return users.stream()
+                .map(user -> new CreateUserResponse(user.getId().toString(), user.getRootIdentityHash()))
+                .toList();
+    }
+
+    @Operation(
+            summary = "Import users in bulk",
+            description = "Streams users from an NDJSON body (one object per line) or a CSV body with a firstName,lastName,email,nationalId header. "
+                    + "Users whose identity is already registered, or repeated in the input, are skipped; invalid lines are rejected and counted.",
+            tags = {"Users"}
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import finished, with counts and throughput"),
+            @ApiResponse(responseCode = "400", description = "CSV header missing a required column"),
+            @ApiResponse(responseCode = "500", description = "Import aborted; the batches already inserted are kept")
+    })
+    @PostMapping(value = "/users/import", consumes = {"application/x-ndjson", "text/csv"})
+    public UserImportService.Report importUsers(HttpServletRequest request) throws IOException {
+        UserImportService.Format format = request.getContentType().startsWith("text/csv")
+                ? UserImportService.Format.CSV
+                : UserImportService.Format.NDJSON;
+        return userImportService.importUsers(request.getInputStream(), format);
+    }
+
+    @Operation(
+            summary = "Import users in bulk from a server-side file",
+            description = "Imports a .csv, .ndjson or .jsonl file from the configured import directory (wallet.identity.import.dir).",
+            tags = {"Users"}
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import finished, with counts and throughput"),
+            @ApiResponse(responseCode = "400", description = "No import directory configured, or unsupported file type"),
+            @ApiResponse(responseCode = "404", description = "No such file in the import directory")
+    })
+    @PostMapping("/users/import/file")
+    public UserImportService.Report importUserFile(
+            @Parameter(description = "File name, relative to the import directory", example = "partner-registry.csv")
+            @RequestParam String name) {
+        return userImportService.importFile(name);
+    }
+
     @Operation(
             summary = "Issue a Verifiable Credential",
             description = "Retrieves identity claims, initializes a revocation status, and returns a cryptographically signed JWT.",
@@ -66,17 +150,84 @@ public class DebugController {
             @ApiResponse(responseCode = "200", description = "Credential successfully issued (Returns JWT String)"),
             @ApiResponse(responseCode = "400", description = "Unsupported credentials type or invalid identity hash"),
             @ApiResponse(responseCode = "404", description = "Identity hash not found in registry"),
-            @ApiResponse(responseCode = "500", description = "Cryptographic signing failure")
+            @ApiResponse(responseCode = "500", description = "Cryptographic signing failure"),
+            @ApiResponse(responseCode = "503", description = "The data source of this type is saturated or unavailable (see Retry-After)"),
+            @ApiResponse(responseCode = "504", description = "The data source of this type did not answer in time")
     })
     @PostMapping("/credentials/issue")
-    public String issueCredential(
+    public CompletableFuture<String> issueCredential(
             @Parameter(description = "The type of credential to issue", example = "UNIVERSITY_DIPLOMA")
             @RequestParam String type,
 
             @Parameter(description = "The anonymized Root Identity Hash of the user", example = "a591a6d40b...")
             @RequestParam String rootIdentityHash) {
 
-        return issuanceService.issueCredential(rootIdentityHash, type);
+        return issuanceService.issueCredentialAsync(rootIdentityHash, type);
+    }
+
+    @Operation(
+            summary = "Issue a batch of Verifiable Credentials",
+            description = "Issues one credential per (rootIdentityHash, type) pair, signing them concurrently and registering all JTIs at once. Failures are reported per entry.",
+            tags = {"Verifiable Credentials"}
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Batch processed (each entry carries either a JWT or an error code)"),
+            @ApiResponse(responseCode = "400", description = "Empty batch or batch larger than the configured limit"),
+            @ApiResponse(responseCode = "500", description = "Status registry failure, no credential of the batch was released")
+    })
+    @PostMapping("/credentials/issue/batch")
+    public List<IssuanceResult> issueCredentials(@RequestBody List<IssuanceRequest> requests) {
+        return issuanceService.issueCredentials(requests);
+    }
+
+    @Operation(
+            summary = "Invalidate cached claims",
+            description = "Drops claims cached for re-issuance, so the next credential is built from fresh source data. "
+                    + "Give a type and a rootIdentityHash for one entry, only a type for a whole credential type, or only a rootIdentityHash for one holder.",
+            tags = {"Verifiable Credentials"}
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Matching entries dropped"),
+            @ApiResponse(responseCode = "400", description = "Neither type nor rootIdentityHash given")
+    })
+    @DeleteMapping("/claims-cache")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void invalidateClaims(
+            @Parameter(description = "The credential type", example = "UNIVERSITY_DIPLOMA")
+            @RequestParam(required = false) String type,
+            @Parameter(description = "The anonymized Root Identity Hash of the holder", example = "a591a6d40b...")
+            @RequestParam(required = false) String rootIdentityHash) {
+        if (type == null && rootIdentityHash == null) {
+            throw new DigitalWalletException(
+                    "Give a type, a rootIdentityHash or both.",
+                    "ERR_INVALID_INVALIDATION",
+                    HttpStatus.BAD_REQUEST
+            );
+        }
+        if (rootIdentityHash == null) {
+            claimsCache.invalidateType(type);
+        } else if (type == null) {
+            claimsCache.invalidateHolder(rootIdentityHash);
+        } else {
+            claimsCache.invalidate(type, rootIdentityHash);
+        }
+    }
+
+    @Operation(
+            summary = "Verify a batch-signed credential",
+            description = "Checks the Merkle-root signature, inclusion proof and expiry of a credential issued in MERKLE batch signing mode and returns its claims.",
+            tags = {"Verifiable Credentials"}
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Credential is authentic and unexpired (Returns its claims)"),
+            @ApiResponse(responseCode = "400", description = "Malformed token, invalid signature or proof, or expired credential")
+    })
+    @PostMapping("/credentials/verify")
+    public Map<String, Object> verifyCredential(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "The rootJws~payload~proof token")
+            @RequestBody String token) {
+
+        return merkleCredentialVerifier.verify(token.strip());
     }
 
     @Operation(
@@ -87,8 +238,8 @@ public class DebugController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "Credential successfully revoked"),
             @ApiResponse(responseCode = "404", description = "Credential ID not found"),
-            @ApiResponse(responseCode = "400", description = "Invalid UUID format or missing reason"),
-            @ApiResponse(responseCode = "410", description = "Credential was already revoked")
+            @ApiResponse(responseCode = "400", description = "Invalid UUID format, ID dated in the future or missing reason"),
+            @ApiResponse(responseCode = "410", description = "Credential has expired and its status was purged")
     })
     @PostMapping("/credentials/{credentialId}/revoke")
     @ResponseStatus(HttpStatus.NO_CONTENT)
@@ -96,12 +247,35 @@ public class DebugController {
             @Parameter(description = "The unique JTI (UUID) of the credential", example = "550e8400-e29b-41d4-a716-446655440000")
             @PathVariable UUID credentialId,
 
-            @Parameter(description = "Reason for revocation (e.g., 'Lost device', 'Security breach')", example = "User reported stolen phone")
-            @RequestParam String reason) {
+            @Parameter(description = "RFC 5280 reason code for revocation", example = "KEY_COMPROMISE")
+            @RequestParam RevocationReason reason) {
 
         statusService.revokeCredential(credentialId, reason);
     }
 
+    @Operation(
+            summary = "Revoke credentials in bulk",
+            description = "Revokes either the listed credential IDs or every credential issued to a Root Identity Hash, in a single transaction. Unknown IDs are recorded as revoked.",
+            tags = {"Verifiable Credentials"}
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Revocation committed (one outcome per credential)"),
+            @ApiResponse(responseCode = "400", description = "Neither or both of credentialIds and rootIdentityHash given, batch larger than the configured limit, an ID dated in the future, or no reason")
+    })
+    @PostMapping("/credentials/revoke")
+    public List<RevocationResult> revokeCredentials(@RequestBody BulkRevocationRequest request) {
+        if ((request.credentialIds == null) == (request.rootIdentityHash == null)) {
+            throw new DigitalWalletException(
+                    "Exactly one of credentialIds or rootIdentityHash must be provided.",
+                    "ERR_INVALID_REVOCATION_REQUEST",
+                    HttpStatus.BAD_REQUEST
+            );
+        }
+        return request.credentialIds != null
+                ? statusService.revokeCredentials(request.credentialIds, request.reason)
+                : statusService.revokeHolderCredentials(request.rootIdentityHash, request.reason);
+    }
+
     @Operation(
             summary = "Retrieve a signed status proof",
             description = "Generates a short-lived, cryptographically signed assertion confirming whether a specific credential is currently VALID or REVOKED.",
@@ -110,6 +284,7 @@ public class DebugController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved signed status (Returns JWT String)"),
             @ApiResponse(responseCode = "404", description = "Credential ID not found in the status registry"),
+            @ApiResponse(responseCode = "410", description = "Credential has expired and its status was purged"),
             @ApiResponse(responseCode = "500", description = "Error generating cryptographic signature")
     })
     @GetMapping("/credentials/{credentialId}/status")
@@ -120,6 +295,20 @@ public class DebugController {
         return statusService.getSignedStatusProof(credentialId);
     }
 
+    @Operation(
+            summary = "Retrieve one signed status proof for several credentials",
+            description = "Checks up to the configured number of credentials with at most one registry query and returns a single signed JWT whose statuses claim lists each ID as VALID, REVOKED, EXPIRED or UNKNOWN.",
+            tags = {"Verifiable Credentials"}
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Signed batch status proof (Returns JWT String)"),
+            @ApiResponse(responseCode = "400", description = "Empty batch or batch larger than the configured limit")
+    })
+    @PostMapping("/credentials/status")
+    public String credentialStatuses(@RequestBody BatchStatusRequest request) {
+        return statusService.getSignedStatusProofs(request.credentialIds());
+    }
+
     public record CreateUserRequest(
             @Schema(description = "User's legal first name", example = "John")
             String firstName,
@@ -131,6 +320,20 @@ public class DebugController {
             String nationalId) {
     }
 
+    public record BatchStatusRequest(
+            @Schema(description = "JTIs of the credentials to check, e.g. those of one presentation")
+            List<UUID> credentialIds) {
+    }
+
+    public record BulkRevocationRequest(
+            @Schema(description = "JTIs of the credentials to revoke")
+            List<UUID> credentialIds,
+            @Schema(description = "Revoke every credential issued to this Root Identity Hash instead", example = "a591a6d40b...")
+            String rootIdentityHash,
+            @Schema(description = "RFC 5280 reason code for revocation", example = "SUPERSEDED")
+            RevocationReason reason) {
+    }
+
     public record CreateUserResponse(
             @Schema(description = "Internal database UUID", example = "550e8400-e29b-41d4-a716-446655440000")
             String id,
@@ -1,25 +1,44 @@
 package ro.lexera.wallet.controller;
 
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
-import ro.lexera.wallet.config.RsaKeyConfigProvider;
+import ro.lexera.wallet.config.JwksDocument;
+import ro.lexera.wallet.config.SigningKeyProvider;
 
-import java.util.Map;
+import java.time.Duration;
 
 @RestController
-@RequiredArgsConstructor
 public class DiscoveryController {
 
-    private final RsaKeyConfigProvider rsaKeyConfigProvider;
+    private final SigningKeyProvider signingKeyProvider;
+    private final CacheControl jwksCacheControl;
+
+    public DiscoveryController(SigningKeyProvider signingKeyProvider,
+                               @Value("${wallet.signing.jwks.max-age:PT1H}") Duration jwksMaxAge) {
+        this.signingKeyProvider = signingKeyProvider;
+        this.jwksCacheControl = CacheControl.maxAge(jwksMaxAge).cachePublic();
+    }
 
     /**
      * Standard endpoint for Public Key Discovery.
      * The UI will call this to cache the key for offline verification.
+     * <p>
+     * The key set is pre-rendered and served with a strong {@code ETag} and {@code Cache-Control: max-age},
+     * so Verifiers can cache it and revalidate with {@code If-None-Match} (answered with {@code 304}).
+     * </p>
      */
     @GetMapping("/.well-known/jwks.json")
-    public Map<String, Object> getJwks() {
-        return rsaKeyConfigProvider.getPublicJWK();
+    public ResponseEntity<byte[]> getJwks() {
+        JwksDocument jwks = signingKeyProvider.jwks();
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(jwks.eTag())
+                .cacheControl(jwksCacheControl)
+                .body(jwks.body());
     }
 
 }
@@ -0,0 +1,65 @@
+package ro.lexera.wallet.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ro.lexera.wallet.service.status.RevocationEvent;
+import ro.lexera.wallet.service.status.RevocationEventHub;
+import ro.lexera.wallet.service.status.RevocationEventSink;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/api/v1/revocation-events")
+@RequiredArgsConstructor
+public class RevocationEventController {
+
+    private final RevocationEventHub revocationEventHub;
+
+    @Operation(
+            summary = "Subscribe to revocation events",
+            description = "Long-lived Server-Sent Events stream. Each 'revocations' event carries a signed JWT listing credentials revoked since the previous one (revoked, cursor, nextCursor claims). Reconnect with Last-Event-ID to resume; a 'resync' event means the missed events are gone and the status list must be refetched. Slow consumers are disconnected.",
+            tags = {"Verifiable Credentials"}
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Event stream (text/event-stream)"),
+            @ApiResponse(responseCode = "400", description = "Malformed Last-Event-ID"),
+            @ApiResponse(responseCode = "503", description = "Subscriber limit reached")
+    })
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(
+            @Parameter(description = "ID of the last event received, to resume after a disconnection", example = "1042:550e8400-e29b-41d4-a716-446655440000")
+            @RequestHeader(name = "Last-Event-ID", required = false) String lastEventId) {
+
+        SseEmitter emitter = new SseEmitter(0L); // no timeout: heartbeats detect dead connections
+        RevocationEventHub.Subscription subscription = revocationEventHub.subscribe(lastEventId, new RevocationEventSink() {
+            @Override
+            public void send(RevocationEvent event) throws IOException {
+                emitter.send(SseEmitter.event().id(event.id()).name(event.name()).data(event.data()));
+            }
+
+            @Override
+            public void heartbeat() throws IOException {
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+            }
+
+            @Override
+            public void complete() {
+                emitter.complete();
+            }
+        });
+        emitter.onCompletion(subscription::cancel);
+        emitter.onTimeout(subscription::cancel);
+        emitter.onError(ex -> subscription.cancel());
+        return emitter;
+    }
+
+}
@@ -0,0 +1,63 @@
+package ro.lexera.wallet.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ro.lexera.wallet.service.status.StatusChangeFeed;
+import ro.lexera.wallet.service.status.StatusChangeStream;
+
+@RestController
+@RequestMapping("/api/v1/status-changes")
+@RequiredArgsConstructor
+public class StatusChangeController {
+
+    private static final String APPLICATION_JWT = "application/jwt";
+
+    private final StatusChangeFeed statusChangeFeed;
+
+    @Operation(
+            summary = "Read the status change feed",
+            description = "Returns the Status Registry changes after a cursor as one signed JWT (changes, nextCursor, hasMore claims). Verifiers mirroring revocation state poll it with the nextCursor of the previous page.",
+            tags = {"Verifiable Credentials"}
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Signed page of changes (JWT)"),
+            @ApiResponse(responseCode = "400", description = "Malformed cursor or limit out of range")
+    })
+    @GetMapping(produces = APPLICATION_JWT)
+    public String getChanges(
+            @Parameter(description = "The nextCursor of the previous page; omit to start from the beginning", example = "1042:550e8400-e29b-41d4-a716-446655440000")
+            @RequestParam(required = false) String cursor,
+
+            @Parameter(description = "Maximum number of changes to return", example = "1000")
+            @RequestParam(defaultValue = "1000") int limit) {
+
+        return statusChangeFeed.page(cursor, limit);
+    }
+
+    @Operation(
+            summary = "Stream the status change feed",
+            description = "Same as the JWT variant, streamed as NDJSON: one change per line, then a {\"trailer\": <jwt>} line whose digest claim is the Base64URL SHA-256 of all preceding bytes.",
+            tags = {"Verifiable Credentials"}
+    )
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamChanges(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "1000") int limit) {
+
+        StatusChangeStream changes = statusChangeFeed.stream(cursor, limit);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(changes::writeTo);
+    }
+
+}
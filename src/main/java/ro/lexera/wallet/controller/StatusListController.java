@@ -0,0 +1,52 @@
+package ro.lexera.wallet.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import ro.lexera.wallet.service.status.StatusListToken;
+import ro.lexera.wallet.service.status.StatusService;
+
+import java.time.Duration;
+
+@RestController
+@RequestMapping("/api/v1/status-lists")
+public class StatusListController {
+
+    private static final MediaType APPLICATION_JWT = MediaType.parseMediaType("application/jwt");
+
+    private final StatusService statusService;
+    private final CacheControl statusListCacheControl;
+
+    public StatusListController(StatusService statusService,
+                                @Value("${wallet.status.list.max-age:PT5M}") Duration statusListMaxAge) {
+        this.statusService = statusService;
+        this.statusListCacheControl = CacheControl.maxAge(statusListMaxAge).cachePublic();
+    }
+
+    @Operation(
+            summary = "Download the revocation status list",
+            description = "Returns the signed, GZIP-compressed bitstring of every credential's revocation status. Verifiers cache it and check the bit at the credential's statusListIndex offline.",
+            tags = {"Verifiable Credentials"}
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Signed status list token (JWT)"),
+            @ApiResponse(responseCode = "304", description = "The cached list (If-None-Match) is still current")
+    })
+    @GetMapping("/revocation")
+    public ResponseEntity<String> getRevocationList() {
+        StatusListToken statusList = statusService.getStatusList();
+        return ResponseEntity.ok()
+                .contentType(APPLICATION_JWT)
+                .eTag(statusList.eTag())
+                .cacheControl(statusListCacheControl)
+                .body(statusList.jwt());
+    }
+
+}
@@ -3,6 +3,8 @@ package ro.lexera.wallet.exception;
 import lombok.Getter;
 import org.springframework.http.HttpStatus;
 
+import java.time.Duration;
+
 /**
  * Base exception for all business logic failures within the Lexera Digital Wallet.
  * <p>
@@ -15,10 +17,20 @@ public class DigitalWalletException extends RuntimeException {
     private final String errorCode;
     private final HttpStatus status;
 
-    public DigitalWalletException(String message, String errorCode, HttpStatus status) {
+    /**
+     * How long the client should wait before retrying, sent as {@code Retry-After}; {@code null} if not applicable.
+     */
+    private final Duration retryAfter;
+
+    public DigitalWalletException(String message, String errorCode, HttpStatus status, Duration retryAfter) {
         super(message);
         this.errorCode = errorCode;
         this.status = status;
+        this.retryAfter = retryAfter;
+    }
+
+    public DigitalWalletException(String message, String errorCode, HttpStatus status) {
+        this(message, errorCode, status, null);
     }
 
     // Default to 500 Internal Server Error if status isn't provided
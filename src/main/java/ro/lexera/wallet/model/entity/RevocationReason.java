@@ -0,0 +1,49 @@
+package ro.lexera.wallet.model.entity;
+
+import jakarta.persistence.AttributeConverter;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Why a credential was revoked, stored as the numeric RFC 5280 {@code CRLReason} code.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum RevocationReason {
+
+    UNSPECIFIED(0),
+    KEY_COMPROMISE(1), // e.g. lost or stolen device
+    AFFILIATION_CHANGED(3),
+    SUPERSEDED(4), // e.g. re-issued after a correction
+    CESSATION_OF_OPERATION(5), // e.g. issuer batch recalled
+    PRIVILEGE_WITHDRAWN(9);
+
+    private final int code;
+
+    public static RevocationReason fromCode(int code) {
+        for (RevocationReason reason : values()) {
+            if (reason.code == code) {
+                return reason;
+            }
+        }
+        throw new IllegalArgumentException("Unknown revocation reason code " + code);
+    }
+
+    /**
+     * Maps the reason to a {@code smallint} column.
+     */
+    @jakarta.persistence.Converter
+    public static class Converter implements AttributeConverter<RevocationReason, Short> {
+
+        @Override
+        public Short convertToDatabaseColumn(RevocationReason reason) {
+            return reason == null ? null : (short) reason.code;
+        }
+
+        @Override
+        public RevocationReason convertToEntityAttribute(Short code) {
+            return code == null ? null : fromCode(code);
+        }
+    }
+
+}
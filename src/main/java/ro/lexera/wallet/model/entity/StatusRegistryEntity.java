@@ -1,8 +1,11 @@
 package ro.lexera.wallet.model.entity;
 
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Index;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
@@ -11,17 +14,33 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Generated;
+import org.hibernate.generator.EventType;
 
 import java.time.Instant;
 import java.util.UUID;
 
+/**
+ * A credential's entry in the Status Registry.
+ * <p>
+ * The table is range-partitioned by {@code issued_at}, one partition per UTC day, so rows of expired
+ * credentials are purged by dropping whole partitions (see {@code StatusRetention}). The primary key is
+ * therefore {@code (credential_id, issued_at)}, where {@code issued_at} is derived from the credential ID
+ * (see {@link StatusRegistryKey}); the builder sets both from {@code credentialId(...)}.
+ * </p>
+ */
 @Entity
-@Table(name = "status_registry")
+@Table(name = "status_registry", indexes = {
+        @Index(name = "idx_status_registry_updated_at", columnList = "updated_at"),
+        @Index(name = "idx_status_registry_holder_hash", columnList = "holder_hash"),
+        @Index(name = "idx_status_registry_change", columnList = "change_xid, credential_id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@IdClass(StatusRegistryKey.class)
 public class StatusRegistryEntity {
 
     @Id
@@ -30,15 +49,45 @@ public class StatusRegistryEntity {
     @Column(nullable = false)
     private boolean isRevoked;
 
-    private String revocationReason;
+    @Column(name = "revocation_code")
+    @Convert(converter = RevocationReason.Converter.class)
+    private RevocationReason revocationReason;
+
+    private Long statusIndex; // Position of the credential in the published revocation status list
+
+    private String holderHash; // Root Identity Hash of the subject, for revoking everything issued to one holder
+
+    @Id
+    private Instant issuedAt; // Partition key, derived from the credential ID
 
     @Column(nullable = false)
     private Instant updatedAt;
 
+    // ID of the last transaction that wrote the row, orders the status change feed
+    @Generated(event = {EventType.INSERT, EventType.UPDATE}, sql = "pg_current_xact_id()::text::bigint")
+    private Long changeXid;
+
     @PreUpdate
     @PrePersist
     public void updateTimestamp() {
         this.updatedAt = Instant.now();
     }
 
+    public static class StatusRegistryEntityBuilder {
+
+        /**
+         * Sets the credential ID and the issuance time derived from it.
+         */
+        public StatusRegistryEntityBuilder credentialId(UUID credentialId) {
+            this.credentialId = credentialId;
+            this.issuedAt = StatusRegistryKey.issuedAtOf(credentialId);
+            return this;
+        }
+
+        private StatusRegistryEntityBuilder issuedAt(Instant issuedAt) {
+            this.issuedAt = issuedAt;
+            return this;
+        }
+    }
+
 }
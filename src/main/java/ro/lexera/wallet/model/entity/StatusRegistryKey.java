@@ -0,0 +1,53 @@
+package ro.lexera.wallet.model.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Primary key of a {@link StatusRegistryEntity}: the credential ID and the issuance time that partitions it.
+ * <p>
+ * The issuance time is derived from the credential ID alone, so every writer, on any instance, targets the same
+ * row for a given JTI: concurrent inserts collide on {@code (credential_id, issued_at)} instead of creating
+ * duplicates, and lookups only visit the partition of that day. For a UUIDv7 JTI it is the embedded Unix
+ * millisecond timestamp; any other ID (a legacy UUIDv4 JTI, an ID of another issuer revoked pre-emptively)
+ * gets {@link #UNDATED}.
+ * </p>
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+@ToString
+public class StatusRegistryKey implements Serializable {
+
+    /**
+     * Issuance time of credentials whose ID carries none, kept in a partition of their own.
+     */
+    public static final Instant UNDATED = Instant.EPOCH;
+
+    private UUID credentialId;
+
+    private Instant issuedAt;
+
+    public static StatusRegistryKey of(UUID credentialId) {
+        return new StatusRegistryKey(credentialId, issuedAtOf(credentialId));
+    }
+
+    /**
+     * @return The timestamp of a UUIDv7 (RFC 9562) credential ID, {@link #UNDATED} for any other ID.
+     */
+    public static Instant issuedAtOf(UUID credentialId) {
+        if (credentialId.variant() != 2 || credentialId.version() != 7) {
+            return UNDATED;
+        }
+        return Instant.ofEpochMilli(credentialId.getMostSignificantBits() >>> 16);
+    }
+
+}
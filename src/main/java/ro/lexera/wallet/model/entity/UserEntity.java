@@ -3,6 +3,7 @@ package ro.lexera.wallet.model.entity;
 import jakarta.persistence.Column;
 import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -12,12 +13,23 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
-import ro.lexera.wallet.util.JasyptAttributeConverter;
+import ro.lexera.wallet.util.BlindIndexListener;
+import ro.lexera.wallet.util.LazyPii;
+import ro.lexera.wallet.util.LazyPiiConverter;
 
 import java.util.UUID;
 
+/**
+ * A registered user.
+ * <p>
+ * The name and national ID columns are encrypted; they are decrypted on the first call to their getter,
+ * not when the entity is loaded (see {@link LazyPii}). The national ID also has a blind index, kept up to
+ * date by {@link BlindIndexListener}, for equality lookups.
+ * </p>
+ */
 @Entity
 @Table(name = "users")
+@EntityListeners(BlindIndexListener.class)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -33,16 +45,22 @@ public class UserEntity {
     private String rootIdentityHash;
 
     @Column(nullable = false)
-    @Convert(converter = JasyptAttributeConverter.class)
-    private String firstName;
+    @Convert(converter = LazyPiiConverter.class)
+    private LazyPii firstName;
 
     @Column(nullable = false)
-    @Convert(converter = JasyptAttributeConverter.class)
-    private String lastName;
+    @Convert(converter = LazyPiiConverter.class)
+    private LazyPii lastName;
 
     @Column(nullable = false)
-    @Convert(converter = JasyptAttributeConverter.class)
-    private String nationalId;
+    @Convert(converter = LazyPiiConverter.class)
+    private LazyPii nationalId;
+
+    /**
+     * Keyed HMAC of the national ID; {@code null} until computed on save, or by the backfill job for older rows.
+     */
+    @Column(length = 64)
+    private String nationalIdIndex;
 
     @Column(nullable = false)
     private String email;
@@ -50,4 +68,47 @@ public class UserEntity {
     @Column(length = 2048)
     private String devicePublicKey;
 
+    public String getFirstName() {
+        return LazyPii.valueOf(firstName);
+    }
+
+    public void setFirstName(String firstName) {
+        this.firstName = LazyPii.of(firstName);
+    }
+
+    public String getLastName() {
+        return LazyPii.valueOf(lastName);
+    }
+
+    public void setLastName(String lastName) {
+        this.lastName = LazyPii.of(lastName);
+    }
+
+    public String getNationalId() {
+        return LazyPii.valueOf(nationalId);
+    }
+
+    public void setNationalId(String nationalId) {
+        this.nationalId = LazyPii.of(nationalId);
+        this.nationalIdIndex = null;
+    }
+
+    public static class UserEntityBuilder {
+
+        public UserEntityBuilder firstName(String firstName) {
+            this.firstName = LazyPii.of(firstName);
+            return this;
+        }
+
+        public UserEntityBuilder lastName(String lastName) {
+            this.lastName = LazyPii.of(lastName);
+            return this;
+        }
+
+        public UserEntityBuilder nationalId(String nationalId) {
+            this.nationalId = LazyPii.of(nationalId);
+            return this;
+        }
+    }
+
 }
@@ -0,0 +1,142 @@
+package ro.lexera.wallet.repository;
+
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Lifecycle of the daily {@code status_registry} partitions.
+ * <p>
+ * Partition {@code status_registry_pYYYYMMDD} holds the credentials issued on that UTC day, and
+ * {@code status_registry_undated} those whose ID carries no issuance time. Hibernate creates
+ * {@code status_registry} as a plain table: it is converted once, by an operator, with
+ * {@code db/migration/002_status_registry_partitioning.sql}. Until then {@link #isPartitioned()} is {@code false}
+ * and nothing is created or dropped. All DDL runs under the same advisory lock and re-reads the partitions once it
+ * holds it, so concurrent instances apply it once.
+ * </p>
+ * <p>
+ * Dropping an attached partition would lock all of {@code status_registry}, blocking every status check and
+ * revocation until the drop commits. A partition is therefore first detached with
+ * {@code DETACH PARTITION ... CONCURRENTLY} (PostgreSQL 14+), which only waits for the queries already running,
+ * then dropped on its own.
+ * </p>
+ */
+@Repository
+@RequiredArgsConstructor
+public class StatusRegistryPartitionRepository {
+
+    private static final String PARTITION_PREFIX = "status_registry_p";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private static final String LOCK_SQL = "SELECT pg_advisory_xact_lock(hashtext('status_registry_partitions'))";
+    private static final String SESSION_LOCK_SQL = "SELECT pg_advisory_lock(hashtext('status_registry_partitions'))";
+    private static final String SESSION_UNLOCK_SQL = "SELECT pg_advisory_unlock(hashtext('status_registry_partitions'))";
+
+    private static final String RELKIND_SQL = "SELECT relkind::text FROM pg_class WHERE oid = to_regclass('status_registry')";
+
+    // By name, so that a partition detached by an interrupted purge is still listed, and dropped by the next one
+    private static final String PARTITIONS_SQL = """
+            SELECT c.relname FROM pg_class c
+            WHERE c.relkind = 'r' AND c.relname ~ '^status_registry_p[0-9]{8}$'
+              AND c.relnamespace = (SELECT relnamespace FROM pg_class WHERE oid = 'status_registry'::regclass)
+            """;
+
+    // Attached (false), being detached by an interrupted DETACH CONCURRENTLY (true), or no row once detached
+    private static final String DETACH_PENDING_SQL = """
+            SELECT i.inhdetachpending FROM pg_inherits i
+            WHERE i.inhparent = 'status_registry'::regclass AND i.inhrelid = to_regclass(?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * @return {@code true} once {@code status_registry} has been converted into a partitioned table.
+     */
+    public boolean isPartitioned() {
+        return jdbcTemplate.queryForList(RELKIND_SQL, String.class).contains("p");
+    }
+
+    /**
+     * @return The days of the existing partitions, in ascending order, including any left detached by an
+     * interrupted {@link #purge(LocalDate)}.
+     */
+    public List<LocalDate> partitionDays() {
+        return jdbcTemplate.queryForList(PARTITIONS_SQL, String.class).stream()
+                .filter(name -> name.startsWith(PARTITION_PREFIX))
+                .map(name -> LocalDate.parse(name.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX))
+                .sorted()
+                .toList();
+    }
+
+    /**
+     * Creates the missing daily partitions after the latest existing one, up to {@code lastDay} included.
+     */
+    @Transactional
+    public void createPartitionsThrough(LocalDate firstDay, LocalDate lastDay) {
+        jdbcTemplate.execute(LOCK_SQL);
+        List<LocalDate> existing = partitionDays();
+        LocalDate day = existing.isEmpty() ? firstDay : existing.getLast().plusDays(1);
+        for (; !day.isAfter(lastDay); day = day.plusDays(1)) {
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partitionName(day) + " PARTITION OF status_registry"
+                    + " FOR VALUES FROM ('" + startOf(day) + "') TO ('" + startOf(day.plusDays(1)) + "')");
+        }
+    }
+
+    /**
+     * Detaches, then drops the partition of {@code day}; does nothing if another instance already has.
+     * <p>
+     * {@code DETACH PARTITION ... CONCURRENTLY} cannot run inside a transaction block, so this must not be called
+     * from a transaction: the statements run in autocommit mode, under a session-level advisory lock. A detach
+     * interrupted half-way is completed with {@code FINALIZE}.
+     * </p>
+     */
+    public void purge(LocalDate day) {
+        String partition = partitionName(day);
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(SESSION_LOCK_SQL);
+                try {
+                    Boolean detachPending = detachPending(connection, partition);
+                    if (detachPending != null) {
+                        statement.execute("ALTER TABLE status_registry DETACH PARTITION " + partition
+                                + (detachPending ? " FINALIZE" : " CONCURRENTLY"));
+                    }
+                    statement.execute("DROP TABLE IF EXISTS " + partition);
+                } finally {
+                    statement.execute(SESSION_UNLOCK_SQL);
+                }
+            }
+            return null;
+        });
+    }
+
+    private static Boolean detachPending(Connection connection, String partition) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(DETACH_PENDING_SQL)) {
+            statement.setString(1, partition);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() ? rs.getBoolean(1) : null;
+            }
+        }
+    }
+
+    private static String partitionName(LocalDate day) {
+        return PARTITION_PREFIX + day.format(PARTITION_SUFFIX);
+    }
+
+    private static String startOf(LocalDate day) {
+        return day.atStartOfDay().atOffset(ZoneOffset.UTC).toString();
+    }
+
+}
@@ -3,9 +3,8 @@ package ro.lexera.wallet.repository;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 import ro.lexera.wallet.model.entity.StatusRegistryEntity;
-
-import java.util.UUID;
+import ro.lexera.wallet.model.entity.StatusRegistryKey;
 
 @Repository
-public interface StatusRegistryRepository extends JpaRepository<StatusRegistryEntity, UUID> {
+public interface StatusRegistryRepository extends JpaRepository<StatusRegistryEntity, StatusRegistryKey>, StatusRegistryRepositoryCustom {
 }
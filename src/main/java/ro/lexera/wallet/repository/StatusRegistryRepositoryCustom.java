@@ -0,0 +1,144 @@
+package ro.lexera.wallet.repository;
+
+import ro.lexera.wallet.model.entity.RevocationReason;
+import ro.lexera.wallet.model.entity.StatusRegistryEntity;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+/**
+ * Bulk operations on the Status Registry that bypass the JPA persistence context.
+ * <p>
+ * {@link StatusRegistryEntity} uses an assigned identifier
+ * (the JTI), so a plain {@code saveAll} would issue a {@code SELECT} per row before every
+ * insert. These operations talk to the table directly through JDBC batches instead.
+ * </p>
+ */
+public interface StatusRegistryRepositoryCustom {
+
+    /**
+     * Registers a set of freshly issued credentials as {@code VALID} using batched inserts.
+     *
+     * @param statuses The JTIs to register with their status list index. Must not already exist in the registry.
+     */
+    void insertAll(Collection<StatusRegistryEntity> statuses);
+
+    /**
+     * Registers credentials as {@code VALID} using batched upserts on the {@code (credential_id, issued_at)} key.
+     * <p>
+     * Used to flush a write-behind log. A row that is already complete is left as is: the log may
+     * re-deliver rows inserted before a crash. A row that has no status index yet was inserted by a
+     * revocation of the then-unknown ID, e.g. on another instance. It keeps its revoked state and gets
+     * the status index and holder, with a new {@code updated_at}, so every instance's index refresh marks
+     * its bit in the status list.
+     * </p>
+     *
+     * @param statuses The JTIs to register with their status list index and holder.
+     */
+    void upsertAll(Collection<StatusRegistryEntity> statuses);
+
+    /**
+     * Revokes a set of credentials with one statement per chunk of IDs.
+     * <p>
+     * IDs missing from the registry are inserted as revoked, so they can never be registered as
+     * {@code VALID} afterwards. Rows that were already revoked are left untouched (including their reason).
+     * The partition of every ID must exist, i.e. none may be purged or dated in the future.
+     * </p>
+     *
+     * @param credentialIds Distinct JTIs to revoke.
+     * @param reason        The revocation reason recorded for the audit trail.
+     * @return The rows changed by this call; IDs absent from the result were already revoked.
+     */
+    List<RevokedStatus> revokeAll(Collection<UUID> credentialIds, RevocationReason reason);
+
+    /**
+     * Revokes every {@code VALID} credential issued to a holder in a single statement.
+     *
+     * @param holderHash The Root Identity Hash of the holder.
+     * @param reason     The revocation reason recorded for the audit trail.
+     * @return The rows changed by this call.
+     */
+    List<RevokedStatus> revokeAllByHolderHash(String holderHash, RevocationReason reason);
+
+    /**
+     * Reserves the next block of status list indexes.
+     *
+     * @return The block number {@code n}; the caller owns indexes {@code [n * blockSize, (n + 1) * blockSize)}.
+     */
+    long nextStatusIndexBlock();
+
+    /**
+     * @return The highest status list index assigned so far, or {@code -1} if none.
+     */
+    long maxStatusIndex();
+
+    /**
+     * Streams the status list index of every revoked credential, without materializing entities.
+     */
+    void forEachRevokedStatusIndex(LongConsumer consumer);
+
+    /**
+     * Streams the status of every credential, or of those changed after {@code updatedSince}, without
+     * materializing entities. Full scans are paged by credential ID to bound memory.
+     *
+     * @param updatedSince Only rows with a later {@code updated_at} are visited; {@code null} visits all rows.
+     */
+    void forEachStatus(Instant updatedSince, StatusRowHandler handler);
+
+    /**
+     * A registry row flipped to revoked by a bulk revocation.
+     *
+     * @param credentialId The JTI of the credential.
+     * @param statusIndex  Its status list index, {@code null} for legacy or previously unknown credentials.
+     * @param inserted     {@code true} if the credential was not in the registry before.
+     */
+    record RevokedStatus(UUID credentialId, Long statusIndex, boolean inserted) {
+    }
+
+    /**
+     * Streams the rows written after a position of the status change feed, in feed order.
+     * <p>
+     * The feed is ordered by {@code (change_xid, credential_id)}, where {@code change_xid} is the ID of
+     * the last transaction that wrote the row. Only rows written by transactions older than every
+     * transaction still in flight are returned: no transaction can commit behind them later, so a
+     * reader that resumes after the last returned row never misses a change. The scan walks the
+     * {@code (change_xid, credential_id)} index, so it costs O(changes) rather than O(table).
+     * </p>
+     * <p>
+     * The flip side: while any transaction holding a transaction ID stays open, on any connection to the
+     * database, nothing written after it started is returned. A long-running writer stalls the feed
+     * until it commits or aborts.
+     * </p>
+     *
+     * @param changeXid    The transaction ID of the last row already read, {@code -1} to start from the beginning.
+     * @param credentialId The credential ID of the last row already read.
+     * @param limit        The maximum number of rows to visit.
+     */
+    void forEachChangeAfter(long changeXid, UUID credentialId, int limit, Consumer<StatusChange> consumer);
+
+    /**
+     * @return The last entry of the status change feed, i.e. the latest change that is safe to read.
+     */
+    Optional<StatusChange> findLastChange();
+
+    /**
+     * An entry of the status change feed.
+     *
+     * @param credentialId The JTI of the credential.
+     * @param revoked      Its current revocation state.
+     * @param statusIndex  Its status list index, {@code null} for legacy or previously unknown credentials.
+     * @param changeXid    The ID of the transaction that last wrote the row.
+     */
+    record StatusChange(UUID credentialId, boolean revoked, Long statusIndex, long changeXid) {
+    }
+
+    @FunctionalInterface
+    interface StatusRowHandler {
+        void accept(UUID credentialId, boolean revoked, Long statusIndex);
+    }
+}
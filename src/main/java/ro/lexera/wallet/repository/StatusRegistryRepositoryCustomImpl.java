@@ -0,0 +1,235 @@
+package ro.lexera.wallet.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import ro.lexera.wallet.model.entity.RevocationReason;
+import ro.lexera.wallet.model.entity.StatusRegistryEntity;
+import ro.lexera.wallet.model.entity.StatusRegistryKey;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+@RequiredArgsConstructor
+public class StatusRegistryRepositoryCustomImpl implements StatusRegistryRepositoryCustom {
+
+    private static final int BATCH_SIZE = 500;
+
+    /**
+     * Stamps rows with the writing transaction, as {@link StatusRegistryEntity#getChangeXid()} does for JPA writes.
+     */
+    private static final String CURRENT_XID = "pg_current_xact_id()::text::bigint";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO status_registry (credential_id, status_index, holder_hash, is_revoked, issued_at, updated_at, change_xid) "
+                    + "VALUES (?, ?, ?, false, ?, ?, " + CURRENT_XID + ")";
+
+    private static final String UPSERT_SQL = INSERT_SQL + " ON CONFLICT (credential_id, issued_at) DO UPDATE"
+            + " SET status_index = excluded.status_index, holder_hash = excluded.holder_hash,"
+            + " updated_at = excluded.updated_at, change_xid = excluded.change_xid"
+            + " WHERE status_registry.status_index IS NULL";
+
+    /**
+     * IDs bound as a single {@code uuid[]} parameter per statement.
+     */
+    private static final int REVOKE_CHUNK_SIZE = 10_000;
+
+    // Both statements see the rows as they were before this one: unknown IDs are the ones matching neither, and
+    // the insert also skips IDs inserted meanwhile by a concurrent transaction, as their issued_at is the same
+    private static final String REVOKE_ALL_SQL = """
+            WITH input(id, issued_at) AS (SELECT * FROM unnest(?::uuid[], ?::timestamptz[])),
+                 params(code, at) AS (SELECT ?::smallint, ?::timestamptz),
+                 updated AS (
+                     UPDATE status_registry s
+                     SET is_revoked = true, revocation_code = params.code, updated_at = params.at, change_xid = %1$s
+                     FROM input, params
+                     WHERE s.credential_id = input.id AND s.issued_at = input.issued_at AND NOT s.is_revoked
+                     RETURNING s.credential_id, s.status_index),
+                 inserted AS (
+                     INSERT INTO status_registry (credential_id, is_revoked, revocation_code, issued_at, updated_at, change_xid)
+                     SELECT input.id, true, params.code, input.issued_at, params.at, %1$s FROM input, params
+                     ON CONFLICT (credential_id, issued_at) DO NOTHING
+                     RETURNING credential_id, status_index)
+            SELECT credential_id, status_index, false FROM updated
+            UNION ALL
+            SELECT credential_id, status_index, true FROM inserted
+            """.formatted(CURRENT_XID);
+
+    private static final String REVOKE_BY_HOLDER_SQL = """
+            UPDATE status_registry SET is_revoked = true, revocation_code = ?, updated_at = ?, change_xid = %s
+            WHERE holder_hash = ? AND NOT is_revoked
+            RETURNING credential_id, status_index, false
+            """.formatted(CURRENT_XID);
+
+    // Transactions below the snapshot xmin have all completed
+    private static final String CHANGES_AFTER_SQL = """
+            SELECT credential_id, is_revoked, status_index, change_xid FROM status_registry
+            WHERE (change_xid, credential_id) > (?, ?)
+              AND change_xid < pg_snapshot_xmin(pg_current_snapshot())::text::bigint
+            ORDER BY change_xid, credential_id
+            LIMIT ?
+            """;
+
+    private static final String LAST_CHANGE_SQL = """
+            SELECT credential_id, is_revoked, status_index, change_xid FROM status_registry
+            WHERE change_xid < pg_snapshot_xmin(pg_current_snapshot())::text::bigint
+            ORDER BY change_xid DESC, credential_id DESC
+            LIMIT 1
+            """;
+
+    private static final String NEXT_BLOCK_SQL = "SELECT nextval('status_list_block_seq')";
+
+    private static final String MAX_INDEX_SQL = "SELECT COALESCE(MAX(status_index), -1) FROM status_registry";
+
+    private static final String REVOKED_INDEXES_SQL =
+            "SELECT status_index FROM status_registry WHERE is_revoked AND status_index IS NOT NULL";
+
+    private static final int SCAN_PAGE_SIZE = 50_000;
+
+    private static final String FIRST_PAGE_SQL =
+            "SELECT credential_id, is_revoked, status_index FROM status_registry ORDER BY credential_id LIMIT ?";
+
+    private static final String NEXT_PAGE_SQL =
+            "SELECT credential_id, is_revoked, status_index FROM status_registry WHERE credential_id > ? ORDER BY credential_id LIMIT ?";
+
+    private static final String UPDATED_SINCE_SQL =
+            "SELECT credential_id, is_revoked, status_index FROM status_registry WHERE updated_at > ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertAll(Collection<StatusRegistryEntity> statuses) {
+        insertAll(INSERT_SQL, statuses);
+    }
+
+    @Override
+    public void upsertAll(Collection<StatusRegistryEntity> statuses) {
+        insertAll(UPSERT_SQL, statuses);
+    }
+
+    private void insertAll(String sql, Collection<StatusRegistryEntity> statuses) {
+        OffsetDateTime now = OffsetDateTime.ofInstant(Instant.now(), ZoneOffset.UTC);
+        jdbcTemplate.batchUpdate(sql, statuses, BATCH_SIZE, (ps, status) -> {
+            ps.setObject(1, status.getCredentialId());
+            ps.setObject(2, status.getStatusIndex());
+            ps.setString(3, status.getHolderHash());
+            ps.setObject(4, OffsetDateTime.ofInstant(status.getIssuedAt(), ZoneOffset.UTC));
+            ps.setObject(5, now);
+        });
+    }
+
+    @Override
+    public List<RevokedStatus> revokeAll(Collection<UUID> credentialIds, RevocationReason reason) {
+        OffsetDateTime now = OffsetDateTime.ofInstant(Instant.now(), ZoneOffset.UTC);
+        List<UUID> ids = List.copyOf(credentialIds);
+        List<RevokedStatus> revoked = new ArrayList<>(ids.size());
+        for (int from = 0; from < ids.size(); from += REVOKE_CHUNK_SIZE) {
+            List<UUID> chunk = ids.subList(from, Math.min(from + REVOKE_CHUNK_SIZE, ids.size()));
+            Object[] issuedAt = chunk.stream()
+                    .map(id -> OffsetDateTime.ofInstant(StatusRegistryKey.issuedAtOf(id), ZoneOffset.UTC))
+                    .toArray();
+            revoked.addAll(jdbcTemplate.query(REVOKE_ALL_SQL, ps -> {
+                ps.setArray(1, ps.getConnection().createArrayOf("uuid", chunk.toArray()));
+                ps.setArray(2, ps.getConnection().createArrayOf("timestamptz", issuedAt));
+                ps.setShort(3, (short) reason.getCode());
+                ps.setObject(4, now);
+            }, StatusRegistryRepositoryCustomImpl::revokedStatus));
+        }
+        return revoked;
+    }
+
+    @Override
+    public List<RevokedStatus> revokeAllByHolderHash(String holderHash, RevocationReason reason) {
+        return jdbcTemplate.query(REVOKE_BY_HOLDER_SQL, StatusRegistryRepositoryCustomImpl::revokedStatus,
+                (short) reason.getCode(), OffsetDateTime.ofInstant(Instant.now(), ZoneOffset.UTC), holderHash);
+    }
+
+    @Override
+    public void forEachChangeAfter(long changeXid, UUID credentialId, int limit, Consumer<StatusChange> consumer) {
+        jdbcTemplate.query(CHANGES_AFTER_SQL, rs -> {
+            consumer.accept(statusChange(rs, 0));
+        }, changeXid, credentialId, limit);
+    }
+
+    @Override
+    public Optional<StatusChange> findLastChange() {
+        return jdbcTemplate.query(LAST_CHANGE_SQL, StatusRegistryRepositoryCustomImpl::statusChange).stream().findFirst();
+    }
+
+    private static StatusChange statusChange(ResultSet rs, int rowNum) throws SQLException {
+        return new StatusChange(rs.getObject(1, UUID.class), rs.getBoolean(2), rs.getObject(3, Long.class), rs.getLong(4));
+    }
+
+    private static RevokedStatus revokedStatus(ResultSet rs, int rowNum) throws SQLException {
+        return new RevokedStatus(rs.getObject(1, UUID.class), rs.getObject(2, Long.class), rs.getBoolean(3));
+    }
+
+    @Override
+    public long nextStatusIndexBlock() {
+        return jdbcTemplate.queryForObject(NEXT_BLOCK_SQL, Long.class);
+    }
+
+    @Override
+    public long maxStatusIndex() {
+        return jdbcTemplate.queryForObject(MAX_INDEX_SQL, Long.class);
+    }
+
+    @Override
+    public void forEachRevokedStatusIndex(LongConsumer consumer) {
+        jdbcTemplate.query(REVOKED_INDEXES_SQL, rs -> {
+            consumer.accept(rs.getLong(1));
+        });
+    }
+
+    @Override
+    public void forEachStatus(Instant updatedSince, StatusRowHandler handler) {
+        if (updatedSince != null) {
+            jdbcTemplate.query(UPDATED_SINCE_SQL, rs -> {
+                handler.accept(rs.getObject(1, UUID.class), rs.getBoolean(2), rs.getObject(3, Long.class));
+            }, OffsetDateTime.ofInstant(updatedSince, ZoneOffset.UTC));
+            return;
+        }
+
+        PageCursor cursor = new PageCursor(handler);
+        do {
+            UUID after = cursor.lastId;
+            cursor.rows = 0;
+            if (after == null) {
+                jdbcTemplate.query(FIRST_PAGE_SQL, cursor, SCAN_PAGE_SIZE);
+            } else {
+                jdbcTemplate.query(NEXT_PAGE_SQL, cursor, after, SCAN_PAGE_SIZE);
+            }
+        } while (cursor.rows == SCAN_PAGE_SIZE);
+    }
+
+    /**
+     * Forwards rows to the handler while remembering where the page ended (keyset pagination).
+     */
+    private static final class PageCursor implements RowCallbackHandler {
+        private final StatusRowHandler handler;
+        private UUID lastId;
+        private int rows;
+
+        private PageCursor(StatusRowHandler handler) {
+            this.handler = handler;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            lastId = rs.getObject(1, UUID.class);
+            rows++;
+            handler.accept(lastId, rs.getBoolean(2), rs.getObject(3, Long.class));
+        }
+    }
+
+}
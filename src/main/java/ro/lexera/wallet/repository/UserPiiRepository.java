@@ -0,0 +1,190 @@
+package ro.lexera.wallet.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import ro.lexera.wallet.util.JasyptAttributeConverter;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Raw access to the encrypted PII columns of {@code users}, bypassing the JPA converter, for re-encryption,
+ * blind index backfill and bulk import.
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserPiiRepository {
+
+    private static final String LEGACY_SQL = """
+            SELECT id, first_name, last_name, national_id FROM users
+            WHERE id > ? AND (first_name NOT LIKE '%1$s%%' OR last_name NOT LIKE '%1$s%%' OR national_id NOT LIKE '%1$s%%')
+            ORDER BY id LIMIT ?
+            """.formatted(JasyptAttributeConverter.AES_GCM_V1);
+
+    private static final String UPDATE_SQL = """
+            UPDATE users SET first_name = ?, last_name = ?, national_id = ?
+            WHERE id = ? AND first_name = ? AND last_name = ? AND national_id = ?
+            """;
+
+    private static final String EXISTING_HASHES_SQL =
+            "SELECT root_identity_hash FROM users WHERE root_identity_hash = ANY(?)";
+
+    private static final String INSERT_IF_ABSENT_SQL = """
+            INSERT INTO users (id, root_identity_hash, first_name, last_name, national_id, national_id_index, email)
+            SELECT * FROM unnest(?::uuid[], ?::text[], ?::text[], ?::text[], ?::text[], ?::text[], ?::text[])
+            ON CONFLICT (root_identity_hash) DO NOTHING
+            RETURNING root_identity_hash
+            """;
+
+    private static final String MISSING_INDEX_SQL = """
+            SELECT id, national_id FROM users
+            WHERE id > ? AND national_id_index IS NULL
+            ORDER BY id LIMIT ?
+            """;
+
+    private static final String SET_INDEX_SQL =
+            "UPDATE users SET national_id_index = ? WHERE id = ? AND national_id = ? AND national_id_index IS NULL";
+
+    private static final UUID FIRST_ID = new UUID(0, 0);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * The encrypted columns of one user, as stored.
+     */
+    public record EncryptedPii(UUID id, String firstName, String lastName, String nationalId) {
+    }
+
+    /**
+     * A user row ready to insert, with its PII columns already encrypted.
+     */
+    public record NewUser(UUID id, String rootIdentityHash, String firstName, String lastName, String nationalId,
+                          String nationalIdIndex, String email) {
+    }
+
+    /**
+     * A user whose national ID has no blind index yet, with the national ID as stored (encrypted).
+     */
+    public record UnindexedNationalId(UUID id, String nationalId) {
+    }
+
+    /**
+     * @return The hashes among {@code rootHashes} that are already registered.
+     */
+    public Set<String> findExistingRootHashes(Collection<String> rootHashes) {
+        Object[] hashes = rootHashes.toArray();
+        Set<String> existing = new HashSet<>();
+        jdbcTemplate.query(EXISTING_HASHES_SQL,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("text", hashes)),
+                rs -> {
+                    existing.add(rs.getString(1));
+                });
+        return existing;
+    }
+
+    /**
+     * Inserts users in one statement, skipping those whose root hash is already registered (including by
+     * an earlier element of {@code users}).
+     *
+     * @return The root hashes actually inserted.
+     */
+    public Set<String> insertAllIfAbsent(List<NewUser> users) {
+        if (users.isEmpty()) {
+            return Set.of();
+        }
+        Set<String> inserted = new HashSet<>();
+        jdbcTemplate.query(INSERT_IF_ABSENT_SQL, ps -> {
+            var connection = ps.getConnection();
+            ps.setArray(1, connection.createArrayOf("uuid", users.stream().map(NewUser::id).toArray()));
+            ps.setArray(2, connection.createArrayOf("text", users.stream().map(NewUser::rootIdentityHash).toArray()));
+            ps.setArray(3, connection.createArrayOf("text", users.stream().map(NewUser::firstName).toArray()));
+            ps.setArray(4, connection.createArrayOf("text", users.stream().map(NewUser::lastName).toArray()));
+            ps.setArray(5, connection.createArrayOf("text", users.stream().map(NewUser::nationalId).toArray()));
+            ps.setArray(6, connection.createArrayOf("text", users.stream().map(NewUser::nationalIdIndex).toArray()));
+            ps.setArray(7, connection.createArrayOf("text", users.stream().map(NewUser::email).toArray()));
+        }, rs -> {
+            inserted.add(rs.getString(1));
+        });
+        return inserted;
+    }
+
+    /**
+     * @param after The ID to continue after, {@code null} to start from the beginning.
+     * @return Up to {@code limit} users, in ID order, with at least one column not yet in AES-GCM format.
+     */
+    public List<EncryptedPii> findNotAesGcm(UUID after, int limit) {
+        return jdbcTemplate.query(LEGACY_SQL, (rs, row) -> new EncryptedPii(
+                        rs.getObject("id", UUID.class),
+                        rs.getString("first_name"),
+                        rs.getString("last_name"),
+                        rs.getString("national_id")),
+                after == null ? FIRST_ID : after, limit);
+    }
+
+    /**
+     * Writes re-encrypted columns, skipping users whose columns changed since they were read.
+     *
+     * @param updates Pairs of the values read and their re-encryption, with the same ID.
+     * @return The number of users updated.
+     */
+    public int replaceAll(List<EncryptedPii[]> updates) {
+        int[][] counts = jdbcTemplate.batchUpdate(UPDATE_SQL, updates, updates.size(), (ps, update) -> {
+            EncryptedPii read = update[0];
+            EncryptedPii reencrypted = update[1];
+            ps.setString(1, reencrypted.firstName());
+            ps.setString(2, reencrypted.lastName());
+            ps.setString(3, reencrypted.nationalId());
+            ps.setObject(4, read.id());
+            ps.setString(5, read.firstName());
+            ps.setString(6, read.lastName());
+            ps.setString(7, read.nationalId());
+        });
+        int updated = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                updated += Math.max(count, 0);
+            }
+        }
+        return updated;
+    }
+
+    /**
+     * @param after The ID to continue after, {@code null} to start from the beginning.
+     * @return Up to {@code limit} users without a national ID blind index, in ID order.
+     */
+    public List<UnindexedNationalId> findUnindexedNationalIds(UUID after, int limit) {
+        return jdbcTemplate.query(MISSING_INDEX_SQL,
+                (rs, row) -> new UnindexedNationalId(rs.getObject("id", UUID.class), rs.getString("national_id")),
+                after == null ? FIRST_ID : after, limit);
+    }
+
+    /**
+     * Stores national ID blind indexes, skipping users whose national ID changed since it was read.
+     *
+     * @param users   The users read by {@link #findUnindexedNationalIds}.
+     * @param indexes The blind index of each user's national ID, in the same order.
+     */
+    public void setNationalIdIndexes(List<UnindexedNationalId> users, List<String> indexes) {
+        jdbcTemplate.batchUpdate(SET_INDEX_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ps.setString(1, indexes.get(i));
+                ps.setObject(2, users.get(i).id());
+                ps.setString(3, users.get(i).nationalId());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return users.size();
+            }
+        });
+    }
+
+}
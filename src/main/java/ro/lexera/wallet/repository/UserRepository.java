@@ -1,13 +1,38 @@
 package ro.lexera.wallet.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import ro.lexera.wallet.model.entity.UserEntity;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepository extends JpaRepository<UserEntity, UUID> {
     Optional<UserEntity> findByRootIdentityHash(String hash);
+
+    /**
+     * Users whose national ID has this blind index; indexed, so no table scan and no decryption.
+     */
+    List<UserEntity> findByNationalIdIndex(String nationalIdIndex);
+
+    List<UserEntity> findByEmail(String email);
+
+    /**
+     * Existence check that neither loads the entity nor decrypts its PII columns.
+     */
+    boolean existsByRootIdentityHash(String hash);
+
+    /**
+     * Streams every root identity hash; must be consumed (and closed) inside a transaction.
+     */
+    @Query("SELECT u.rootIdentityHash FROM UserEntity u")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "10000"))
+    Stream<String> streamAllRootIdentityHashes();
 }
@@ -0,0 +1,265 @@
+package ro.lexera.wallet.service.crypto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ro.lexera.wallet.config.SigningKey;
+import ro.lexera.wallet.exception.DigitalWalletException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Signature;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Allocation-lean producer of compact JWS tokens for a single signing key.
+ * <p>
+ * The Base64URL-encoded protected header (carrying the key's {@code kid}, and the token's {@code typ} if it has one) is computed once. Each call serializes the payload
+ * straight into a reusable byte buffer, Base64URL-encodes it next to the header and feeds the
+ * signing input to an already initialised {@link Signature}. Buffers and signatures are kept
+ * in a small pool rather than in {@link ThreadLocal}s, so callers running on virtual threads
+ * (such as batch issuance) reuse them as well.
+ * </p>
+ * <p>
+ * The produced tokens are plain RFC 7515 compact serializations and verify with any JOSE library.
+ * </p>
+ */
+final class CompactJwsSigner {
+
+    private static final int MAX_POOLED = Runtime.getRuntime().availableProcessors() * 2;
+    private static final int INITIAL_BUFFER_SIZE = 1024;
+    private static final int MAX_RETAINED_BUFFER_SIZE = 64 * 1024;
+
+    private static final byte[] BASE64URL = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_"
+            .getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * Writes the claims of a payload. The surrounding JSON object is opened and closed by the signer.
+     */
+    @FunctionalInterface
+    interface PayloadWriter {
+        void write(JsonGenerator json) throws IOException;
+    }
+
+    private final SigningKey key;
+    private final ObjectMapper objectMapper;
+    private final byte[] encodedHeader;
+
+    private final ConcurrentLinkedQueue<Scratch> pool = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pooled = new AtomicInteger();
+
+    CompactJwsSigner(SigningKey key, ObjectMapper objectMapper) {
+        this(key, objectMapper, null);
+    }
+
+    /**
+     * @param type The {@code typ} header of every token, {@code null} for none.
+     */
+    CompactJwsSigner(SigningKey key, ObjectMapper objectMapper, String type) {
+        this.key = key;
+        this.objectMapper = objectMapper;
+
+        // Same member order as JJWT, so untyped tokens stay byte-identical to the builder output
+        byte[] header = ("{\"kid\":\"" + key.keyId() + "\",\"alg\":\"" + key.algorithm().name() + "\""
+                + (type == null ? "" : ",\"typ\":\"" + type + "\"") + "}")
+                .getBytes(StandardCharsets.UTF_8);
+        byte[] encoded = new byte[encodedLength(header.length) + 1];
+        int length = encode(header, 0, header.length, encoded, 0);
+        encoded[length] = '.';
+        this.encodedHeader = encoded;
+    }
+
+    /**
+     * @return The key this signer produces signatures with.
+     */
+    SigningKey key() {
+        return key;
+    }
+
+    /**
+     * Serializes and signs a payload.
+     *
+     * @param payload Writes the payload claims into the JSON object being built.
+     * @return The compact serialization {@code header.payload.signature}.
+     * @throws DigitalWalletException if the payload cannot be serialized or the signature fails.
+     */
+    String sign(PayloadWriter payload) {
+        Scratch scratch = acquire();
+        try {
+            PayloadBuffer json = scratch.json;
+            writePayload(json, payload);
+
+            // header.payload
+            int signingInputLength = encodedHeader.length + encodedLength(json.count);
+            byte[] out = scratch.ensureOutputCapacity(signingInputLength);
+            System.arraycopy(encodedHeader, 0, out, 0, encodedHeader.length);
+            encode(json.bytes, 0, json.count, out, encodedHeader.length);
+
+            scratch.signature.update(out, 0, signingInputLength);
+            byte[] signature = scratch.signature.sign();
+
+            // .signature
+            out = scratch.ensureOutputCapacity(signingInputLength + 1 + encodedLength(signature.length));
+            out[signingInputLength] = '.';
+            int length = encode(signature, 0, signature.length, out, signingInputLength + 1);
+
+            String token = new String(out, 0, length, StandardCharsets.ISO_8859_1);
+            release(scratch); // a failed scratch may hold a half-fed Signature, so only healthy ones go back
+            return token;
+        } catch (IOException | GeneralSecurityException ex) {
+            throw new DigitalWalletException("Unable to sign the " + key.algorithm() + " token: " + ex.getMessage(), "ERR_SIGNING_FAILED");
+        }
+    }
+
+    /**
+     * Serializes a payload exactly as {@link #sign(PayloadWriter)} would, without signing it.
+     *
+     * @param payload Writes the payload claims into the JSON object being built.
+     * @return The UTF-8 JSON payload.
+     * @throws DigitalWalletException if the payload cannot be serialized.
+     */
+    byte[] serialize(PayloadWriter payload) {
+        Scratch scratch = acquire();
+        try {
+            writePayload(scratch.json, payload);
+            byte[] bytes = Arrays.copyOf(scratch.json.bytes, scratch.json.count);
+            release(scratch);
+            return bytes;
+        } catch (IOException ex) {
+            throw new DigitalWalletException("Unable to serialize the token payload: " + ex.getMessage(), "ERR_SIGNING_FAILED");
+        }
+    }
+
+    private void writePayload(PayloadBuffer json, PayloadWriter payload) throws IOException {
+        json.reset();
+        try (JsonGenerator generator = objectMapper.createGenerator(json)) {
+            generator.writeStartObject();
+            payload.write(generator);
+            generator.writeEndObject();
+        }
+    }
+
+    private Scratch acquire() {
+        Scratch scratch = pool.poll();
+        if (scratch != null) {
+            pooled.decrementAndGet();
+            return scratch;
+        }
+        try {
+            Signature signature = Signature.getInstance(key.algorithm().jcaName());
+            signature.initSign(key.privateKey());
+            return new Scratch(signature);
+        } catch (GeneralSecurityException ex) {
+            throw new DigitalWalletException("Unable to initialise the " + key.algorithm() + " signer: " + ex.getMessage(), "ERR_SIGNING_FAILED");
+        }
+    }
+
+    private void release(Scratch scratch) {
+        if (scratch.isOversized()) {
+            return; // dropped scratches are simply garbage collected
+        }
+        if (pooled.incrementAndGet() > MAX_POOLED) {
+            pooled.decrementAndGet();
+            return;
+        }
+        pool.offer(scratch);
+    }
+
+    private static int encodedLength(int length) {
+        return (length / 3) * 4 + switch (length % 3) {
+            case 1 -> 2;
+            case 2 -> 3;
+            default -> 0;
+        };
+    }
+
+    /**
+     * Base64URL-encodes (without padding) {@code src[offset, offset + length)} into {@code dst} starting at {@code dstOffset}.
+     *
+     * @return The index in {@code dst} just past the last written byte.
+     */
+    static int encode(byte[] src, int offset, int length, byte[] dst, int dstOffset) {
+        int end = offset + length;
+        int fullGroupsEnd = offset + (length / 3) * 3;
+        int d = dstOffset;
+        int s = offset;
+        while (s < fullGroupsEnd) {
+            int bits = (src[s++] & 0xff) << 16 | (src[s++] & 0xff) << 8 | (src[s++] & 0xff);
+            dst[d++] = BASE64URL[(bits >>> 18) & 0x3f];
+            dst[d++] = BASE64URL[(bits >>> 12) & 0x3f];
+            dst[d++] = BASE64URL[(bits >>> 6) & 0x3f];
+            dst[d++] = BASE64URL[bits & 0x3f];
+        }
+        if (s < end) {
+            int b0 = src[s++] & 0xff;
+            dst[d++] = BASE64URL[b0 >>> 2];
+            if (s == end) {
+                dst[d++] = BASE64URL[(b0 << 4) & 0x3f];
+            } else {
+                int b1 = src[s] & 0xff;
+                dst[d++] = BASE64URL[(b0 << 4) & 0x3f | (b1 >>> 4)];
+                dst[d++] = BASE64URL[(b1 << 2) & 0x3f];
+            }
+        }
+        return d;
+    }
+
+    /**
+     * Per-signer working state: the payload buffer, the output buffer and an initialised {@link Signature}.
+     */
+    private static final class Scratch {
+        private final Signature signature;
+        private final PayloadBuffer json = new PayloadBuffer();
+        private byte[] output = new byte[INITIAL_BUFFER_SIZE];
+
+        private Scratch(Signature signature) {
+            this.signature = signature;
+        }
+
+        private byte[] ensureOutputCapacity(int capacity) {
+            if (output.length < capacity) {
+                output = Arrays.copyOf(output, Math.max(capacity, output.length * 2));
+            }
+            return output;
+        }
+
+        private boolean isOversized() {
+            return output.length > MAX_RETAINED_BUFFER_SIZE || json.bytes.length > MAX_RETAINED_BUFFER_SIZE;
+        }
+    }
+
+    /**
+     * Unsynchronized, resettable alternative to {@link java.io.ByteArrayOutputStream}.
+     */
+    private static final class PayloadBuffer extends OutputStream {
+        private byte[] bytes = new byte[INITIAL_BUFFER_SIZE];
+        private int count;
+
+        private void reset() {
+            count = 0;
+        }
+
+        @Override
+        public void write(int b) {
+            ensureCapacity(count + 1);
+            bytes[count++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            ensureCapacity(count + len);
+            System.arraycopy(b, off, bytes, count, len);
+            count += len;
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (bytes.length < capacity) {
+                bytes = Arrays.copyOf(bytes, Math.max(capacity, bytes.length * 2));
+            }
+        }
+    }
+
+}
@@ -0,0 +1,15 @@
+package ro.lexera.wallet.service.crypto;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * The inputs of a single credential within a batch signing call.
+ *
+ * @param subjectId The unique identifier of the holder (e.g., identity hash).
+ * @param docType   The schema/type of the credential (e.g., IDENTITY_CARD).
+ * @param claims    The business data to be encoded within the payload.
+ * @param jti       The unique UUID that identifies this specific credential issuance.
+ */
+public record CredentialPayload(String subjectId, String docType, Map<String, Object> claims, UUID jti) {
+}
@@ -0,0 +1,154 @@
+package ro.lexera.wallet.service.crypto;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import ro.lexera.wallet.config.SigningKey;
+import ro.lexera.wallet.config.SigningKeyProvider;
+import ro.lexera.wallet.exception.DigitalWalletException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Signature;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Map;
+
+/**
+ * Verifies credentials produced by {@link SigningService#signCredentialBatch}.
+ * <p>
+ * A batch-signed credential has the form {@code rootJws~payload~proof}, where:
+ * </p>
+ * <ul>
+ * <li>{@code rootJws} is a compact JWS, signed by a key of the JWKS, with the {@code typ} header
+ * {@value #MERKLE_ROOT_TYPE} and the issuer {@value #MERKLE_ROOT_ISSUER}, whose payload carries the Base64URL
+ * {@value #MERKLE_ROOT_CLAIM} and the {@value #LEAF_COUNT_CLAIM} of the batch;</li>
+ * <li>{@code payload} is the Base64URL JSON of the credential claims ({@code jti}, {@code sub}, ...);</li>
+ * <li>{@code proof} is the Base64URL inclusion proof of the payload in the tree (see {@link MerkleTree}).</li>
+ * </ul>
+ * <p>
+ * A credential is valid when the root signature verifies, the payload hashes up to the signed
+ * root, and neither the root nor the credential has expired.
+ * </p>
+ * <p>
+ * The root is signed with the credential key but is not a credential: its own {@code typ} and issuer make
+ * verifiers of issuer tokens ({@code iss} {@code ro.lexera.issuer}) reject a bare {@code rootJws}, and this
+ * verifier rejects any other token of this issuer, such as a status proof, in its place.
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+public class MerkleCredentialVerifier {
+
+    public static final String SEPARATOR = "~";
+    public static final String MERKLE_ROOT_CLAIM = "merkleRoot";
+    public static final String LEAF_COUNT_CLAIM = "leafCount";
+    public static final String MERKLE_ROOT_TYPE = "merkle-root+jwt";
+    public static final String MERKLE_ROOT_ISSUER = "ro.lexera.merkle-root";
+
+    private static final TypeReference<Map<String, Object>> CLAIMS_TYPE = new TypeReference<>() {
+    };
+    private static final Base64.Decoder BASE64URL = Base64.getUrlDecoder();
+
+    private final SigningKeyProvider signingKeyProvider;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Verifies a batch-signed credential.
+     *
+     * @param token The {@code rootJws~payload~proof} token.
+     * @return The verified credential claims.
+     * @throws DigitalWalletException with {@code ERR_INVALID_CREDENTIAL} if the token is malformed, its
+     *                                signature or inclusion proof is invalid, or it has expired.
+     */
+    public Map<String, Object> verify(String token) {
+        String[] parts = token.split(SEPARATOR, -1);
+        if (parts.length != 3) {
+            throw invalid("expected rootJws~payload~proof");
+        }
+
+        Map<String, Object> root = verifyRoot(parts[0]);
+        byte[] payload = decode(parts[1]);
+        byte[] proof = decode(parts[2]);
+        byte[] rootHash = decode(String.valueOf(root.get(MERKLE_ROOT_CLAIM)));
+        if (!(root.get(LEAF_COUNT_CLAIM) instanceof Number leafCount)
+                || !MerkleTree.verify(payload, leafCount.intValue(), proof, rootHash)) {
+            throw invalid("the credential is not part of the signed batch");
+        }
+
+        Map<String, Object> claims = parse(payload);
+        checkNotExpired(claims);
+        return claims;
+    }
+
+    private Map<String, Object> verifyRoot(String rootJws) {
+        String[] segments = rootJws.split("\\.", -1);
+        if (segments.length != 3) {
+            throw invalid("the batch root is not a compact JWS");
+        }
+
+        Map<String, Object> header = parse(decode(segments[0]));
+        SigningKey key = signingKeyProvider.publishedKeys().stream()
+                .filter(candidate -> candidate.keyId().equals(header.get("kid")))
+                .findFirst()
+                .orElseThrow(() -> invalid("unknown signing key '" + header.get("kid") + "'"));
+        if (!key.algorithm().name().equals(header.get("alg"))) {
+            throw invalid("the algorithm does not match the signing key");
+        }
+        if (!MERKLE_ROOT_TYPE.equals(header.get("typ"))) {
+            throw invalid("the batch root is not of type " + MERKLE_ROOT_TYPE);
+        }
+
+        try {
+            Signature signature = Signature.getInstance(key.algorithm().jcaName());
+            signature.initVerify(key.publicKey());
+            signature.update((segments[0] + "." + segments[1]).getBytes(StandardCharsets.US_ASCII));
+            if (!signature.verify(decode(segments[2]))) {
+                throw invalid("the batch root signature is invalid");
+            }
+        } catch (GeneralSecurityException ex) {
+            throw invalid("the batch root signature is invalid");
+        }
+
+        Map<String, Object> claims = parse(decode(segments[1]));
+        if (!MERKLE_ROOT_ISSUER.equals(claims.get("iss"))) {
+            throw invalid("the batch root was not issued as one");
+        }
+        checkNotExpired(claims);
+        return claims;
+    }
+
+    private static void checkNotExpired(Map<String, Object> claims) {
+        if (!(claims.get("exp") instanceof Number exp) || Instant.now().getEpochSecond() >= exp.longValue()) {
+            throw invalid("the credential has expired");
+        }
+    }
+
+    private Map<String, Object> parse(byte[] json) {
+        try {
+            return objectMapper.readValue(json, CLAIMS_TYPE);
+        } catch (IOException ex) {
+            throw invalid("malformed JSON");
+        }
+    }
+
+    private static byte[] decode(String base64Url) {
+        try {
+            return BASE64URL.decode(base64Url);
+        } catch (IllegalArgumentException ex) {
+            throw invalid("malformed Base64URL");
+        }
+    }
+
+    private static DigitalWalletException invalid(String reason) {
+        return new DigitalWalletException(
+                "The credential could not be verified: " + reason + ".",
+                "ERR_INVALID_CREDENTIAL",
+                HttpStatus.BAD_REQUEST
+        );
+    }
+
+}
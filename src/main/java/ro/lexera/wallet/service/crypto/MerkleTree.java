@@ -0,0 +1,164 @@
+package ro.lexera.wallet.service.crypto;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+
+/**
+ * SHA-256 Merkle tree with the RFC 9162 (Certificate Transparency v2) shape and hashing rules.
+ * <p>
+ * Leaves are hashed as {@code SHA-256(0x00 || data)} and interior nodes as
+ * {@code SHA-256(0x01 || left || right)}, so a leaf can never be passed off as a node.
+ * The tree is built level by level; an odd node at the end of a level is promoted unchanged,
+ * which yields the same root as the recursive RFC 9162 definition.
+ * </p>
+ * <p>
+ * An inclusion proof is encoded as the 4-byte big-endian leaf index followed by the sibling
+ * hashes from the leaf up to the root.
+ * </p>
+ */
+final class MerkleTree {
+
+    static final int HASH_LENGTH = 32;
+
+    private static final byte LEAF_PREFIX = 0x00;
+    private static final byte NODE_PREFIX = 0x01;
+
+    /**
+     * {@code levels[0]} holds the leaf hashes, the last level holds the root alone.
+     */
+    private final byte[][][] levels;
+
+    private MerkleTree(byte[][][] levels) {
+        this.levels = levels;
+    }
+
+    /**
+     * Builds the tree over the given leaf contents.
+     *
+     * @param leaves The serialized leaves, at least one.
+     */
+    static MerkleTree build(List<byte[]> leaves) {
+        if (leaves.isEmpty()) {
+            throw new IllegalArgumentException("A Merkle tree needs at least one leaf");
+        }
+        MessageDigest digest = sha256();
+        byte[][] level = new byte[leaves.size()][];
+        for (int i = 0; i < level.length; i++) {
+            level[i] = leafHash(digest, leaves.get(i));
+        }
+
+        int height = 1;
+        for (int size = level.length; size > 1; size = (size + 1) / 2) {
+            height++;
+        }
+        byte[][][] levels = new byte[height][][];
+        levels[0] = level;
+        for (int h = 1; h < height; h++) {
+            byte[][] below = levels[h - 1];
+            byte[][] above = new byte[(below.length + 1) / 2][];
+            for (int i = 0; i < above.length; i++) {
+                int left = 2 * i;
+                above[i] = left + 1 < below.length ? nodeHash(digest, below[left], below[left + 1]) : below[left];
+            }
+            levels[h] = above;
+        }
+        return new MerkleTree(levels);
+    }
+
+    int size() {
+        return levels[0].length;
+    }
+
+    byte[] root() {
+        return levels[levels.length - 1][0].clone();
+    }
+
+    /**
+     * @return The encoded inclusion proof of the leaf at {@code index}.
+     */
+    byte[] proof(int index) {
+        int siblings = 0;
+        for (int h = 0, i = index; h < levels.length - 1; h++, i >>>= 1) {
+            if ((i ^ 1) < levels[h].length) {
+                siblings++;
+            }
+        }
+        ByteBuffer proof = ByteBuffer.allocate(Integer.BYTES + siblings * HASH_LENGTH);
+        proof.putInt(index);
+        for (int h = 0, i = index; h < levels.length - 1; h++, i >>>= 1) {
+            if ((i ^ 1) < levels[h].length) {
+                proof.put(levels[h][i ^ 1]);
+            }
+        }
+        return proof.array();
+    }
+
+    /**
+     * Checks that {@code leaf} sits in a tree of {@code size} leaves with the given root
+     * (RFC 9162, section 2.1.3.2).
+     *
+     * @param leaf  The serialized leaf content (not its hash).
+     * @param size  The number of leaves in the tree.
+     * @param proof The encoded inclusion proof.
+     * @param root  The expected root hash.
+     * @return {@code true} if the proof is valid.
+     */
+    static boolean verify(byte[] leaf, int size, byte[] proof, byte[] root) {
+        if (proof.length < Integer.BYTES || (proof.length - Integer.BYTES) % HASH_LENGTH != 0) {
+            return false;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(proof);
+        int index = buffer.getInt();
+        if (index < 0 || index >= size) {
+            return false;
+        }
+
+        MessageDigest digest = sha256();
+        long fn = index;
+        long sn = size - 1L;
+        byte[] hash = leafHash(digest, leaf);
+        byte[] sibling = new byte[HASH_LENGTH];
+        while (buffer.hasRemaining()) {
+            if (sn == 0) {
+                return false;
+            }
+            buffer.get(sibling);
+            if ((fn & 1) == 1 || fn == sn) {
+                hash = nodeHash(digest, sibling, hash);
+                while ((fn & 1) == 0 && fn != 0) {
+                    fn >>= 1;
+                    sn >>= 1;
+                }
+            } else {
+                hash = nodeHash(digest, hash, sibling);
+            }
+            fn >>= 1;
+            sn >>= 1;
+        }
+        return sn == 0 && MessageDigest.isEqual(hash, root);
+    }
+
+    private static byte[] leafHash(MessageDigest digest, byte[] data) {
+        digest.update(LEAF_PREFIX);
+        digest.update(data);
+        return digest.digest();
+    }
+
+    private static byte[] nodeHash(MessageDigest digest, byte[] left, byte[] right) {
+        digest.update(NODE_PREFIX);
+        digest.update(left);
+        digest.update(right);
+        return digest.digest();
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+}
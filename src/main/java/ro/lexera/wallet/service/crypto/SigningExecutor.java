@@ -0,0 +1,143 @@
+package ro.lexera.wallet.service.crypto;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import ro.lexera.wallet.exception.DigitalWalletException;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Optional dedicated thread pool for private-key operations.
+ * <p>
+ * When enabled ({@code wallet.signing.executor.enabled}), every signature runs on one of
+ * {@code wallet.signing.executor.threads} platform threads (one per core by default) fed by a
+ * bounded queue. A signing spike then saturates this pool only, instead of every servlet thread,
+ * and cheap endpoints keep responding. When the queue is full the caller fails fast with
+ * {@code ERR_SIGNING_OVERLOADED} (HTTP 503 with {@code Retry-After}) rather than queueing unboundedly.
+ * </p>
+ * <p>
+ * Published metrics: {@code wallet.signing.queue.depth}, {@code wallet.signing.queue.wait} (time spent
+ * queued), {@code wallet.signing.service} (time spent signing) and {@code wallet.signing.rejected}.
+ * When disabled, tasks run inline on the calling thread and only the service time is recorded.
+ * </p>
+ */
+@Component
+public class SigningExecutor {
+
+    private final ThreadPoolExecutor executor;
+    private final Duration retryAfter;
+
+    private final Timer waitTimer;
+    private final Timer serviceTimer;
+    private final Counter rejected;
+
+    public SigningExecutor(@Value("${wallet.signing.executor.enabled:false}") boolean enabled,
+                           @Value("${wallet.signing.executor.threads:0}") int threads,
+                           @Value("${wallet.signing.executor.queue-capacity:1024}") int queueCapacity,
+                           @Value("${wallet.signing.executor.retry-after:PT1S}") Duration retryAfter,
+                           MeterRegistry meterRegistry) {
+        this.retryAfter = retryAfter;
+        this.serviceTimer = Timer.builder("wallet.signing.service")
+                .description("Time spent computing signatures")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("wallet.signing.queue.wait")
+                .description("Time signing tasks spent queued before a signing thread picked them up")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("wallet.signing.rejected")
+                .description("Signing tasks rejected because the signing queue was full")
+                .register(meterRegistry);
+
+        if (!enabled) {
+            this.executor = null;
+            return;
+        }
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new SigningThreadFactory(), new ThreadPoolExecutor.AbortPolicy());
+        Gauge.builder("wallet.signing.queue.depth", executor, e -> e.getQueue().size())
+                .description("Signing tasks waiting for a signing thread")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs a signing task on the signing pool and waits for its result.
+     *
+     * @param task The signature computation.
+     * @return The value computed by {@code task}.
+     * @throws DigitalWalletException with {@code ERR_SIGNING_OVERLOADED} if the signing queue is full.
+     */
+    public <T> T execute(Supplier<T> task) {
+        if (executor == null || Thread.currentThread() instanceof SigningThread) {
+            return serviceTimer.record(task);
+        }
+
+        long enqueuedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                waitTimer.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+                return serviceTimer.record(task);
+            });
+        } catch (RejectedExecutionException ex) {
+            rejected.increment();
+            throw new DigitalWalletException(
+                    "The signing service is saturated, please retry shortly.",
+                    "ERR_SIGNING_OVERLOADED",
+                    HttpStatus.SERVICE_UNAVAILABLE,
+                    retryAfter
+            );
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new DigitalWalletException("Signing was interrupted.", "ERR_SIGNING_FAILED");
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    private static final class SigningThread extends Thread {
+        private SigningThread(Runnable task, String name) {
+            super(task, name);
+            setDaemon(true);
+        }
+    }
+
+    private static final class SigningThreadFactory implements java.util.concurrent.ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable task) {
+            return new SigningThread(task, "signing-" + counter.incrementAndGet());
+        }
+    }
+
+}
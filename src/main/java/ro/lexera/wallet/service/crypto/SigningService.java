@@ -1,31 +1,87 @@
 package ro.lexera.wallet.service.crypto;
 
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.io.Serializer;
-import lombok.RequiredArgsConstructor;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.stereotype.Service;
-import ro.lexera.wallet.config.RsaKeyConfigProvider;
+import ro.lexera.wallet.config.SigningKey;
+import ro.lexera.wallet.config.SigningKeyProvider;
 
+import java.io.IOException;
+import java.time.Duration;
 import java.time.Instant;
-import java.time.temporal.ChronoUnit;
-import java.util.Date;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 /**
  * Core cryptographic service for generating and signing Digital Credentials.
  * <p>
  * This service utilizes JSON Web Token (JWT) standards to wrap identity claims into
- * non-repudiable, tamper-evident digital documents. It relies on RSA asymmetric
- * encryption provided by the {@link RsaKeyConfigProvider}.
+ * non-repudiable, tamper-evident digital documents. It relies on the asymmetric keys
+ * (RS256, ES256 or EdDSA) provided by the {@link SigningKeyProvider}.
+ * </p>
+ * <p>
+ * Tokens are produced by a {@link CompactJwsSigner}, which precomputes the protected header and
+ * the constant claim names/values and streams every payload into pooled buffers. The resulting
+ * JWS is identical to what the JJWT builder produces for the same claims. The header carries the
+ * {@code kid} of the active key, and a new signer is set up whenever the key ring rotates.
+ * </p>
+ * <p>
+ * The private-key operation itself runs through the {@link SigningExecutor}, which can confine
+ * signing to a bounded pool and shed load with {@code ERR_SIGNING_OVERLOADED} when saturated.
+ * </p>
+ * <p>
+ * For bulk issuance, {@link #signCredentialBatch(List)} signs a whole batch with a single
+ * private-key operation: the credential payloads become the leaves of a {@link MerkleTree}
+ * and only its root is signed. See {@link MerkleCredentialVerifier} for the token format.
  * </p>
  */
 @Service
-@RequiredArgsConstructor
 public class SigningService {
 
-    private final RsaKeyConfigProvider rsaKeyConfigProvider;
-    private final Serializer<Map<String, ?>> serializer;
+    public static final Duration CREDENTIAL_TTL = Duration.ofDays(1);
+    public static final Duration STATUS_PROOF_TTL = Duration.ofHours(12);
+
+    private static final SerializableString JTI = new SerializedString("jti");
+    private static final SerializableString SUB = new SerializedString("sub");
+    private static final SerializableString TYPE = new SerializedString("type");
+    private static final SerializableString ISS = new SerializedString("iss");
+    private static final SerializableString IAT = new SerializedString("iat");
+    private static final SerializableString EXP = new SerializedString("exp");
+    private static final SerializableString MERKLE_ROOT = new SerializedString(MerkleCredentialVerifier.MERKLE_ROOT_CLAIM);
+    private static final SerializableString LEAF_COUNT = new SerializedString(MerkleCredentialVerifier.LEAF_COUNT_CLAIM);
+
+    private static final SerializableString CREDENTIAL_ISSUER = new SerializedString("ro.lexera.issuer");
+    private static final SerializableString STATUS_ISSUER = new SerializedString("ro.lexera.status-registry");
+    private static final SerializableString MERKLE_ROOT_ISSUER = new SerializedString(MerkleCredentialVerifier.MERKLE_ROOT_ISSUER);
+
+    private static final Base64.Encoder BASE64URL = Base64.getUrlEncoder().withoutPadding();
+
+    /**
+     * Registered claims written by this service. Business claims cannot override them.
+     */
+    private static final Set<String> RESERVED_CLAIMS = Set.of("jti", "sub", "type", "iss", "iat", "exp");
+
+    private final SigningKeyProvider signingKeyProvider;
+    private final ObjectMapper objectMapper;
+    private final SigningExecutor signingExecutor;
+
+    private volatile CompactJwsSigner signer;
+    private volatile CompactJwsSigner merkleRootSigner;
+
+    public SigningService(SigningKeyProvider signingKeyProvider, ObjectMapper objectMapper, SigningExecutor signingExecutor) {
+        this.signingKeyProvider = signingKeyProvider;
+        this.objectMapper = objectMapper;
+        this.signingExecutor = signingExecutor;
+        SigningKey activeKey = signingKeyProvider.activeKey();
+        this.signer = new CompactJwsSigner(activeKey, objectMapper);
+        this.merkleRootSigner = new CompactJwsSigner(activeKey, objectMapper, MerkleCredentialVerifier.MERKLE_ROOT_TYPE);
+    }
 
     /**
      * Signs a full Verifiable Credential in JWT format.
@@ -41,17 +97,51 @@ public class SigningService {
      * @return A Base64URL encoded String representing the signed JWT.
      */
     public String signCredential(String subjectId, String docType, Map<String, Object> claims, UUID jti) {
-        return Jwts.builder()
-                .json(serializer)
-                .id(jti.toString())          // 1. Set the JTI (JWT ID) for revocation tracking
-                .subject(subjectId)          // 2. Who this belongs to
-                .claim("type", docType)   // 3. What this document is
-                .claims(claims)              // 4. The specific data from the Provider
-                .issuer("ro.lexera.issuer")
-                .issuedAt(Date.from(Instant.now()))
-                .expiration(Date.from(Instant.now().plus(1, ChronoUnit.DAYS)))
-                .signWith(rsaKeyConfigProvider.rsaPrivateKey())
-                .compact();
+        long issuedAt = Instant.now().getEpochSecond();
+        return signingExecutor.execute(() -> signer().sign(json ->
+                writeCredential(json, new CredentialPayload(subjectId, docType, claims, jti), issuedAt)));
+    }
+
+    /**
+     * Signs a batch of credentials with a single signature over the root of a Merkle tree.
+     * <p>
+     * Each returned token is {@code rootJws~payload~proof}: the signed root (shared by the whole
+     * batch), the Base64URL credential payload (the same claims {@link #signCredential} would sign)
+     * and the Base64URL inclusion proof of that payload. The cost of the private-key operation is
+     * thus amortised over the batch, at the price of a proof of {@code log2(n)} hashes per token.
+     * The root has its own {@code typ} and issuer, so it cannot pass for a credential.
+     * </p>
+     *
+     * @param credentials The credentials to sign, at least one.
+     * @return One token per credential, in the same order as the input.
+     */
+    public List<String> signCredentialBatch(List<CredentialPayload> credentials) {
+        long issuedAt = Instant.now().getEpochSecond();
+        CompactJwsSigner signer = signer();
+        CompactJwsSigner rootSigner = merkleRootSigner();
+
+        List<byte[]> payloads = new ArrayList<>(credentials.size());
+        for (CredentialPayload credential : credentials) {
+            payloads.add(signer.serialize(json -> writeCredential(json, credential, issuedAt)));
+        }
+        MerkleTree tree = MerkleTree.build(payloads);
+
+        String root = BASE64URL.encodeToString(tree.root());
+        String rootJws = signingExecutor.execute(() -> rootSigner.sign(json -> {
+            json.writeFieldName(MERKLE_ROOT);
+            json.writeString(root);
+            json.writeFieldName(LEAF_COUNT);
+            json.writeNumber(tree.size());
+            writeRegisteredClaims(json, MERKLE_ROOT_ISSUER, issuedAt, CREDENTIAL_TTL);
+        }));
+
+        List<String> tokens = new ArrayList<>(payloads.size());
+        for (int i = 0; i < payloads.size(); i++) {
+            tokens.add(rootJws
+                    + MerkleCredentialVerifier.SEPARATOR + BASE64URL.encodeToString(payloads.get(i))
+                    + MerkleCredentialVerifier.SEPARATOR + BASE64URL.encodeToString(tree.proof(i)));
+        }
+        return tokens;
     }
 
     /**
@@ -66,15 +156,65 @@ public class SigningService {
      * @return A Base64URL encoded String representing the signed status proof.
      */
     public String signStatusProof(String credentialId, Map<String, Object> claims) {
-        return Jwts.builder()
-                .json(serializer)
-                .subject(credentialId)
-                .claims(claims)
-                .issuer("ro.lexera.status-registry")
-                .issuedAt(Date.from(Instant.now()))
-                .expiration(Date.from(Instant.now().plus(12, ChronoUnit.HOURS)))
-                .signWith(rsaKeyConfigProvider.rsaPrivateKey())
-                .compact();
+        long issuedAt = Instant.now().getEpochSecond();
+        return signingExecutor.execute(() -> signer().sign(json -> {
+            json.writeFieldName(SUB);
+            json.writeString(credentialId);
+            writeClaims(json, claims);
+            writeRegisteredClaims(json, STATUS_ISSUER, issuedAt, STATUS_PROOF_TTL);
+        }));
+    }
+
+    private CompactJwsSigner signer() {
+        CompactJwsSigner current = signer;
+        SigningKey activeKey = signingKeyProvider.activeKey();
+        if (current.key() != activeKey) {
+            // Benign race: concurrent callers may each build a signer for the new key once
+            current = new CompactJwsSigner(activeKey, objectMapper);
+            signer = current;
+        }
+        return current;
+    }
+
+    private CompactJwsSigner merkleRootSigner() {
+        CompactJwsSigner current = merkleRootSigner;
+        SigningKey activeKey = signingKeyProvider.activeKey();
+        if (current.key() != activeKey) {
+            current = new CompactJwsSigner(activeKey, objectMapper, MerkleCredentialVerifier.MERKLE_ROOT_TYPE);
+            merkleRootSigner = current;
+        }
+        return current;
+    }
+
+    static void writeCredential(JsonGenerator json, CredentialPayload credential, long issuedAt) throws IOException {
+        json.writeFieldName(JTI);                     // 1. Set the JTI (JWT ID) for revocation tracking
+        json.writeString(credential.jti().toString());
+        json.writeFieldName(SUB);                     // 2. Who this belongs to
+        json.writeString(credential.subjectId());
+        json.writeFieldName(TYPE);                    // 3. What this document is
+        json.writeString(credential.docType());
+        writeClaims(json, credential.claims());       // 4. The specific data from the Provider
+        writeRegisteredClaims(json, CREDENTIAL_ISSUER, issuedAt, CREDENTIAL_TTL);
+    }
+
+    private static void writeClaims(JsonGenerator json, Map<String, Object> claims) throws IOException {
+        for (Map.Entry<String, Object> claim : claims.entrySet()) {
+            if (claim.getValue() == null || RESERVED_CLAIMS.contains(claim.getKey())) {
+                continue;
+            }
+            json.writeFieldName(claim.getKey());
+            json.writeObject(claim.getValue());
+        }
+    }
+
+    private static void writeRegisteredClaims(JsonGenerator json, SerializableString issuer, long issuedAt, Duration ttl)
+            throws IOException {
+        json.writeFieldName(ISS);
+        json.writeString(issuer);
+        json.writeFieldName(IAT);
+        json.writeNumber(issuedAt);
+        json.writeFieldName(EXP);
+        json.writeNumber(issuedAt + ttl.toSeconds());
     }
 
 }
@@ -0,0 +1,98 @@
+package ro.lexera.wallet.service.identity;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ro.lexera.wallet.repository.UserPiiRepository;
+import ro.lexera.wallet.repository.UserPiiRepository.UnindexedNationalId;
+import ro.lexera.wallet.util.BlindIndex;
+import ro.lexera.wallet.util.JasyptAttributeConverter;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Fills in the national ID blind index of users saved before it existed.
+ * <p>
+ * Runs every {@code wallet.pii.blind-index.backfill.interval} while {@code wallet.pii.blind-index.backfill.enabled}
+ * is set. Users without an index are read in ID order, {@code batch-size} at a time, and each batch is
+ * decrypted, indexed and written by one of {@code parallelism} workers (one per core by default). Writes
+ * are skipped for users whose national ID changed in the meantime; the next run picks them up. Once every
+ * row is indexed, a run costs one indexed query.
+ * </p>
+ */
+@Slf4j
+@Component
+public class BlindIndexBackfillJob {
+
+    private final UserPiiRepository repository;
+    private final JasyptAttributeConverter converter;
+    private final BlindIndex blindIndex;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int parallelism;
+
+    public BlindIndexBackfillJob(UserPiiRepository repository,
+                                 JasyptAttributeConverter converter,
+                                 BlindIndex blindIndex,
+                                 @Value("${wallet.pii.blind-index.backfill.enabled:true}") boolean enabled,
+                                 @Value("${wallet.pii.blind-index.backfill.batch-size:1000}") int batchSize,
+                                 @Value("${wallet.pii.blind-index.backfill.parallelism:0}") int parallelism) {
+        this.repository = repository;
+        this.converter = converter;
+        this.blindIndex = blindIndex;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+
+    @Scheduled(initialDelayString = "PT10S", fixedDelayString = "${wallet.pii.blind-index.backfill.interval:PT10M}")
+    public void run() {
+        if (!enabled) {
+            return;
+        }
+        AtomicLong indexed = new AtomicLong();
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        Semaphore inFlight = new Semaphore(parallelism * 2);
+        try (ExecutorService workers = Executors.newFixedThreadPool(parallelism)) {
+            UUID after = null;
+            List<UnindexedNationalId> page;
+            do {
+                page = repository.findUnindexedNationalIds(after, batchSize);
+                if (page.isEmpty()) {
+                    break;
+                }
+                after = page.getLast().id();
+                List<UnindexedNationalId> batch = page;
+                inFlight.acquire();
+                workers.execute(() -> {
+                    try {
+                        List<String> indexes = batch.stream()
+                                .map(user -> blindIndex.of(converter.convertToEntityAttribute(user.nationalId())))
+                                .toList();
+                        repository.setNationalIdIndexes(batch, indexes);
+                        indexed.addAndGet(batch.size());
+                    } catch (RuntimeException ex) {
+                        failure.compareAndSet(null, ex);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            } while (page.size() == batchSize && failure.get() == null);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        if (failure.get() != null) {
+            log.warn("National ID blind index backfill stopped after {} users", indexed.get(), failure.get());
+        } else if (indexed.get() > 0) {
+            log.info("Backfilled the national ID blind index of {} users", indexed.get());
+        }
+    }
+
+}
@@ -1,11 +1,17 @@
 package ro.lexera.wallet.service.identity;
 
 import lombok.RequiredArgsConstructor;
-import org.apache.commons.codec.digest.DigestUtils;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import ro.lexera.wallet.exception.DigitalWalletException;
+import ro.lexera.wallet.model.entity.UserEntity;
 import ro.lexera.wallet.repository.UserRepository;
 
+import java.util.List;
+import java.util.Objects;
+
 /**
  * Service responsible for the lifecycle management of digital identities within the ecosystem.
  * <p>
@@ -29,6 +35,9 @@ public class IdentityService {
     private String secretSalt;
 
     private final UserRepository userRepository;
+    private final RegisteredUserFilter registeredUserFilter;
+
+    private volatile RootHashEngine rootHashEngine;
 
     /**
      * Generates a deterministic, irreversible hash for a user based on their legal identity.
@@ -47,21 +56,80 @@ public class IdentityService {
      * @return A SHA-256 hexadecimal string representing the user's digital root.
      */
     public String createRootHash(String firstName, String lastName, String nationalId) {
-        String rawData = (firstName + lastName + nationalId).toLowerCase().replaceAll("\\s", "");
-        return DigestUtils.sha256Hex(rawData + secretSalt);
+        return rootHashEngine().hash(firstName, lastName, nationalId);
+    }
+
+    /**
+     * Generates the Root Identity Hashes of many identities at once, for bulk onboarding and re-keying.
+     * <p>
+     * Each hash is the one {@link #createRootHash} returns; large inputs are hashed in parallel.
+     * </p>
+     * @param identities The legal identities to hash.
+     * @return The SHA-256 hexadecimal strings, in the order of {@code identities}.
+     */
+    public List<String> createRootHashes(List<LegalIdentity> identities) {
+        return rootHashEngine().hashAll(identities);
+    }
+
+    private RootHashEngine rootHashEngine() {
+        RootHashEngine engine = rootHashEngine;
+        if (engine == null || !Objects.equals(engine.salt(), secretSalt)) {
+            engine = new RootHashEngine(secretSalt);
+            rootHashEngine = engine;
+        }
+        return engine;
     }
 
     /**
      * Checks the existence of a specific root hash within the secure identity registry.
      * <p>
      * This is used during the onboarding flow to prevent duplicate registrations
-     * and to verify if a document request originates from a known identity.
+     * and to verify if a document request originates from a known identity. Most
+     * hashes checked belong to new users, which the {@link RegisteredUserFilter}
+     * rules out without a database round-trip; the others are confirmed with an
+     * existence query that does not load (or decrypt) the user.
      * </p>
      * * @param hash The SHA-256 root identity hash to look up.
      * @return {@code true} if the identity exists in the database; {@code false} otherwise.
      */
     public boolean isUserAlreadyRegistered(String hash) {
-        return userRepository.findByRootIdentityHash(hash).isPresent();
+        if (!registeredUserFilter.mightBeRegistered(hash)) {
+            return false;
+        }
+        boolean registered = userRepository.existsByRootIdentityHash(hash);
+        if (!registered) {
+            registeredUserFilter.recordFalsePositive();
+        }
+        return registered;
+    }
+
+    /**
+     * Persists a new user, rejecting a second registration of the same legal identity.
+     *
+     * @param user The user to save, with its Root Identity Hash set.
+     * @return The saved user.
+     * @throws DigitalWalletException with {@code ERR_USER_ALREADY_EXISTS} if the root hash is already registered.
+     */
+    public UserEntity registerUser(UserEntity user) {
+        if (isUserAlreadyRegistered(user.getRootIdentityHash())) {
+            throw userAlreadyExists();
+        }
+        UserEntity saved;
+        try {
+            saved = userRepository.save(user);
+        } catch (DataIntegrityViolationException ex) {
+            throw userAlreadyExists(); // registered concurrently, or on another instance since the last filter rebuild
+        }
+        registeredUserFilter.add(saved.getRootIdentityHash());
+        return saved;
+    }
+
+    private static DigitalWalletException userAlreadyExists() {
+        return new DigitalWalletException(
+                "A user with this legal identity is already registered.",
+                "ERR_USER_ALREADY_EXISTS",
+                HttpStatus.BAD_REQUEST
+        );
     }
 
 }
@@ -0,0 +1,11 @@
+package ro.lexera.wallet.service.identity;
+
+/**
+ * The legal attributes a Root Identity Hash is derived from.
+ *
+ * @param firstName  The user's legal first name(s).
+ * @param lastName   The user's legal last name.
+ * @param nationalId The government-issued unique identifier (e.g., CNP, SSN).
+ */
+public record LegalIdentity(String firstName, String lastName, String nationalId) {
+}
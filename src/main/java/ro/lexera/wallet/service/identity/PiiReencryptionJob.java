@@ -0,0 +1,83 @@
+package ro.lexera.wallet.service.identity;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ro.lexera.wallet.repository.UserPiiRepository;
+import ro.lexera.wallet.repository.UserPiiRepository.EncryptedPii;
+import ro.lexera.wallet.util.JasyptAttributeConverter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Migrates PII columns still encrypted with legacy Jasypt to AES-GCM.
+ * <p>
+ * Runs every {@code wallet.pii.reencryption.interval} when {@code wallet.pii.reencryption.enabled} is set and
+ * the converter writes AES-GCM, walking {@code users} in ID order, {@code wallet.pii.reencryption.batch-size}
+ * rows at a time. Each row is rewritten only if its columns are unchanged since they were read, so the job
+ * is safe next to regular writes and on several instances at once; a row that lost the race is picked up by
+ * the next run.
+ * </p>
+ */
+@Slf4j
+@Component
+public class PiiReencryptionJob {
+
+    private final UserPiiRepository repository;
+    private final JasyptAttributeConverter converter;
+    private final boolean enabled;
+    private final int batchSize;
+    private final Counter reencrypted;
+
+    public PiiReencryptionJob(UserPiiRepository repository,
+                              JasyptAttributeConverter converter,
+                              @Value("${wallet.pii.reencryption.enabled:false}") boolean enabled,
+                              @Value("${wallet.pii.reencryption.batch-size:500}") int batchSize,
+                              MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.converter = converter;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.reencrypted = Counter.builder("wallet.pii.reencrypted")
+                .description("Users whose PII columns were re-encrypted with AES-GCM")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${wallet.pii.reencryption.interval:PT1M}")
+    public void run() {
+        if (!enabled || !converter.isAesGcmMode()) {
+            return;
+        }
+        long total = 0;
+        List<EncryptedPii> page;
+        EncryptedPii last = null;
+        do {
+            page = repository.findNotAesGcm(last == null ? null : last.id(), batchSize);
+            List<EncryptedPii[]> updates = new ArrayList<>(page.size());
+            for (EncryptedPii read : page) {
+                updates.add(new EncryptedPii[]{read, new EncryptedPii(read.id(),
+                        reencrypt(read.firstName()), reencrypt(read.lastName()), reencrypt(read.nationalId()))});
+                last = read;
+            }
+            if (!updates.isEmpty()) {
+                int updated = repository.replaceAll(updates);
+                reencrypted.increment(updated);
+                total += updated;
+            }
+        } while (page.size() == batchSize);
+        if (total > 0) {
+            log.info("Re-encrypted the PII of {} users with AES-GCM", total);
+        }
+    }
+
+    private String reencrypt(String dbValue) {
+        return converter.needsReencryption(dbValue)
+                ? converter.convertToDatabaseColumn(converter.convertToEntityAttribute(dbValue))
+                : dbValue;
+    }
+
+}
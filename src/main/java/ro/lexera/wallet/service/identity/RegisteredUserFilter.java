@@ -0,0 +1,134 @@
+package ro.lexera.wallet.service.identity;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ro.lexera.wallet.repository.UserRepository;
+
+import java.util.stream.Stream;
+
+/**
+ * In-memory pre-check of the root identity hashes registered in {@code users}.
+ * <p>
+ * A {@link RootHashBloomFilter} built at startup answers "definitely not registered" without touching the
+ * database; only a "maybe" needs an existence query. Users registered on this instance are added as they are
+ * saved. The filter is rebuilt from the table every {@code wallet.identity.filter.rebuild-interval}, sized
+ * for twice the current user count (at least {@code wallet.identity.filter.min-capacity}), which keeps the
+ * false-positive rate near {@code wallet.identity.filter.false-positive-rate} as the table grows and picks
+ * up users registered on other instances. Until then such a user reads as not registered here; the unique
+ * constraint on {@code root_identity_hash} still rejects a duplicate registration.
+ * </p>
+ * <p>
+ * The observed false-positive rate (lookups the filter let through that found no user, over all lookups of
+ * unregistered hashes) and the filter size are exported as metrics.
+ * </p>
+ */
+@Slf4j
+@Component
+public class RegisteredUserFilter {
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final double falsePositiveRate;
+    private final long minCapacity;
+    private final Counter negatives;
+    private final Counter falsePositives;
+
+    private volatile RootHashBloomFilter filter;
+    private volatile RootHashBloomFilter building;
+
+    public RegisteredUserFilter(UserRepository userRepository,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${wallet.identity.filter.false-positive-rate:0.01}") double falsePositiveRate,
+                                @Value("${wallet.identity.filter.min-capacity:1000000}") long minCapacity,
+                                MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.falsePositiveRate = falsePositiveRate;
+        this.minCapacity = minCapacity;
+        this.negatives = Counter.builder("wallet.identity.filter.negatives")
+                .description("Registration checks answered by the filter alone")
+                .register(meterRegistry);
+        this.falsePositives = Counter.builder("wallet.identity.filter.false-positives")
+                .description("Registration checks the filter let through that found no user")
+                .register(meterRegistry);
+        Gauge.builder("wallet.identity.filter.false-positive-rate", this, RegisteredUserFilter::observedFalsePositiveRate)
+                .description("Share of checks for unregistered hashes that still reached the database")
+                .register(meterRegistry);
+        Gauge.builder("wallet.identity.filter.memory", this, RegisteredUserFilter::memoryFootprintBytes)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("wallet.identity.filter.entries", this, users -> users.filter == null ? 0 : users.filter.size())
+                .register(meterRegistry);
+    }
+
+    /**
+     * Fills a filter sized for the current number of users and swaps it in.
+     */
+    @PostConstruct
+    @Scheduled(initialDelayString = "${wallet.identity.filter.rebuild-interval:PT15M}",
+            fixedDelayString = "${wallet.identity.filter.rebuild-interval:PT15M}")
+    public synchronized void rebuild() {
+        RootHashBloomFilter next = RootHashBloomFilter.create(Math.max(minCapacity, userRepository.count() * 2), falsePositiveRate);
+        building = next; // users saved from now on are added to both filters
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<String> hashes = userRepository.streamAllRootIdentityHashes()) {
+                    hashes.forEach(next::add);
+                }
+            });
+            filter = next;
+        } finally {
+            building = null;
+        }
+        log.info("Built registered user filter: {} users, {} KiB", next.size(), next.memoryFootprintBytes() / 1024);
+    }
+
+    /**
+     * @return {@code false} if no user with this root hash is registered, {@code true} if one may be.
+     */
+    public boolean mightBeRegistered(String rootHash) {
+        if (filter.mightContain(rootHash)) {
+            return true;
+        }
+        negatives.increment();
+        return false;
+    }
+
+    /**
+     * Records that a hash the filter let through had no user.
+     */
+    public void recordFalsePositive() {
+        falsePositives.increment();
+    }
+
+    /**
+     * Adds the root hash of a user that has just been saved.
+     */
+    public void add(String rootHash) {
+        filter.add(rootHash);
+        RootHashBloomFilter next = building;
+        if (next != null) {
+            next.add(rootHash);
+        }
+    }
+
+    public double observedFalsePositiveRate() {
+        double negativeLookups = negatives.count() + falsePositives.count();
+        return negativeLookups == 0 ? 0 : falsePositives.count() / negativeLookups;
+    }
+
+    public long memoryFootprintBytes() {
+        RootHashBloomFilter current = filter;
+        return current == null ? 0 : current.memoryFootprintBytes();
+    }
+
+}
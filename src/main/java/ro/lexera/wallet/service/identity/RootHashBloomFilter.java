@@ -0,0 +1,121 @@
+package ro.lexera.wallet.service.identity;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed-size Bloom filter of Root Identity Hashes.
+ * <p>
+ * Root hashes are SHA-256 hex digests, so the two hash values used for double hashing are read directly
+ * from their first 32 hex digits; any other string falls back to its {@link String#hashCode()}, which only
+ * costs accuracy. At a 1% false-positive rate the filter takes 9.6 bits (1.2 bytes) per element. Bits are
+ * set with atomic ORs, so adds and lookups may run concurrently; an element is visible to lookups once
+ * {@link #add} returns.
+ * </p>
+ */
+final class RootHashBloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+    private final long capacity;
+    private final LongAdder size = new LongAdder();
+
+    private RootHashBloomFilter(int wordCount, int hashCount, long capacity) {
+        this.words = new AtomicLongArray(wordCount);
+        this.bitCount = (long) wordCount * Long.SIZE;
+        this.hashCount = hashCount;
+        this.capacity = capacity;
+    }
+
+    /**
+     * @param expectedElements  The number of elements the filter is sized for.
+     * @param falsePositiveRate The target probability of {@link #mightContain} wrongly answering {@code true}.
+     */
+    static RootHashBloomFilter create(long expectedElements, double falsePositiveRate) {
+        long n = Math.max(1, expectedElements);
+        long bits = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int hashes = Math.max(1, (int) Math.round((double) bits / n * Math.log(2)));
+        long wordCount = Math.max(1, (bits + Long.SIZE - 1) / Long.SIZE);
+        if (wordCount > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("A Bloom filter of " + expectedElements + " elements is too large");
+        }
+        return new RootHashBloomFilter((int) wordCount, hashes, n);
+    }
+
+    void add(String rootHash) {
+        long h1 = firstHash(rootHash);
+        long h2 = secondHash(rootHash) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, bitCount);
+            long mask = 1L << bit;
+            int word = (int) (bit >>> 6);
+            if ((words.get(word) & mask) == 0) {
+                words.getAndAccumulate(word, mask, (current, set) -> current | set);
+            }
+        }
+        size.increment();
+    }
+
+    boolean mightContain(String rootHash) {
+        long h1 = firstHash(rootHash);
+        long h2 = secondHash(rootHash) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, bitCount);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return The number of {@link #add} calls, duplicates included.
+     */
+    long size() {
+        return size.sum();
+    }
+
+    /**
+     * @return The number of elements the filter was sized for.
+     */
+    long capacity() {
+        return capacity;
+    }
+
+    /**
+     * @return The bytes held by the bit array.
+     */
+    long memoryFootprintBytes() {
+        return (long) words.length() * Long.BYTES;
+    }
+
+    private static long firstHash(String rootHash) {
+        return isHexDigest(rootHash) ? Long.parseUnsignedLong(rootHash, 0, 16, 16) : mix(rootHash.hashCode());
+    }
+
+    private static long secondHash(String rootHash) {
+        return isHexDigest(rootHash) ? Long.parseUnsignedLong(rootHash, 16, 32, 16) : mix(~rootHash.hashCode());
+    }
+
+    private static boolean isHexDigest(String value) {
+        if (value.length() < 32) {
+            return false;
+        }
+        for (int i = 0; i < 32; i++) {
+            char c = value.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long mix(long value) {
+        // SplitMix64 finalizer
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+
+}
@@ -0,0 +1,172 @@
+package ro.lexera.wallet.service.identity;
+
+import java.nio.charset.StandardCharsets;
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Computes Root Identity Hashes for one salt without per-call garbage.
+ * <p>
+ * The result is bit-identical to
+ * {@code sha256Hex((firstName + lastName + nationalId).toLowerCase().replaceAll("\\s", "") + salt)}: the
+ * same default-locale lowercasing, the same (ASCII) whitespace class, the same UTF-8 encoding. Attributes
+ * that are pure ASCII, i.e. virtually all of them, are normalized byte by byte into a per-thread buffer and
+ * hashed with a per-thread {@link MessageDigest}, followed by the salt bytes encoded once up front; the
+ * only allocation is the returned string. Anything else goes through {@link String#toLowerCase()}, since
+ * full Unicode case mapping can change the length of the input.
+ * </p>
+ * <p>
+ * The salt is appended after the data, so it cannot be absorbed into the digest state ahead of time.
+ * </p>
+ */
+public final class RootHashEngine {
+
+    /**
+     * Below this many identities, {@link #hashAll} stays on the calling thread.
+     */
+    static final int PARALLEL_THRESHOLD = 1024;
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    /**
+     * {@code false} in locales where lowercasing changes ASCII letters differently (Turkish and Azerbaijani
+     * dotless i), which then always take the {@link String#toLowerCase()} path.
+     */
+    private static final boolean ASCII_LOWERCASE_IS_PLAIN =
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZ".toLowerCase().equals("abcdefghijklmnopqrstuvwxyz");
+
+    private final String salt;
+    private final byte[] saltBytes;
+    private final ThreadLocal<Scratch> scratch = ThreadLocal.withInitial(Scratch::new);
+
+    public RootHashEngine(String salt) {
+        this.salt = salt;
+        this.saltBytes = String.valueOf(salt).getBytes(StandardCharsets.UTF_8);
+    }
+
+    public String salt() {
+        return salt;
+    }
+
+    /**
+     * @return The lowercase hexadecimal SHA-256 Root Identity Hash.
+     */
+    public String hash(String firstName, String lastName, String nationalId) {
+        Scratch buffers = scratch.get();
+        int length = 0;
+        if (ASCII_LOWERCASE_IS_PLAIN) {
+            length = normalizeAscii(String.valueOf(firstName), buffers, length);
+            if (length >= 0) {
+                length = normalizeAscii(String.valueOf(lastName), buffers, length);
+            }
+            if (length >= 0) {
+                length = normalizeAscii(String.valueOf(nationalId), buffers, length);
+            }
+        }
+        if (!ASCII_LOWERCASE_IS_PLAIN || length < 0) {
+            length = normalizeUnicode(firstName + lastName + nationalId, buffers);
+        }
+
+        MessageDigest digest = buffers.digest;
+        digest.update(buffers.input, 0, length);
+        digest.update(saltBytes);
+        try {
+            digest.digest(buffers.hash, 0, buffers.hash.length);
+        } catch (DigestException ex) {
+            throw new IllegalStateException("SHA-256 digest buffer too small", ex);
+        }
+        return toHex(buffers.hash, buffers.hex);
+    }
+
+    /**
+     * Hashes many identities, in parallel on the common fork-join pool for large inputs.
+     *
+     * @return The Root Identity Hashes, in the order of {@code identities}.
+     */
+    public List<String> hashAll(List<LegalIdentity> identities) {
+        var stream = identities.size() >= PARALLEL_THRESHOLD ? identities.parallelStream() : identities.stream();
+        return stream
+                .map(identity -> hash(identity.firstName(), identity.lastName(), identity.nationalId()))
+                .toList();
+    }
+
+    /**
+     * Appends {@code value} lowercased and without whitespace to the input buffer.
+     *
+     * @return The new input length, or {@code -1} if {@code value} is not pure ASCII.
+     */
+    private static int normalizeAscii(String value, Scratch buffers, int length) {
+        int end = length + value.length();
+        if (end > buffers.input.length) {
+            buffers.input = Arrays.copyOf(buffers.input, Math.max(end, buffers.input.length * 2));
+        }
+        byte[] input = buffers.input;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= 0x80) {
+                return -1;
+            }
+            if (isRegexWhitespace(c)) {
+                continue;
+            }
+            if (c >= 'A' && c <= 'Z') {
+                c += 'a' - 'A';
+            }
+            input[length++] = (byte) c;
+        }
+        return length;
+    }
+
+    private static int normalizeUnicode(String raw, Scratch buffers) {
+        String lowercase = raw.toLowerCase();
+        StringBuilder normalized = new StringBuilder(lowercase.length());
+        for (int i = 0; i < lowercase.length(); i++) {
+            char c = lowercase.charAt(i);
+            if (!isRegexWhitespace(c)) {
+                normalized.append(c);
+            }
+        }
+        byte[] encoded = normalized.toString().getBytes(StandardCharsets.UTF_8);
+        if (encoded.length > buffers.input.length) {
+            buffers.input = new byte[encoded.length];
+        }
+        System.arraycopy(encoded, 0, buffers.input, 0, encoded.length);
+        return encoded.length;
+    }
+
+    /**
+     * The characters matched by {@code \s} without {@code UNICODE_CHARACTER_CLASS}: {@code [ \t\n\x0B\f\r]}.
+     */
+    private static boolean isRegexWhitespace(char c) {
+        return c == ' ' || (c >= '\t' && c <= '\r');
+    }
+
+    private static String toHex(byte[] bytes, char[] hex) {
+        for (int i = 0; i < bytes.length; i++) {
+            hex[2 * i] = HEX[(bytes[i] >> 4) & 0xF];
+            hex[2 * i + 1] = HEX[bytes[i] & 0xF];
+        }
+        return new String(hex);
+    }
+
+    private static final class Scratch {
+        private final MessageDigest digest;
+        private final byte[] hash;
+        private final char[] hex;
+        private byte[] input = new byte[128];
+
+        private Scratch() {
+            try {
+                digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException ex) {
+                throw new IllegalStateException("SHA-256 is not available", ex);
+            }
+            hash = new byte[digest.getDigestLength()];
+            hex = new char[hash.length * 2];
+        }
+    }
+
+}
@@ -0,0 +1,376 @@
+package ro.lexera.wallet.service.identity;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import ro.lexera.wallet.exception.DigitalWalletException;
+import ro.lexera.wallet.repository.UserPiiRepository;
+import ro.lexera.wallet.repository.UserPiiRepository.NewUser;
+import ro.lexera.wallet.util.BlindIndex;
+import ro.lexera.wallet.util.JasyptAttributeConverter;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Bulk import of users from partner registries.
+ * <p>
+ * The input (NDJSON, one user object per line, or CSV with a header naming the {@code firstName},
+ * {@code lastName}, {@code email} and {@code nationalId} columns) is read line by line and cut into batches of
+ * {@code wallet.identity.import.batch-size} lines. Worker threads, one per core by default, parse each batch,
+ * derive the Root Identity Hashes, drop the hashes already registered (ruled out by the
+ * {@link RegisteredUserFilter} or found with one query per batch), encrypt the PII of the remaining users and
+ * insert them with a single statement. At most two batches per worker are in flight, so memory use does not
+ * depend on the size of the input.
+ * </p>
+ * <p>
+ * Every batch commits on its own: an interrupted import keeps what it inserted, and running it again only
+ * adds the missing users. Progress and throughput are logged every {@code wallet.identity.import.progress-interval}.
+ * </p>
+ */
+@Slf4j
+@Service
+public class UserImportService {
+
+    /**
+     * Parse and validation errors returned in the report; the others are only counted.
+     */
+    static final int MAX_REPORTED_ERRORS = 10;
+
+    private static final List<String> CSV_COLUMNS = List.of("firstName", "lastName", "email", "nationalId");
+
+    private final IdentityService identityService;
+    private final JasyptAttributeConverter converter;
+    private final BlindIndex blindIndex;
+    private final UserPiiRepository repository;
+    private final RegisteredUserFilter registeredUserFilter;
+    private final ObjectReader userReader;
+    private final int batchSize;
+    private final int parallelism;
+    private final Duration progressInterval;
+    private final String importDir;
+
+    public UserImportService(IdentityService identityService,
+                             JasyptAttributeConverter converter,
+                             BlindIndex blindIndex,
+                             UserPiiRepository repository,
+                             RegisteredUserFilter registeredUserFilter,
+                             ObjectMapper objectMapper,
+                             @Value("${wallet.identity.import.batch-size:1000}") int batchSize,
+                             @Value("${wallet.identity.import.parallelism:0}") int parallelism,
+                             @Value("${wallet.identity.import.progress-interval:PT10S}") Duration progressInterval,
+                             @Value("${wallet.identity.import.dir:}") String importDir) {
+        this.identityService = identityService;
+        this.converter = converter;
+        this.blindIndex = blindIndex;
+        this.repository = repository;
+        this.registeredUserFilter = registeredUserFilter;
+        this.userReader = objectMapper.readerFor(ImportedUser.class).without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.batchSize = batchSize;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.progressInterval = progressInterval;
+        this.importDir = importDir;
+    }
+
+    public enum Format {
+        NDJSON, CSV;
+
+        /**
+         * @return The format matching a {@code .csv}, {@code .ndjson} or {@code .jsonl} file name.
+         */
+        public static Format ofFileName(String fileName) {
+            String name = fileName.toLowerCase();
+            if (name.endsWith(".csv")) {
+                return CSV;
+            }
+            if (name.endsWith(".ndjson") || name.endsWith(".jsonl")) {
+                return NDJSON;
+            }
+            throw new DigitalWalletException("Import files must end in .csv, .ndjson or .jsonl.", "ERR_INVALID_IMPORT_FILE", HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    /**
+     * One user of the input.
+     */
+    public record ImportedUser(String firstName, String lastName, String email, String nationalId) {
+    }
+
+    /**
+     * Outcome of an import.
+     *
+     * @param read       Data lines read.
+     * @param imported   Users inserted.
+     * @param duplicates Users skipped because their identity was already registered, or repeated in the input.
+     * @param rejected   Lines that could not be parsed or missed a required attribute.
+     * @param errors     The first {@value #MAX_REPORTED_ERRORS} rejections.
+     */
+    public record Report(long read, long imported, long duplicates, long rejected, List<String> errors,
+                         Duration elapsed, double usersPerSecond) {
+    }
+
+    /**
+     * Imports the users of a file from {@code wallet.identity.import.dir}, in the format given by its extension.
+     */
+    public Report importFile(String fileName) {
+        if (importDir.isBlank()) {
+            throw new DigitalWalletException("No import directory is configured.", "ERR_INVALID_IMPORT_FILE", HttpStatus.BAD_REQUEST);
+        }
+        Path directory = Path.of(importDir).toAbsolutePath().normalize();
+        Path file = directory.resolve(fileName).normalize();
+        if (!file.startsWith(directory) || !Files.isRegularFile(file)) {
+            throw new DigitalWalletException("Import file not found: " + fileName, "ERR_IMPORT_FILE_NOT_FOUND", HttpStatus.NOT_FOUND);
+        }
+        try (InputStream input = Files.newInputStream(file)) {
+            return importUsers(input, Format.ofFileName(fileName));
+        } catch (IOException ex) {
+            throw importFailed(ex);
+        }
+    }
+
+    /**
+     * Imports the users read from {@code input}, which is not closed.
+     */
+    public Report importUsers(InputStream input, Format format) {
+        Progress progress = new Progress();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Semaphore inFlight = new Semaphore(parallelism * 2);
+        long nextLog = System.nanoTime() + progressInterval.toNanos();
+
+        try (ExecutorService workers = Executors.newFixedThreadPool(parallelism)) {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+            int[] columns = format == Format.CSV ? csvColumns(reader.readLine()) : null;
+            long lineNumber = format == Format.CSV ? 1 : 0;
+            List<Line> batch = new ArrayList<>(batchSize);
+            String text;
+            while (failure.get() == null && (text = reader.readLine()) != null) {
+                lineNumber++;
+                if (text.isBlank()) {
+                    continue;
+                }
+                batch.add(new Line(lineNumber, text));
+                if (batch.size() == batchSize) {
+                    submit(workers, inFlight, batch, columns, progress, failure);
+                    batch = new ArrayList<>(batchSize);
+                }
+                if (System.nanoTime() - nextLog > 0) {
+                    log.info("User import: {}", progress.report());
+                    nextLog = System.nanoTime() + progressInterval.toNanos();
+                }
+            }
+            if (!batch.isEmpty() && failure.get() == null) {
+                submit(workers, inFlight, batch, columns, progress, failure);
+            }
+        } catch (IOException ex) {
+            throw importFailed(ex);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw importFailed(ex);
+        }
+
+        if (failure.get() != null) {
+            throw importFailed(failure.get());
+        }
+        Report report = progress.report();
+        log.info("User import finished: {}", report);
+        return report;
+    }
+
+    private void submit(ExecutorService workers, Semaphore inFlight, List<Line> batch, int[] columns,
+                        Progress progress, AtomicReference<Throwable> failure) throws InterruptedException {
+        inFlight.acquire();
+        workers.execute(() -> {
+            try {
+                importBatch(batch, columns, progress);
+            } catch (Throwable ex) {
+                failure.compareAndSet(null, ex);
+            } finally {
+                inFlight.release();
+            }
+        });
+    }
+
+    private void importBatch(List<Line> batch, int[] columns, Progress progress) {
+        progress.read.addAndGet(batch.size());
+        Map<String, ImportedUser> byHash = new LinkedHashMap<>();
+        for (Line line : batch) {
+            ImportedUser user;
+            try {
+                user = columns == null ? userReader.readValue(line.text()) : parseCsv(line.text(), columns);
+            } catch (IOException | RuntimeException ex) {
+                progress.reject(line.number(), "not a valid " + (columns == null ? "JSON object" : "CSV record"));
+                continue;
+            }
+            String missing = missingAttribute(user);
+            if (missing != null) {
+                progress.reject(line.number(), missing + " is required");
+                continue;
+            }
+            String hash = identityService.createRootHash(user.firstName(), user.lastName(), user.nationalId());
+            if (byHash.putIfAbsent(hash, user) != null) {
+                progress.duplicates.incrementAndGet();
+            }
+        }
+
+        List<String> candidates = byHash.keySet().stream().filter(registeredUserFilter::mightBeRegistered).toList();
+        if (!candidates.isEmpty()) {
+            Set<String> existing = repository.findExistingRootHashes(candidates);
+            candidates.stream().filter(hash -> !existing.contains(hash)).forEach(hash -> registeredUserFilter.recordFalsePositive());
+            byHash.keySet().removeAll(existing);
+            progress.duplicates.addAndGet(existing.size());
+        }
+
+        List<NewUser> rows = new ArrayList<>(byHash.size());
+        byHash.forEach((hash, user) -> rows.add(new NewUser(
+                UUID.randomUUID(),
+                hash,
+                converter.convertToDatabaseColumn(user.firstName()),
+                converter.convertToDatabaseColumn(user.lastName()),
+                converter.convertToDatabaseColumn(user.nationalId()),
+                blindIndex.of(user.nationalId()),
+                user.email())));
+        Set<String> inserted = repository.insertAllIfAbsent(rows);
+        inserted.forEach(registeredUserFilter::add);
+        progress.imported.addAndGet(inserted.size());
+        progress.duplicates.addAndGet(rows.size() - inserted.size()); // registered concurrently
+    }
+
+    private static String missingAttribute(ImportedUser user) {
+        if (user == null) {
+            return "the user";
+        }
+        if (user.firstName() == null || user.firstName().isBlank()) {
+            return "firstName";
+        }
+        if (user.lastName() == null || user.lastName().isBlank()) {
+            return "lastName";
+        }
+        if (user.email() == null || user.email().isBlank()) {
+            return "email";
+        }
+        if (user.nationalId() == null || user.nationalId().isBlank()) {
+            return "nationalId";
+        }
+        return null;
+    }
+
+    /**
+     * @return For each of {@link #CSV_COLUMNS}, its position in the header.
+     */
+    private static int[] csvColumns(String header) {
+        if (header == null) {
+            return new int[0];
+        }
+        List<String> names = splitCsv(header.startsWith("\uFEFF") ? header.substring(1) : header).stream().map(String::trim).toList();
+        int[] columns = new int[CSV_COLUMNS.size()];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = names.indexOf(CSV_COLUMNS.get(i));
+            if (columns[i] < 0) {
+                throw new DigitalWalletException(
+                        "The CSV header must name the columns " + String.join(", ", CSV_COLUMNS) + ".",
+                        "ERR_INVALID_IMPORT_FILE",
+                        HttpStatus.BAD_REQUEST
+                );
+            }
+        }
+        return columns;
+    }
+
+    private static ImportedUser parseCsv(String text, int[] columns) {
+        List<String> fields = splitCsv(text);
+        return new ImportedUser(fields.get(columns[0]), fields.get(columns[1]), fields.get(columns[2]), fields.get(columns[3]));
+    }
+
+    /**
+     * Splits one CSV record (RFC 4180 quoting, without line breaks inside fields).
+     */
+    static List<String> splitCsv(String text) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static DigitalWalletException importFailed(Throwable cause) {
+        log.error("User import failed", cause);
+        return new DigitalWalletException("The user import failed: " + cause.getMessage(), "ERR_IMPORT_FAILED");
+    }
+
+    private record Line(long number, String text) {
+    }
+
+    private static final class Progress {
+        private final long startedAt = System.nanoTime();
+        private final AtomicLong read = new AtomicLong();
+        private final AtomicLong imported = new AtomicLong();
+        private final AtomicLong duplicates = new AtomicLong();
+        private final AtomicLong rejected = new AtomicLong();
+        private final List<String> errors = new ArrayList<>();
+
+        private void reject(long lineNumber, String reason) {
+            rejected.incrementAndGet();
+            synchronized (errors) {
+                if (errors.size() < MAX_REPORTED_ERRORS) {
+                    errors.add("line " + lineNumber + ": " + reason);
+                }
+            }
+        }
+
+        private Report report() {
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - startedAt);
+            long importedCount = imported.get();
+            double seconds = Math.max(elapsed.toNanos(), 1) / 1e9;
+            List<String> reported;
+            synchronized (errors) {
+                reported = List.copyOf(errors);
+            }
+            return new Report(read.get(), importedCount, duplicates.get(), rejected.get(), reported, elapsed, importedCount / seconds);
+        }
+    }
+
+}
@@ -0,0 +1,44 @@
+package ro.lexera.wallet.service.identity;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import ro.lexera.wallet.model.entity.UserEntity;
+import ro.lexera.wallet.repository.UserRepository;
+import ro.lexera.wallet.util.BlindIndex;
+
+import java.util.List;
+
+/**
+ * Equality lookups of users by attribute, for support and fraud tooling.
+ * <p>
+ * The national ID is encrypted with a random IV, so it is looked up through its {@link BlindIndex}: an
+ * indexed equality query returns the candidates, and each is confirmed by decrypting its national ID once
+ * (guarding against a blind index collision). The email is stored in clear and has a plain index.
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+public class UserSearchService {
+
+    private final UserRepository userRepository;
+    private final BlindIndex blindIndex;
+
+    /**
+     * @param nationalId The national ID, in any case and with or without whitespace.
+     * @return The users registered with this national ID.
+     */
+    public List<UserEntity> findByNationalId(String nationalId) {
+        String normalized = BlindIndex.normalize(nationalId);
+        return userRepository.findByNationalIdIndex(blindIndex.of(nationalId)).stream()
+                .filter(user -> BlindIndex.normalize(user.getNationalId()).equals(normalized))
+                .toList();
+    }
+
+    /**
+     * @return The users registered with this email address (exact match).
+     */
+    public List<UserEntity> findByEmail(String email) {
+        return userRepository.findByEmail(email);
+    }
+
+}
@@ -0,0 +1,19 @@
+package ro.lexera.wallet.service.issuance;
+
+/**
+ * How {@link IssuanceService#issueCredentials} signs the credentials of a batch.
+ */
+public enum BatchSigningMode {
+
+    /**
+     * One compact JWS per credential, verifiable with any JOSE library.
+     */
+    INDIVIDUAL,
+
+    /**
+     * A single signature over the Merkle root of the batch; each credential carries its inclusion proof.
+     *
+     * @see ro.lexera.wallet.service.crypto.MerkleCredentialVerifier
+     */
+    MERKLE
+}
@@ -0,0 +1,128 @@
+package ro.lexera.wallet.service.issuance;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache of the claims returned by {@link DocumentProvider}s, keyed by (type, rootIdentityHash).
+ * <p>
+ * Renewals, retries and issuance to several devices then reuse the claims fetched the first time instead of
+ * calling the source system again. Each entry expires after the TTL its provider declares through
+ * {@link DocumentProvider#claimsTtl()} (overridable with {@code wallet.issuance.providers.types.<TYPE>.claims-ttl});
+ * types with no TTL are never cached. At most {@code wallet.issuance.claims-cache.max-size} entries are kept.
+ * </p>
+ * <p>
+ * Concurrent misses for the same key share a single call to the provider, and failed calls are not cached.
+ * Providers, or operators through {@code DELETE /api/debug/claims-cache}, drop entries whose source data
+ * changed with the {@code invalidate} methods. Hit, miss and eviction counts are published under the
+ * {@code cache=documentClaims} tag, and hits and misses per type as {@code wallet.issuance.claims-cache.requests}.
+ * </p>
+ */
+@Component
+public class ClaimsCache {
+
+    private final AsyncCache<Key, CachedClaims> claims;
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public ClaimsCache(@Value("${wallet.issuance.claims-cache.max-size:100000}") long maxSize,
+                       MeterRegistry meterRegistry) {
+        this(maxSize, meterRegistry, Ticker.systemTicker());
+    }
+
+    ClaimsCache(long maxSize, MeterRegistry meterRegistry, Ticker ticker) {
+        this.meterRegistry = meterRegistry;
+        this.claims = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(Expiry.<Key, CachedClaims>creating((key, value) -> value.ttl()))
+                .ticker(ticker)
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, claims, "documentClaims");
+    }
+
+    /**
+     * Returns the cached claims of an identity, fetching them through {@code loader} on a miss.
+     *
+     * @param type             The credential type.
+     * @param rootIdentityHash The anonymized identifier of the user.
+     * @param ttl              How long fetched claims may be reused; if not positive, nothing is cached.
+     * @param loader           Fetches the claims from the provider.
+     * @return A future of the claims, read-only when served from the cache.
+     */
+    public CompletableFuture<Map<String, Object>> get(String type, String rootIdentityHash, Duration ttl,
+                                                      Supplier<CompletableFuture<Map<String, Object>>> loader) {
+        if (ttl == null || !ttl.isPositive()) {
+            return loader.get();
+        }
+
+        boolean[] loaded = {false};
+        CompletableFuture<CachedClaims> cached = claims.get(new Key(key(type), rootIdentityHash), (key, executor) -> {
+            loaded[0] = true;
+            return loader.get().thenApply(fetched -> new CachedClaims(Collections.unmodifiableMap(new LinkedHashMap<>(fetched)), ttl));
+        });
+        requests(type, loaded[0] ? "miss" : "hit").increment();
+        return cached.thenApply(CachedClaims::claims);
+    }
+
+    /**
+     * Drops the cached claims of one identity for one credential type.
+     */
+    public void invalidate(String type, String rootIdentityHash) {
+        claims.synchronous().invalidate(new Key(key(type), rootIdentityHash));
+    }
+
+    /**
+     * Drops the cached claims of one identity for every credential type.
+     */
+    public void invalidateHolder(String rootIdentityHash) {
+        claims.asMap().keySet().removeIf(key -> key.rootIdentityHash().equals(rootIdentityHash));
+    }
+
+    /**
+     * Drops every cached claim of one credential type, e.g. after its source system was corrected.
+     */
+    public void invalidateType(String type) {
+        String typeKey = key(type);
+        claims.asMap().keySet().removeIf(key -> key.type().equals(typeKey));
+    }
+
+    public long estimatedSize() {
+        return claims.synchronous().estimatedSize();
+    }
+
+    private Counter requests(String type, String result) {
+        return Counter.builder("wallet.issuance.claims-cache.requests")
+                .description("Claims requests answered from the cache (hit) or by the provider (miss)")
+                .tag("type", key(type))
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static String key(String type) {
+        return type.toUpperCase(Locale.ROOT);
+    }
+
+    private record Key(String type, String rootIdentityHash) {
+    }
+
+    private record CachedClaims(Map<String, Object> claims, Duration ttl) {
+    }
+
+}
@@ -2,6 +2,7 @@ package ro.lexera.wallet.service.issuance;
 
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.Map;
 
 @Service
@@ -12,6 +13,14 @@ public class DiplomaProvider implements DocumentProvider {
         return "UNIVERSITY_DIPLOMA";
     }
 
+    /**
+     * A conferred degree does not change, so its claims can be reused for renewals.
+     */
+    @Override
+    public Duration claimsTtl() {
+        return Duration.ofDays(30);
+    }
+
     @Override
     public Map<String, Object> fetchClaims(String rootIdentityHash) {
         // In a real app, we'd call a 3rd party API or University DB here.
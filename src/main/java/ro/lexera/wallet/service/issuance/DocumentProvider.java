@@ -1,6 +1,9 @@
 package ro.lexera.wallet.service.issuance;
 
+import java.time.Duration;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * Strategy interface for providing domain-specific data for Verifiable Credentials.
@@ -13,6 +16,11 @@ import java.util.Map;
  * The {@link IssuanceService} automatically discovers all implementations of this
  * interface and selects the appropriate one based on the requested document type.
  * </p>
+ * <p>
+ * Calls go through {@link DocumentProviderRegistry}, which gives every provider its own
+ * timeout, concurrency limit and circuit breaker, so that a slow source system only
+ * delays the credentials of its own type.
+ * </p>
  */
 public interface DocumentProvider {
 
@@ -38,4 +46,34 @@ public interface DocumentProvider {
      * @throws ro.lexera.wallet.exception.DigitalWalletException if the user data cannot be found.
      */
     Map<String, Object> fetchClaims(String rootIdentityHash);
+
+    /**
+     * Declares how long the claims of an identity may be reused for new credentials of this type.
+     * <p>
+     * Within that time, renewals and re-issuance are served from the {@link ClaimsCache} instead of
+     * calling {@link #fetchClaims(String)} again. Providers whose data changes rarely (e.g. a diploma)
+     * should return a long TTL; the default, {@link Duration#ZERO}, disables caching.
+     * </p>
+     * @return The time-to-live of cached claims, not positive to never cache them.
+     */
+    default Duration claimsTtl() {
+        return Duration.ZERO;
+    }
+
+    /**
+     * Retrieves the claims for a given identity without blocking the caller.
+     * <p>
+     * The default implementation runs {@link #fetchClaims(String)} on {@code executor}, which
+     * starts one virtual thread per call. Providers backed by a non-blocking client should
+     * override this method and ignore the executor. The provider's timeout applies to a copy
+     * of the returned future: the caller stops waiting, but the call is not cancelled and still
+     * counts against {@code max-concurrent-calls} until the returned future completes.
+     * </p>
+     * @param rootIdentityHash The unique, anonymized identifier of the user.
+     * @param executor         The provider's own executor, to run blocking work on.
+     * @return A future of the credential's data, failing as {@link #fetchClaims(String)} would throw.
+     */
+    default CompletableFuture<Map<String, Object>> fetchClaimsAsync(String rootIdentityHash, Executor executor) {
+        return CompletableFuture.supplyAsync(() -> fetchClaims(rootIdentityHash), executor);
+    }
 }
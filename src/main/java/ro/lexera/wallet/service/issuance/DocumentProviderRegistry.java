@@ -0,0 +1,278 @@
+package ro.lexera.wallet.service.issuance;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import ro.lexera.wallet.exception.DigitalWalletException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * The {@link DocumentProvider}s of this issuer, indexed by credential type and isolated from each other.
+ * <p>
+ * Types are matched case-insensitively through a map built once at startup. Claims still cached in the
+ * {@link ClaimsCache} are served without calling the provider at all. Otherwise every provider gets:
+ * </p>
+ * <ul>
+ * <li>its own virtual-thread executor, so a blocking provider never holds a servlet or platform thread;</li>
+ * <li>a timeout, after which the call fails with {@code ERR_PROVIDER_TIMEOUT} (HTTP 504);</li>
+ * <li>a bulkhead of {@code max-concurrent-calls}, beyond which calls fail fast with {@code ERR_PROVIDER_BUSY};</li>
+ * <li>a {@link ProviderCircuitBreaker}, refusing calls with {@code ERR_PROVIDER_UNAVAILABLE} while open.</li>
+ * </ul>
+ * <p>
+ * Settings are read from {@code wallet.issuance.providers.*} and can be overridden per type under
+ * {@code wallet.issuance.providers.types.<TYPE>.*}. Timeouts, errors thrown by the provider and
+ * {@link DigitalWalletException}s with a 5xx status count as failures; a 4xx {@link DigitalWalletException}
+ * (such as an unknown identity) is an answer of the source system and counts as a success.
+ * </p>
+ * <p>
+ * A call that times out is abandoned, not interrupted: the caller gets {@code ERR_PROVIDER_TIMEOUT} right away,
+ * but the call keeps its permit until it really ends, so the bulkhead bounds the calls still running against
+ * the source system, not only those still awaited. The circuit breaker stops further calls if the source system
+ * keeps timing out.
+ * </p>
+ */
+@Component
+public class DocumentProviderRegistry {
+
+    private static final String PREFIX = "wallet.issuance.providers.";
+
+    private final Map<String, GuardedProvider> providersByType;
+    private final ClaimsCache claimsCache;
+
+    @Autowired
+    public DocumentProviderRegistry(List<DocumentProvider> providers, ClaimsCache claimsCache, Environment environment,
+                                    MeterRegistry meterRegistry) {
+        this(providers, claimsCache, environment, meterRegistry, Clock.systemUTC());
+    }
+
+    DocumentProviderRegistry(List<DocumentProvider> providers, ClaimsCache claimsCache, Environment environment,
+                             MeterRegistry meterRegistry, Clock clock) {
+        this.claimsCache = claimsCache;
+        Map<String, GuardedProvider> byType = new HashMap<>();
+        for (DocumentProvider provider : providers) {
+            String type = provider.supportsType();
+            GuardedProvider guarded = new GuardedProvider(type, provider, environment, meterRegistry, clock);
+            if (byType.putIfAbsent(key(type), guarded) != null) {
+                guarded.shutdown();
+                throw new IllegalStateException("Several document providers support the type " + type);
+            }
+        }
+        this.providersByType = Map.copyOf(byType);
+    }
+
+    /**
+     * Retrieves the claims for a given identity from the {@link ClaimsCache}, or else from the provider of {@code type}.
+     *
+     * @return A future of the claims, failing with a {@link DigitalWalletException} if the provider
+     * timed out, is saturated or its circuit is open, or with whatever the provider threw.
+     * @throws DigitalWalletException with {@code ERR_UNSUPPORTED_TYPE} if no provider supports {@code type}.
+     */
+    public CompletableFuture<Map<String, Object>> fetchClaims(String type, String rootIdentityHash) {
+        GuardedProvider provider = type == null ? null : providersByType.get(key(type));
+        if (provider == null) {
+            throw new DigitalWalletException(
+                    "The document type '" + type + "' is not supported by this issuer.",
+                    "ERR_UNSUPPORTED_TYPE",
+                    HttpStatus.BAD_REQUEST
+            );
+        }
+        return claimsCache.get(type, rootIdentityHash, provider.claimsTtl, () -> provider.fetchClaims(rootIdentityHash));
+    }
+
+    /**
+     * Blocking variant of {@link #fetchClaims(String, String)}, for callers already on a virtual thread.
+     */
+    public Map<String, Object> fetchClaimsAndWait(String type, String rootIdentityHash) {
+        CompletableFuture<Map<String, Object>> claims = fetchClaims(type, rootIdentityHash);
+        try {
+            return claims.get();
+        } catch (InterruptedException ex) {
+            claims.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new DigitalWalletException("Claims retrieval was interrupted.", "ERR_ISSUANCE_INTERRUPTED");
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        providersByType.values().forEach(GuardedProvider::shutdown);
+    }
+
+    ProviderCircuitBreaker.State circuitState(String type) {
+        return providersByType.get(key(type)).circuitBreaker.state();
+    }
+
+    private static String key(String type) {
+        return type.toUpperCase(Locale.ROOT);
+    }
+
+    private static final class GuardedProvider {
+
+        private final String type;
+        private final DocumentProvider provider;
+        private final ExecutorService executor;
+        private final Duration timeout;
+        private final Duration retryAfter;
+        private final Duration claimsTtl;
+        private final Semaphore bulkhead;
+        private final ProviderCircuitBreaker circuitBreaker;
+
+        private final Timer succeeded;
+        private final Timer failed;
+        private final Timer timedOut;
+        private final Counter rejectedBusy;
+        private final Counter rejectedOpen;
+
+        private GuardedProvider(String type, DocumentProvider provider, Environment environment,
+                                MeterRegistry meterRegistry, Clock clock) {
+            this.type = type;
+            this.provider = provider;
+            this.timeout = setting(environment, type, "timeout", Duration.class, Duration.ofSeconds(5));
+            this.retryAfter = setting(environment, type, "retry-after", Duration.class, Duration.ofSeconds(1));
+            // Declared by the provider, so only overridable per type
+            String claimsTtlOverride = environment.getProperty(PREFIX + "types." + type + ".claims-ttl");
+            this.claimsTtl = claimsTtlOverride == null ? provider.claimsTtl()
+                    : ApplicationConversionService.getSharedInstance().convert(claimsTtlOverride, Duration.class);
+            int maxConcurrentCalls = setting(environment, type, "max-concurrent-calls", Integer.class, 100);
+            this.bulkhead = new Semaphore(maxConcurrentCalls);
+            this.circuitBreaker = new ProviderCircuitBreaker(
+                    setting(environment, type, "circuit-breaker.failure-threshold", Integer.class, 5),
+                    setting(environment, type, "circuit-breaker.open-duration", Duration.class, Duration.ofSeconds(30)),
+                    clock);
+            this.executor = Executors.newThreadPerTaskExecutor(
+                    Thread.ofVirtual().name("provider-" + type.toLowerCase(Locale.ROOT) + "-", 0).factory());
+
+            this.succeeded = callTimer(meterRegistry, "success");
+            this.failed = callTimer(meterRegistry, "failure");
+            this.timedOut = callTimer(meterRegistry, "timeout");
+            this.rejectedBusy = rejectedCounter(meterRegistry, "bulkhead");
+            this.rejectedOpen = rejectedCounter(meterRegistry, "circuit-open");
+            Gauge.builder("wallet.issuance.provider.in-flight", bulkhead, permits -> maxConcurrentCalls - permits.availablePermits())
+                    .description("Calls to the document provider currently in progress")
+                    .tag("type", type)
+                    .register(meterRegistry);
+            Gauge.builder("wallet.issuance.provider.circuit", circuitBreaker, breaker -> breaker.state().ordinal())
+                    .description("Circuit breaker state of the document provider: 0 closed, 1 open, 2 half-open")
+                    .tag("type", type)
+                    .register(meterRegistry);
+        }
+
+        private CompletableFuture<Map<String, Object>> fetchClaims(String rootIdentityHash) {
+            if (!bulkhead.tryAcquire()) {
+                rejectedBusy.increment();
+                return CompletableFuture.failedFuture(new DigitalWalletException(
+                        "The " + type + " data source is saturated, please retry shortly.",
+                        "ERR_PROVIDER_BUSY",
+                        HttpStatus.SERVICE_UNAVAILABLE,
+                        retryAfter
+                ));
+            }
+            if (!circuitBreaker.tryAcquire()) {
+                bulkhead.release();
+                rejectedOpen.increment();
+                return CompletableFuture.failedFuture(new DigitalWalletException(
+                        "The " + type + " data source is unavailable, please retry later.",
+                        "ERR_PROVIDER_UNAVAILABLE",
+                        HttpStatus.SERVICE_UNAVAILABLE,
+                        circuitBreaker.remainingOpenDuration()
+                ));
+            }
+
+            long startedAt = System.nanoTime();
+            CompletableFuture<Map<String, Object>> call;
+            try {
+                call = provider.fetchClaimsAsync(rootIdentityHash, executor);
+            } catch (RuntimeException ex) {
+                call = CompletableFuture.failedFuture(ex);
+            }
+            call = call.whenComplete((claims, failure) -> bulkhead.release());
+            // Times out a copy, so the call itself, and its permit, last until the provider is done
+            return call.copy().orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+                    .handle((claims, failure) -> {
+                        long elapsed = System.nanoTime() - startedAt;
+                        if (failure == null) {
+                            circuitBreaker.onSuccess();
+                            succeeded.record(elapsed, TimeUnit.NANOSECONDS);
+                            return claims;
+                        }
+                        throw new CompletionException(onFailure(unwrap(failure), elapsed));
+                    });
+        }
+
+        private Throwable onFailure(Throwable failure, long elapsed) {
+            if (failure instanceof TimeoutException) {
+                circuitBreaker.onFailure();
+                timedOut.record(elapsed, TimeUnit.NANOSECONDS);
+                return new DigitalWalletException(
+                        "The " + type + " data source did not answer within " + timeout.toMillis() + " ms.",
+                        "ERR_PROVIDER_TIMEOUT",
+                        HttpStatus.GATEWAY_TIMEOUT
+                );
+            }
+            if (failure instanceof DigitalWalletException ex && ex.getStatus().is4xxClientError()) {
+                circuitBreaker.onSuccess();
+                succeeded.record(elapsed, TimeUnit.NANOSECONDS);
+            } else {
+                circuitBreaker.onFailure();
+                failed.record(elapsed, TimeUnit.NANOSECONDS);
+            }
+            return failure;
+        }
+
+        private Timer callTimer(MeterRegistry meterRegistry, String outcome) {
+            return Timer.builder("wallet.issuance.provider.calls")
+                    .description("Calls to the document provider, by outcome")
+                    .tag("type", type)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry);
+        }
+
+        private Counter rejectedCounter(MeterRegistry meterRegistry, String reason) {
+            return Counter.builder("wallet.issuance.provider.rejected")
+                    .description("Calls to the document provider refused without reaching it")
+                    .tag("type", type)
+                    .tag("reason", reason)
+                    .register(meterRegistry);
+        }
+
+        private void shutdown() {
+            executor.shutdownNow();
+        }
+
+        private static Throwable unwrap(Throwable failure) {
+            return failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+        }
+
+        private static <T> T setting(Environment environment, String type, String name, Class<T> valueType, T defaultValue) {
+            String value = environment.getProperty(PREFIX + "types." + type + "." + name, environment.getProperty(PREFIX + name));
+            return value == null ? defaultValue : ApplicationConversionService.getSharedInstance().convert(value, valueType);
+        }
+    }
+
+}
@@ -0,0 +1,16 @@
+package ro.lexera.wallet.service.issuance;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * A single entry of a batch issuance call.
+ *
+ * @param rootIdentityHash The anonymized identifier of the holder.
+ * @param type             The type of document to issue (e.g., "UNIVERSITY_DIPLOMA").
+ */
+public record IssuanceRequest(
+        @Schema(description = "The anonymized Root Identity Hash of the user", example = "a591a6d40b...")
+        String rootIdentityHash,
+        @Schema(description = "The type of credential to issue", example = "UNIVERSITY_DIPLOMA")
+        String type) {
+}
@@ -0,0 +1,55 @@
+package ro.lexera.wallet.service.issuance;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import ro.lexera.wallet.service.status.CredentialStatus;
+
+import java.util.UUID;
+
+/**
+ * Outcome of a single entry of a batch issuance call.
+ * <p>
+ * Exactly one of {@code credential} or {@code errorCode} is set, so a failing entry
+ * never aborts the rest of the batch.
+ * </p>
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record IssuanceResult(
+        @Schema(description = "The Root Identity Hash from the request", example = "a591a6d40b...")
+        String rootIdentityHash,
+        @Schema(description = "The requested credential type", example = "UNIVERSITY_DIPLOMA")
+        String type,
+        @Schema(description = "The JTI of the issued credential", example = "550e8400-e29b-41d4-a716-446655440000")
+        UUID credentialId,
+        @Schema(description = "The position of the credential in the revocation status list", example = "42")
+        Long statusIndex,
+        @Schema(description = "The signed credential (JWT)")
+        String credential,
+        @Schema(description = "Machine-readable error code when issuance failed", example = "ERR_UNSUPPORTED_TYPE")
+        String errorCode,
+        @Schema(description = "Human-readable failure description")
+        String message) {
+
+    public static IssuanceResult issued(IssuanceRequest request, CredentialStatus status, String credential) {
+        return new IssuanceResult(request.rootIdentityHash(), request.type(), status.credentialId(), status.statusIndex(),
+                credential, null, null);
+    }
+
+    public static IssuanceResult failed(IssuanceRequest request, String errorCode, String message) {
+        return new IssuanceResult(request.rootIdentityHash(), request.type(), null, null, null, errorCode, message);
+    }
+
+    @JsonIgnore
+    public boolean isIssued() {
+        return credential != null;
+    }
+
+    /**
+     * @return The registry entry of an issued credential.
+     */
+    public CredentialStatus credentialStatus() {
+        return new CredentialStatus(credentialId, statusIndex, rootIdentityHash);
+    }
+
+}
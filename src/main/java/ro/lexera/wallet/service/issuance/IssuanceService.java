@@ -1,15 +1,27 @@
 package ro.lexera.wallet.service.issuance;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import ro.lexera.wallet.exception.DigitalWalletException;
+import ro.lexera.wallet.service.crypto.CredentialPayload;
 import ro.lexera.wallet.service.crypto.SigningService;
+import ro.lexera.wallet.service.status.CredentialStatus;
 import ro.lexera.wallet.service.status.StatusService;
 
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
 
 /**
  * Orchestration service responsible for the end-to-end issuance of Verifiable Credentials.
@@ -21,8 +33,10 @@ import java.util.UUID;
  *  <p><b>Issuance Workflow:</b></p>
  * <ol>
  * <li>Identify the correct data provider based on the requested {@code type}.</li>
- * <li>Retrieve domain-specific claims for the provided identity hash.</li>
- * <li>Generate a unique {@code credentialId} (JTI) and initialize its status in the registry.</li>
+ * <li>Retrieve domain-specific claims for the provided identity hash, within the provider's timeout and
+ * concurrency limit (see {@link DocumentProviderRegistry}).</li>
+ * <li>Generate a unique, time-ordered {@code credentialId} (JTI), initialize its status in the registry and
+ * embed its revocation status list entry.</li>
  * <li>Cryptographically sign the final payload to produce a JWT.</li>
  * </ol>
  */
@@ -30,13 +44,20 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class IssuanceService {
 
+    @Value("${wallet.issuance.batch.max-size:1000}")
+    private int maxBatchSize;
+
+    @Value("${wallet.issuance.batch.signing-mode:INDIVIDUAL}")
+    private BatchSigningMode batchSigningMode;
+
     /**
-     * Automatically injected list of all available document strategy implementations.
+     * All available document strategy implementations, each behind its own timeout, bulkhead and circuit breaker.
      */
-    private final List<DocumentProvider> providers;
+    private final DocumentProviderRegistry providers;
 
     private final SigningService signingService;
     private final StatusService statusService;
+    private final CredentialIdGenerator credentialIdGenerator;
 
     /**
      * Executes the full issuance process for a specific document type.
@@ -51,21 +72,168 @@ public class IssuanceService {
      * @throws DigitalWalletException if the document type is unsupported or if data retrieval fails.
      */
     public String issueCredential(String rootIdentityHash, String type) {
-        DocumentProvider provider = providers.stream()
-                .filter(p -> p.supportsType().equalsIgnoreCase(type))
-                .findFirst()
-                .orElseThrow(() -> new DigitalWalletException(
-                        "The document type '" + type + "' is not supported by this issuer.",
-                        "ERR_UNSUPPORTED_TYPE", // This matches your test case!
-                        HttpStatus.BAD_REQUEST
-                ));
+        Map<String, Object> claims = providers.fetchClaimsAndWait(type, rootIdentityHash);
+        return registerAndSign(rootIdentityHash, type, claims);
+    }
+
+    /**
+     * Non-blocking variant of {@link #issueCredential(String, String)}.
+     * <p>
+     * The claims are fetched on the provider's own virtual threads; registration and signing then run on the
+     * thread that completed the fetch, so the calling (servlet) thread is released immediately.
+     * </p>
+     *
+     * @return A future of the signed credential, failing with a {@link DigitalWalletException} if the provider
+     * timed out, is saturated or its circuit is open.
+     * @throws DigitalWalletException if the document type is unsupported.
+     */
+    public CompletableFuture<String> issueCredentialAsync(String rootIdentityHash, String type) {
+        return providers.fetchClaims(type, rootIdentityHash)
+                .thenApply(claims -> registerAndSign(rootIdentityHash, type, claims));
+    }
+
+    private String registerAndSign(String rootIdentityHash, String type, Map<String, Object> claims) {
+        UUID credentialId = credentialIdGenerator.next();
+        CredentialStatus status = statusService.initializeStatus(credentialId, rootIdentityHash);
 
-        Map<String, Object> claims = provider.fetchClaims(rootIdentityHash);
+        return signingService.signCredential(rootIdentityHash, type, withStatus(claims, status), credentialId);
+    }
 
-        UUID credentialId = UUID.randomUUID();
-        statusService.initializeStatus(credentialId);
+    /**
+     * Issues a batch of credentials, fetching claims and signing each entry concurrently.
+     * <p>
+     * Every entry runs on its own virtual thread. Failures (such as an unsupported type or
+     * a provider outage) are reported inline in the matching {@link IssuanceResult} instead
+     * of failing the whole batch. The JTIs of all successful entries are registered in the
+     * {@link StatusService} with a single batched insert, and no signed credential is
+     * returned until that registration has committed.
+     * </p>
+     * <p>
+     * In {@link BatchSigningMode#MERKLE} mode the claims are still fetched concurrently, but all
+     * successful entries are then signed together with a single signature over their Merkle root.
+     * </p>
+     *
+     * @param requests The (rootIdentityHash, type) pairs to issue, at most {@code wallet.issuance.batch.max-size}.
+     * @return One result per request, in the same order as the input.
+     * @throws DigitalWalletException if the batch is empty or exceeds the configured size limit.
+     */
+    public List<IssuanceResult> issueCredentials(List<IssuanceRequest> requests) {
+        if (requests == null || requests.isEmpty() || requests.size() > maxBatchSize) {
+            throw new DigitalWalletException(
+                    "A batch must contain between 1 and " + maxBatchSize + " issuance requests.",
+                    "ERR_INVALID_BATCH_SIZE",
+                    HttpStatus.BAD_REQUEST
+            );
+        }
+
+        List<IssuanceResult> results = switch (batchSigningMode) {
+            case INDIVIDUAL -> forEachConcurrently(requests, this::issueUnregistered);
+            case MERKLE -> issueMerkleBatch(requests);
+        };
+
+        List<CredentialStatus> issued = results.stream()
+                .filter(IssuanceResult::isIssued)
+                .map(IssuanceResult::credentialStatus)
+                .toList();
+        if (!issued.isEmpty()) {
+            statusService.initializeStatuses(issued);
+        }
+
+        return results;
+    }
 
-        return signingService.signCredential(rootIdentityHash, type, claims, credentialId);
+    private List<IssuanceResult> issueMerkleBatch(List<IssuanceRequest> requests) {
+        List<PreparedCredential> prepared = forEachConcurrently(requests, this::prepare);
+        List<CredentialPayload> payloads = prepared.stream()
+                .filter(credential -> credential.failure() == null)
+                .map(PreparedCredential::payload)
+                .toList();
+
+        Iterator<String> tokens;
+        try {
+            tokens = payloads.isEmpty() ? Collections.emptyIterator() : signingService.signCredentialBatch(payloads).iterator();
+        } catch (DigitalWalletException ex) {
+            return prepared.stream()
+                    .map(credential -> credential.failure() != null ? credential.failure()
+                            : IssuanceResult.failed(credential.request(), ex.getErrorCode(), ex.getMessage()))
+                    .toList();
+        }
+
+        return prepared.stream()
+                .map(credential -> credential.failure() != null ? credential.failure()
+                        : IssuanceResult.issued(credential.request(), credential.status(), tokens.next()))
+                .toList();
+    }
+
+    private PreparedCredential prepare(IssuanceRequest request) {
+        try {
+            Map<String, Object> claims = providers.fetchClaimsAndWait(request.type(), request.rootIdentityHash());
+
+            CredentialStatus status = statusService.reserveStatus(credentialIdGenerator.next(), request.rootIdentityHash());
+            CredentialPayload payload = new CredentialPayload(
+                    request.rootIdentityHash(), request.type(), withStatus(claims, status), status.credentialId());
+            return new PreparedCredential(request, payload, status, null);
+        } catch (DigitalWalletException ex) {
+            return new PreparedCredential(request, null, null, IssuanceResult.failed(request, ex.getErrorCode(), ex.getMessage()));
+        } catch (RuntimeException ex) {
+            return new PreparedCredential(request, null, null, IssuanceResult.failed(request, "ERR_ISSUANCE_FAILED", ex.getMessage()));
+        }
+    }
+
+    private IssuanceResult issueUnregistered(IssuanceRequest request) {
+        try {
+            Map<String, Object> claims = providers.fetchClaimsAndWait(request.type(), request.rootIdentityHash());
+
+            CredentialStatus status = statusService.reserveStatus(credentialIdGenerator.next(), request.rootIdentityHash());
+            String credential = signingService.signCredential(
+                    request.rootIdentityHash(), request.type(), withStatus(claims, status), status.credentialId());
+            return IssuanceResult.issued(request, status, credential);
+        } catch (DigitalWalletException ex) {
+            return IssuanceResult.failed(request, ex.getErrorCode(), ex.getMessage());
+        } catch (RuntimeException ex) {
+            return IssuanceResult.failed(request, "ERR_ISSUANCE_FAILED", ex.getMessage());
+        }
+    }
+
+    /**
+     * Adds the {@value CredentialStatus#CLAIM} claim, which Verifiers use to look the credential up in the status list.
+     */
+    private Map<String, Object> withStatus(Map<String, Object> claims, CredentialStatus status) {
+        Map<String, Object> result = new LinkedHashMap<>(claims);
+        result.put(CredentialStatus.CLAIM, statusService.credentialStatusClaim(status));
+        return result;
+    }
+
+    /**
+     * Applies {@code task} to every request on its own virtual thread and collects the results in input order.
+     * The task must report failures in its result rather than throw.
+     */
+    private static <T> List<T> forEachConcurrently(List<IssuanceRequest> requests, Function<IssuanceRequest, T> task) {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<T>> futures = requests.stream()
+                    .map(request -> executor.submit(() -> task.apply(request)))
+                    .toList();
+            return futures.stream().map(IssuanceService::await).toList();
+        }
+    }
+
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new DigitalWalletException("Batch issuance was interrupted.", "ERR_ISSUANCE_INTERRUPTED");
+        } catch (ExecutionException ex) {
+            // Tasks never throw, so this only happens on Errors
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
+    /**
+     * A batch entry whose claims have been fetched, or its failure.
+     */
+    private record PreparedCredential(IssuanceRequest request, CredentialPayload payload, CredentialStatus status,
+                                      IssuanceResult failure) {
     }
 
 }
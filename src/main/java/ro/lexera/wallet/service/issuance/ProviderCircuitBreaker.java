@@ -0,0 +1,78 @@
+package ro.lexera.wallet.service.issuance;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Consecutive-failure circuit breaker of one {@link DocumentProvider}.
+ * <p>
+ * After {@code failureThreshold} failed calls in a row the circuit opens and calls are refused for
+ * {@code openDuration}. The first call after that is let through as a trial: its success closes the
+ * circuit, its failure opens it again for another {@code openDuration}.
+ * </p>
+ */
+final class ProviderCircuitBreaker {
+
+    enum State {CLOSED, OPEN, HALF_OPEN}
+
+    private final int failureThreshold;
+    private final Duration openDuration;
+    private final Clock clock;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private Instant openUntil;
+
+    ProviderCircuitBreaker(int failureThreshold, Duration openDuration, Clock clock) {
+        this.failureThreshold = failureThreshold;
+        this.openDuration = openDuration;
+        this.clock = clock;
+    }
+
+    /**
+     * @return {@code true} if a call may be made, in which case its outcome must be reported.
+     */
+    synchronized boolean tryAcquire() {
+        return switch (state) {
+            case CLOSED -> true;
+            case HALF_OPEN -> false; // the trial call is in flight
+            case OPEN -> {
+                if (clock.instant().isBefore(openUntil)) {
+                    yield false;
+                }
+                state = State.HALF_OPEN;
+                yield true;
+            }
+        };
+    }
+
+    synchronized void onSuccess() {
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+    }
+
+    synchronized void onFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openUntil = clock.instant().plus(openDuration);
+        }
+    }
+
+    /**
+     * @return How long the circuit stays open, zero if it is not open.
+     */
+    synchronized Duration remainingOpenDuration() {
+        if (state != State.OPEN) {
+            return Duration.ZERO;
+        }
+        Duration remaining = Duration.between(clock.instant(), openUntil);
+        return remaining.isNegative() ? Duration.ZERO : remaining;
+    }
+
+    synchronized State state() {
+        return state;
+    }
+
+}
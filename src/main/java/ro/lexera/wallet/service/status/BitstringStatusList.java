@@ -0,0 +1,140 @@
+package ro.lexera.wallet.service.status;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Revocation bitstring with incrementally maintained GZIP encoding.
+ * <p>
+ * Bit {@code i} is the {@code i}-th bit of the list counted from the most significant bit of the
+ * first byte, as in the W3C Bitstring Status List; {@code 1} means revoked.
+ * </p>
+ * <p>
+ * The bitstring is split into {@value #CHUNK_BYTES}-byte chunks, each compressed on its own into
+ * a byte-aligned, non-final raw DEFLATE segment. Concatenated and closed with an empty final block,
+ * the segments form one valid GZIP member. Flipping a bit only invalidates the segment of its chunk,
+ * so re-encoding a list of millions of entries after a revocation recompresses 16 KB, plus a CRC32 pass.
+ * </p>
+ */
+final class BitstringStatusList {
+
+    /**
+     * 131,072 bits, also the minimum list length (the W3C herd-privacy recommendation).
+     */
+    static final int CHUNK_BYTES = 16 * 1024;
+
+    private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+    private static final byte[] FINAL_EMPTY_BLOCK = {0x03, 0x00};
+
+    private byte[] bits = new byte[CHUNK_BYTES];
+    private byte[][] segments = new byte[1][];
+    private long version;
+
+    /**
+     * @return The capacity of the list in bits.
+     */
+    synchronized long size() {
+        return (long) bits.length * Byte.SIZE;
+    }
+
+    /**
+     * @return A counter incremented by every change of the encoded list.
+     */
+    synchronized long version() {
+        return version;
+    }
+
+    /**
+     * Grows the list (in whole chunks) so that it holds at least {@code bitCount} bits.
+     */
+    synchronized void ensureCapacity(long bitCount) {
+        long bytes = (bitCount + Byte.SIZE - 1) / Byte.SIZE;
+        if (bytes <= bits.length) {
+            return;
+        }
+        long chunks = (bytes + CHUNK_BYTES - 1) / CHUNK_BYTES;
+        if (chunks * CHUNK_BYTES > Integer.MAX_VALUE - CHUNK_BYTES) {
+            throw new IllegalStateException("The status list cannot hold " + bitCount + " entries");
+        }
+        bits = Arrays.copyOf(bits, (int) chunks * CHUNK_BYTES);
+        segments = Arrays.copyOf(segments, (int) chunks);
+        version++;
+    }
+
+    /**
+     * Sets the bit at {@code index}, growing the list if needed.
+     *
+     * @return {@code true} if the bit was previously clear.
+     */
+    synchronized boolean set(long index) {
+        ensureCapacity(index + 1);
+        int byteIndex = (int) (index >>> 3);
+        int mask = 0x80 >>> (int) (index & 7);
+        if ((bits[byteIndex] & mask) != 0) {
+            return false;
+        }
+        bits[byteIndex] |= (byte) mask;
+        segments[byteIndex / CHUNK_BYTES] = null;
+        version++;
+        return true;
+    }
+
+    synchronized boolean get(long index) {
+        if (index < 0 || index >= size()) {
+            return false;
+        }
+        return (bits[(int) (index >>> 3)] & (0x80 >>> (int) (index & 7))) != 0;
+    }
+
+    /**
+     * @return The GZIP-compressed bitstring, recompressing only the chunks changed since the last call.
+     */
+    synchronized byte[] toGzip() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(GZIP_HEADER.length + segments.length * 64);
+        out.writeBytes(GZIP_HEADER);
+        for (int chunk = 0; chunk < segments.length; chunk++) {
+            if (segments[chunk] == null) {
+                segments[chunk] = deflate(bits, chunk * CHUNK_BYTES, CHUNK_BYTES);
+            }
+            out.writeBytes(segments[chunk]);
+        }
+        out.writeBytes(FINAL_EMPTY_BLOCK);
+
+        CRC32 crc = new CRC32();
+        crc.update(bits, 0, bits.length);
+        writeIntLittleEndian(out, (int) crc.getValue());
+        writeIntLittleEndian(out, bits.length);
+        return out.toByteArray();
+    }
+
+    /**
+     * Compresses {@code data[offset, offset + length)} into a raw DEFLATE segment that ends on a byte
+     * boundary without a final block, so that segments can be concatenated.
+     */
+    private static byte[] deflate(byte[] data, int offset, int length) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION, true);
+        try {
+            deflater.setInput(data, offset, length);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+            byte[] buffer = new byte[4096];
+            int written;
+            do {
+                written = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+                out.write(buffer, 0, written);
+            } while (written == buffer.length);
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static void writeIntLittleEndian(ByteArrayOutputStream out, int value) {
+        out.write(value);
+        out.write(value >>> 8);
+        out.write(value >>> 16);
+        out.write(value >>> 24);
+    }
+
+}
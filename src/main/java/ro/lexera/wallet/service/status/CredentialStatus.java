@@ -0,0 +1,18 @@
+package ro.lexera.wallet.service.status;
+
+import java.util.UUID;
+
+/**
+ * The registry entry of an issued credential: its JTI, its position in the revocation status list and its holder.
+ *
+ * @param credentialId The JTI of the credential.
+ * @param statusIndex  The index of the credential's bit in the {@link RevocationStatusList}.
+ * @param holderHash   The Root Identity Hash of the credential subject.
+ */
+public record CredentialStatus(UUID credentialId, long statusIndex, String holderHash) {
+
+    /**
+     * Name of the credential claim that points Verifiers to the status list entry.
+     */
+    public static final String CLAIM = "credentialStatus";
+}
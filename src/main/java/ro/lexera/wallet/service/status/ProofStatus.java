@@ -0,0 +1,23 @@
+package ro.lexera.wallet.service.status;
+
+/**
+ * Status of one credential in a batch status proof.
+ */
+public enum ProofStatus {
+    /**
+     * The credential is registered and has not been revoked.
+     */
+    VALID,
+    /**
+     * The credential has been revoked.
+     */
+    REVOKED,
+    /**
+     * The credential has expired and its registry entry was purged.
+     */
+    EXPIRED,
+    /**
+     * The credential was never registered by this issuer.
+     */
+    UNKNOWN
+}
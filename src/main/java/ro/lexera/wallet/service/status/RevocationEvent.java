@@ -0,0 +1,15 @@
+package ro.lexera.wallet.service.status;
+
+/**
+ * A Server-Sent Event of the revocation stream.
+ *
+ * @param id   The status change feed cursor after this event, sent back as {@code Last-Event-ID} to resume.
+ * @param name {@value #REVOCATIONS} (signed batch of revocations) or {@value #RESYNC} (the events since
+ *             {@code Last-Event-ID} are no longer available; refetch the status list, then keep listening).
+ * @param data The signed JWT of a {@value #REVOCATIONS} event, empty for {@value #RESYNC}.
+ */
+public record RevocationEvent(String id, String name, String data) {
+
+    public static final String REVOCATIONS = "revocations";
+    public static final String RESYNC = "resync";
+}
@@ -0,0 +1,313 @@
+package ro.lexera.wallet.service.status;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import ro.lexera.wallet.exception.DigitalWalletException;
+import ro.lexera.wallet.repository.StatusRegistryRepository;
+import ro.lexera.wallet.service.crypto.SigningService;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Pushes revocations to connected Verifiers as Server-Sent Events.
+ * <p>
+ * A single poller follows the status change feed (so revocations made on any instance are seen) every
+ * {@code wallet.status.events.poll-interval}, and right after a revocation commits on this instance. Each
+ * page of changes containing revocations becomes one {@link RevocationEvent}, signed once whatever the
+ * number of subscribers, whose ID is the feed cursor after it. Events are therefore delayed for as long as the
+ * feed is held back by a long-running writing transaction.
+ * </p>
+ * <p>
+ * Every subscriber has a bounded queue of {@code wallet.status.events.buffer-size} events, drained by its own
+ * virtual thread. An idle subscriber therefore costs a parked virtual thread and an empty queue, and a
+ * subscriber whose queue is full is disconnected instead of slowing the others down. The last
+ * {@code wallet.status.events.history-size} events are kept so that a reconnecting subscriber resumes from its
+ * {@code Last-Event-ID}; if they no longer cover it, it receives a {@value RevocationEvent#RESYNC} event.
+ * </p>
+ */
+@Slf4j
+@Component
+public class RevocationEventHub {
+
+    static final String SUBJECT = "revocations";
+
+    /**
+     * Changes read per feed query, and thus the maximum number of revocations per event.
+     */
+    static final int PAGE_SIZE = 1000;
+
+    private final StatusRegistryRepository repository;
+    private final SigningService signingService;
+    private final Duration pollInterval;
+    private final Duration heartbeatInterval;
+    private final int historySize;
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final Counter dropped;
+
+    private final Deque<HistoryEntry> history = new ArrayDeque<>();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Semaphore wakeUp = new Semaphore(0);
+    // Not synchronized: the poller is a virtual thread, which must not be pinned. Guards head, history and the
+    // fan-out, so a subscriber is either replayed an event or receives it, never neither; the feed query and the
+    // signature run outside it
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private StatusChangeCursor head;
+    private Thread poller;
+    private volatile boolean running;
+
+    public RevocationEventHub(StatusRegistryRepository repository,
+                              SigningService signingService,
+                              @Value("${wallet.status.events.poll-interval:PT1S}") Duration pollInterval,
+                              @Value("${wallet.status.events.heartbeat-interval:PT30S}") Duration heartbeatInterval,
+                              @Value("${wallet.status.events.history-size:1024}") int historySize,
+                              @Value("${wallet.status.events.buffer-size:64}") int bufferSize,
+                              @Value("${wallet.status.events.max-subscribers:50000}") int maxSubscribers,
+                              MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.signingService = signingService;
+        this.pollInterval = pollInterval;
+        this.heartbeatInterval = heartbeatInterval;
+        this.historySize = historySize;
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.dropped = Counter.builder("wallet.status.events.dropped")
+                .description("Subscribers disconnected because their event buffer was full")
+                .register(meterRegistry);
+        Gauge.builder("wallet.status.events.subscribers", subscribers, Set::size)
+                .description("Connected revocation event subscribers")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        poller = Thread.ofVirtual().name("revocation-events-poller").start(() -> {
+            while (running) {
+                try {
+                    wakeUp.tryAcquire(pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+                    wakeUp.drainPermits();
+                    poll();
+                } catch (InterruptedException ex) {
+                    return;
+                } catch (RuntimeException ex) {
+                    log.warn("Could not poll the status change feed for revocation events", ex);
+                }
+            }
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        poller.interrupt();
+        subscribers.forEach(Subscriber::close);
+    }
+
+    /**
+     * Makes the poller look for new revocations once the current transaction commits.
+     */
+    public void onRevoked() {
+        AfterCommit.run(wakeUp::release);
+    }
+
+    /**
+     * Reads the changes committed since the last poll and publishes their revocations. Only called by the poller.
+     */
+    void poll() {
+        if (head == null) {
+            // Subscribers only get revocations made after startup, older ones are in the status list
+            StatusChangeCursor last = repository.findLastChange()
+                    .map(change -> new StatusChangeCursor(change.changeXid(), change.credentialId()))
+                    .orElse(StatusChangeCursor.START);
+            advance(last, null);
+            return;
+        }
+
+        int read;
+        do {
+            StatusChangeCursor from = head;
+            StatusChangeCursor[] until = {from};
+            List<Map<String, Object>> revoked = new ArrayList<>();
+            int[] count = {0};
+            repository.forEachChangeAfter(from.changeXid(), from.credentialId(), PAGE_SIZE, change -> {
+                count[0]++;
+                until[0] = new StatusChangeCursor(change.changeXid(), change.credentialId());
+                if (change.revoked()) {
+                    Map<String, Object> json = new LinkedHashMap<>();
+                    json.put("credentialId", change.credentialId().toString());
+                    if (change.statusIndex() != null) {
+                        json.put("statusIndex", change.statusIndex());
+                    }
+                    revoked.add(json);
+                }
+            });
+            read = count[0];
+            advance(until[0], revoked.isEmpty() ? null : new HistoryEntry(from, until[0], sign(from, until[0], revoked)));
+        } while (read == PAGE_SIZE);
+    }
+
+    /**
+     * Connects a subscriber, replaying the events it missed first.
+     *
+     * @param lastEventId The ID of the last event the subscriber received, {@code null} for a new subscriber.
+     * @param sink        The connection to push events to.
+     * @return A handle to call {@link Subscription#cancel()} on when the connection ends.
+     * @throws DigitalWalletException with {@code ERR_INVALID_CURSOR} if {@code lastEventId} is malformed, or
+     *                                {@code ERR_TOO_MANY_SUBSCRIBERS} if the subscriber limit is reached.
+     */
+    public Subscription subscribe(String lastEventId, RevocationEventSink sink) {
+        StatusChangeCursor resumeAfter = lastEventId == null || lastEventId.isBlank() ? null : StatusChangeCursor.parse(lastEventId);
+        if (subscribers.size() >= maxSubscribers) {
+            throw new DigitalWalletException(
+                    "Too many revocation event subscribers, please retry later or poll the status list.",
+                    "ERR_TOO_MANY_SUBSCRIBERS",
+                    HttpStatus.SERVICE_UNAVAILABLE
+            );
+        }
+
+        Subscriber subscriber = new Subscriber(sink);
+        lock.lock();
+        try {
+            if (resumeAfter != null) {
+                List<RevocationEvent> missed = missedSince(resumeAfter);
+                if (missed == null || missed.size() > bufferSize) {
+                    String resyncId = head == null ? lastEventId : head.toString();
+                    missed = List.of(new RevocationEvent(resyncId, RevocationEvent.RESYNC, ""));
+                }
+                missed.forEach(subscriber.queue::add);
+            }
+            subscribers.add(subscriber);
+        } finally {
+            lock.unlock();
+        }
+        subscriber.start();
+        return subscriber;
+    }
+
+    /**
+     * @return The events after {@code cursor}, or {@code null} if the history does not reach back that far.
+     */
+    private List<RevocationEvent> missedSince(StatusChangeCursor cursor) {
+        if (head != null && cursor.compareTo(head) >= 0) {
+            return List.of();
+        }
+        if (history.isEmpty() || cursor.compareTo(history.peekFirst().from()) < 0) {
+            return null;
+        }
+        return history.stream()
+                .filter(entry -> entry.until().compareTo(cursor) > 0)
+                .map(HistoryEntry::event)
+                .toList();
+    }
+
+    private RevocationEvent sign(StatusChangeCursor from, StatusChangeCursor until, List<Map<String, Object>> revoked) {
+        Map<String, Object> claims = new LinkedHashMap<>();
+        claims.put("cursor", from == StatusChangeCursor.START ? null : from.toString());
+        claims.put("nextCursor", until.toString());
+        claims.put("revoked", revoked);
+        return new RevocationEvent(
+                until.toString(), RevocationEvent.REVOCATIONS, signingService.signStatusProof(SUBJECT, claims));
+    }
+
+    /**
+     * Moves the head to {@code until}, publishing {@code entry} first if there is one.
+     */
+    private void advance(StatusChangeCursor until, HistoryEntry entry) {
+        lock.lock();
+        try {
+            if (entry != null) {
+                history.addLast(entry);
+                if (history.size() > historySize) {
+                    history.removeFirst();
+                }
+                for (Subscriber subscriber : subscribers) {
+                    if (!subscriber.queue.offer(entry.event())) {
+                        dropped.increment();
+                        subscriber.close();
+                    }
+                }
+            }
+            head = until;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private record HistoryEntry(StatusChangeCursor from, StatusChangeCursor until, RevocationEvent event) {
+    }
+
+    public interface Subscription {
+        void cancel();
+    }
+
+    private final class Subscriber implements Subscription {
+
+        private final RevocationEventSink sink;
+        private final BlockingQueue<RevocationEvent> queue = new ArrayBlockingQueue<>(bufferSize);
+        private volatile boolean closed;
+        private Thread sender;
+
+        private Subscriber(RevocationEventSink sink) {
+            this.sink = sink;
+        }
+
+        private void start() {
+            sender = Thread.ofVirtual().name("revocation-events-sender").start(this::sendLoop);
+        }
+
+        private void sendLoop() {
+            try {
+                while (!closed) {
+                    RevocationEvent event = queue.poll(heartbeatInterval.toMillis(), TimeUnit.MILLISECONDS);
+                    if (event == null) {
+                        sink.heartbeat();
+                    } else {
+                        sink.send(event);
+                    }
+                }
+            } catch (InterruptedException | IOException ex) {
+                // Closed by the hub, or the connection is gone
+            } finally {
+                subscribers.remove(this);
+                sink.complete();
+            }
+        }
+
+        private void close() {
+            closed = true;
+            subscribers.remove(this);
+            if (sender != null) {
+                sender.interrupt();
+            }
+        }
+
+        @Override
+        public void cancel() {
+            close();
+        }
+    }
+
+}
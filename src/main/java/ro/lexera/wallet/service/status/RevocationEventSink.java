@@ -0,0 +1,21 @@
+package ro.lexera.wallet.service.status;
+
+import java.io.IOException;
+
+/**
+ * The connection of one subscriber to the {@link RevocationEventHub}, implemented by the web layer.
+ */
+public interface RevocationEventSink {
+
+    void send(RevocationEvent event) throws IOException;
+
+    /**
+     * Writes a comment line, which keeps idle connections open and detects closed ones.
+     */
+    void heartbeat() throws IOException;
+
+    /**
+     * Ends the response, e.g. after the subscriber fell too far behind.
+     */
+    void complete();
+}
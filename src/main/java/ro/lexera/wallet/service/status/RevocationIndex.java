@@ -0,0 +1,176 @@
+package ro.lexera.wallet.service.status;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ro.lexera.wallet.repository.StatusRegistryRepository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * In-process mirror of the Status Registry, answering "is this JTI known / revoked?" without a
+ * database round-trip.
+ * <p>
+ * Two {@link UuidHashSet}s hold the known and the revoked JTIs. With revocations being rare, the
+ * footprint is dominated by the known set: 32 MiB per million credentials (43 MiB at worst, right
+ * after a resize). The sets are loaded on startup, updated when registrations and revocations
+ * commit on this instance, and caught up with other instances every
+ * {@code wallet.status.index.refresh-interval} by reading rows whose {@code updated_at} moved
+ * (re-reading a {@code refresh-overlap} window to cover transactions that committed late).
+ * </p>
+ * <p>
+ * Revocation is irreversible, so both sets only grow between loads. A reload (after expired
+ * credentials were purged, see {@link StatusRetention}) fills fresh sets and swaps them in. A JTI
+ * missing from the index is not treated as unknown: callers fall back to the registry, since it
+ * may have just been issued elsewhere.
+ * </p>
+ */
+@Slf4j
+@Component
+public class RevocationIndex {
+
+    private final StatusRegistryRepository repository;
+    private final RevocationStatusList statusList;
+    private final StatusProofCache proofCache;
+    private final Duration refreshOverlap;
+
+    private volatile Sets sets = new Sets();
+
+    private volatile Instant refreshedUntil;
+
+    public RevocationIndex(StatusRegistryRepository repository,
+                           RevocationStatusList statusList,
+                           StatusProofCache proofCache,
+                           @Value("${wallet.status.index.refresh-overlap:PT30S}") Duration refreshOverlap,
+                           MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.statusList = statusList;
+        this.proofCache = proofCache;
+        this.refreshOverlap = refreshOverlap;
+
+        Gauge.builder("wallet.status.index.entries", this, index -> index.sets.known().size())
+                .tag("set", "known")
+                .register(meterRegistry);
+        Gauge.builder("wallet.status.index.entries", this, index -> index.sets.revoked().size())
+                .tag("set", "revoked")
+                .register(meterRegistry);
+        Gauge.builder("wallet.status.index.memory", this, RevocationIndex::memoryFootprintBytes)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Reads the whole registry into fresh sets, then swaps them in and catches up with the
+     * changes that committed during the scan.
+     */
+    @PostConstruct
+    public synchronized void load() {
+        Instant startedAt = Instant.now();
+        Sets loaded = new Sets();
+        repository.forEachStatus(null, (credentialId, isRevoked, statusIndex) -> learn(loaded, credentialId, isRevoked, statusIndex));
+        boolean reload = refreshedUntil != null;
+        sets = loaded;
+        refreshedUntil = startedAt;
+        if (reload) {
+            refresh();
+        }
+        log.info("Loaded revocation index: {} credentials, {} revoked, {} KiB",
+                loaded.known().size(), loaded.revoked().size(), memoryFootprintBytes() / 1024);
+    }
+
+    /**
+     * Applies registry changes made since the last refresh, including those of other instances.
+     */
+    @Scheduled(fixedDelayString = "${wallet.status.index.refresh-interval:PT10S}")
+    public synchronized void refresh() {
+        Instant startedAt = Instant.now();
+        Sets current = sets;
+        repository.forEachStatus(refreshedUntil.minus(refreshOverlap), (credentialId, isRevoked, statusIndex) -> {
+            if (learn(current, credentialId, isRevoked, statusIndex)) {
+                proofCache.evict(credentialId); // revoked on another instance
+            }
+        });
+        refreshedUntil = startedAt;
+    }
+
+    public boolean isKnown(UUID credentialId) {
+        return sets.known().contains(credentialId);
+    }
+
+    public boolean isRevoked(UUID credentialId) {
+        return sets.revoked().contains(credentialId);
+    }
+
+    /**
+     * Records a registry row read from the database.
+     */
+    public void apply(UUID credentialId, boolean isRevoked, Long statusIndex) {
+        learn(sets, credentialId, isRevoked, statusIndex);
+    }
+
+    /**
+     * Marks credentials as known once the current transaction commits.
+     */
+    public void onRegistered(Collection<UUID> credentialIds) {
+        List<UUID> ids = List.copyOf(credentialIds);
+        AfterCommit.run(() -> ids.forEach(sets.known()::add));
+    }
+
+    /**
+     * Marks a credential as revoked once the current transaction commits.
+     */
+    public void onRevoked(UUID credentialId) {
+        onRevoked(List.of(credentialId));
+    }
+
+    /**
+     * Marks credentials as revoked once the current transaction commits.
+     */
+    public void onRevoked(Collection<UUID> credentialIds) {
+        List<UUID> ids = List.copyOf(credentialIds);
+        AfterCommit.run(() -> {
+            Sets current = sets;
+            ids.forEach(credentialId -> {
+                current.known().add(credentialId);
+                current.revoked().add(credentialId);
+            });
+        });
+    }
+
+    /**
+     * @return {@code true} if the credential was not known to be revoked yet.
+     */
+    private boolean learn(Sets target, UUID credentialId, boolean isRevoked, Long statusIndex) {
+        target.known().add(credentialId);
+        if (statusIndex != null) {
+            statusList.cover(statusIndex);
+            if (isRevoked) {
+                statusList.markRevoked(statusIndex);
+            }
+        }
+        return isRevoked && target.revoked().add(credentialId);
+    }
+
+    /**
+     * @return The bytes held by the known and revoked sets.
+     */
+    public long memoryFootprintBytes() {
+        Sets current = sets;
+        return current.known().memoryFootprintBytes() + current.revoked().memoryFootprintBytes();
+    }
+
+    private record Sets(UuidHashSet known, UuidHashSet revoked) {
+        private Sets() {
+            this(new UuidHashSet(), new UuidHashSet());
+        }
+    }
+
+}
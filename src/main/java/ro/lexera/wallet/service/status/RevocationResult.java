@@ -0,0 +1,35 @@
+package ro.lexera.wallet.service.status;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.UUID;
+
+/**
+ * Outcome of a single credential of a bulk revocation.
+ */
+public record RevocationResult(
+        @Schema(description = "The JTI of the credential", example = "550e8400-e29b-41d4-a716-446655440000")
+        UUID credentialId,
+        @Schema(description = "What the revocation changed for this credential", example = "REVOKED")
+        Outcome outcome) {
+
+    public enum Outcome {
+        /**
+         * The credential was {@code VALID} and is now revoked.
+         */
+        REVOKED,
+        /**
+         * The credential had already been revoked; its original reason is kept.
+         */
+        ALREADY_REVOKED,
+        /**
+         * The credential was not in the registry; it is recorded as revoked so it can never become valid.
+         */
+        UNKNOWN,
+        /**
+         * The credential has expired and its registry entry was purged; there is nothing left to revoke.
+         */
+        EXPIRED
+    }
+
+}
@@ -0,0 +1,164 @@
+package ro.lexera.wallet.service.status;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ro.lexera.wallet.repository.StatusRegistryRepository;
+import ro.lexera.wallet.service.crypto.SigningService;
+
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The published revocation status list (W3C Bitstring Status List style).
+ * <p>
+ * Every credential gets an index in a bitstring when it is registered and carries a
+ * {@value CredentialStatus#CLAIM} claim pointing at that bit. The whole list is published as one
+ * token, signed like a status proof, whose {@code encodedList} claim is the multibase ({@code u})
+ * Base64URL encoding of the GZIP-compressed bitstring. Verifiers download and cache it, then check
+ * any number of credentials offline, so a single signature serves every status check until the
+ * list changes.
+ * </p>
+ * <p>
+ * Indexes are handed out from blocks reserved on {@code status_list_block_seq}, so issuance only
+ * hits the sequence once per {@code wallet.status.list.index-block-size} credentials. The bitstring
+ * is rebuilt from the registry on startup and updated in place when a revocation commits; the token
+ * is re-signed lazily, on the first request after a change or once half of its validity has elapsed.
+ * </p>
+ */
+@Slf4j
+@Component
+public class RevocationStatusList {
+
+    private static final Base64.Encoder BASE64URL = Base64.getUrlEncoder().withoutPadding();
+
+    private final StatusRegistryRepository repository;
+    private final SigningService signingService;
+    private final String uri;
+    private final int indexBlockSize;
+
+    private final BitstringStatusList bitstring = new BitstringStatusList();
+
+    // Not synchronized: reserving a block is a database round-trip and must not pin virtual threads
+    private final ReentrantLock indexLock = new ReentrantLock();
+    private long nextIndex;
+    private long blockEnd;
+
+    private volatile StatusListToken token;
+
+    public RevocationStatusList(StatusRegistryRepository repository,
+                                SigningService signingService,
+                                @Value("${wallet.status.list.uri:http://localhost:8080/api/v1/status-lists/revocation}") String uri,
+                                @Value("${wallet.status.list.index-block-size:1000}") int indexBlockSize) {
+        this.repository = repository;
+        this.signingService = signingService;
+        this.uri = uri;
+        this.indexBlockSize = indexBlockSize;
+    }
+
+    @PostConstruct
+    public void load() {
+        bitstring.ensureCapacity(repository.maxStatusIndex() + 1);
+        repository.forEachRevokedStatusIndex(bitstring::set);
+        log.info("Loaded revocation status list with {} entries", bitstring.size());
+    }
+
+    /**
+     * Hands out the next unused status list index.
+     */
+    public long reserveIndex() {
+        indexLock.lock();
+        try {
+            if (nextIndex == blockEnd) {
+                nextIndex = repository.nextStatusIndexBlock() * indexBlockSize;
+                blockEnd = nextIndex + indexBlockSize;
+                bitstring.ensureCapacity(blockEnd);
+            }
+            return nextIndex++;
+        } finally {
+            indexLock.unlock();
+        }
+    }
+
+    /**
+     * @return The {@value CredentialStatus#CLAIM} claim value for a credential registered at {@code statusIndex}.
+     */
+    public Map<String, Object> toClaim(long statusIndex) {
+        Map<String, Object> claim = new LinkedHashMap<>();
+        claim.put("type", "BitstringStatusListEntry");
+        claim.put("statusPurpose", "revocation");
+        claim.put("statusListIndex", String.valueOf(statusIndex));
+        claim.put("statusListCredential", uri);
+        return claim;
+    }
+
+    /**
+     * Flips the bit at {@code statusIndex} once the current transaction (if any) has committed,
+     * so a rolled-back revocation never reaches the published list.
+     */
+    public void markRevoked(long statusIndex) {
+        AfterCommit.run(() -> bitstring.set(statusIndex));
+    }
+
+    /**
+     * Bulk variant of {@link #markRevoked(long)}.
+     */
+    public void markRevoked(Collection<Long> statusIndexes) {
+        long[] indexes = statusIndexes.stream().mapToLong(Long::longValue).toArray();
+        AfterCommit.run(() -> {
+            for (long statusIndex : indexes) {
+                bitstring.set(statusIndex);
+            }
+        });
+    }
+
+    /**
+     * Grows the list to include an index handed out by another instance.
+     */
+    public void cover(long statusIndex) {
+        bitstring.ensureCapacity(statusIndex + 1);
+    }
+
+    public boolean isRevoked(long statusIndex) {
+        return bitstring.get(statusIndex);
+    }
+
+    /**
+     * @return The signed status list, re-signed first if the list changed or the current token is half-way to expiry.
+     */
+    public StatusListToken current() {
+        StatusListToken current = token;
+        if (current == null || isStale(current)) {
+            synchronized (this) {
+                current = token;
+                if (current == null || isStale(current)) {
+                    current = sign();
+                    token = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private boolean isStale(StatusListToken current) {
+        return current.version() != bitstring.version()
+                || Instant.now().isAfter(current.issuedAt().plus(SigningService.STATUS_PROOF_TTL.dividedBy(2)));
+    }
+
+    private StatusListToken sign() {
+        long version = bitstring.version(); // read first: a concurrent change only makes the next check re-sign
+        Map<String, Object> claims = new LinkedHashMap<>();
+        claims.put("statusPurpose", "revocation");
+        claims.put("encodedList", "u" + BASE64URL.encodeToString(bitstring.toGzip()));
+
+        Instant issuedAt = Instant.now();
+        String jwt = signingService.signStatusProof(uri, claims);
+        return new StatusListToken(jwt, "\"" + version + "-" + issuedAt.toEpochMilli() + "\"", version, issuedAt);
+    }
+
+}
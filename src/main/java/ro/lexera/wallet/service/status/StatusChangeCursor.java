@@ -0,0 +1,63 @@
+package ro.lexera.wallet.service.status;
+
+import org.springframework.http.HttpStatus;
+import ro.lexera.wallet.exception.DigitalWalletException;
+
+import java.util.UUID;
+
+/**
+ * Position in the status change feed: the last change a reader has already seen.
+ * <p>
+ * Encoded as {@code <changeXid>:<credentialId>}; readers treat it as opaque and pass back the
+ * {@code nextCursor} of the previous page.
+ * </p>
+ *
+ * @param changeXid    The ID of the transaction that wrote the last change seen.
+ * @param credentialId The credential of the last change seen.
+ */
+record StatusChangeCursor(long changeXid, UUID credentialId) implements Comparable<StatusChangeCursor> {
+
+    static final StatusChangeCursor START = new StatusChangeCursor(-1, new UUID(0, 0));
+
+    /**
+     * @param value An encoded cursor, or {@code null} / blank for the beginning of the feed.
+     * @throws DigitalWalletException with {@code ERR_INVALID_CURSOR} if the cursor is malformed.
+     */
+    static StatusChangeCursor parse(String value) {
+        if (value == null || value.isBlank()) {
+            return START;
+        }
+        int separator = value.indexOf(':');
+        try {
+            return new StatusChangeCursor(
+                    Long.parseLong(value.substring(0, separator)), UUID.fromString(value.substring(separator + 1)));
+        } catch (RuntimeException ex) {
+            throw new DigitalWalletException(
+                    "The cursor '" + value + "' is not a valid status change feed position.",
+                    "ERR_INVALID_CURSOR",
+                    HttpStatus.BAD_REQUEST
+            );
+        }
+    }
+
+    /**
+     * Orders cursors as the feed does: by transaction, then by credential ID compared as unsigned bytes (PostgreSQL's uuid order).
+     */
+    @Override
+    public int compareTo(StatusChangeCursor other) {
+        int result = Long.compare(changeXid, other.changeXid);
+        if (result == 0) {
+            result = Long.compareUnsigned(credentialId.getMostSignificantBits(), other.credentialId.getMostSignificantBits());
+        }
+        if (result == 0) {
+            result = Long.compareUnsigned(credentialId.getLeastSignificantBits(), other.credentialId.getLeastSignificantBits());
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return changeXid + ":" + credentialId;
+    }
+
+}
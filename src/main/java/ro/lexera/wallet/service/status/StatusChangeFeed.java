@@ -0,0 +1,168 @@
+package ro.lexera.wallet.service.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import ro.lexera.wallet.exception.DigitalWalletException;
+import ro.lexera.wallet.repository.StatusRegistryRepository;
+import ro.lexera.wallet.repository.StatusRegistryRepositoryCustom.StatusChange;
+import ro.lexera.wallet.service.crypto.SigningService;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Incremental feed of Status Registry changes, for Verifiers that mirror revocation state locally.
+ * <p>
+ * A reader starts without a cursor, then repeatedly asks for the changes after the
+ * {@code nextCursor} of the previous page until {@code hasMore} is {@code false}. Each page is
+ * signed with the status proof key, either as a single JWT whose {@code changes} claim lists the
+ * entries, or as NDJSON: one change per line, followed by a {@code {"trailer": <jwt>}} line whose
+ * {@code digest} claim is the Base64URL SHA-256 of every byte before it. A credential appears
+ * once per transaction that changed it, with its state as of the page.
+ * </p>
+ * <p>
+ * Only changes of transactions older than every transaction still in flight are served (see
+ * {@link StatusRegistryRepository#forEachChangeAfter}), so the feed stops advancing while any writing
+ * transaction on the database, even one unrelated to the registry, is left open.
+ * </p>
+ */
+@Service
+public class StatusChangeFeed {
+
+    static final String SUBJECT = "status-changes";
+
+    private static final byte[] NEWLINE = {'\n'};
+
+    private final StatusRegistryRepository repository;
+    private final SigningService signingService;
+    private final ObjectMapper objectMapper;
+    private final int maxLimit;
+
+    public StatusChangeFeed(StatusRegistryRepository repository,
+                            SigningService signingService,
+                            ObjectMapper objectMapper,
+                            @Value("${wallet.status.feed.max-limit:10000}") int maxLimit) {
+        this.repository = repository;
+        this.signingService = signingService;
+        this.objectMapper = objectMapper;
+        this.maxLimit = maxLimit;
+    }
+
+    /**
+     * Returns the changes after {@code cursor} as one signed token.
+     *
+     * @param cursor The {@code nextCursor} of the previous page, {@code null} to start from the beginning.
+     * @param limit  The maximum number of changes, at most {@code wallet.status.feed.max-limit}.
+     * @return A signed JWT with the {@code changes}, {@code cursor}, {@code nextCursor} and {@code hasMore} claims.
+     * @throws DigitalWalletException if the cursor is malformed or the limit out of range.
+     */
+    public String page(String cursor, int limit) {
+        StatusChangeCursor from = StatusChangeCursor.parse(cursor);
+        checkLimit(limit);
+
+        List<Map<String, Object>> changes = new ArrayList<>();
+        StatusChangeCursor next = scan(from, limit, change -> changes.add(toJson(change)));
+
+        Map<String, Object> claims = pageClaims(from, next, changes.size(), limit);
+        claims.put("changes", changes);
+        return signingService.signStatusProof(SUBJECT, claims);
+    }
+
+    /**
+     * Validates a feed request and returns the NDJSON writer for it.
+     *
+     * @see #page(String, int)
+     */
+    public StatusChangeStream stream(String cursor, int limit) {
+        StatusChangeCursor from = StatusChangeCursor.parse(cursor);
+        checkLimit(limit);
+
+        return out -> {
+            DigestOutputStream body = new DigestOutputStream(out, sha256());
+            int[] count = {0};
+            StatusChangeCursor next;
+            try {
+                next = scan(from, limit, change -> {
+                    writeLine(body, toJson(change));
+                    count[0]++;
+                });
+            } catch (UncheckedIOException ex) {
+                throw ex.getCause();
+            }
+
+            Map<String, Object> claims = pageClaims(from, next, count[0], limit);
+            claims.put("count", count[0]);
+            claims.put("digest", Base64.getUrlEncoder().withoutPadding().encodeToString(body.getMessageDigest().digest()));
+            body.on(false);
+            writeLine(body, Map.of("trailer", signingService.signStatusProof(SUBJECT, claims)));
+            body.flush();
+        };
+    }
+
+    private StatusChangeCursor scan(StatusChangeCursor from, int limit, Consumer<StatusChange> consumer) {
+        StatusChangeCursor[] last = {from};
+        repository.forEachChangeAfter(from.changeXid(), from.credentialId(), limit, change -> {
+            consumer.accept(change);
+            last[0] = new StatusChangeCursor(change.changeXid(), change.credentialId());
+        });
+        return last[0];
+    }
+
+    private static Map<String, Object> pageClaims(StatusChangeCursor from, StatusChangeCursor next, int count, int limit) {
+        Map<String, Object> claims = new LinkedHashMap<>();
+        claims.put("cursor", from == StatusChangeCursor.START ? null : from.toString());
+        claims.put("nextCursor", next.toString());
+        claims.put("hasMore", count == limit);
+        return claims;
+    }
+
+    private static Map<String, Object> toJson(StatusChange change) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("credentialId", change.credentialId().toString());
+        json.put("status", change.revoked() ? "REVOKED" : "VALID");
+        if (change.statusIndex() != null) {
+            json.put("statusIndex", change.statusIndex());
+        }
+        return json;
+    }
+
+    private void writeLine(OutputStream out, Map<String, Object> json) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(json));
+            out.write(NEWLINE);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private void checkLimit(int limit) {
+        if (limit < 1 || limit > maxLimit) {
+            throw new DigitalWalletException(
+                    "The limit must be between 1 and " + maxLimit + ".",
+                    "ERR_INVALID_LIMIT",
+                    HttpStatus.BAD_REQUEST
+            );
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+}
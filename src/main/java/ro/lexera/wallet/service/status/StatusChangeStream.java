@@ -0,0 +1,14 @@
+package ro.lexera.wallet.service.status;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * A validated status change feed request, written out lazily as NDJSON.
+ */
+@FunctionalInterface
+public interface StatusChangeStream {
+
+    void writeTo(OutputStream out) throws IOException;
+
+}
@@ -0,0 +1,14 @@
+package ro.lexera.wallet.service.status;
+
+import java.time.Instant;
+
+/**
+ * A signed snapshot of the revocation status list.
+ *
+ * @param jwt      The signed status list token.
+ * @param eTag     A strong entity tag identifying this snapshot.
+ * @param version  The {@link BitstringStatusList} version the snapshot was built from.
+ * @param issuedAt When the snapshot was signed.
+ */
+public record StatusListToken(String jwt, String eTag, long version, Instant issuedAt) {
+}
@@ -0,0 +1,118 @@
+package ro.lexera.wallet.service.status;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ro.lexera.wallet.service.crypto.SigningService;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of signed {@code VALID} status proofs, keyed by credential ID.
+ * <p>
+ * A status proof stays valid for {@link SigningService#STATUS_PROOF_TTL}, so Verifiers polling
+ * the same credential can safely be served the same token for a while. Entries are reused until
+ * {@code wallet.status.proof-cache.reuse-fraction} of that lifetime has passed, which guarantees
+ * that every cached proof still has the remaining fraction of its validity left when served.
+ * </p>
+ * <p>
+ * Only {@code VALID} proofs are ever cached. Revocations evict the entry immediately and once more
+ * after the surrounding transaction completes, so a proof loaded from a not-yet-committed state
+ * cannot survive the revocation. Hit, miss and eviction counts are published under the
+ * {@code cache=statusProofs} tag.
+ * </p>
+ */
+@Component
+public class StatusProofCache {
+
+    private final Cache<UUID, String> proofs;
+    private final Counter revocationEvictions;
+
+    public StatusProofCache(@Value("${wallet.status.proof-cache.max-size:100000}") long maxSize,
+                            @Value("${wallet.status.proof-cache.reuse-fraction:0.5}") double reuseFraction,
+                            MeterRegistry meterRegistry) {
+        if (reuseFraction <= 0 || reuseFraction > 1) {
+            throw new IllegalStateException("wallet.status.proof-cache.reuse-fraction must be in (0, 1], got " + reuseFraction);
+        }
+        Duration reuseWindow = Duration.ofMillis((long) (SigningService.STATUS_PROOF_TTL.toMillis() * reuseFraction));
+
+        this.proofs = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(reuseWindow)
+                .recordStats()
+                .build();
+        this.revocationEvictions = Counter.builder("wallet.status.proofs.revocation.evictions")
+                .description("Cached status proofs evicted because their credential was revoked")
+                .register(meterRegistry);
+        CaffeineCacheMetrics.monitor(meterRegistry, proofs, "statusProofs");
+    }
+
+    /**
+     * Returns the cached proof for a credential, signing a fresh one through {@code loader} on a miss.
+     * <p>
+     * Concurrent misses for the same credential share a single load. Exceptions thrown by the loader
+     * (e.g. revoked or unknown credentials) propagate unchanged and nothing is cached.
+     * </p>
+     *
+     * @param credentialId The JTI of the credential.
+     * @param loader       Produces a freshly signed {@code VALID} proof.
+     * @return The signed status proof.
+     */
+    public String get(UUID credentialId, Function<UUID, String> loader) {
+        return proofs.get(credentialId, loader);
+    }
+
+    /**
+     * Drops the cached proof of a credential, now and again when the current transaction completes.
+     *
+     * @param credentialId The JTI of the credential being revoked.
+     */
+    public void evict(UUID credentialId) {
+        if (proofs.asMap().remove(credentialId) != null) {
+            revocationEvictions.increment();
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    proofs.invalidate(credentialId);
+                }
+            });
+        }
+    }
+
+    /**
+     * Bulk variant of {@link #evict(UUID)}, registering a single transaction callback for all credentials.
+     *
+     * @param credentialIds The JTIs of the credentials being revoked.
+     */
+    public void evictAll(Collection<UUID> credentialIds) {
+        for (UUID credentialId : credentialIds) {
+            if (proofs.asMap().remove(credentialId) != null) {
+                revocationEvictions.increment();
+            }
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            List<UUID> ids = List.copyOf(credentialIds);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    proofs.invalidateAll(ids);
+                }
+            });
+        }
+    }
+
+}
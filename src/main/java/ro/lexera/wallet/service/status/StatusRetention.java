@@ -0,0 +1,123 @@
+package ro.lexera.wallet.service.status;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ro.lexera.wallet.model.entity.StatusRegistryKey;
+import ro.lexera.wallet.repository.StatusRegistryPartitionRepository;
+import ro.lexera.wallet.service.crypto.SigningService;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+/**
+ * Purges Status Registry rows of credentials that have long expired.
+ * <p>
+ * The registry is partitioned by issuance day (see {@link StatusRegistryPartitionRepository}). Once every
+ * credential of a day is past {@link SigningService#CREDENTIAL_TTL} plus {@code wallet.status.retention.grace},
+ * the whole partition is dropped, which also sheds its share of every index. Partitions are created a few days
+ * ahead so issuance never waits on DDL. Nothing happens until the table has been converted by the
+ * {@code 002_status_registry_partitioning.sql} migration.
+ * </p>
+ * <p>
+ * A credential's issuance day is part of its UUIDv7 JTI (see {@link StatusRegistryKey}), so whether it belongs to
+ * a purged day is decided from its ID alone, without a query and without false positives: see
+ * {@link #isPurged(UUID)}. Credentials whose ID carries no issuance time are kept in the undated partition, which
+ * is never purged.
+ * </p>
+ */
+@Slf4j
+@Component
+public class StatusRetention {
+
+    static final int PARTITIONS_AHEAD = 3;
+
+    private final StatusRegistryPartitionRepository partitions;
+    private final RevocationIndex revocationIndex;
+    private final Duration grace;
+    private final Clock clock;
+
+    public StatusRetention(StatusRegistryPartitionRepository partitions,
+                           RevocationIndex revocationIndex,
+                           @Value("${wallet.status.retention.grace:P7D}") Duration grace) {
+        this(partitions, revocationIndex, grace, Clock.systemUTC());
+    }
+
+    StatusRetention(StatusRegistryPartitionRepository partitions,
+                    RevocationIndex revocationIndex,
+                    Duration grace,
+                    Clock clock) {
+        this.partitions = partitions;
+        this.revocationIndex = revocationIndex;
+        this.grace = grace;
+        this.clock = clock;
+    }
+
+    @PostConstruct
+    public void init() {
+        if (!partitions.isPartitioned()) {
+            log.warn("status_registry is not partitioned, expired credentials are not purged until "
+                    + "db/migration/002_status_registry_partitioning.sql has been run");
+            return;
+        }
+        LocalDate today = LocalDate.now(clock);
+        partitions.createPartitionsThrough(today, today.plusDays(PARTITIONS_AHEAD));
+    }
+
+    /**
+     * Creates upcoming partitions, then purges the expired ones.
+     */
+    @Scheduled(fixedDelayString = "${wallet.status.retention.check-interval:PT1H}")
+    public void run() {
+        if (!partitions.isPartitioned()) {
+            return;
+        }
+        LocalDate today = LocalDate.now(clock);
+        partitions.createPartitionsThrough(today, today.plusDays(PARTITIONS_AHEAD));
+
+        boolean purged = false;
+        try {
+            for (LocalDate day : partitions.partitionDays()) {
+                if (!isPurgeable(day)) {
+                    break;
+                }
+                partitions.purge(day); // a no-op if another instance got there first
+                purged = true;
+                log.info("Purged status registry partition of {}", day);
+            }
+        } finally {
+            if (purged) {
+                revocationIndex.load(); // sheds the purged IDs
+            }
+        }
+    }
+
+    /**
+     * @return {@code true} if the credential was issued on a day whose partition is purged, or due to be.
+     */
+    public boolean isPurged(UUID credentialId) {
+        Instant issuedAt = StatusRegistryKey.issuedAtOf(credentialId);
+        return !StatusRegistryKey.UNDATED.equals(issuedAt) && isPurgeable(LocalDate.ofInstant(issuedAt, ZoneOffset.UTC));
+    }
+
+    /**
+     * @return {@code true} if the credential ID is dated after the last partition created, so it cannot have been
+     * issued by this issuer yet.
+     */
+    public boolean isPostdated(UUID credentialId) {
+        Instant issuedAt = StatusRegistryKey.issuedAtOf(credentialId);
+        return LocalDate.ofInstant(issuedAt, ZoneOffset.UTC).isAfter(LocalDate.now(clock).plusDays(PARTITIONS_AHEAD));
+    }
+
+    private boolean isPurgeable(LocalDate day) {
+        Instant lastExpiry = day.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant().plus(SigningService.CREDENTIAL_TTL);
+        return !lastExpiry.plus(grace).isAfter(clock.instant());
+    }
+
+}
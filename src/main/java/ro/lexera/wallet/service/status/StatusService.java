@@ -2,32 +2,79 @@ package ro.lexera.wallet.service.status;
 
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import ro.lexera.wallet.exception.DigitalWalletException;
+import ro.lexera.wallet.model.entity.RevocationReason;
 import ro.lexera.wallet.model.entity.StatusRegistryEntity;
+import ro.lexera.wallet.model.entity.StatusRegistryKey;
 import ro.lexera.wallet.service.crypto.SigningService;
 import ro.lexera.wallet.repository.StatusRegistryRepository;
+import ro.lexera.wallet.repository.StatusRegistryRepositoryCustom.RevokedStatus;
 import java.time.Instant;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class StatusService {
 
+    static final String BATCH_PROOF_SUBJECT = "status-batch";
+
+    @Value("${wallet.status.revocation.max-batch-size:100000}")
+    private int maxRevocationBatchSize;
+
+    @Value("${wallet.status.proof.max-batch-size:100}")
+    private int maxProofBatchSize;
+
     private final StatusRegistryRepository repository;
     private final SigningService signingService;
+    private final StatusProofCache proofCache;
+    private final RevocationStatusList statusList;
+    private final RevocationIndex revocationIndex;
+    private final StatusRetention statusRetention;
+    private final StatusWriteBehindLog writeBehindLog;
+    private final RevocationEventHub revocationEventHub;
 
+    /**
+     * Returns a signed proof that a credential is currently {@code VALID}.
+     * <p>
+     * Proofs are served from the {@link StatusProofCache} while they have enough validity left;
+     * misses are answered from the in-memory {@link RevocationIndex} and the {@link StatusWriteBehindLog},
+     * and only JTIs neither has seen yet (e.g. issued by another instance since its last refresh) hit the registry, unless
+     * their issuance day, read from the JTI, is already purged by {@link StatusRetention}.
+     * </p>
+     *
+     * @param credentialId The JTI of the credential to check.
+     * @return A signed status proof JWT.
+     * @throws DigitalWalletException if the credential is unknown, has been revoked, or has expired and been purged.
+     */
     public String getSignedStatusProof(UUID credentialId) {
-        var statusEntry = repository.findById(credentialId)
-                .orElseThrow(() -> new DigitalWalletException(
-                        "Credential ID " + credentialId + " does not exist in our registry.",
-                        "CREDENTIAL_NOT_FOUND",
-                        HttpStatus.NOT_FOUND
-                ));
-
-        if (statusEntry.isRevoked()) {
+        return proofCache.get(credentialId, this::signFreshStatusProof);
+    }
+
+    private String signFreshStatusProof(UUID credentialId) {
+        if (!revocationIndex.isKnown(credentialId) && !writeBehindLog.isPending(credentialId)) {
+            if (statusRetention.isPurged(credentialId)) {
+                throw expired();
+            }
+            var statusEntry = repository.findById(StatusRegistryKey.of(credentialId))
+                    .orElseThrow(() -> new DigitalWalletException(
+                            "Credential ID " + credentialId + " does not exist in our registry.",
+                            "CREDENTIAL_NOT_FOUND",
+                            HttpStatus.NOT_FOUND
+                    ));
+            revocationIndex.apply(credentialId, statusEntry.isRevoked(), statusEntry.getStatusIndex());
+        }
+
+        if (revocationIndex.isRevoked(credentialId)) {
             throw new DigitalWalletException(
                     "This credential has been revoked and is no longer valid.",
                     "ERR_CREDENTIAL_REVOKED",
@@ -43,20 +90,151 @@ public class StatusService {
         return signingService.signStatusProof(credentialId.toString(), claims);
     }
 
+    /**
+     * Returns one signed proof of the current status of several credentials, e.g. all those of a presentation.
+     * <p>
+     * IDs are answered from the {@link RevocationIndex} and the {@link StatusWriteBehindLog} where possible; the
+     * others (except those of purged partitions) are loaded with a single registry query. Whatever the number of
+     * IDs, this costs one signature.
+     * </p>
+     *
+     * @param credentialIds The JTIs to check, at most {@code wallet.status.proof.max-batch-size}. Duplicates are ignored.
+     * @return A signed JWT whose {@code statuses} claim lists each distinct ID with its {@link ProofStatus}, in input order.
+     * @throws DigitalWalletException if the batch is empty or exceeds the configured size limit.
+     */
+    public String getSignedStatusProofs(Collection<UUID> credentialIds) {
+        if (credentialIds == null || credentialIds.isEmpty() || credentialIds.size() > maxProofBatchSize) {
+            throw new DigitalWalletException(
+                    "A batch must contain between 1 and " + maxProofBatchSize + " credential IDs.",
+                    "ERR_INVALID_BATCH_SIZE",
+                    HttpStatus.BAD_REQUEST
+            );
+        }
+
+        LinkedHashSet<UUID> distinctIds = credentialIds.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        List<UUID> lookup = distinctIds.stream()
+                .filter(id -> !revocationIndex.isKnown(id) && !writeBehindLog.isPending(id) && !statusRetention.isPurged(id))
+                .toList();
+        if (!lookup.isEmpty()) {
+            repository.findAllById(lookup.stream().map(StatusRegistryKey::of).toList()).forEach(status ->
+                    revocationIndex.apply(status.getCredentialId(), status.isRevoked(), status.getStatusIndex()));
+        }
+
+        List<Map<String, Object>> statuses = distinctIds.stream()
+                .map(id -> Map.<String, Object>of("credentialId", id.toString(), "status", proofStatus(id)))
+                .toList();
+        Map<String, Object> claims = Map.of(
+                "statuses", statuses,
+                "verifiedAt", Instant.now()
+        );
+        return signingService.signStatusProof(BATCH_PROOF_SUBJECT, claims);
+    }
+
+    private ProofStatus proofStatus(UUID credentialId) {
+        if (revocationIndex.isRevoked(credentialId)) {
+            return ProofStatus.REVOKED;
+        }
+        if (revocationIndex.isKnown(credentialId) || writeBehindLog.isPending(credentialId)) {
+            return ProofStatus.VALID;
+        }
+        return statusRetention.isPurged(credentialId) ? ProofStatus.EXPIRED : ProofStatus.UNKNOWN;
+    }
+
+    /**
+     * Registers a credential as {@code VALID} and assigns it a position in the revocation status list.
+     * <p>
+     * With write-behind enabled, the registration is durably appended to the {@link StatusWriteBehindLog}
+     * and reaches the registry with the next flush instead of being inserted here.
+     * </p>
+     *
+     * @param credentialId The JTI of the credential about to be signed.
+     * @param holderHash   The Root Identity Hash of the credential subject.
+     * @return The registry entry, whose {@link #credentialStatusClaim claim} must be embedded in the credential.
+     */
     @Transactional
-    public void initializeStatus(UUID credentialId) {
+    public CredentialStatus initializeStatus(UUID credentialId, String holderHash) {
+        long statusIndex = statusList.reserveIndex();
+        if (writeBehindLog.isEnabled()) {
+            CredentialStatus credentialStatus = new CredentialStatus(credentialId, statusIndex, holderHash);
+            writeBehindLog.append(credentialStatus);
+            return credentialStatus;
+        }
+
         StatusRegistryEntity status = StatusRegistryEntity.builder()
                 .credentialId(credentialId)
+                .statusIndex(statusIndex)
+                .holderHash(holderHash)
                 .isRevoked(false)
                 .updatedAt(Instant.now())
                 .build();
 
         repository.save(status);
+        revocationIndex.onRegistered(List.of(credentialId));
+        return new CredentialStatus(credentialId, statusIndex, holderHash);
+    }
+
+    /**
+     * Assigns a status list index to a credential without registering it yet.
+     * <p>
+     * Used by batch issuance, which embeds the index in the credential before signing and registers
+     * the successful entries afterwards through {@link #initializeStatuses(Collection)}. Indexes of
+     * entries that end up failing are simply never used.
+     * </p>
+     */
+    public CredentialStatus reserveStatus(UUID credentialId, String holderHash) {
+        return new CredentialStatus(credentialId, statusList.reserveIndex(), holderHash);
+    }
+
+    /**
+     * Registers a batch of freshly issued credentials as {@code VALID} in a single transaction.
+     * <p>
+     * Unlike {@link #initializeStatus(UUID, String)}, this goes through batched JDBC inserts and
+     * skips the persistence context entirely.
+     * </p>
+     *
+     * @param statuses The JTIs of the newly signed credentials with their reserved status list index.
+     */
+    @Transactional
+    public void initializeStatuses(Collection<CredentialStatus> statuses) {
+        repository.insertAll(statuses.stream()
+                .map(status -> StatusRegistryEntity.builder()
+                        .credentialId(status.credentialId())
+                        .statusIndex(status.statusIndex())
+                        .holderHash(status.holderHash())
+                        .build())
+                .toList());
+        revocationIndex.onRegistered(statuses.stream().map(CredentialStatus::credentialId).toList());
+    }
+
+    /**
+     * @return The value of the {@value CredentialStatus#CLAIM} claim for a registered credential.
+     */
+    public Map<String, Object> credentialStatusClaim(CredentialStatus status) {
+        return statusList.toClaim(status.statusIndex());
+    }
+
+    /**
+     * @return The signed revocation status list covering every credential issued so far.
+     */
+    public StatusListToken getStatusList() {
+        return statusList.current();
     }
 
+    /**
+     * Revokes a single credential; an unknown one is recorded as revoked so it can never become valid.
+     *
+     * @throws DigitalWalletException if the credential has expired and been purged, or its ID is dated in the future.
+     */
     @Transactional
-    public void revokeCredential(UUID credentialId, String reason) {
-        StatusRegistryEntity status = repository.findById(credentialId)
+    public void revokeCredential(UUID credentialId, RevocationReason reason) {
+        if (statusRetention.isPurged(credentialId)) {
+            throw expired();
+        }
+        rejectPostdated(List.of(credentialId));
+        writeBehindLog.flushIfPending(List.of(credentialId));
+        StatusRegistryEntity status = repository.findById(StatusRegistryKey.of(credentialId))
                 .orElseGet(() -> StatusRegistryEntity.builder()
                         .credentialId(credentialId)
                         .build());
@@ -66,6 +244,120 @@ public class StatusService {
         status.setUpdatedAt(Instant.now());
 
         repository.save(status);
+        proofCache.evict(credentialId);
+        revocationIndex.onRevoked(credentialId);
+        revocationEventHub.onRevoked();
+        if (status.getStatusIndex() != null) {
+            statusList.markRevoked(status.getStatusIndex());
+        }
+    }
+
+    /**
+     * Revokes a batch of credentials in one transaction, e.g. when an issuer recalls a batch.
+     * <p>
+     * Unlike {@link #revokeCredential(UUID, RevocationReason)}, this skips the persistence context: the registry
+     * is updated with one upsert statement per chunk of IDs, and caches, the revocation index and the
+     * status list are updated once for the whole batch after commit.
+     * </p>
+     *
+     * @param credentialIds The JTIs to revoke, at most {@code wallet.status.revocation.max-batch-size}. Duplicates are ignored.
+     * @param reason        Reason code for the audit trail.
+     * @return One result per distinct ID, in input order.
+     * @throws DigitalWalletException if the reason is missing, or the batch is empty, exceeds the configured size
+     *                                limit or contains an ID dated in the future.
+     */
+    @Transactional
+    public List<RevocationResult> revokeCredentials(Collection<UUID> credentialIds, RevocationReason reason) {
+        requireReason(reason);
+        if (credentialIds == null || credentialIds.isEmpty() || credentialIds.size() > maxRevocationBatchSize) {
+            throw new DigitalWalletException(
+                    "A batch must contain between 1 and " + maxRevocationBatchSize + " credential IDs.",
+                    "ERR_INVALID_BATCH_SIZE",
+                    HttpStatus.BAD_REQUEST
+            );
+        }
+
+        LinkedHashSet<UUID> distinctIds = credentialIds.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        rejectPostdated(distinctIds);
+        // Their partitions are gone or about to be: nothing left to revoke
+        List<UUID> tracked = distinctIds.stream().filter(id -> !statusRetention.isPurged(id)).toList();
+        writeBehindLog.flushIfPending(tracked);
+        Map<UUID, RevokedStatus> revoked = applyRevocations(tracked.isEmpty() ? List.of() : repository.revokeAll(tracked, reason)).stream()
+                .collect(Collectors.toMap(RevokedStatus::credentialId, Function.identity()));
+
+        return distinctIds.stream()
+                .map(credentialId -> new RevocationResult(credentialId, statusRetention.isPurged(credentialId)
+                        ? RevocationResult.Outcome.EXPIRED
+                        : outcome(revoked.get(credentialId))))
+                .toList();
+    }
+
+    /**
+     * Revokes every credential issued to a holder, e.g. when a device is reported stolen.
+     *
+     * @param holderHash The Root Identity Hash of the holder.
+     * @param reason     Reason code for the audit trail.
+     * @return One result per credential revoked by this call; credentials already revoked are not listed.
+     * @throws DigitalWalletException if the reason is missing.
+     */
+    @Transactional
+    public List<RevocationResult> revokeHolderCredentials(String holderHash, RevocationReason reason) {
+        requireReason(reason);
+        writeBehindLog.flushIfPending(holderHash);
+        return applyRevocations(repository.revokeAllByHolderHash(holderHash, reason)).stream()
+                .map(status -> new RevocationResult(status.credentialId(), RevocationResult.Outcome.REVOKED))
+                .toList();
+    }
+
+    private List<RevokedStatus> applyRevocations(List<RevokedStatus> revoked) {
+        List<UUID> ids = revoked.stream().map(RevokedStatus::credentialId).toList();
+        proofCache.evictAll(ids);
+        revocationIndex.onRevoked(ids);
+        if (!ids.isEmpty()) {
+            revocationEventHub.onRevoked();
+        }
+        statusList.markRevoked(revoked.stream()
+                .map(RevokedStatus::statusIndex)
+                .filter(Objects::nonNull)
+                .toList());
+        return revoked;
+    }
+
+    private static void requireReason(RevocationReason reason) {
+        if (reason == null) {
+            throw new DigitalWalletException(
+                    "A revocation reason must be provided.",
+                    "ERR_INVALID_REVOCATION_REQUEST",
+                    HttpStatus.BAD_REQUEST
+            );
+        }
+    }
+
+    private void rejectPostdated(Collection<UUID> credentialIds) {
+        credentialIds.stream().filter(statusRetention::isPostdated).findFirst().ifPresent(credentialId -> {
+            throw new DigitalWalletException(
+                    "Credential ID " + credentialId + " is dated in the future, it cannot have been issued yet.",
+                    "ERR_INVALID_CREDENTIAL_ID",
+                    HttpStatus.BAD_REQUEST
+            );
+        });
+    }
+
+    private static DigitalWalletException expired() {
+        return new DigitalWalletException(
+                "This credential has expired and its status is no longer tracked.",
+                "ERR_CREDENTIAL_EXPIRED",
+                HttpStatus.GONE
+        );
+    }
+
+    private static RevocationResult.Outcome outcome(RevokedStatus status) {
+        if (status == null) {
+            return RevocationResult.Outcome.ALREADY_REVOKED;
+        }
+        return status.inserted() ? RevocationResult.Outcome.UNKNOWN : RevocationResult.Outcome.REVOKED;
     }
 
 }
@@ -0,0 +1,450 @@
+package ro.lexera.wallet.service.status;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import ro.lexera.wallet.exception.DigitalWalletException;
+import ro.lexera.wallet.model.entity.StatusRegistryEntity;
+import ro.lexera.wallet.repository.StatusRegistryRepository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Optional write-behind buffer for single-credential registrations, for single-instance deployments.
+ * <p>
+ * When enabled ({@code wallet.status.write-behind.enabled}), {@link StatusService#initializeStatus} no longer
+ * inserts its row synchronously: the entry is appended to a local log segment under
+ * {@code wallet.status.write-behind.dir} and the call returns once the segment is fsync'd. A single writer
+ * thread drains every append queued meanwhile and syncs them together, so concurrent issuances share one
+ * {@code fsync} (group commit). Every {@code wallet.status.write-behind.flush-interval}, the current segment is
+ * sealed and its entries are inserted in JDBC batches; the segment file is deleted once they have committed.
+ * </p>
+ * <p>
+ * Until then, entries are visible through {@link #isPending(UUID)}, which status checks consult before the
+ * registry. On startup, the segments left behind (e.g. by a crash) are replayed with idempotent upserts, so no
+ * issued JTI is ever missing from the registry. A torn record at the end of a segment was never acknowledged and
+ * is ignored. Revoking a pending credential first flushes the log, see {@link #flushIfPending(Collection)}.
+ * </p>
+ * <p>
+ * Pending entries are only known to this instance. With several instances, another one answers
+ * {@code CREDENTIAL_NOT_FOUND} for a pending JTI until the flush and its next index refresh. Revoking the JTI there
+ * inserts it as an unknown, revoked credential; the flush then completes that row (same primary key, see
+ * {@link StatusRegistryRepository#upsertAll}) instead of adding a valid one. Enable write-behind on a single
+ * instance only.
+ * </p>
+ * <p>
+ * Published metrics: {@code wallet.status.write-behind.pending} and {@code wallet.status.write-behind.sync}
+ * (time per group {@code fsync}).
+ * </p>
+ */
+@Slf4j
+@Component
+public class StatusWriteBehindLog {
+
+    private static final String SEGMENT_PREFIX = "status-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    /**
+     * Appends written and synced together at most.
+     */
+    private static final int MAX_GROUP_SIZE = 1024;
+
+    private final boolean enabled;
+    private final Path directory;
+    private final int flushBatchSize;
+    private final StatusRegistryRepository repository;
+    private final RevocationIndex revocationIndex;
+    private final RevocationStatusList statusList;
+    private final TransactionTemplate transactionTemplate;
+    private final Timer syncTimer;
+
+    private final Map<UUID, CredentialStatus> pending = new ConcurrentHashMap<>();
+    private final BlockingQueue<Append> queue = new LinkedBlockingQueue<>();
+    private final Deque<Segment> sealed = new ArrayDeque<>();
+    private final ReentrantLock segmentLock = new ReentrantLock();
+
+    private Segment current;
+    private long nextSegmentId;
+    private Thread writer;
+    private volatile boolean running;
+
+    public StatusWriteBehindLog(@Value("${wallet.status.write-behind.enabled:false}") boolean enabled,
+                                @Value("${wallet.status.write-behind.dir:status-log}") Path directory,
+                                @Value("${wallet.status.write-behind.flush-batch-size:10000}") int flushBatchSize,
+                                StatusRegistryRepository repository,
+                                RevocationIndex revocationIndex,
+                                RevocationStatusList statusList,
+                                PlatformTransactionManager transactionManager,
+                                MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.directory = directory;
+        this.flushBatchSize = flushBatchSize;
+        this.repository = repository;
+        this.revocationIndex = revocationIndex;
+        this.statusList = statusList;
+        // Flushes must commit on their own, even when triggered from a revocation transaction
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.syncTimer = Timer.builder("wallet.status.write-behind.sync")
+                .description("Time spent syncing a group of appends to the write-behind log")
+                .register(meterRegistry);
+        Gauge.builder("wallet.status.write-behind.pending", pending, Map::size)
+                .description("Registrations appended to the write-behind log and not yet in the registry")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Replays the segments left by a previous run, then starts the writer thread.
+     */
+    @PostConstruct
+    public void start() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        Files.createDirectories(directory);
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.filter(StatusWriteBehindLog::isSegment).sorted().toList()) {
+                Segment segment = Segment.replay(file, segmentId(file));
+                segment.entries().forEach(status -> {
+                    pending.put(status.credentialId(), status);
+                    statusList.cover(status.statusIndex());
+                });
+                sealed.add(segment);
+                nextSegmentId = segment.id() + 1;
+            }
+        }
+        if (!pending.isEmpty()) {
+            log.info("Replaying {} registrations from {} write-behind log segments", pending.size(), sealed.size());
+        }
+        current = Segment.create(directory, nextSegmentId++);
+
+        running = true;
+        writer = Thread.ofPlatform().name("status-log-writer").daemon().start(this::writeLoop);
+
+        try {
+            flush();
+        } catch (RuntimeException ex) {
+            log.warn("Could not replay the write-behind log yet, retrying on the next flush", ex);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Durably records a registration, to be inserted in the registry by a later flush.
+     *
+     * @throws DigitalWalletException with {@code ERR_STATUS_LOG_UNAVAILABLE} if the log cannot be written.
+     */
+    public void append(CredentialStatus status) {
+        if (!running) {
+            throw unavailable(null);
+        }
+        Append append = new Append(status, new CompletableFuture<>());
+        queue.add(append);
+        try {
+            append.synced().join();
+        } catch (CompletionException ex) {
+            throw unavailable(ex.getCause());
+        }
+    }
+
+    /**
+     * @return {@code true} if the credential was appended to the log and is not in the registry yet.
+     */
+    public boolean isPending(UUID credentialId) {
+        return pending.containsKey(credentialId);
+    }
+
+    /**
+     * Flushes the log if any of the given credentials is still pending, so that it can be updated in the registry.
+     */
+    public void flushIfPending(Collection<UUID> credentialIds) {
+        if (!pending.isEmpty() && credentialIds.stream().anyMatch(pending::containsKey)) {
+            flush();
+        }
+    }
+
+    /**
+     * Flushes the log if any credential of the holder is still pending.
+     */
+    public void flushIfPending(String holderHash) {
+        if (pending.values().stream().anyMatch(status -> holderHash.equals(status.holderHash()))) {
+            flush();
+        }
+    }
+
+    /**
+     * Seals the current segment and inserts every sealed segment in the registry, oldest first.
+     * A segment that fails stays on disk and is retried by the next flush.
+     */
+    @Scheduled(fixedDelayString = "${wallet.status.write-behind.flush-interval:PT1S}")
+    public synchronized void flush() {
+        if (!enabled) {
+            return;
+        }
+        segmentLock.lock();
+        try {
+            if (!current.entries().isEmpty()) {
+                sealed.add(current);
+                current = Segment.create(directory, nextSegmentId++);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        } finally {
+            segmentLock.unlock();
+        }
+
+        while (!sealed.isEmpty()) {
+            Segment segment = sealed.peek();
+            insert(segment.entries());
+            segment.delete();
+            sealed.poll();
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (!running) {
+            return;
+        }
+        running = false;
+        writer.join(); // drains the appends already queued
+        try {
+            flush();
+        } catch (RuntimeException ex) {
+            log.warn("Write-behind log left unflushed, it will be replayed on the next start", ex);
+        }
+        if (current.entries().isEmpty()) {
+            current.delete();
+        } else {
+            current.close();
+        }
+    }
+
+    private void insert(List<CredentialStatus> statuses) {
+        for (int from = 0; from < statuses.size(); from += flushBatchSize) {
+            List<CredentialStatus> chunk = statuses.subList(from, Math.min(from + flushBatchSize, statuses.size()));
+            List<UUID> ids = chunk.stream().map(CredentialStatus::credentialId).toList();
+            transactionTemplate.executeWithoutResult(tx -> {
+                repository.upsertAll(chunk.stream()
+                        .map(status -> StatusRegistryEntity.builder()
+                                .credentialId(status.credentialId())
+                                .statusIndex(status.statusIndex())
+                                .holderHash(status.holderHash())
+                                .build())
+                        .toList());
+                revocationIndex.onRegistered(ids);
+            });
+            ids.forEach(pending::remove); // known to the index by now
+        }
+    }
+
+    private void writeLoop() {
+        List<Append> group = new ArrayList<>(MAX_GROUP_SIZE);
+        while (running || !queue.isEmpty()) {
+            try {
+                Append first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                group.add(first);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            queue.drainTo(group, MAX_GROUP_SIZE - 1);
+            writeGroup(group);
+            group.clear();
+        }
+    }
+
+    private void writeGroup(List<Append> group) {
+        segmentLock.lock();
+        try {
+            List<CredentialStatus> statuses = group.stream().map(Append::status).toList();
+            syncTimer.recordCallable(() -> {
+                current.write(statuses);
+                return null;
+            });
+            statuses.forEach(status -> pending.put(status.credentialId(), status));
+            group.forEach(append -> append.synced().complete(null));
+        } catch (Exception ex) {
+            log.error("Could not write to the write-behind log", ex);
+            group.forEach(append -> append.synced().completeExceptionally(ex));
+        } finally {
+            segmentLock.unlock();
+        }
+    }
+
+    private static boolean isSegment(Path file) {
+        String name = file.getFileName().toString();
+        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+    }
+
+    private static long segmentId(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static DigitalWalletException unavailable(Throwable cause) {
+        log.debug("Write-behind append failed", cause);
+        return new DigitalWalletException(
+                "The credential could not be registered, please retry shortly.",
+                "ERR_STATUS_LOG_UNAVAILABLE",
+                HttpStatus.SERVICE_UNAVAILABLE
+        );
+    }
+
+    private record Append(CredentialStatus status, CompletableFuture<Void> synced) {
+    }
+
+    /**
+     * One log file. A record is {@code length (int) | body | CRC32 of body (int)}, the body being
+     * {@code credentialId (2 longs) | statusIndex (long) | holderHash (short length + UTF-8)}. The issuance time
+     * in the registry key is derived from the credential ID, so every replay targets the same row.
+     */
+    private static final class Segment {
+
+        private static final int BODY_FIXED_BYTES = 3 * Long.BYTES + Short.BYTES;
+
+        private final long id;
+        private final Path file;
+        private final FileChannel channel;
+        private final List<CredentialStatus> entries;
+
+        private Segment(long id, Path file, FileChannel channel, List<CredentialStatus> entries) {
+            this.id = id;
+            this.file = file;
+            this.channel = channel;
+            this.entries = entries;
+        }
+
+        static Segment create(Path directory, long id) throws IOException {
+            Path file = directory.resolve(SEGMENT_PREFIX + String.format("%020d", id) + SEGMENT_SUFFIX);
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+            return new Segment(id, file, channel, new ArrayList<>());
+        }
+
+        static Segment replay(Path file, long id) throws IOException {
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+            List<CredentialStatus> entries = new ArrayList<>();
+            while (buffer.remaining() >= Integer.BYTES) {
+                int length = buffer.getInt();
+                if (length < BODY_FIXED_BYTES || buffer.remaining() < length + Integer.BYTES) {
+                    break;
+                }
+                byte[] body = new byte[length];
+                buffer.get(body);
+                CRC32 crc = new CRC32();
+                crc.update(body);
+                if ((int) crc.getValue() != buffer.getInt()) {
+                    break;
+                }
+                entries.add(decode(ByteBuffer.wrap(body)));
+            }
+            if (buffer.hasRemaining()) {
+                log.warn("Ignoring a torn record at the end of {}", file);
+            }
+            return new Segment(id, file, null, entries);
+        }
+
+        long id() {
+            return id;
+        }
+
+        List<CredentialStatus> entries() {
+            return entries;
+        }
+
+        void write(List<CredentialStatus> batch) throws IOException {
+            List<ByteBuffer> records = batch.stream().map(Segment::encode).toList();
+            ByteBuffer[] buffers = records.toArray(ByteBuffer[]::new);
+            long remaining = records.stream().mapToLong(ByteBuffer::remaining).sum();
+            while (remaining > 0) {
+                remaining -= channel.write(buffers);
+            }
+            channel.force(false);
+            entries.addAll(batch);
+        }
+
+        void close() {
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException ex) {
+                    log.warn("Could not close {}", file, ex);
+                }
+            }
+        }
+
+        void delete() {
+            close();
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException ex) {
+                // Harmless: its entries are re-inserted idempotently on the next start
+                log.warn("Could not delete flushed segment {}", file, ex);
+            }
+        }
+
+        private static ByteBuffer encode(CredentialStatus status) {
+            byte[] holder = status.holderHash().getBytes(StandardCharsets.UTF_8);
+            ByteBuffer body = ByteBuffer.allocate(BODY_FIXED_BYTES + holder.length);
+            body.putLong(status.credentialId().getMostSignificantBits());
+            body.putLong(status.credentialId().getLeastSignificantBits());
+            body.putLong(status.statusIndex());
+            body.putShort((short) holder.length);
+            body.put(holder);
+
+            CRC32 crc = new CRC32();
+            crc.update(body.array());
+            ByteBuffer record = ByteBuffer.allocate(Integer.BYTES + body.capacity() + Integer.BYTES);
+            record.putInt(body.capacity()).put(body.array()).putInt((int) crc.getValue());
+            return record.flip();
+        }
+
+        private static CredentialStatus decode(ByteBuffer body) {
+            UUID credentialId = new UUID(body.getLong(), body.getLong());
+            long statusIndex = body.getLong();
+            byte[] holder = new byte[body.getShort()];
+            body.get(holder);
+            return new CredentialStatus(credentialId, statusIndex, new String(holder, StandardCharsets.UTF_8));
+        }
+    }
+
+}
@@ -0,0 +1,90 @@
+package ro.lexera.wallet.util;
+
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Locale;
+
+/**
+ * Keyed HMAC-SHA256 "blind index" of encrypted PII, for equality lookups without decrypting the table.
+ * <p>
+ * The index of a value is the hex HMAC of its normalized form (whitespace removed, uppercased), so that
+ * equal values always have equal indexes while the index alone reveals nothing without the key. The key is
+ * {@code wallet.pii.blind-index.key} (Base64, at least 32 bytes) or, if unset, derived once at startup from
+ * {@code jasypt.encryptor.password} with PBKDF2-HMAC-SHA256 under a salt of its own, so it differs from the
+ * encryption key. Changing the key invalidates every stored index.
+ * </p>
+ */
+@Component
+public class BlindIndex {
+
+    private static final int KEY_DERIVATION_ITERATIONS = 600_000;
+    private static final String DERIVATION_SALT = "lexera-wallet-blind-index";
+
+    private final SecretKeySpec key;
+    private final ThreadLocal<Mac> mac = ThreadLocal.withInitial(this::newMac);
+
+    public BlindIndex(Environment environment) {
+        String configuredKey = environment.getProperty("wallet.pii.blind-index.key", "");
+        if (!configuredKey.isBlank()) {
+            byte[] keyBytes = Base64.getDecoder().decode(configuredKey);
+            if (keyBytes.length < 32) {
+                throw new IllegalStateException("wallet.pii.blind-index.key must hold at least 32 bytes");
+            }
+            this.key = new SecretKeySpec(keyBytes, "HmacSHA256");
+            return;
+        }
+        String password = environment.getProperty("jasypt.encryptor.password");
+        if (password == null) {
+            throw new IllegalStateException("Encryption password not found in environment!");
+        }
+        this.key = new SecretKeySpec(deriveKey(password), "HmacSHA256");
+    }
+
+    /**
+     * @return The blind index of {@code value}, or {@code null} for {@code null}.
+     */
+    public String of(String value) {
+        if (value == null) {
+            return null;
+        }
+        return HexFormat.of().formatHex(mac.get().doFinal(normalize(value).getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * @return {@code value} as it is indexed: without whitespace and in upper case.
+     */
+    public static String normalize(String value) {
+        return value.replaceAll("\\s", "").toUpperCase(Locale.ROOT);
+    }
+
+    private Mac newMac() {
+        try {
+            Mac hmac = Mac.getInstance("HmacSHA256");
+            hmac.init(key);
+            return hmac;
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("HmacSHA256 is not available", ex);
+        }
+    }
+
+    private static byte[] deriveKey(String password) {
+        try {
+            PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), DERIVATION_SALT.getBytes(StandardCharsets.UTF_8), KEY_DERIVATION_ITERATIONS, 256);
+            byte[] keyBytes = SecretKeyFactory.getInstance("PBKDF2WithHmacSHA256").generateSecret(spec).getEncoded();
+            spec.clearPassword();
+            return keyBytes;
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("Could not derive the blind index key", ex);
+        }
+    }
+
+}
@@ -0,0 +1,27 @@
+package ro.lexera.wallet.util;
+
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import org.springframework.stereotype.Component;
+import ro.lexera.wallet.model.entity.UserEntity;
+
+/**
+ * Computes the national ID blind index of users being saved, when it is missing or the national ID changed.
+ */
+@Component
+public class BlindIndexListener {
+
+    private final BlindIndex blindIndex;
+
+    public BlindIndexListener(BlindIndex blindIndex) {
+        this.blindIndex = blindIndex;
+    }
+
+    @PrePersist
+    @PreUpdate
+    public void index(UserEntity user) {
+        if (user.getNationalIdIndex() == null) {
+            user.setNationalIdIndex(blindIndex.of(user.getNationalId()));
+        }
+    }
+}
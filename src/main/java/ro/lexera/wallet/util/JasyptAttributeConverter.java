@@ -6,11 +6,52 @@ import org.jasypt.encryption.pbe.StandardPBEStringEncryptor;
 import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Component;
 
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.PBEKeySpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * Encrypts PII columns.
+ * <p>
+ * In {@code AES_GCM} mode ({@code wallet.pii.encryption.mode}), values are written as
+ * {@value #AES_GCM_V1} followed by the Base64 of a random 96-bit IV and the AES-256-GCM ciphertext and tag.
+ * The key is derived once at startup from {@code jasypt.encryptor.password} with PBKDF2-HMAC-SHA256, so a
+ * field costs one AES-GCM pass instead of Jasypt's per-call MD5 key derivation. Values without a version
+ * header are legacy {@code PBEWithMD5AndDES} Jasypt ciphertexts and are still decrypted (see
+ * {@link #needsReencryption(String)} for migrating them).
+ * </p>
+ * <p>
+ * {@code JASYPT} mode, the default, keeps writing the legacy format, for as long as instances that cannot
+ * read the new one are still running.
+ * </p>
+ */
 @Converter
 @Component
 public class JasyptAttributeConverter implements AttributeConverter<String, String> {
 
+    /**
+     * Header of AES-256-GCM values encrypted with the PBKDF2-derived key.
+     */
+    public static final String AES_GCM_V1 = "v1:";
+
+    private static final int IV_BYTES = 12;
+    private static final int TAG_BITS = 128;
+    private static final int KEY_DERIVATION_ITERATIONS = 600_000;
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
     private final StandardPBEStringEncryptor encryptor;
+    private final boolean writeAesGcm;
+    private final SecretKey key;
+    private final ThreadLocal<Cipher> cipher = ThreadLocal.withInitial(JasyptAttributeConverter::newCipher);
 
     public JasyptAttributeConverter(Environment environment) {
         this.encryptor = new StandardPBEStringEncryptor();
@@ -20,17 +61,87 @@ public class JasyptAttributeConverter implements AttributeConverter<String, Stri
         }
         this.encryptor.setPassword(password);
         this.encryptor.setAlgorithm("PBEWithMD5AndDES");
+
+        String mode = environment.getProperty("wallet.pii.encryption.mode", "JASYPT");
+        if (!mode.equals("JASYPT") && !mode.equals("AES_GCM")) {
+            throw new IllegalStateException("Unknown PII encryption mode: " + mode);
+        }
+        this.writeAesGcm = mode.equals("AES_GCM");
+        this.key = deriveKey(password, environment.getProperty("wallet.pii.encryption.key-salt", "lexera-wallet-pii"));
     }
 
     @Override
     public String convertToDatabaseColumn(String entityValue) {
         if (entityValue == null) return null;
-        return encryptor.encrypt(entityValue);
+        return writeAesGcm ? encryptAesGcm(entityValue) : encryptor.encrypt(entityValue);
     }
 
     @Override
     public String convertToEntityAttribute(String dbValue) {
         if (dbValue == null) return null;
-        return encryptor.decrypt(dbValue);
+        return dbValue.startsWith(AES_GCM_V1) ? decryptAesGcm(dbValue) : encryptor.decrypt(dbValue);
+    }
+
+    /**
+     * @return {@code true} if new values are written as AES-GCM.
+     */
+    public boolean isAesGcmMode() {
+        return writeAesGcm;
+    }
+
+    /**
+     * @return {@code true} if {@code dbValue} is not in the format this converter writes.
+     */
+    public boolean needsReencryption(String dbValue) {
+        return dbValue != null && writeAesGcm != dbValue.startsWith(AES_GCM_V1);
+    }
+
+    private String encryptAesGcm(String plaintext) {
+        byte[] iv = new byte[IV_BYTES];
+        RANDOM.nextBytes(iv);
+        byte[] input = plaintext.getBytes(StandardCharsets.UTF_8);
+        try {
+            Cipher aes = cipher.get();
+            aes.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, iv));
+            ByteBuffer output = ByteBuffer.allocate(IV_BYTES + aes.getOutputSize(input.length));
+            output.put(iv);
+            aes.doFinal(ByteBuffer.wrap(input), output);
+            return AES_GCM_V1 + Base64.getEncoder().encodeToString(output.array());
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("Could not encrypt PII value", ex);
+        }
+    }
+
+    private String decryptAesGcm(String dbValue) {
+        byte[] data = Base64.getDecoder().decode(dbValue.substring(AES_GCM_V1.length()));
+        if (data.length < IV_BYTES + TAG_BITS / Byte.SIZE) {
+            throw new IllegalStateException("Truncated PII ciphertext");
+        }
+        try {
+            Cipher aes = cipher.get();
+            aes.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, data, 0, IV_BYTES));
+            return new String(aes.doFinal(data, IV_BYTES, data.length - IV_BYTES), StandardCharsets.UTF_8);
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("Could not decrypt PII value", ex);
+        }
+    }
+
+    private static SecretKey deriveKey(String password, String salt) {
+        try {
+            PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt.getBytes(StandardCharsets.UTF_8), KEY_DERIVATION_ITERATIONS, 256);
+            byte[] keyBytes = SecretKeyFactory.getInstance("PBKDF2WithHmacSHA256").generateSecret(spec).getEncoded();
+            spec.clearPassword();
+            return new SecretKeySpec(keyBytes, "AES");
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("Could not derive the PII encryption key", ex);
+        }
+    }
+
+    private static Cipher newCipher() {
+        try {
+            return Cipher.getInstance("AES/GCM/NoPadding");
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("AES-GCM is not available", ex);
+        }
     }
 }
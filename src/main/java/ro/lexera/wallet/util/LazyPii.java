@@ -0,0 +1,98 @@
+package ro.lexera.wallet.util;
+
+import java.util.Objects;
+import java.util.function.UnaryOperator;
+
+/**
+ * An encrypted PII value that is only decrypted when read.
+ * <p>
+ * Loaded entities hold the ciphertext and the means to decrypt it, so that a query which never reads a
+ * user's name or national ID never pays for their decryption; the plaintext is cached on first access. A
+ * value created from plaintext is encrypted once, when it is first written. Instances are immutable as far
+ * as callers can tell: changing a field means replacing its {@code LazyPii}.
+ * </p>
+ */
+public final class LazyPii {
+
+    private final UnaryOperator<String> decryptor;
+    private volatile String ciphertext;
+    private volatile String plaintext;
+
+    private LazyPii(String ciphertext, String plaintext, UnaryOperator<String> decryptor) {
+        this.ciphertext = ciphertext;
+        this.plaintext = plaintext;
+        this.decryptor = decryptor;
+    }
+
+    /**
+     * @return A value holding {@code plaintext}, or {@code null} for {@code null}.
+     */
+    public static LazyPii of(String plaintext) {
+        return plaintext == null ? null : new LazyPii(null, plaintext, null);
+    }
+
+    static LazyPii encrypted(String ciphertext, UnaryOperator<String> decryptor) {
+        return new LazyPii(ciphertext, null, decryptor);
+    }
+
+    /**
+     * @return {@code value}'s plaintext, or {@code null} for {@code null}.
+     */
+    public static String valueOf(LazyPii value) {
+        return value == null ? null : value.value();
+    }
+
+    /**
+     * @return The plaintext, decrypted on the first call.
+     */
+    public String value() {
+        String value = plaintext;
+        if (value == null) {
+            value = decryptor.apply(ciphertext);
+            plaintext = value;
+        }
+        return value;
+    }
+
+    /**
+     * @return {@code true} once the plaintext is available without decrypting.
+     */
+    public boolean isDecrypted() {
+        return plaintext != null;
+    }
+
+    String ciphertext(UnaryOperator<String> encryptor) {
+        String value = ciphertext;
+        if (value == null) {
+            value = encryptor.apply(plaintext);
+            ciphertext = value;
+        }
+        return value;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof LazyPii that)) {
+            return false;
+        }
+        String ours = ciphertext;
+        if (ours != null && ours.equals(that.ciphertext)) {
+            return true;
+        }
+        return value().equals(that.value());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(value());
+    }
+
+    @Override
+    public String toString() {
+        return "LazyPii[***]";
+    }
+
+}
@@ -0,0 +1,37 @@
+package ro.lexera.wallet.util;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import org.hibernate.annotations.Immutable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Maps encrypted PII columns to {@link LazyPii} values, leaving decryption to the first read.
+ * <p>
+ * Encryption and decryption are those of {@link JasyptAttributeConverter}. A loaded value is written back
+ * with its original ciphertext, so an unchanged column is never re-encrypted.
+ * </p>
+ */
+@Immutable
+@Converter
+@Component
+public class LazyPiiConverter implements AttributeConverter<LazyPii, String> {
+
+    private final JasyptAttributeConverter cipher;
+
+    public LazyPiiConverter(JasyptAttributeConverter cipher) {
+        this.cipher = cipher;
+    }
+
+    @Override
+    public String convertToDatabaseColumn(LazyPii entityValue) {
+        if (entityValue == null) return null;
+        return entityValue.ciphertext(cipher::convertToDatabaseColumn);
+    }
+
+    @Override
+    public LazyPii convertToEntityAttribute(String dbValue) {
+        if (dbValue == null) return null;
+        return LazyPii.encrypted(dbValue, cipher::convertToEntityAttribute);
+    }
+}
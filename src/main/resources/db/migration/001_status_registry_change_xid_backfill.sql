@@ -0,0 +1,5 @@
+-- One-off migration, run once on databases created before the status change feed existed:
+--   psql -v ON_ERROR_STOP=1 -1 -f 001_status_registry_change_xid_backfill.sql
+-- Rows written before the feed existed come first in it.
+ALTER TABLE status_registry ADD COLUMN IF NOT EXISTS change_xid BIGINT;
+UPDATE status_registry SET change_xid = 0 WHERE change_xid IS NULL;
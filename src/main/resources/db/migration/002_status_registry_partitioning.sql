@@ -0,0 +1,102 @@
+-- One-off migration: converts status_registry into a table range-partitioned by issued_at, one partition per
+-- UTC day, as StatusRetention expects. Review it, stop every instance, then run it once, in one transaction:
+--   psql -v ON_ERROR_STOP=1 -1 -f 002_status_registry_partitioning.sql
+--
+-- issued_at becomes a function of the credential ID (see StatusRegistryKey): the Unix millisecond timestamp of a
+-- UUIDv7, 1970-01-01T00:00:00Z for any other ID. Rows are copied into the new table; the original one is kept as
+-- status_registry_unpartitioned, to be dropped once the result has been checked. Credentials already past
+-- retention (CREDENTIAL_TTL plus wallet.status.retention.grace, 8 days by default) are not copied.
+
+-- Columns of releases this database has not run yet (no-ops otherwise)
+ALTER TABLE status_registry ADD COLUMN IF NOT EXISTS status_index BIGINT;
+ALTER TABLE status_registry ADD COLUMN IF NOT EXISTS holder_hash VARCHAR(255);
+ALTER TABLE status_registry ADD COLUMN IF NOT EXISTS revocation_code SMALLINT;
+ALTER TABLE status_registry ADD COLUMN IF NOT EXISTS change_xid BIGINT;
+
+-- Free-text revocation reasons cannot be mapped to reason codes: they are archived, and coded UNSPECIFIED (0)
+CREATE TABLE status_registry_revocation_reason_archive (
+    credential_id UUID PRIMARY KEY,
+    revocation_reason TEXT NOT NULL,
+    updated_at TIMESTAMPTZ NOT NULL
+);
+
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_name = 'status_registry' AND column_name = 'revocation_reason') THEN
+        INSERT INTO status_registry_revocation_reason_archive (credential_id, revocation_reason, updated_at)
+        SELECT credential_id, revocation_reason, updated_at FROM status_registry WHERE revocation_reason IS NOT NULL;
+        UPDATE status_registry SET revocation_code = 0 WHERE revocation_reason IS NOT NULL AND revocation_code IS NULL;
+    END IF;
+END $$;
+
+CREATE FUNCTION pg_temp.issued_at_of(id UUID) RETURNS TIMESTAMPTZ LANGUAGE sql IMMUTABLE AS $$
+    SELECT CASE
+        WHEN substr(id::text, 15, 1) = '7' AND substr(id::text, 20, 1) IN ('8', '9', 'a', 'b')
+            THEN timestamptz 'epoch' + ('x' || substr(replace(id::text, '-', ''), 1, 12))::bit(48)::bigint * interval '1 millisecond'
+        ELSE timestamptz 'epoch'
+    END
+$$;
+
+-- Frees the table and index names for the partitioned table
+ALTER TABLE status_registry RENAME TO status_registry_unpartitioned;
+DO $$
+DECLARE
+    index_name TEXT;
+    i INT := 0;
+BEGIN
+    FOR index_name IN SELECT indexrelid::regclass::text FROM pg_index WHERE indrelid = 'status_registry_unpartitioned'::regclass LOOP
+        EXECUTE format('ALTER INDEX %s RENAME TO %I', index_name, 'status_registry_unpartitioned_i' || i);
+        i := i + 1;
+    END LOOP;
+END $$;
+
+CREATE TABLE status_registry (
+    credential_id UUID NOT NULL,
+    issued_at TIMESTAMPTZ NOT NULL,
+    is_revoked BOOLEAN NOT NULL,
+    revocation_code SMALLINT,
+    status_index BIGINT,
+    holder_hash VARCHAR(255),
+    updated_at TIMESTAMPTZ NOT NULL,
+    change_xid BIGINT,
+    PRIMARY KEY (credential_id, issued_at)
+) PARTITION BY RANGE (issued_at);
+
+CREATE INDEX idx_status_registry_updated_at ON status_registry (updated_at);
+CREATE INDEX idx_status_registry_holder_hash ON status_registry (holder_hash);
+CREATE INDEX idx_status_registry_change ON status_registry (change_xid, credential_id);
+
+-- Credentials whose ID carries no issuance time, never purged
+CREATE TABLE status_registry_undated PARTITION OF status_registry
+    FOR VALUES FROM (MINVALUE) TO ('1970-01-02 00:00:00+00');
+
+DO $$
+DECLARE
+    -- Days of credentials not past CREDENTIAL_TTL + wallet.status.retention.grace yet
+    retention CONSTANT INT := 8;
+    first_day CONSTANT DATE := (now() AT TIME ZONE 'UTC')::date - retention;
+    last_day CONSTANT DATE := (now() AT TIME ZONE 'UTC')::date + 3; -- StatusRetention.PARTITIONS_AHEAD
+    postdated BIGINT;
+    day DATE;
+BEGIN
+    SELECT count(*) INTO postdated FROM status_registry_unpartitioned
+    WHERE pg_temp.issued_at_of(credential_id) >= (last_day + 1)::timestamp AT TIME ZONE 'UTC';
+    IF postdated > 0 THEN
+        RAISE EXCEPTION '% credential IDs are dated after %, review them before partitioning', postdated, last_day;
+    END IF;
+
+    FOR day IN SELECT generate_series(first_day, last_day, interval '1 day')::date LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF status_registry FOR VALUES FROM (%L) TO (%L)',
+                       'status_registry_p' || to_char(day, 'YYYYMMDD'),
+                       day::timestamp AT TIME ZONE 'UTC', (day + 1)::timestamp AT TIME ZONE 'UTC');
+    END LOOP;
+
+    INSERT INTO status_registry (credential_id, issued_at, is_revoked, revocation_code, status_index, holder_hash,
+                                 updated_at, change_xid)
+    SELECT credential_id, pg_temp.issued_at_of(credential_id), is_revoked, revocation_code, status_index, holder_hash,
+           updated_at, change_xid
+    FROM status_registry_unpartitioned
+    WHERE pg_temp.issued_at_of(credential_id) = timestamptz 'epoch'
+       OR pg_temp.issued_at_of(credential_id) >= first_day::timestamp AT TIME ZONE 'UTC';
+END $$;
@@ -0,0 +1,6 @@
+-- Blocks of status list indexes: block n covers [n * block-size, (n + 1) * block-size)
+CREATE SEQUENCE IF NOT EXISTS status_list_block_seq MINVALUE 0 START WITH 0;
+
+-- Equality lookups of users by national ID (blind index, see BlindIndex) and by email
+CREATE INDEX IF NOT EXISTS users_national_id_index_idx ON users (national_id_index);
+CREATE INDEX IF NOT EXISTS users_email_idx ON users (email);
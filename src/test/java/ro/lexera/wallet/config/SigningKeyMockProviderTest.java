@@ -0,0 +1,116 @@
+package ro.lexera.wallet.config;
+
+import com.nimbusds.jose.jwk.JWKSet;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SigningKeyMockProviderTest {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+
+    @Test
+    void shouldPublishActiveAndNextKeys() throws Exception {
+        // Act
+        SigningKeyMockProvider provider = provider(null);
+
+        // Assert
+        JWKSet jwks = JWKSet.parse(new String(provider.jwks().body(), StandardCharsets.UTF_8));
+        assertThat(jwks.getKeys()).hasSize(2);
+        assertThat(jwks.getKeyByKeyId(provider.activeKey().keyId())).isNotNull();
+        assertThat(provider.publishedKeys()).extracting(SigningKey::keyId).doesNotHaveDuplicates();
+        assertThat(provider.jwks().eTag()).startsWith("\"").endsWith("\"");
+    }
+
+    @Test
+    void shouldPromotePrePublishedKeyOnRotation() throws Exception {
+        // Arrange
+        SigningKeyMockProvider provider = provider(null);
+        SigningKey oldActive = provider.activeKey();
+        SigningKey next = provider.publishedKeys().get(1);
+        String oldETag = provider.jwks().eTag();
+
+        // Act
+        clock.advance(Duration.ofDays(30));
+        provider.rotateIfDue();
+
+        // Assert: the key Verifiers already cached signs now, the old one stays verifiable
+        assertThat(provider.activeKey().keyId()).isEqualTo(next.keyId());
+        assertThat(provider.publishedKeys()).extracting(SigningKey::keyId).contains(oldActive.keyId());
+        assertThat(provider.publishedKeys()).hasSize(3);
+        assertThat(provider.jwks().eTag()).isNotEqualTo(oldETag);
+    }
+
+    @Test
+    void shouldDropRetiringKeysAfterRetention() throws Exception {
+        // Arrange
+        SigningKeyMockProvider provider = provider(null);
+        SigningKey oldActive = provider.activeKey();
+        provider.rotate();
+
+        // Act
+        clock.advance(Duration.ofDays(2));
+        provider.rotateIfDue();
+
+        // Assert
+        assertThat(provider.publishedKeys()).hasSize(2);
+        assertThat(provider.publishedKeys()).extracting(SigningKey::keyId).doesNotContain(oldActive.keyId());
+    }
+
+    @Test
+    void shouldReloadPersistedKeyRing(@TempDir Path keyStoreDir) throws Exception {
+        // Arrange
+        SigningKeyMockProvider first = provider(keyStoreDir);
+        first.rotate();
+
+        // Act: simulate a restart
+        SigningKeyMockProvider restarted = provider(keyStoreDir);
+
+        // Assert
+        assertThat(restarted.activeKey().keyId()).isEqualTo(first.activeKey().keyId());
+        assertThat(restarted.publishedKeys()).extracting(SigningKey::keyId)
+                .containsExactlyInAnyOrderElementsOf(first.publishedKeys().stream().map(SigningKey::keyId).toList());
+        assertThat(restarted.jwks().eTag()).isEqualTo(first.jwks().eTag());
+    }
+
+    private SigningKeyMockProvider provider(Path keyStoreDir) throws Exception {
+        return new SigningKeyMockProvider(SigningAlgorithm.ES256, Duration.ofDays(30), Duration.ofDays(2), keyStoreDir, clock);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        private void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+
+}
@@ -0,0 +1,57 @@
+package ro.lexera.wallet.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import ro.lexera.wallet.config.JwksDocument;
+import ro.lexera.wallet.config.SigningKeyProvider;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class DiscoveryControllerTest {
+
+    private static final String JWKS = "{\"keys\":[{\"kty\":\"OKP\",\"kid\":\"k1\"}]}";
+    private static final String ETAG = "\"abc123\"";
+
+    @Mock
+    private SigningKeyProvider signingKeyProvider;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        when(signingKeyProvider.jwks()).thenReturn(new JwksDocument(JWKS.getBytes(StandardCharsets.UTF_8), ETAG));
+        mockMvc = MockMvcBuilders.standaloneSetup(new DiscoveryController(signingKeyProvider, Duration.ofHours(1))).build();
+    }
+
+    @Test
+    void shouldServeCacheableJwks() throws Exception {
+        mockMvc.perform(get("/.well-known/jwks.json"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=3600, public"))
+                .andExpect(content().json(JWKS));
+    }
+
+    @Test
+    void shouldAnswerNotModifiedForMatchingETag() throws Exception {
+        mockMvc.perform(get("/.well-known/jwks.json").header(HttpHeaders.IF_NONE_MATCH, ETAG))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+                .andExpect(content().string(""));
+    }
+
+}
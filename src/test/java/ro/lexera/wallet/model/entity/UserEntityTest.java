@@ -6,7 +6,10 @@ import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
 import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
 import org.springframework.context.annotation.Import;
 import org.springframework.jdbc.core.JdbcTemplate;
+import ro.lexera.wallet.util.BlindIndex;
+import ro.lexera.wallet.util.BlindIndexListener;
 import ro.lexera.wallet.util.JasyptAttributeConverter;
+import ro.lexera.wallet.util.LazyPiiConverter;
 import ro.lexera.wallet.repository.UserRepository;
 
 import java.util.Map;
@@ -15,7 +18,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 @DataJpaTest
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
-@Import(JasyptAttributeConverter.class)
+@Import({JasyptAttributeConverter.class, LazyPiiConverter.class, BlindIndex.class, BlindIndexListener.class})
 class UserEntityTest {
 
     @Autowired
@@ -48,10 +51,11 @@ class UserEntityTest {
 
         // Encryption verification
         Map<String, Object> rawRow = jdbcTemplate.queryForMap(
-                "SELECT first_name, last_name, national_id FROM users WHERE id = ?", saved.getId());
+                "SELECT first_name, last_name, national_id, national_id_index FROM users WHERE id = ?", saved.getId());
         assertThat(rawRow.get("first_name")).isNotEqualTo("John");
         assertThat(rawRow.get("last_name")).isNotEqualTo("Smith");
         assertThat(rawRow.get("national_id")).isNotEqualTo("123456789");
+        assertThat(rawRow.get("national_id_index")).isNotNull();
     }
 
 }
@@ -0,0 +1,159 @@
+package ro.lexera.wallet.service.crypto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.IncorrectClaimException;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import ro.lexera.wallet.config.JacksonConfig;
+import ro.lexera.wallet.config.SigningAlgorithm;
+import ro.lexera.wallet.config.SigningKey;
+import ro.lexera.wallet.config.SigningKeyProvider;
+import ro.lexera.wallet.exception.DigitalWalletException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MerkleCredentialVerifierTest {
+
+    private final ObjectMapper objectMapper = new JacksonConfig().objectMapper();
+    private final SigningKeyProvider signingKeyProvider = mock(SigningKeyProvider.class);
+
+    private SigningService signingService;
+    private MerkleCredentialVerifier verifier;
+
+    @BeforeEach
+    void setup() throws Exception {
+        SigningKey key = SigningKey.generate(SigningAlgorithm.ES256, Instant.now());
+        when(signingKeyProvider.activeKey()).thenReturn(key);
+        when(signingKeyProvider.publishedKeys()).thenReturn(List.of(key));
+
+        SigningExecutor signingExecutor = new SigningExecutor(false, 0, 0, Duration.ofSeconds(1), new SimpleMeterRegistry());
+        signingService = new SigningService(signingKeyProvider, objectMapper, signingExecutor);
+        verifier = new MerkleCredentialVerifier(signingKeyProvider, objectMapper);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 3, 5, 8, 13, 100})
+    void shouldVerifyEveryCredentialOfTheBatch(int batchSize) {
+        // Arrange
+        List<CredentialPayload> credentials = credentials(batchSize);
+
+        // Act
+        List<String> tokens = signingService.signCredentialBatch(credentials);
+
+        // Assert: one shared root signature, every leaf verifies with its own claims
+        assertThat(tokens).hasSize(batchSize);
+        assertThat(tokens).extracting(token -> token.substring(0, token.indexOf('~'))).containsOnly(rootOf(tokens.get(0)));
+        for (int i = 0; i < batchSize; i++) {
+            Map<String, Object> claims = verifier.verify(tokens.get(i));
+            assertThat(claims)
+                    .containsEntry("jti", credentials.get(i).jti().toString())
+                    .containsEntry("sub", "hash-" + i)
+                    .containsEntry("type", "UNIVERSITY_DIPLOMA")
+                    .containsEntry("degree", "Degree " + i)
+                    .containsEntry("iss", "ro.lexera.issuer");
+        }
+    }
+
+    @Test
+    void shouldRejectSwappedPayload() {
+        // Arrange: a valid root and proof with the payload of another credential of the batch
+        List<String> tokens = signingService.signCredentialBatch(credentials(4));
+        String[] first = tokens.get(0).split("~");
+        String[] second = tokens.get(1).split("~");
+
+        // Act & Assert
+        assertThatThrownBy(() -> verifier.verify(first[0] + "~" + second[1] + "~" + first[2]))
+                .isInstanceOf(DigitalWalletException.class)
+                .hasFieldOrPropertyWithValue("errorCode", "ERR_INVALID_CREDENTIAL");
+    }
+
+    @Test
+    void shouldRejectForgedRoot() {
+        // Arrange: the root of another batch, keeping the original signature
+        String[] token = signingService.signCredentialBatch(credentials(3)).get(0).split("~");
+        String[] otherRoot = rootOf(signingService.signCredentialBatch(credentials(5)).get(0)).split("\\.");
+        String[] root = token[0].split("\\.");
+
+        // Act & Assert
+        assertThatThrownBy(() -> verifier.verify(root[0] + "." + otherRoot[1] + "." + root[2] + "~" + token[1] + "~" + token[2]))
+                .isInstanceOf(DigitalWalletException.class)
+                .hasMessageContaining("signature");
+    }
+
+    @Test
+    void shouldRejectAnotherTokenOfTheIssuerAsRoot() {
+        // Arrange: a status proof carrying the claims of a batch root
+        String[] token = signingService.signCredentialBatch(credentials(2)).get(0).split("~");
+        Map<String, Object> rootClaims = verifiedRootClaims(token[0]);
+        String statusProof = signingService.signStatusProof("batch", Map.of(
+                MerkleCredentialVerifier.MERKLE_ROOT_CLAIM, rootClaims.get(MerkleCredentialVerifier.MERKLE_ROOT_CLAIM),
+                MerkleCredentialVerifier.LEAF_COUNT_CLAIM, rootClaims.get(MerkleCredentialVerifier.LEAF_COUNT_CLAIM)));
+
+        // Act & Assert
+        assertThatThrownBy(() -> verifier.verify(statusProof + "~" + token[1] + "~" + token[2]))
+                .isInstanceOf(DigitalWalletException.class)
+                .hasMessageContaining(MerkleCredentialVerifier.MERKLE_ROOT_TYPE);
+    }
+
+    @Test
+    void shouldNotIssueRootsThatPassForCredentials() {
+        // Arrange
+        String root = rootOf(signingService.signCredentialBatch(credentials(2)).get(0));
+        SigningKey key = signingKeyProvider.activeKey();
+
+        // Act
+        Jws<Claims> decoded = Jwts.parser().verifyWith(key.publicKey()).build().parseSignedClaims(root);
+
+        // Assert: a verifier expecting the credential issuer rejects it
+        assertThat(decoded.getHeader().getType()).isEqualTo(MerkleCredentialVerifier.MERKLE_ROOT_TYPE);
+        assertThat(decoded.getPayload().getIssuer()).isEqualTo(MerkleCredentialVerifier.MERKLE_ROOT_ISSUER);
+        assertThatThrownBy(() -> Jwts.parser().verifyWith(key.publicKey()).requireIssuer("ro.lexera.issuer").build()
+                .parseSignedClaims(root))
+                .isInstanceOf(IncorrectClaimException.class);
+    }
+
+    @Test
+    void shouldRejectUnknownKey() {
+        // Arrange
+        String token = signingService.signCredentialBatch(credentials(2)).get(1);
+        when(signingKeyProvider.publishedKeys()).thenReturn(List.of());
+
+        // Act & Assert
+        assertThatThrownBy(() -> verifier.verify(token))
+                .isInstanceOf(DigitalWalletException.class)
+                .hasMessageContaining("unknown signing key");
+    }
+
+    private Map<String, Object> verifiedRootClaims(String rootJws) {
+        return Jwts.parser().verifyWith(signingKeyProvider.activeKey().publicKey()).build()
+                .parseSignedClaims(rootJws).getPayload();
+    }
+
+    private static String rootOf(String token) {
+        return token.substring(0, token.indexOf('~'));
+    }
+
+    private static List<CredentialPayload> credentials(int count) {
+        return new ArrayList<>(IntStream.range(0, count)
+                .mapToObj(i -> new CredentialPayload("hash-" + i, "UNIVERSITY_DIPLOMA", Map.of("degree", "Degree " + i), UUID.randomUUID()))
+                .toList());
+    }
+
+}
@@ -0,0 +1,108 @@
+package ro.lexera.wallet.service.crypto;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import ro.lexera.wallet.exception.DigitalWalletException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SigningExecutorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private SigningExecutor signingExecutor;
+
+    @AfterEach
+    void tearDown() {
+        signingExecutor.shutdown();
+    }
+
+    @Test
+    void shouldRunInlineWhenDisabled() {
+        // Arrange
+        signingExecutor = new SigningExecutor(false, 0, 0, Duration.ofSeconds(1), meterRegistry);
+
+        // Act
+        String thread = signingExecutor.execute(() -> Thread.currentThread().getName());
+
+        // Assert
+        assertThat(thread).isEqualTo(Thread.currentThread().getName());
+        assertThat(meterRegistry.get("wallet.signing.service").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRunOnSigningPoolAndRecordMetrics() {
+        // Arrange
+        signingExecutor = new SigningExecutor(true, 2, 4, Duration.ofSeconds(1), meterRegistry);
+
+        // Act
+        String thread = signingExecutor.execute(() -> Thread.currentThread().getName());
+
+        // Assert
+        assertThat(thread).startsWith("signing-");
+        assertThat(meterRegistry.get("wallet.signing.queue.wait").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("wallet.signing.service").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("wallet.signing.queue.depth").gauge().value()).isZero();
+    }
+
+    @Test
+    void shouldFailFastWhenQueueIsFull() throws Exception {
+        // Arrange: one busy signing thread and one queued task fill the executor
+        signingExecutor = new SigningExecutor(true, 1, 1, Duration.ofSeconds(3), meterRegistry);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> busy = CompletableFuture.supplyAsync(() -> signingExecutor.execute(() -> {
+            started.countDown();
+            awaitQuietly(release);
+            return "busy";
+        }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> signingExecutor.execute(() -> "queued"));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("wallet.signing.queue.depth").gauge().value() < 1 && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+
+        // Act & Assert
+        assertThatThrownBy(() -> signingExecutor.execute(() -> "rejected"))
+                .isInstanceOf(DigitalWalletException.class)
+                .satisfies(ex -> {
+                    DigitalWalletException dwe = (DigitalWalletException) ex;
+                    assertThat(dwe.getErrorCode()).isEqualTo("ERR_SIGNING_OVERLOADED");
+                    assertThat(dwe.getStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+                    assertThat(dwe.getRetryAfter()).isEqualTo(Duration.ofSeconds(3));
+                });
+        assertThat(meterRegistry.get("wallet.signing.rejected").counter().count()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(busy.get(5, TimeUnit.SECONDS)).isEqualTo("busy");
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("queued");
+    }
+
+    @Test
+    void shouldPropagateTaskFailures() {
+        // Arrange
+        signingExecutor = new SigningExecutor(true, 1, 1, Duration.ofSeconds(1), meterRegistry);
+
+        // Act & Assert
+        assertThatThrownBy(() -> signingExecutor.execute(() -> {
+            throw new DigitalWalletException("boom", "ERR_SIGNING_FAILED");
+        })).isInstanceOf(DigitalWalletException.class).hasMessage("boom");
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -1,19 +1,32 @@
 package ro.lexera.wallet.service.crypto;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.jackson.io.JacksonSerializer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import ro.lexera.wallet.config.RsaKeyConfigProvider;
+import ro.lexera.wallet.config.JacksonConfig;
+import ro.lexera.wallet.config.SigningAlgorithm;
+import ro.lexera.wallet.config.SigningKey;
+import ro.lexera.wallet.config.SigningKeyProvider;
 
+import java.nio.charset.StandardCharsets;
 import java.security.KeyPair;
 import java.security.KeyPairGenerator;
-import java.security.interfaces.RSAPrivateKey;
-import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Random;
 import java.util.UUID;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
@@ -22,7 +35,11 @@ import static org.mockito.Mockito.when;
 class SigningServiceTest {
 
     @Mock
-    private RsaKeyConfigProvider rsaKeyConfigProvider;
+    private SigningKeyProvider signingKeyProvider;
+
+    private final ObjectMapper objectMapper = new JacksonConfig().objectMapper();
+    private final SigningExecutor signingExecutor =
+            new SigningExecutor(false, 0, 0, Duration.ofSeconds(1), new SimpleMeterRegistry());
 
     @BeforeEach
     void setup() {
@@ -36,10 +53,10 @@ class SigningServiceTest {
         keyGen.initialize(2048);
         KeyPair pair = keyGen.generateKeyPair();
 
-        when(rsaKeyConfigProvider.rsaPublicKey()).thenReturn((RSAPublicKey) pair.getPublic());
-        when(rsaKeyConfigProvider.rsaPrivateKey()).thenReturn((RSAPrivateKey) pair.getPrivate());
+        when(signingKeyProvider.activeKey())
+                .thenReturn(new SigningKey("test-kid", SigningAlgorithm.RS256, pair, Instant.now(), Instant.now(), null));
 
-        SigningService signingService = new SigningService(rsaKeyConfigProvider, new JacksonSerializer<>());
+        SigningService signingService = new SigningService(signingKeyProvider, objectMapper, signingExecutor);
         Map<String, Object> claims = Map.of("gpa", "4.0");
 
         var documentId = UUID.randomUUID();
@@ -60,4 +77,124 @@ class SigningServiceTest {
         assertThat(decoded.get("gpa")).isEqualTo("4.0");
     }
 
+    @ParameterizedTest
+    @EnumSource(SigningAlgorithm.class)
+    void shouldSignWithConfiguredAlgorithm(SigningAlgorithm algorithm) throws Exception {
+        // Arrange
+        SigningKey key = SigningKey.generate(algorithm, Instant.now());
+        when(signingKeyProvider.activeKey()).thenReturn(key);
+        SigningService signingService = new SigningService(signingKeyProvider, objectMapper, signingExecutor);
+
+        // Act
+        String credential = signingService.signCredential("user-123", "DIPLOMA", Map.of("gpa", "4.0"), UUID.randomUUID());
+        String statusProof = signingService.signStatusProof("credential-1", Map.of("status", "VALID"));
+
+        // Assert: both tokens carry the configured alg and kid and verify with the published key
+        Jws<Claims> decodedCredential = Jwts.parser().verifyWith(key.publicKey()).build().parseSignedClaims(credential);
+        Jws<Claims> decodedProof = Jwts.parser().verifyWith(key.publicKey()).build().parseSignedClaims(statusProof);
+
+        assertThat(decodedCredential.getHeader().getAlgorithm()).isEqualTo(algorithm.name());
+        assertThat(decodedCredential.getHeader().getKeyId()).isEqualTo(key.keyId());
+        assertThat(decodedProof.getHeader().getAlgorithm()).isEqualTo(algorithm.name());
+        assertThat(decodedProof.getHeader().getKeyId()).isEqualTo(key.keyId());
+        assertThat(decodedProof.getPayload().get("status")).isEqualTo("VALID");
+        assertThat(key.toPublicJwk().getAlgorithm().getName()).isEqualTo(algorithm.name());
+    }
+
+    @Test
+    void shouldPublishMatchingKeyTypes() throws Exception {
+        Instant now = Instant.now();
+        assertThat(SigningKey.generate(SigningAlgorithm.RS256, now).toPublicJwk().toJSONObject().get("kty")).isEqualTo("RSA");
+
+        Map<String, Object> ecJwk = SigningKey.generate(SigningAlgorithm.ES256, now).toPublicJwk().toJSONObject();
+        assertThat(ecJwk.get("kty")).isEqualTo("EC");
+        assertThat(ecJwk.get("crv")).isEqualTo("P-256");
+
+        Map<String, Object> edJwk = SigningKey.generate(SigningAlgorithm.EdDSA, now).toPublicJwk().toJSONObject();
+        assertThat(edJwk.get("kty")).isEqualTo("OKP");
+        assertThat(edJwk.get("crv")).isEqualTo("Ed25519");
+        assertThat((String) edJwk.get("x")).hasSize(43); // 32 raw bytes, Base64URL without padding
+    }
+
+    @Test
+    void shouldSwitchToTheNewKeyAfterRotation() throws Exception {
+        // Arrange
+        SigningKey first = SigningKey.generate(SigningAlgorithm.ES256, Instant.now());
+        SigningKey second = SigningKey.generate(SigningAlgorithm.ES256, Instant.now());
+        when(signingKeyProvider.activeKey()).thenReturn(first, first, second);
+        SigningService signingService = new SigningService(signingKeyProvider, objectMapper, signingExecutor);
+
+        // Act
+        String before = signingService.signStatusProof("credential-1", Map.of("status", "VALID"));
+        String after = signingService.signStatusProof("credential-1", Map.of("status", "VALID"));
+
+        // Assert
+        assertThat(Jwts.parser().verifyWith(first.publicKey()).build().parseSignedClaims(before).getHeader().getKeyId())
+                .isEqualTo(first.keyId());
+        assertThat(Jwts.parser().verifyWith(second.publicKey()).build().parseSignedClaims(after).getHeader().getKeyId())
+                .isEqualTo(second.keyId());
+    }
+
+    @Test
+    void shouldProduceTheSameBytesAsJjwtBuilder() throws Exception {
+        // Arrange: RS256 (PKCS#1 v1.5) is deterministic, so both paths must agree byte for byte
+        SigningKey key = SigningKey.generate(SigningAlgorithm.RS256, Instant.now());
+        when(signingKeyProvider.activeKey()).thenReturn(key);
+        SigningService signingService = new SigningService(signingKeyProvider, objectMapper, signingExecutor);
+
+        Map<String, Object> claims = new LinkedHashMap<>();
+        claims.put("degree", "Bachelor of Science");
+        claims.put("gpa", 3.9);
+        claims.put("verifiedAt", Instant.parse("2026-01-01T10:15:30Z"));
+        UUID jti = UUID.randomUUID();
+
+        // Act
+        String fast = signingService.signCredential("user-123", "UNIVERSITY_DIPLOMA", claims, jti);
+
+        // Assert
+        Claims decoded = Jwts.parser().verifyWith(key.publicKey()).build().parseSignedClaims(fast).getPayload();
+        String reference = Jwts.builder()
+                .json(new JacksonSerializer<>(objectMapper))
+                .header().keyId(key.keyId()).and()
+                .id(jti.toString())
+                .subject("user-123")
+                .claim("type", "UNIVERSITY_DIPLOMA")
+                .claims(claims)
+                .issuer("ro.lexera.issuer")
+                .issuedAt(decoded.getIssuedAt())
+                .expiration(Date.from(decoded.getIssuedAt().toInstant().plus(SigningService.CREDENTIAL_TTL)))
+                .signWith(key.privateKey(), Jwts.SIG.RS256)
+                .compact();
+
+        assertThat(fast).isEqualTo(reference);
+    }
+
+    @Test
+    void shouldNotLetBusinessClaimsOverrideRegisteredClaims() throws Exception {
+        SigningKey key = SigningKey.generate(SigningAlgorithm.ES256, Instant.now());
+        when(signingKeyProvider.activeKey()).thenReturn(key);
+        SigningService signingService = new SigningService(signingKeyProvider, objectMapper, signingExecutor);
+
+        String jwt = signingService.signStatusProof("credential-1", Map.of("iss", "attacker", "status", "VALID"));
+
+        Claims decoded = Jwts.parser().verifyWith(key.publicKey()).build().parseSignedClaims(jwt).getPayload();
+        assertThat(decoded.getIssuer()).isEqualTo("ro.lexera.status-registry");
+        assertThat(decoded.get("status")).isEqualTo("VALID");
+    }
+
+    @Test
+    void shouldEncodeBase64UrlWithoutPadding() {
+        Base64.Encoder reference = Base64.getUrlEncoder().withoutPadding();
+        for (int length = 0; length < 64; length++) {
+            byte[] input = new byte[length];
+            new Random(length).nextBytes(input);
+            byte[] out = new byte[length * 2 + 4];
+
+            int end = CompactJwsSigner.encode(input, 0, length, out, 0);
+
+            assertThat(new String(out, 0, end, StandardCharsets.US_ASCII))
+                    .isEqualTo(reference.encodeToString(input));
+        }
+    }
+
 }
@@ -0,0 +1,63 @@
+package ro.lexera.wallet.service.identity;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.env.MockEnvironment;
+import ro.lexera.wallet.repository.UserPiiRepository;
+import ro.lexera.wallet.repository.UserPiiRepository.UnindexedNationalId;
+import ro.lexera.wallet.util.BlindIndex;
+import ro.lexera.wallet.util.JasyptAttributeConverter;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BlindIndexBackfillJobTest {
+
+    private static final MockEnvironment ENVIRONMENT = new MockEnvironment()
+            .withProperty("jasypt.encryptor.password", "test-password");
+    private static final JasyptAttributeConverter CONVERTER = new JasyptAttributeConverter(ENVIRONMENT);
+    private static final BlindIndex BLIND_INDEX = new BlindIndex(ENVIRONMENT);
+
+    @Mock
+    private UserPiiRepository repository;
+
+    @Test
+    void shouldIndexEveryPageOfUnindexedUsers() {
+        // Arrange
+        UnindexedNationalId first = new UnindexedNationalId(new UUID(0, 1), CONVERTER.convertToDatabaseColumn("111"));
+        UnindexedNationalId second = new UnindexedNationalId(new UUID(0, 2), CONVERTER.convertToDatabaseColumn("222"));
+        UnindexedNationalId third = new UnindexedNationalId(new UUID(0, 3), CONVERTER.convertToDatabaseColumn("333"));
+        when(repository.findUnindexedNationalIds(null, 2)).thenReturn(List.of(first, second));
+        when(repository.findUnindexedNationalIds(second.id(), 2)).thenReturn(List.of(third));
+        BlindIndexBackfillJob job = new BlindIndexBackfillJob(repository, CONVERTER, BLIND_INDEX, true, 2, 2);
+
+        // Act
+        job.run();
+
+        // Assert
+        verify(repository).setNationalIdIndexes(List.of(first, second), List.of(BLIND_INDEX.of("111"), BLIND_INDEX.of("222")));
+        verify(repository).setNationalIdIndexes(List.of(third), List.of(BLIND_INDEX.of("333")));
+        verify(repository, never()).findUnindexedNationalIds(third.id(), 2);
+    }
+
+    @Test
+    void shouldDoNothingWhenDisabled() {
+        // Arrange
+        BlindIndexBackfillJob job = new BlindIndexBackfillJob(repository, CONVERTER, BLIND_INDEX, false, 2, 2);
+
+        // Act
+        job.run();
+
+        // Assert
+        verifyNoInteractions(repository);
+    }
+
+}
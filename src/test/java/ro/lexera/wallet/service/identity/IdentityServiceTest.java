@@ -3,8 +3,19 @@ package ro.lexera.wallet.service.identity;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.test.util.ReflectionTestUtils;
+import ro.lexera.wallet.exception.DigitalWalletException;
+import ro.lexera.wallet.model.entity.UserEntity;
+import ro.lexera.wallet.repository.UserRepository;
 
-import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
 
 class IdentityServiceTest {
 
@@ -12,7 +23,7 @@ class IdentityServiceTest {
 
     @BeforeEach
     void setUp() {
-        identityService = new IdentityService(null); // Repo not needed for hashing test
+        identityService = new IdentityService(null, null); // Repo and filter not needed for hashing test
         ReflectionTestUtils.setField(identityService, "secretSalt", "secret-salt");
     }
 
@@ -35,4 +46,66 @@ class IdentityServiceTest {
         assertThat(hash1).isNotEqualTo(hash2);
     }
 
+    @Test
+    void shouldCreateRootHashesMatchingSingleHashes() {
+        List<String> hashes = identityService.createRootHashes(List.of(
+                new LegalIdentity("John", "Doe", "ID123"),
+                new LegalIdentity("Jane", "Doe", "ID456")));
+
+        assertThat(hashes).containsExactly(
+                identityService.createRootHash("John", "Doe", "ID123"),
+                identityService.createRootHash("Jane", "Doe", "ID456"));
+    }
+
+    @Test
+    void shouldSkipDatabaseWhenFilterRulesOutHash() {
+        UserRepository userRepository = mock(UserRepository.class);
+        RegisteredUserFilter filter = mock(RegisteredUserFilter.class);
+        IdentityService service = new IdentityService(userRepository, filter);
+        when(filter.mightBeRegistered("hash")).thenReturn(false);
+
+        assertThat(service.isUserAlreadyRegistered("hash")).isFalse();
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void shouldConfirmPossibleMatchWithExistenceQuery() {
+        UserRepository userRepository = mock(UserRepository.class);
+        RegisteredUserFilter filter = mock(RegisteredUserFilter.class);
+        IdentityService service = new IdentityService(userRepository, filter);
+        when(filter.mightBeRegistered("hash")).thenReturn(true);
+        when(userRepository.existsByRootIdentityHash("hash")).thenReturn(false);
+
+        assertThat(service.isUserAlreadyRegistered("hash")).isFalse();
+        verify(filter).recordFalsePositive();
+        verify(userRepository, never()).findByRootIdentityHash("hash");
+    }
+
+    @Test
+    void shouldRegisterUserAndAddItToFilter() {
+        UserRepository userRepository = mock(UserRepository.class);
+        RegisteredUserFilter filter = mock(RegisteredUserFilter.class);
+        IdentityService service = new IdentityService(userRepository, filter);
+        UserEntity user = UserEntity.builder().rootIdentityHash("hash").build();
+        when(userRepository.save(user)).thenReturn(user);
+
+        assertThat(service.registerUser(user)).isSameAs(user);
+        verify(filter).add("hash");
+    }
+
+    @Test
+    void shouldRejectAlreadyRegisteredUser() {
+        UserRepository userRepository = mock(UserRepository.class);
+        RegisteredUserFilter filter = mock(RegisteredUserFilter.class);
+        IdentityService service = new IdentityService(userRepository, filter);
+        UserEntity user = UserEntity.builder().rootIdentityHash("hash").build();
+        when(filter.mightBeRegistered("hash")).thenReturn(true);
+        when(userRepository.existsByRootIdentityHash("hash")).thenReturn(true);
+
+        assertThatThrownBy(() -> service.registerUser(user))
+                .isInstanceOf(DigitalWalletException.class)
+                .hasFieldOrPropertyWithValue("errorCode", "ERR_USER_ALREADY_EXISTS");
+        verify(userRepository, never()).save(user);
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,92 @@
+package ro.lexera.wallet.service.identity;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.env.MockEnvironment;
+import ro.lexera.wallet.repository.UserPiiRepository;
+import ro.lexera.wallet.repository.UserPiiRepository.EncryptedPii;
+import ro.lexera.wallet.util.JasyptAttributeConverter;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PiiReencryptionJobTest {
+
+    private static final JasyptAttributeConverter LEGACY = converter("JASYPT");
+    private static final JasyptAttributeConverter AES_GCM = converter("AES_GCM");
+
+    @Mock
+    private UserPiiRepository repository;
+
+    private static JasyptAttributeConverter converter(String mode) {
+        return new JasyptAttributeConverter(new MockEnvironment()
+                .withProperty("jasypt.encryptor.password", "test-password")
+                .withProperty("wallet.pii.encryption.mode", mode));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldReencryptLegacyColumnsOnly() {
+        // Arrange
+        UUID id = UUID.randomUUID();
+        String migratedFirstName = AES_GCM.convertToDatabaseColumn("John");
+        EncryptedPii read = new EncryptedPii(id, migratedFirstName,
+                LEGACY.convertToDatabaseColumn("Doe"), LEGACY.convertToDatabaseColumn("123456789"));
+        when(repository.findNotAesGcm(null, 2)).thenReturn(List.of(read));
+        when(repository.replaceAll(any())).thenReturn(1);
+        PiiReencryptionJob job = new PiiReencryptionJob(repository, AES_GCM, true, 2, new SimpleMeterRegistry());
+
+        // Act
+        job.run();
+
+        // Assert
+        ArgumentCaptor<List<EncryptedPii[]>> captor = ArgumentCaptor.forClass(List.class);
+        verify(repository).replaceAll(captor.capture());
+        EncryptedPii[] update = captor.getValue().getFirst();
+        assertThat(update[0]).isSameAs(read);
+        assertThat(update[1].firstName()).isEqualTo(migratedFirstName);
+        assertThat(update[1].lastName()).startsWith(JasyptAttributeConverter.AES_GCM_V1);
+        assertThat(AES_GCM.convertToEntityAttribute(update[1].lastName())).isEqualTo("Doe");
+        assertThat(AES_GCM.convertToEntityAttribute(update[1].nationalId())).isEqualTo("123456789");
+    }
+
+    @Test
+    void shouldPageThroughUsersInIdOrder() {
+        // Arrange
+        EncryptedPii first = new EncryptedPii(new UUID(0, 1), null, null, null);
+        EncryptedPii second = new EncryptedPii(new UUID(0, 2), null, null, null);
+        when(repository.findNotAesGcm(null, 2)).thenReturn(List.of(first, second));
+        when(repository.findNotAesGcm(second.id(), 2)).thenReturn(List.of());
+        PiiReencryptionJob job = new PiiReencryptionJob(repository, AES_GCM, true, 2, new SimpleMeterRegistry());
+
+        // Act
+        job.run();
+
+        // Assert
+        verify(repository).findNotAesGcm(second.id(), 2);
+    }
+
+    @Test
+    void shouldDoNothingWhileWritingLegacyFormat() {
+        // Arrange
+        PiiReencryptionJob job = new PiiReencryptionJob(repository, LEGACY, true, 2, new SimpleMeterRegistry());
+
+        // Act
+        job.run();
+
+        // Assert
+        verifyNoInteractions(repository);
+    }
+
+}
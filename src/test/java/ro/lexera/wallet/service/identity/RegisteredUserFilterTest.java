@@ -0,0 +1,74 @@
+package ro.lexera.wallet.service.identity;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import ro.lexera.wallet.repository.UserRepository;
+
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RegisteredUserFilterTest {
+
+    private static final String REGISTERED = DigestUtils.sha256Hex("registered");
+    private static final String NEW_USER = DigestUtils.sha256Hex("new-user");
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private RegisteredUserFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new RegisteredUserFilter(userRepository, transactionManager, 0.01, 1_000, meterRegistry);
+        when(userRepository.count()).thenReturn(1L);
+        when(userRepository.streamAllRootIdentityHashes()).thenReturn(Stream.of(REGISTERED));
+        filter.rebuild();
+    }
+
+    @Test
+    void shouldRuleOutUnregisteredHashesAfterLoading() {
+        // Act & Assert
+        assertThat(filter.mightBeRegistered(REGISTERED)).isTrue();
+        assertThat(filter.mightBeRegistered(NEW_USER)).isFalse();
+        assertThat(meterRegistry.get("wallet.identity.filter.negatives").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("wallet.identity.filter.memory").gauge().value()).isPositive();
+    }
+
+    @Test
+    void shouldKnowUsersAddedAfterLoading() {
+        // Act
+        filter.add(NEW_USER);
+
+        // Assert
+        assertThat(filter.mightBeRegistered(NEW_USER)).isTrue();
+    }
+
+    @Test
+    void shouldReportObservedFalsePositiveRate() {
+        // Arrange
+        filter.mightBeRegistered(NEW_USER);
+        filter.mightBeRegistered(DigestUtils.sha256Hex("another-new-user"));
+        filter.mightBeRegistered(DigestUtils.sha256Hex("third-new-user"));
+
+        // Act
+        filter.recordFalsePositive();
+
+        // Assert: 1 false positive out of 4 lookups of unregistered hashes
+        assertThat(meterRegistry.get("wallet.identity.filter.false-positive-rate").gauge().value()).isEqualTo(0.25);
+    }
+
+}
@@ -0,0 +1,56 @@
+package ro.lexera.wallet.service.identity;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RootHashBloomFilterTest {
+
+    @Test
+    void shouldContainEveryAddedHashWithBoundedFalsePositives() {
+        // Arrange
+        List<String> members = IntStream.range(0, 100_000).mapToObj(i -> DigestUtils.sha256Hex("member-" + i)).toList();
+        RootHashBloomFilter filter = RootHashBloomFilter.create(members.size(), 0.01);
+
+        // Act
+        members.parallelStream().forEach(filter::add);
+
+        // Assert
+        assertThat(members).allMatch(filter::mightContain);
+        assertThat(filter.size()).isEqualTo(members.size());
+        long falsePositives = IntStream.range(0, 100_000)
+                .mapToObj(i -> DigestUtils.sha256Hex("stranger-" + i))
+                .filter(filter::mightContain)
+                .count();
+        assertThat(falsePositives).isLessThan(1_500);
+    }
+
+    @Test
+    void shouldAcceptHashesThatAreNotHexDigests() {
+        // Arrange
+        RootHashBloomFilter filter = RootHashBloomFilter.create(100, 0.01);
+
+        // Act
+        filter.add("not-a-digest");
+        filter.add("A591A6D40BF420404A011733CFB7B190D62C65BF0BCDA32B57B277D9AD9F146E");
+
+        // Assert
+        assertThat(filter.mightContain("not-a-digest")).isTrue();
+        assertThat(filter.mightContain("A591A6D40BF420404A011733CFB7B190D62C65BF0BCDA32B57B277D9AD9F146E")).isTrue();
+    }
+
+    @Test
+    void shouldTakeAboutOnePointTwoBytesPerHash() {
+        // Act
+        RootHashBloomFilter filter = RootHashBloomFilter.create(1_000_000, 0.01);
+
+        // Assert
+        assertThat(filter.memoryFootprintBytes()).isBetween(1_190_000L, 1_210_000L);
+        assertThat(filter.capacity()).isEqualTo(1_000_000);
+    }
+
+}
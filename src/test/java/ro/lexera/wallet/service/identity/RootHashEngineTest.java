@@ -0,0 +1,79 @@
+package ro.lexera.wallet.service.identity;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RootHashEngineTest {
+
+    private static final String SALT = "secret-salt";
+
+    private final RootHashEngine engine = new RootHashEngine(SALT);
+
+    /**
+     * The original derivation, which every hash must keep matching.
+     */
+    private static String reference(String firstName, String lastName, String nationalId, String salt) {
+        String rawData = (firstName + lastName + nationalId).toLowerCase().replaceAll("\\s", "");
+        return DigestUtils.sha256Hex(rawData + salt);
+    }
+
+    static Stream<Arguments> identities() {
+        return Stream.of(
+                Arguments.of("John", "Doe", "ID123"),
+                Arguments.of("  Ion Andrei ", "POPESCU", "1960512123456"),
+                Arguments.of("Ștefan", "Mărgineanu", "2850101123456"),
+                Arguments.of("İLKER", "Straße", "ID 7"),
+                Arguments.of("Mary\tJane\u000B", "O'Neil\r\n", "AB-12\f34"),
+                Arguments.of("Ana\u00A0Maria", "Ionescu", "1"), // no-break space is not \s
+                Arguments.of("丽", "王", "310101199001011234"),
+                Arguments.of("Emoji 😀", "Test", "X")
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("identities")
+    void shouldMatchTheOriginalHash(String firstName, String lastName, String nationalId) {
+        // Act
+        String hash = engine.hash(firstName, lastName, nationalId);
+
+        // Assert
+        assertThat(hash).isEqualTo(reference(firstName, lastName, nationalId, SALT));
+    }
+
+    @Test
+    void shouldMatchTheOriginalHashForNullAndLongAttributes() {
+        // Arrange
+        String longName = "Maximilian Alexandru ".repeat(50);
+
+        // Act & Assert
+        assertThat(engine.hash(null, "Doe", null)).isEqualTo(reference(null, "Doe", null, SALT));
+        assertThat(engine.hash(longName, longName, "1")).isEqualTo(reference(longName, longName, "1", SALT));
+        assertThat(new RootHashEngine("sare-ă").hash("a", "b", "c")).isEqualTo(reference("a", "b", "c", "sare-ă"));
+    }
+
+    @Test
+    void shouldHashInBulkInInputOrder() {
+        // Arrange
+        List<LegalIdentity> identities = IntStream.range(0, RootHashEngine.PARALLEL_THRESHOLD * 4)
+                .mapToObj(i -> new LegalIdentity("First " + i, i % 7 == 0 ? "Ăla" : "Last", String.valueOf(i)))
+                .toList();
+
+        // Act
+        List<String> hashes = engine.hashAll(identities);
+
+        // Assert
+        assertThat(hashes).containsExactlyElementsOf(identities.stream()
+                .map(identity -> reference(identity.firstName(), identity.lastName(), identity.nationalId(), SALT))
+                .toList());
+    }
+
+}
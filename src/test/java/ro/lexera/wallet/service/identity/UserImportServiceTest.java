@@ -0,0 +1,164 @@
+package ro.lexera.wallet.service.identity;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+import ro.lexera.wallet.exception.DigitalWalletException;
+import ro.lexera.wallet.repository.UserPiiRepository;
+import ro.lexera.wallet.repository.UserPiiRepository.NewUser;
+import ro.lexera.wallet.util.BlindIndex;
+import ro.lexera.wallet.util.JasyptAttributeConverter;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserImportServiceTest {
+
+    private static final MockEnvironment ENVIRONMENT = new MockEnvironment()
+            .withProperty("jasypt.encryptor.password", "test-password")
+            .withProperty("wallet.pii.encryption.mode", "AES_GCM");
+    private static final JasyptAttributeConverter CONVERTER = new JasyptAttributeConverter(ENVIRONMENT);
+    private static final BlindIndex BLIND_INDEX = new BlindIndex(ENVIRONMENT);
+
+    @Mock
+    private UserPiiRepository repository;
+
+    @Mock
+    private RegisteredUserFilter registeredUserFilter;
+
+    @TempDir
+    private Path importDir;
+
+    private IdentityService identityService;
+
+    /**
+     * Users inserted, by root hash, as the database would hold them.
+     */
+    private final Map<String, NewUser> inserted = new ConcurrentHashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        identityService = new IdentityService(null, null);
+        ReflectionTestUtils.setField(identityService, "secretSalt", "secret-salt");
+        lenient().when(repository.insertAllIfAbsent(anyList())).thenAnswer(invocation -> {
+            List<NewUser> users = invocation.getArgument(0);
+            return users.stream()
+                    .filter(user -> inserted.putIfAbsent(user.rootIdentityHash(), user) == null)
+                    .map(NewUser::rootIdentityHash)
+                    .collect(Collectors.toSet());
+        });
+    }
+
+    private UserImportService service(int batchSize) {
+        return new UserImportService(identityService, CONVERTER, BLIND_INDEX, repository, registeredUserFilter, new ObjectMapper(),
+                batchSize, 4, Duration.ofSeconds(10), importDir.toString());
+    }
+
+    private static InputStream input(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void shouldImportNdjsonInBatchesAndEncryptPii() {
+        // Arrange
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < 25; i++) {
+            ndjson.append("{\"firstName\":\"Ion\",\"lastName\":\"Popescu\",\"email\":\"ion").append(i)
+                    .append("@lexera.ro\",\"nationalId\":\"19605121234").append(i).append("\",\"source\":\"partner\"}\n");
+        }
+
+        // Act
+        UserImportService.Report report = service(10).importUsers(input(ndjson.toString()), UserImportService.Format.NDJSON);
+
+        // Assert
+        assertThat(report.read()).isEqualTo(25);
+        assertThat(report.imported()).isEqualTo(25);
+        assertThat(report.rejected()).isZero();
+        assertThat(inserted).hasSize(25);
+        String hash = identityService.createRootHash("Ion", "Popescu", "196051212340");
+        NewUser user = inserted.get(hash);
+        assertThat(user.email()).isEqualTo("ion0@lexera.ro");
+        assertThat(user.nationalId()).startsWith(JasyptAttributeConverter.AES_GCM_V1);
+        assertThat(CONVERTER.convertToEntityAttribute(user.nationalId())).isEqualTo("196051212340");
+        assertThat(user.nationalIdIndex()).isEqualTo(BLIND_INDEX.of("196051212340"));
+        verify(registeredUserFilter).add(hash);
+    }
+
+    @Test
+    void shouldSkipRegisteredAndRepeatedIdentitiesAndRejectInvalidLines() {
+        // Arrange
+        String registered = identityService.createRootHash("Ana", "Ionescu", "2");
+        when(registeredUserFilter.mightBeRegistered(anyString())).thenAnswer(invocation -> registered.equals(invocation.getArgument(0)));
+        when(repository.findExistingRootHashes(anyCollection())).thenReturn(Set.of(registered));
+        String csv = """
+                nationalId,email,lastName,firstName
+                1,john@lexera.ro,Doe,John
+                1,john.again@lexera.ro,DOE,john
+                2,ana@lexera.ro,Ionescu,Ana
+                3,,"O'Neil, Jr.",Mary
+                "4,broken
+                5,mary@lexera.ro,"O'Neil, Jr.","Mary ""May""\"
+                """;
+
+        // Act
+        UserImportService.Report report = service(100).importUsers(input(csv), UserImportService.Format.CSV);
+
+        // Assert
+        assertThat(report.read()).isEqualTo(6);
+        assertThat(report.imported()).isEqualTo(2);
+        assertThat(report.duplicates()).isEqualTo(2);
+        assertThat(report.rejected()).isEqualTo(2);
+        assertThat(report.errors()).containsExactly("line 5: email is required", "line 6: not a valid CSV record");
+        assertThat(inserted).containsKey(identityService.createRootHash("Mary \"May\"", "O'Neil, Jr.", "5"));
+    }
+
+    @Test
+    void shouldImportFilesFromTheImportDirectoryOnly() throws Exception {
+        // Arrange
+        Files.writeString(importDir.resolve("partner.jsonl"),
+                "{\"firstName\":\"John\",\"lastName\":\"Doe\",\"email\":\"john@lexera.ro\",\"nationalId\":\"1\"}\n");
+
+        // Act
+        UserImportService.Report report = service(10).importFile("partner.jsonl");
+
+        // Assert
+        assertThat(report.imported()).isEqualTo(1);
+        assertThatThrownBy(() -> service(10).importFile("../outside.csv"))
+                .isInstanceOf(DigitalWalletException.class)
+                .hasFieldOrPropertyWithValue("errorCode", "ERR_IMPORT_FILE_NOT_FOUND");
+    }
+
+    @Test
+    void shouldRejectCsvWithoutRequiredColumns() {
+        // Act & Assert
+        assertThatThrownBy(() -> service(10).importUsers(input("firstName,lastName\nJohn,Doe\n"), UserImportService.Format.CSV))
+                .isInstanceOf(DigitalWalletException.class)
+                .hasFieldOrPropertyWithValue("errorCode", "ERR_INVALID_IMPORT_FILE");
+    }
+
+}
@@ -0,0 +1,42 @@
+package ro.lexera.wallet.service.identity;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.env.MockEnvironment;
+import ro.lexera.wallet.model.entity.UserEntity;
+import ro.lexera.wallet.repository.UserRepository;
+import ro.lexera.wallet.util.BlindIndex;
+
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserSearchServiceTest {
+
+    private static final BlindIndex BLIND_INDEX = new BlindIndex(new MockEnvironment().withProperty("wallet.pii.blind-index.key",
+            Base64.getEncoder().encodeToString("0123456789abcdef0123456789abcdef".getBytes())));
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Test
+    void shouldFindUsersThroughTheBlindIndexAndConfirmTheMatch() {
+        // Arrange
+        UserEntity match = UserEntity.builder().nationalId("ABC9876").build();
+        UserEntity collision = UserEntity.builder().nationalId("XYZ0000").build();
+        when(userRepository.findByNationalIdIndex(BLIND_INDEX.of("ABC9876"))).thenReturn(List.of(match, collision));
+        UserSearchService service = new UserSearchService(userRepository, BLIND_INDEX);
+
+        // Act
+        List<UserEntity> users = service.findByNationalId("abc 9876");
+
+        // Assert
+        assertThat(users).containsExactly(match);
+    }
+
+}
@@ -0,0 +1,110 @@
+package ro.lexera.wallet.service.issuance;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ClaimsCacheTest {
+
+    private static final Duration TTL = Duration.ofDays(30);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong nanos = new AtomicLong();
+    private final Ticker ticker = nanos::get;
+    private final ClaimsCache cache = new ClaimsCache(100, meterRegistry, ticker);
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private final Supplier<CompletableFuture<Map<String, Object>>> loader = () -> {
+        loads.incrementAndGet();
+        return CompletableFuture.completedFuture(Map.of("degree", "Bachelor of Science"));
+    };
+
+    @Test
+    void shouldReuseClaimsUntilTheirTtlElapses() {
+        // Act
+        Map<String, Object> first = cache.get("UNIVERSITY_DIPLOMA", "hash", TTL, loader).join();
+        Map<String, Object> renewal = cache.get("university_diploma", "hash", TTL, loader).join();
+
+        // Assert
+        assertThat(renewal).isEqualTo(first);
+        assertThat(loads).hasValue(1);
+        assertThat(meterRegistry.get("wallet.issuance.claims-cache.requests").tags("type", "UNIVERSITY_DIPLOMA", "result", "hit")
+                .counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("wallet.issuance.claims-cache.requests").tags("type", "UNIVERSITY_DIPLOMA", "result", "miss")
+                .counter().count()).isEqualTo(1);
+        assertThatThrownBy(() -> renewal.put("degree", "Master of Science")).isInstanceOf(UnsupportedOperationException.class);
+
+        // Once expired, the provider is called again
+        nanos.addAndGet(TTL.plusSeconds(1).toNanos());
+        cache.get("UNIVERSITY_DIPLOMA", "hash", TTL, loader).join();
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void shouldNotCacheWithoutTtl() {
+        // Act
+        cache.get("ID_CARD", "hash", Duration.ZERO, loader).join();
+        cache.get("ID_CARD", "hash", Duration.ZERO, loader).join();
+
+        // Assert
+        assertThat(loads).hasValue(2);
+        assertThat(cache.estimatedSize()).isZero();
+    }
+
+    @Test
+    void shouldShareConcurrentMissesAndNotCacheFailures() {
+        // Arrange
+        CompletableFuture<Map<String, Object>> pending = new CompletableFuture<>();
+        Supplier<CompletableFuture<Map<String, Object>>> slowLoader = () -> {
+            loads.incrementAndGet();
+            return pending;
+        };
+
+        // Act
+        CompletableFuture<Map<String, Object>> first = cache.get("UNIVERSITY_DIPLOMA", "hash", TTL, slowLoader);
+        CompletableFuture<Map<String, Object>> second = cache.get("UNIVERSITY_DIPLOMA", "hash", TTL, slowLoader);
+        pending.completeExceptionally(new IllegalStateException("Registry down"));
+
+        // Assert
+        assertThat(loads).hasValue(1);
+        assertThat(first).isCompletedExceptionally();
+        assertThat(second).isCompletedExceptionally();
+        cache.get("UNIVERSITY_DIPLOMA", "hash", TTL, loader).join();
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void shouldInvalidateByEntryTypeAndHolder() {
+        // Arrange
+        for (String type : new String[]{"UNIVERSITY_DIPLOMA", "DRIVING_LICENSE"}) {
+            for (String hash : new String[]{"hash-1", "hash-2"}) {
+                cache.get(type, hash, TTL, loader).join();
+            }
+        }
+        assertThat(cache.estimatedSize()).isEqualTo(4);
+
+        // Act & Assert
+        cache.invalidate("university_diploma", "hash-1");
+        assertThat(cache.estimatedSize()).isEqualTo(3);
+
+        cache.invalidateHolder("hash-2");
+        assertThat(cache.estimatedSize()).isEqualTo(1);
+
+        cache.invalidateType("DRIVING_LICENSE");
+        assertThat(cache.estimatedSize()).isZero();
+
+        cache.get("UNIVERSITY_DIPLOMA", "hash-1", TTL, loader).join();
+        assertThat(loads).hasValue(5);
+    }
+
+}
@@ -0,0 +1,87 @@
+package ro.lexera.wallet.service.issuance;
+
+import org.junit.jupiter.api.Test;
+import ro.lexera.wallet.model.entity.StatusRegistryKey;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CredentialIdGeneratorTest {
+
+    @Test
+    void shouldGenerateVersion7IdsCarryingTheTimestamp() {
+        // Arrange
+        CredentialIdGenerator generator = new CredentialIdGenerator(() -> 1_700_000_000_123L);
+
+        // Act
+        UUID id = generator.next();
+
+        // Assert
+        assertThat(id.version()).isEqualTo(7);
+        assertThat(id.variant()).isEqualTo(2);
+        assertThat(id.getMostSignificantBits() >>> 16).isEqualTo(1_700_000_000_123L);
+        assertThat(StatusRegistryKey.issuedAtOf(id)).isEqualTo(Instant.ofEpochMilli(1_700_000_000_123L));
+        assertThat(StatusRegistryKey.issuedAtOf(UUID.randomUUID())).isEqualTo(StatusRegistryKey.UNDATED);
+    }
+
+    @Test
+    void shouldStayMonotonicWhenClockStallsOrStepsBack() {
+        // Arrange
+        AtomicLong millis = new AtomicLong(1_700_000_000_000L);
+        CredentialIdGenerator generator = new CredentialIdGenerator(millis::get);
+        List<UUID> ids = new ArrayList<>();
+
+        // Act: 5000 IDs in one millisecond (more than the 4096 counter values), then the clock goes back
+        for (int i = 0; i < 5000; i++) {
+            ids.add(generator.next());
+        }
+        millis.addAndGet(-1000);
+        ids.add(generator.next());
+
+        // Assert: strictly increasing in unsigned byte order, as PostgreSQL sorts them
+        for (int i = 1; i < ids.size(); i++) {
+            assertThat(Long.compareUnsigned(ids.get(i - 1).getMostSignificantBits(), ids.get(i).getMostSignificantBits()))
+                    .isNegative();
+        }
+    }
+
+    @Test
+    void shouldNotRepeatUnderConcurrentIssuance() throws Exception {
+        // Arrange
+        CredentialIdGenerator generator = new CredentialIdGenerator();
+        Set<UUID> ids = ConcurrentHashMap.newKeySet();
+
+        // Act
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    long previous = 0;
+                    for (int i = 0; i < 50_000; i++) {
+                        UUID id = generator.next();
+                        assertThat(Long.compareUnsigned(previous, id.getMostSignificantBits())).isNegative();
+                        previous = id.getMostSignificantBits();
+                        ids.add(id);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+
+        // Assert
+        assertThat(ids).hasSize(400_000);
+    }
+
+}
@@ -0,0 +1,340 @@
+package ro.lexera.wallet.service.issuance;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.env.MockEnvironment;
+import ro.lexera.wallet.exception.DigitalWalletException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DocumentProviderRegistryTest {
+
+    private static final Map<String, Object> CLAIMS = Map.of("degree", "Bachelor of Science");
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MockEnvironment environment = new MockEnvironment()
+            .withProperty("wallet.issuance.providers.timeout", "PT5S")
+            .withProperty("wallet.issuance.providers.types.SLOW_REGISTRY.timeout", "PT0.2S")
+            .withProperty("wallet.issuance.providers.types.SLOW_REGISTRY.max-concurrent-calls", "2")
+            .withProperty("wallet.issuance.providers.types.SLOW_REGISTRY.circuit-breaker.failure-threshold", "3")
+            .withProperty("wallet.issuance.providers.types.SLOW_REGISTRY.circuit-breaker.open-duration", "PT30S");
+    private final MutableClock clock = new MutableClock();
+    private final ClaimsCache claimsCache = new ClaimsCache(100, meterRegistry);
+
+    private final SlowProvider slowProvider = new SlowProvider();
+    private final FastProvider fastProvider = new FastProvider();
+    private DocumentProviderRegistry registry;
+
+    @AfterEach
+    void tearDown() {
+        slowProvider.release.countDown();
+        registry.shutdown();
+    }
+
+    @Test
+    void shouldResolveTypesCaseInsensitively() {
+        // Arrange
+        registry = newRegistry();
+
+        // Act
+        Map<String, Object> claims = registry.fetchClaimsAndWait("university_diploma", "hash");
+
+        // Assert
+        assertThat(claims).isEqualTo(CLAIMS);
+        assertThatThrownBy(() -> registry.fetchClaims("NON_EXISTENT_TYPE", "hash"))
+                .isInstanceOf(DigitalWalletException.class)
+                .hasFieldOrPropertyWithValue("errorCode", "ERR_UNSUPPORTED_TYPE");
+    }
+
+    @Test
+    void shouldRejectTwoProvidersForTheSameType() {
+        assertThatThrownBy(() -> new DocumentProviderRegistry(
+                List.of(fastProvider, new FastProvider()), claimsCache, environment, meterRegistry, clock))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("UNIVERSITY_DIPLOMA");
+        registry = newRegistry();
+    }
+
+    @Test
+    void slowProviderShouldTimeOutWithoutDelayingOtherTypes() {
+        // Arrange
+        registry = newRegistry();
+
+        // Act
+        CompletableFuture<Map<String, Object>> slow = registry.fetchClaims("SLOW_REGISTRY", "hash");
+        Map<String, Object> fast = registry.fetchClaimsAndWait("UNIVERSITY_DIPLOMA", "hash");
+
+        // Assert: the fast type answers while the slow call is pending, which then times out
+        assertThat(fast).isEqualTo(CLAIMS);
+        assertThat(slow).isNotDone();
+        assertThatThrownBy(() -> registry.fetchClaimsAndWait("SLOW_REGISTRY", "hash"))
+                .isInstanceOf(DigitalWalletException.class)
+                .hasFieldOrPropertyWithValue("errorCode", "ERR_PROVIDER_TIMEOUT")
+                .hasFieldOrPropertyWithValue("status", HttpStatus.GATEWAY_TIMEOUT);
+        assertThat(slow).isCompletedExceptionally();
+        assertThat(slowProvider.threadName).startsWith("provider-slow_registry-");
+        assertThat(meterRegistry.get("wallet.issuance.provider.calls").tags("type", "SLOW_REGISTRY", "outcome", "timeout")
+                .timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void saturatedProviderShouldFailFastWithoutDelayingOtherTypes() throws Exception {
+        // Arrange: both permits of the slow provider are taken
+        environment.setProperty("wallet.issuance.providers.types.SLOW_REGISTRY.timeout", "PT10S");
+        registry = newRegistry();
+        CompletableFuture<Map<String, Object>> first = registry.fetchClaims("SLOW_REGISTRY", "hash-1");
+        CompletableFuture<Map<String, Object>> second = registry.fetchClaims("SLOW_REGISTRY", "hash-2");
+        assertThat(slowProvider.started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // Act & Assert
+        assertThatThrownBy(() -> registry.fetchClaimsAndWait("SLOW_REGISTRY", "hash-3"))
+                .isInstanceOf(DigitalWalletException.class)
+                .hasFieldOrPropertyWithValue("errorCode", "ERR_PROVIDER_BUSY")
+                .hasFieldOrPropertyWithValue("status", HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(registry.fetchClaimsAndWait("UNIVERSITY_DIPLOMA", "hash-3")).isEqualTo(CLAIMS);
+        assertThat(slowProvider.calls).hasValue(2);
+
+        // Once the slow calls finish, their permits are released
+        slowProvider.release.countDown();
+        CompletableFuture.allOf(first, second).get(5, TimeUnit.SECONDS);
+        assertThat(registry.fetchClaimsAndWait("SLOW_REGISTRY", "hash-4")).isEqualTo(CLAIMS);
+    }
+
+    @Test
+    void timedOutCallsShouldHoldTheirPermitsUntilTheyEnd() throws Exception {
+        // Arrange: both calls of the slow provider time out, but are still running
+        registry = newRegistry();
+        CompletableFuture<Map<String, Object>> first = registry.fetchClaims("SLOW_REGISTRY", "hash-1");
+        CompletableFuture<Map<String, Object>> second = registry.fetchClaims("SLOW_REGISTRY", "hash-2");
+        assertThat(slowProvider.started.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(CompletableFuture.allOf(first, second).handle((claims, failure) -> failure).get(5, TimeUnit.SECONDS))
+                .hasRootCauseInstanceOf(DigitalWalletException.class);
+
+        // Act & Assert
+        assertThatThrownBy(() -> registry.fetchClaimsAndWait("SLOW_REGISTRY", "hash-3"))
+                .isInstanceOf(DigitalWalletException.class)
+                .hasFieldOrPropertyWithValue("errorCode", "ERR_PROVIDER_BUSY");
+        assertThat(inFlight("SLOW_REGISTRY")).isEqualTo(2);
+
+        // Once the slow calls really end, their permits are released
+        slowProvider.release.countDown();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (inFlight("SLOW_REGISTRY") > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(inFlight("SLOW_REGISTRY")).isZero();
+        assertThat(registry.fetchClaimsAndWait("SLOW_REGISTRY", "hash-4")).isEqualTo(CLAIMS);
+    }
+
+    @Test
+    void circuitShouldOpenAfterConsecutiveFailuresAndCloseAfterSuccessfulTrial() {
+        // Arrange
+        AtomicInteger calls = new AtomicInteger();
+        DocumentProvider flaky = new DocumentProvider() {
+            @Override
+            public String supportsType() {
+                return "SLOW_REGISTRY";
+            }
+
+            @Override
+            public Map<String, Object> fetchClaims(String rootIdentityHash) {
+                if (calls.incrementAndGet() <= 3) {
+                    throw new IllegalStateException("Registry down");
+                }
+                return CLAIMS;
+            }
+        };
+        registry = new DocumentProviderRegistry(List.of(flaky), claimsCache, environment, meterRegistry, clock);
+
+        // Act: three failures open the circuit
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> registry.fetchClaimsAndWait("SLOW_REGISTRY", "hash"))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessage("Registry down");
+        }
+
+        // Assert: refused without calling the registry, until the open duration elapses
+        assertThat(registry.circuitState("SLOW_REGISTRY")).isEqualTo(ProviderCircuitBreaker.State.OPEN);
+        assertThatThrownBy(() -> registry.fetchClaimsAndWait("SLOW_REGISTRY", "hash"))
+                .isInstanceOf(DigitalWalletException.class)
+                .hasFieldOrPropertyWithValue("errorCode", "ERR_PROVIDER_UNAVAILABLE")
+                .hasFieldOrPropertyWithValue("retryAfter", Duration.ofSeconds(30));
+        assertThat(calls).hasValue(3);
+
+        clock.advance(Duration.ofSeconds(31));
+        assertThat(registry.fetchClaimsAndWait("SLOW_REGISTRY", "hash")).isEqualTo(CLAIMS);
+        assertThat(registry.circuitState("SLOW_REGISTRY")).isEqualTo(ProviderCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void clientErrorsOfTheProviderShouldNotOpenTheCircuit() {
+        // Arrange
+        DocumentProvider strict = new DocumentProvider() {
+            @Override
+            public String supportsType() {
+                return "SLOW_REGISTRY";
+            }
+
+            @Override
+            public Map<String, Object> fetchClaims(String rootIdentityHash) {
+                throw new DigitalWalletException("No record for this identity.", "ERR_RECORD_NOT_FOUND", HttpStatus.NOT_FOUND);
+            }
+        };
+        registry = new DocumentProviderRegistry(List.of(strict), claimsCache, environment, meterRegistry, clock);
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            assertThatThrownBy(() -> registry.fetchClaimsAndWait("SLOW_REGISTRY", "hash"))
+                    .hasFieldOrPropertyWithValue("errorCode", "ERR_RECORD_NOT_FOUND");
+        }
+
+        // Assert
+        assertThat(registry.circuitState("SLOW_REGISTRY")).isEqualTo(ProviderCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void cachedClaimsShouldBeServedWithoutCallingTheProvider() {
+        // Arrange: the diploma provider declares a TTL, the slow registry's is disabled by configuration
+        AtomicInteger calls = new AtomicInteger();
+        DocumentProvider diplomas = new FastProvider() {
+            @Override
+            public Duration claimsTtl() {
+                return Duration.ofDays(30);
+            }
+
+            @Override
+            public Map<String, Object> fetchClaims(String rootIdentityHash) {
+                calls.incrementAndGet();
+                return CLAIMS;
+            }
+        };
+        registry = new DocumentProviderRegistry(List.of(diplomas), claimsCache, environment, meterRegistry, clock);
+
+        // Act
+        Map<String, Object> first = registry.fetchClaimsAndWait("UNIVERSITY_DIPLOMA", "hash");
+        Map<String, Object> renewal = registry.fetchClaimsAndWait("university_diploma", "hash");
+        registry.fetchClaimsAndWait("UNIVERSITY_DIPLOMA", "other-hash");
+
+        // Assert
+        assertThat(first).isEqualTo(CLAIMS);
+        assertThat(renewal).isEqualTo(CLAIMS);
+        assertThat(calls).hasValue(2);
+        assertThat(meterRegistry.get("wallet.issuance.provider.calls").tags("type", "UNIVERSITY_DIPLOMA", "outcome", "success")
+                .timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void configuredClaimsTtlShouldOverrideTheProvider() {
+        // Arrange
+        environment.setProperty("wallet.issuance.providers.types.UNIVERSITY_DIPLOMA.claims-ttl", "PT0S");
+        AtomicInteger calls = new AtomicInteger();
+        DocumentProvider diplomas = new FastProvider() {
+            @Override
+            public Duration claimsTtl() {
+                return Duration.ofDays(30);
+            }
+
+            @Override
+            public Map<String, Object> fetchClaims(String rootIdentityHash) {
+                calls.incrementAndGet();
+                return CLAIMS;
+            }
+        };
+        registry = new DocumentProviderRegistry(List.of(diplomas), claimsCache, environment, meterRegistry, clock);
+
+        // Act
+        registry.fetchClaimsAndWait("UNIVERSITY_DIPLOMA", "hash");
+        registry.fetchClaimsAndWait("UNIVERSITY_DIPLOMA", "hash");
+
+        // Assert
+        assertThat(calls).hasValue(2);
+        assertThat(claimsCache.estimatedSize()).isZero();
+    }
+
+    private double inFlight(String type) {
+        return meterRegistry.get("wallet.issuance.provider.in-flight").tags("type", type).gauge().value();
+    }
+
+    private DocumentProviderRegistry newRegistry() {
+        return new DocumentProviderRegistry(List.of(slowProvider, fastProvider), claimsCache, environment, meterRegistry, clock);
+    }
+
+    /**
+     * Stand-in for a registry that hangs until released.
+     */
+    private static final class SlowProvider implements DocumentProvider {
+        private final CountDownLatch started = new CountDownLatch(2);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final AtomicInteger calls = new AtomicInteger();
+        private volatile String threadName;
+
+        @Override
+        public String supportsType() {
+            return "SLOW_REGISTRY";
+        }
+
+        @Override
+        public Map<String, Object> fetchClaims(String rootIdentityHash) {
+            threadName = Thread.currentThread().getName();
+            calls.incrementAndGet();
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return CLAIMS;
+        }
+    }
+
+    private static class FastProvider implements DocumentProvider {
+        @Override
+        public String supportsType() {
+            return "UNIVERSITY_DIPLOMA";
+        }
+
+        @Override
+        public Map<String, Object> fetchClaims(String rootIdentityHash) {
+            return CLAIMS;
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+        private volatile Instant now = Instant.parse("2026-01-01T00:00:00Z");
+
+        private void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+
+}
@@ -1,18 +1,27 @@
 package ro.lexera.wallet.service.issuance;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
 import ro.lexera.wallet.exception.DigitalWalletException;
+import ro.lexera.wallet.service.crypto.CredentialPayload;
 import ro.lexera.wallet.service.crypto.SigningService;
+import ro.lexera.wallet.service.status.CredentialStatus;
 import ro.lexera.wallet.service.status.StatusService;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -22,6 +31,9 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class IssuanceServiceTest {
 
+    private static final Map<String, Object> STATUS_CLAIM = Map.of("statusListIndex", "42");
+    private static final String TYPE = "UNIVERSITY_DIPLOMA";
+
     private IssuanceService issuanceService;
 
     @Mock
@@ -30,25 +42,40 @@ class IssuanceServiceTest {
     @Mock
     private SigningService signingService;
 
-    @Mock
+    @Mock(answer = Answers.CALLS_REAL_METHODS)
     private DocumentProvider mockProvider;
 
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private DocumentProviderRegistry providerRegistry;
+
     @BeforeEach
     void setUp() {
-        // We inject the list containing our mocked provider
-        issuanceService = new IssuanceService(List.of(mockProvider), signingService, statusService);
+        // The registry indexes providers by type once, so the type must be stubbed before it is built
+        when(mockProvider.supportsType()).thenReturn(TYPE);
+        providerRegistry = new DocumentProviderRegistry(
+                List.of(mockProvider), new ClaimsCache(100, meterRegistry), new MockEnvironment(), meterRegistry);
+        issuanceService = new IssuanceService(providerRegistry, signingService, statusService, new CredentialIdGenerator());
+        ReflectionTestUtils.setField(issuanceService, "maxBatchSize", 100);
+        ReflectionTestUtils.setField(issuanceService, "batchSigningMode", BatchSigningMode.INDIVIDUAL);
+    }
+
+    @AfterEach
+    void tearDown() {
+        providerRegistry.shutdown();
     }
 
     @Test
     void issueCredential_Success_ShouldFlowThroughAllSteps() {
         // Arrange
         String hash = "user-hash-123";
-        String type = "UNIVERSITY_DIPLOMA";
+        String type = TYPE;
         Map<String, Object> mockClaims = Map.of("degree", "Bachelor of Science");
         String expectedJwt = "header.payload.signature";
 
-        when(mockProvider.supportsType()).thenReturn(type);
         when(mockProvider.fetchClaims(hash)).thenReturn(mockClaims);
+        when(statusService.initializeStatus(any(UUID.class), eq(hash)))
+                .thenAnswer(invocation -> new CredentialStatus(invocation.getArgument(0), 42, hash));
+        when(statusService.credentialStatusClaim(any())).thenReturn(STATUS_CLAIM);
         when(signingService.signCredential(anyString(), anyString(), anyMap(), any(UUID.class)))
                 .thenReturn(expectedJwt);
 
@@ -63,19 +90,19 @@ class IssuanceServiceTest {
 
         // 2. Verify Status Registry was initialized with a UUID
         ArgumentCaptor<UUID> uuidCaptor = ArgumentCaptor.forClass(UUID.class);
-        verify(statusService).initializeStatus(uuidCaptor.capture());
+        verify(statusService).initializeStatus(uuidCaptor.capture(), eq(hash));
         UUID generatedId = uuidCaptor.getValue();
         assertThat(generatedId).isNotNull();
+        assertThat(generatedId.version()).isEqualTo(7);
 
-        // 3. Verify Signing was called with that same UUID (JTI)
-        verify(signingService).signCredential(eq(hash), eq(type), eq(mockClaims), eq(generatedId));
+        // 3. Verify Signing was called with that same UUID (JTI) and the status list entry
+        Map<String, Object> expectedClaims = Map.of("degree", "Bachelor of Science", CredentialStatus.CLAIM, STATUS_CLAIM);
+        verify(signingService).signCredential(eq(hash), eq(type), eq(expectedClaims), eq(generatedId));
+        verify(statusService).credentialStatusClaim(new CredentialStatus(generatedId, 42, hash));
     }
 
     @Test
     void issueCredential_UnsupportedType_ShouldThrowLexeraException() {
-        // Arrange
-        when(mockProvider.supportsType()).thenReturn("IDENTITY_CARD");
-
         // Act & Assert
         assertThatThrownBy(() -> issuanceService.issueCredential("hash", "NON_EXISTENT_TYPE"))
                 .isInstanceOf(DigitalWalletException.class)
@@ -89,8 +116,7 @@ class IssuanceServiceTest {
     @Test
     void issueCredential_ProviderFails_ShouldPropagateException() {
         // Arrange
-        String type = "UNIVERSITY_DIPLOMA";
-        when(mockProvider.supportsType()).thenReturn(type);
+        String type = TYPE;
         when(mockProvider.fetchClaims(anyString())).thenThrow(new RuntimeException("DB Down"));
 
         // Act & Assert
@@ -101,4 +127,90 @@ class IssuanceServiceTest {
         // Verify status was NOT initialized if data fetch failed
         verifyNoInteractions(statusService);
     }
+
+    @Test
+    void issueCredentials_MixedBatch_ShouldReportFailuresInlineAndRegisterOnce() {
+        // Arrange
+        String type = TYPE;
+        when(mockProvider.fetchClaims(anyString())).thenReturn(Map.of("degree", "Bachelor of Science"));
+        stubStatusReservation();
+        when(signingService.signCredential(anyString(), eq(type), anyMap(), any(UUID.class)))
+                .thenReturn("header.payload.signature");
+
+        List<IssuanceRequest> requests = List.of(
+                new IssuanceRequest("hash-1", type),
+                new IssuanceRequest("hash-2", "NON_EXISTENT_TYPE"),
+                new IssuanceRequest("hash-3", type));
+
+        // Act
+        List<IssuanceResult> results = issuanceService.issueCredentials(requests);
+
+        // Assert: order preserved, failure reported inline
+        assertThat(results).extracting(IssuanceResult::rootIdentityHash)
+                .containsExactly("hash-1", "hash-2", "hash-3");
+        assertThat(results.get(0).isIssued()).isTrue();
+        assertThat(results.get(1).isIssued()).isFalse();
+        assertThat(results.get(1).errorCode()).isEqualTo("ERR_UNSUPPORTED_TYPE");
+        assertThat(results.get(2).isIssued()).isTrue();
+
+        // Only the successful JTIs are registered with their reserved index, in one call
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<CredentialStatus>> statusCaptor = ArgumentCaptor.forClass(List.class);
+        verify(statusService).initializeStatuses(statusCaptor.capture());
+        assertThat(statusCaptor.getValue())
+                .containsExactly(results.get(0).credentialStatus(), results.get(2).credentialStatus());
+        assertThat(results.get(0).statusIndex()).isNotEqualTo(results.get(2).statusIndex());
+        assertThat(statusCaptor.getValue()).extracting(CredentialStatus::holderHash).containsExactly("hash-1", "hash-3");
+        verify(statusService, never()).initializeStatus(any(), any());
+    }
+
+    @Test
+    void issueCredentials_MerkleMode_ShouldSignSuccessfulEntriesTogether() {
+        // Arrange
+        ReflectionTestUtils.setField(issuanceService, "batchSigningMode", BatchSigningMode.MERKLE);
+        String type = TYPE;
+        when(mockProvider.fetchClaims(anyString())).thenReturn(Map.of("degree", "Bachelor of Science"));
+        stubStatusReservation();
+        when(signingService.signCredentialBatch(anyList())).thenReturn(List.of("root~leaf-1~proof-1", "root~leaf-3~proof-3"));
+
+        List<IssuanceRequest> requests = List.of(
+                new IssuanceRequest("hash-1", type),
+                new IssuanceRequest("hash-2", "NON_EXISTENT_TYPE"),
+                new IssuanceRequest("hash-3", type));
+
+        // Act
+        List<IssuanceResult> results = issuanceService.issueCredentials(requests);
+
+        // Assert: one signing call for the whole batch, tokens matched back in order
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<CredentialPayload>> payloadsCaptor = ArgumentCaptor.forClass(List.class);
+        verify(signingService).signCredentialBatch(payloadsCaptor.capture());
+        verify(signingService, never()).signCredential(anyString(), anyString(), anyMap(), any());
+        assertThat(payloadsCaptor.getValue()).extracting(CredentialPayload::subjectId).containsExactly("hash-1", "hash-3");
+        assertThat(payloadsCaptor.getValue().get(0).claims()).containsEntry(CredentialStatus.CLAIM, STATUS_CLAIM);
+
+        assertThat(results).extracting(IssuanceResult::credential)
+                .containsExactly("root~leaf-1~proof-1", null, "root~leaf-3~proof-3");
+        assertThat(results.get(1).errorCode()).isEqualTo("ERR_UNSUPPORTED_TYPE");
+        assertThat(results.get(0).credentialId()).isEqualTo(payloadsCaptor.getValue().get(0).jti());
+        verify(statusService).initializeStatuses(List.of(results.get(0).credentialStatus(), results.get(2).credentialStatus()));
+    }
+
+    @Test
+    void issueCredentials_OversizedBatch_ShouldBeRejected() {
+        List<IssuanceRequest> requests = Collections.nCopies(101, new IssuanceRequest("hash", "UNIVERSITY_DIPLOMA"));
+
+        assertThatThrownBy(() -> issuanceService.issueCredentials(requests))
+                .isInstanceOf(DigitalWalletException.class)
+                .hasFieldOrPropertyWithValue("errorCode", "ERR_INVALID_BATCH_SIZE");
+
+        verifyNoInteractions(signingService, statusService);
+    }
+
+    private void stubStatusReservation() {
+        AtomicLong nextIndex = new AtomicLong();
+        when(statusService.reserveStatus(any(UUID.class), anyString()))
+                .thenAnswer(invocation -> new CredentialStatus(invocation.getArgument(0), nextIndex.getAndIncrement(), invocation.getArgument(1)));
+        when(statusService.credentialStatusClaim(any())).thenReturn(STATUS_CLAIM);
+    }
 }
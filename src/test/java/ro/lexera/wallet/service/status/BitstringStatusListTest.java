@@ -0,0 +1,89 @@
+package ro.lexera.wallet.service.status;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BitstringStatusListTest {
+
+    @Test
+    void shouldEncodeMostSignificantBitFirst() throws IOException {
+        // Arrange
+        BitstringStatusList list = new BitstringStatusList();
+
+        // Act
+        list.set(0);
+        list.set(9);
+
+        // Assert
+        byte[] bits = gunzip(list.toGzip());
+        assertThat(bits).hasSize(BitstringStatusList.CHUNK_BYTES);
+        assertThat(bits[0]).isEqualTo((byte) 0x80);
+        assertThat(bits[1]).isEqualTo((byte) 0x40);
+        assertThat(list.get(9)).isTrue();
+        assertThat(list.get(10)).isFalse();
+    }
+
+    @Test
+    void shouldStayDecodableAcrossIncrementalUpdates() throws IOException {
+        // Arrange: a multi-chunk list encoded once
+        BitstringStatusList list = new BitstringStatusList();
+        list.ensureCapacity(5L * BitstringStatusList.CHUNK_BYTES * Byte.SIZE);
+        list.set(3);
+        list.toGzip();
+
+        // Act: flip bits in a middle and the last chunk, then re-encode
+        long middle = 2L * BitstringStatusList.CHUNK_BYTES * Byte.SIZE + 17;
+        long last = list.size() - 1;
+        list.set(middle);
+        list.set(last);
+        byte[] bits = gunzip(list.toGzip());
+
+        // Assert: the output equals the raw bitstring, i.e. untouched segments were reused correctly
+        assertThat(bits).hasSize(5 * BitstringStatusList.CHUNK_BYTES);
+        assertThat(bitAt(bits, 3)).isTrue();
+        assertThat(bitAt(bits, middle)).isTrue();
+        assertThat(bitAt(bits, last)).isTrue();
+        assertThat(cardinality(bits)).isEqualTo(3);
+    }
+
+    @Test
+    void shouldGrowWhenSettingBeyondCapacityAndTrackVersions() {
+        // Arrange
+        BitstringStatusList list = new BitstringStatusList();
+        long version = list.version();
+
+        // Act
+        boolean flipped = list.set(200_000);
+        boolean flippedAgain = list.set(200_000);
+
+        // Assert
+        assertThat(flipped).isTrue();
+        assertThat(flippedAgain).isFalse();
+        assertThat(list.size()).isEqualTo(2L * BitstringStatusList.CHUNK_BYTES * Byte.SIZE);
+        assertThat(list.version()).isGreaterThan(version);
+    }
+
+    private static byte[] gunzip(byte[] gzip) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzip))) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static boolean bitAt(byte[] bits, long index) {
+        return (bits[(int) (index >>> 3)] & (0x80 >>> (int) (index & 7))) != 0;
+    }
+
+    private static int cardinality(byte[] bits) {
+        int count = 0;
+        for (byte b : bits) {
+            count += Integer.bitCount(b & 0xff);
+        }
+        return count;
+    }
+
+}
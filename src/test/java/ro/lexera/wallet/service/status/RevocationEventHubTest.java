@@ -0,0 +1,197 @@
+package ro.lexera.wallet.service.status;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ro.lexera.wallet.exception.DigitalWalletException;
+import ro.lexera.wallet.repository.StatusRegistryRepository;
+import ro.lexera.wallet.repository.StatusRegistryRepositoryCustom.StatusChange;
+import ro.lexera.wallet.service.crypto.SigningService;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RevocationEventHubTest {
+
+    @Mock
+    private StatusRegistryRepository repository;
+
+    @Mock
+    private SigningService signingService;
+
+    @Test
+    void shouldPushSignedBatchOfNewRevocations() throws Exception {
+        // Arrange
+        RevocationEventHub hub = hub(16, 16);
+        UUID valid = UUID.randomUUID();
+        UUID revoked = UUID.randomUUID();
+        when(signingService.signStatusProof(eq(RevocationEventHub.SUBJECT), anyMap())).thenReturn("signed-event");
+        RecordingSink sink = new RecordingSink();
+        hub.subscribe(null, sink);
+
+        // Act
+        pollChanges(hub, new StatusChange(valid, false, 0L, 10), new StatusChange(revoked, true, 1L, 11));
+
+        // Assert
+        RevocationEvent event = sink.events.poll(5, TimeUnit.SECONDS);
+        assertThat(event).isEqualTo(new RevocationEvent("11:" + revoked, RevocationEvent.REVOCATIONS, "signed-event"));
+        Map<String, Object> claims = new LinkedHashMap<>();
+        claims.put("cursor", null);
+        claims.put("nextCursor", "11:" + revoked);
+        claims.put("revoked", List.of(Map.of("credentialId", revoked.toString(), "statusIndex", 1L)));
+        verify(signingService).signStatusProof(RevocationEventHub.SUBJECT, claims);
+    }
+
+    @Test
+    void shouldReplayMissedEventsFromLastEventId() throws Exception {
+        // Arrange
+        RevocationEventHub hub = hub(16, 16);
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        when(signingService.signStatusProof(eq(RevocationEventHub.SUBJECT), anyMap())).thenReturn("first", "second");
+        pollChanges(hub, new StatusChange(first, true, 1L, 10));
+        pollChanges(hub, new StatusChange(second, true, 2L, 12));
+        RecordingSink sink = new RecordingSink();
+
+        // Act
+        hub.subscribe("10:" + first, sink);
+
+        // Assert
+        assertThat(sink.events.poll(5, TimeUnit.SECONDS))
+                .isEqualTo(new RevocationEvent("12:" + second, RevocationEvent.REVOCATIONS, "second"));
+    }
+
+    @Test
+    void shouldAskForResyncWhenHistoryNoLongerCoversLastEventId() throws Exception {
+        // Arrange: only the latest event is kept
+        RevocationEventHub hub = hub(1, 16);
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        when(signingService.signStatusProof(eq(RevocationEventHub.SUBJECT), anyMap())).thenReturn("first", "second");
+        pollChanges(hub, new StatusChange(first, true, 1L, 10));
+        pollChanges(hub, new StatusChange(second, true, 2L, 12));
+        RecordingSink sink = new RecordingSink();
+
+        // Act
+        hub.subscribe("5:" + UUID.randomUUID(), sink);
+
+        // Assert
+        assertThat(sink.events.poll(5, TimeUnit.SECONDS))
+                .isEqualTo(new RevocationEvent("12:" + second, RevocationEvent.RESYNC, ""));
+    }
+
+    @Test
+    void shouldDisconnectSubscriberWhoseBufferIsFull() throws Exception {
+        // Arrange: a subscriber stuck on its first event, with room for one more
+        RevocationEventHub hub = hub(16, 1);
+        when(signingService.signStatusProof(eq(RevocationEventHub.SUBJECT), anyMap())).thenReturn("event");
+        BlockingSink sink = new BlockingSink();
+        hub.subscribe(null, sink);
+        pollChanges(hub, new StatusChange(UUID.randomUUID(), true, 1L, 10));
+        assertThat(sink.sending.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // Act
+        pollChanges(hub, new StatusChange(UUID.randomUUID(), true, 2L, 11));
+        pollChanges(hub, new StatusChange(UUID.randomUUID(), true, 3L, 12));
+
+        // Assert
+        assertThat(sink.completed.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void shouldRejectMalformedLastEventId() {
+        // Arrange
+        RevocationEventHub hub = hub(16, 16);
+
+        // Act & Assert
+        DigitalWalletException ex = assertThrows(DigitalWalletException.class,
+                () -> hub.subscribe("not-a-cursor", new RecordingSink()));
+        assertThat(ex.getErrorCode()).isEqualTo("ERR_INVALID_CURSOR");
+    }
+
+    /**
+     * Creates a hub that has polled once, setting its starting point at the beginning of the feed.
+     */
+    private RevocationEventHub hub(int historySize, int bufferSize) {
+        RevocationEventHub hub = new RevocationEventHub(repository, signingService, Duration.ofSeconds(1),
+                Duration.ofMinutes(1), historySize, bufferSize, 100, new SimpleMeterRegistry());
+        when(repository.findLastChange()).thenReturn(Optional.empty());
+        hub.poll();
+        return hub;
+    }
+
+    private void pollChanges(RevocationEventHub hub, StatusChange... changes) {
+        doAnswer(invocation -> {
+            Consumer<StatusChange> consumer = invocation.getArgument(3);
+            List.of(changes).forEach(consumer);
+            return null;
+        }).when(repository).forEachChangeAfter(anyLong(), any(), anyInt(), any());
+        hub.poll();
+    }
+
+    private static final class RecordingSink implements RevocationEventSink {
+        private final BlockingQueue<RevocationEvent> events = new LinkedBlockingQueue<>();
+
+        @Override
+        public void send(RevocationEvent event) {
+            events.add(event);
+        }
+
+        @Override
+        public void heartbeat() {
+        }
+
+        @Override
+        public void complete() {
+        }
+    }
+
+    private static final class BlockingSink implements RevocationEventSink {
+        private final CountDownLatch sending = new CountDownLatch(1);
+        private final CountDownLatch completed = new CountDownLatch(1);
+
+        @Override
+        public void send(RevocationEvent event) throws IOException {
+            sending.countDown();
+            try {
+                new CountDownLatch(1).await();
+            } catch (InterruptedException ex) {
+                throw new IOException("interrupted", ex);
+            }
+        }
+
+        @Override
+        public void heartbeat() {
+        }
+
+        @Override
+        public void complete() {
+            completed.countDown();
+        }
+    }
+
+}
@@ -0,0 +1,141 @@
+package ro.lexera.wallet.service.status;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ro.lexera.wallet.repository.StatusRegistryRepository;
+import ro.lexera.wallet.repository.StatusRegistryRepositoryCustom.StatusRowHandler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class RevocationIndexTest {
+
+    @Mock
+    private StatusRegistryRepository repository;
+
+    @Mock
+    private RevocationStatusList statusList;
+
+    @Mock
+    private StatusProofCache proofCache;
+
+    private RevocationIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new RevocationIndex(repository, statusList, proofCache, Duration.ofSeconds(30), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void shouldLoadRegistryOnStartup() {
+        // Arrange
+        UUID valid = UUID.randomUUID();
+        UUID revoked = UUID.randomUUID();
+        UUID legacy = UUID.randomUUID();
+        doAnswer(invocation -> {
+            StatusRowHandler handler = invocation.getArgument(1);
+            handler.accept(valid, false, 0L);
+            handler.accept(revoked, true, 1L);
+            handler.accept(legacy, false, null);
+            return null;
+        }).when(repository).forEachStatus(isNull(), any());
+
+        // Act
+        index.load();
+
+        // Assert
+        assertThat(index.isKnown(valid)).isTrue();
+        assertThat(index.isKnown(legacy)).isTrue();
+        assertThat(index.isRevoked(valid)).isFalse();
+        assertThat(index.isRevoked(revoked)).isTrue();
+        assertThat(index.isKnown(UUID.randomUUID())).isFalse();
+        verify(statusList).markRevoked(1L);
+        verify(statusList, never()).markRevoked(0L);
+    }
+
+    @Test
+    void shouldForgetPurgedIdsOnReload() {
+        // Arrange
+        UUID purged = UUID.randomUUID();
+        UUID kept = UUID.randomUUID();
+        doAnswer(invocation -> {
+            StatusRowHandler handler = invocation.getArgument(1);
+            handler.accept(purged, true, 0L);
+            handler.accept(kept, false, 1L);
+            return null;
+        }).doAnswer(invocation -> {
+            StatusRowHandler handler = invocation.getArgument(1);
+            handler.accept(kept, false, 1L);
+            return null;
+        }).when(repository).forEachStatus(isNull(), any());
+        index.load();
+
+        // Act
+        index.load();
+
+        // Assert: the reload also catches up with changes committed during the scan
+        assertThat(index.isKnown(purged)).isFalse();
+        assertThat(index.isRevoked(purged)).isFalse();
+        assertThat(index.isKnown(kept)).isTrue();
+        verify(repository).forEachStatus(any(Instant.class), any());
+    }
+
+    @Test
+    void shouldRefreshFromWatermarkMinusOverlap() {
+        // Arrange
+        Instant beforeLoad = Instant.now();
+        index.load();
+        UUID revokedElsewhere = UUID.randomUUID();
+        doAnswer(invocation -> {
+            StatusRowHandler handler = invocation.getArgument(1);
+            handler.accept(revokedElsewhere, true, 5L);
+            return null;
+        }).when(repository).forEachStatus(any(Instant.class), any());
+
+        // Act
+        index.refresh();
+
+        // Assert
+        ArgumentCaptor<Instant> since = ArgumentCaptor.forClass(Instant.class);
+        verify(repository, times(2)).forEachStatus(since.capture(), any());
+        assertThat(since.getAllValues().get(1)).isBetween(beforeLoad.minusSeconds(30), beforeLoad.minusSeconds(29));
+        assertThat(index.isRevoked(revokedElsewhere)).isTrue();
+        verify(statusList).cover(5L);
+        verify(statusList).markRevoked(5L);
+        verify(proofCache).evict(revokedElsewhere);
+    }
+
+    @Test
+    void shouldTrackLocalRegistrationsAndRevocations() {
+        // Arrange
+        UUID issued = UUID.randomUUID();
+        UUID revoked = UUID.randomUUID();
+
+        // Act
+        index.onRegistered(List.of(issued, revoked));
+        index.onRevoked(revoked);
+
+        // Assert
+        assertThat(index.isKnown(issued)).isTrue();
+        assertThat(index.isRevoked(issued)).isFalse();
+        assertThat(index.isRevoked(revoked)).isTrue();
+        assertThat(index.memoryFootprintBytes()).isEqualTo(2 * 1024 * 16L);
+    }
+
+}
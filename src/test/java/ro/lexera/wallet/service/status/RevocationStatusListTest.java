@@ -0,0 +1,129 @@
+package ro.lexera.wallet.service.status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ro.lexera.wallet.repository.StatusRegistryRepository;
+import ro.lexera.wallet.service.crypto.SigningService;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Base64;
+import java.util.Map;
+import java.util.function.LongConsumer;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RevocationStatusListTest {
+
+    private static final String URI = "https://issuer.lexera.ro/api/v1/status-lists/revocation";
+
+    @Mock
+    private StatusRegistryRepository repository;
+
+    @Mock
+    private SigningService signingService;
+
+    private RevocationStatusList statusList;
+
+    @BeforeEach
+    void setUp() {
+        statusList = new RevocationStatusList(repository, signingService, URI, 10);
+    }
+
+    @Test
+    void shouldLoadRevokedIndexesOnStartup() {
+        // Arrange
+        when(repository.maxStatusIndex()).thenReturn(41L);
+        doAnswer(invocation -> {
+            LongConsumer consumer = invocation.getArgument(0);
+            consumer.accept(7);
+            consumer.accept(41);
+            return null;
+        }).when(repository).forEachRevokedStatusIndex(any());
+
+        // Act
+        statusList.load();
+
+        // Assert
+        assertThat(statusList.isRevoked(7)).isTrue();
+        assertThat(statusList.isRevoked(41)).isTrue();
+        assertThat(statusList.isRevoked(8)).isFalse();
+    }
+
+    @Test
+    void shouldHandOutIndexesFromReservedBlocks() {
+        // Arrange: blocks 3 and 8 of 10 indexes each
+        when(repository.nextStatusIndexBlock()).thenReturn(3L, 8L);
+
+        // Act
+        long first = statusList.reserveIndex();
+        for (int i = 1; i < 10; i++) {
+            statusList.reserveIndex();
+        }
+        long eleventh = statusList.reserveIndex();
+
+        // Assert: one sequence call per block
+        assertThat(first).isEqualTo(30);
+        assertThat(eleventh).isEqualTo(80);
+        verify(repository, times(2)).nextStatusIndexBlock();
+    }
+
+    @Test
+    void shouldPublishGzippedListAndResignOnlyAfterChanges() throws IOException {
+        // Arrange
+        when(signingService.signStatusProof(eq(URI), anyMap())).thenReturn("list-v1", "list-v2");
+        statusList.markRevoked(12);
+
+        // Act
+        StatusListToken first = statusList.current();
+        StatusListToken cached = statusList.current();
+        statusList.markRevoked(13);
+        StatusListToken updated = statusList.current();
+
+        // Assert
+        assertThat(cached).isSameAs(first);
+        assertThat(updated.jwt()).isEqualTo("list-v2");
+        assertThat(updated.eTag()).isNotEqualTo(first.eTag());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<String, Object>> claims = ArgumentCaptor.forClass(Map.class);
+        verify(signingService, times(2)).signStatusProof(eq(URI), claims.capture());
+        String encodedList = (String) claims.getValue().get("encodedList");
+        assertThat(encodedList).startsWith("u");
+        byte[] bits = gunzip(Base64.getUrlDecoder().decode(encodedList.substring(1)));
+        assertThat(bits[1]).isEqualTo((byte) 0b0000_1100); // bits 12 and 13
+    }
+
+    @Test
+    void shouldBuildCredentialStatusClaim() {
+        // Act
+        Map<String, Object> claim = statusList.toClaim(94567);
+
+        // Assert
+        assertThat(claim)
+                .containsEntry("type", "BitstringStatusListEntry")
+                .containsEntry("statusPurpose", "revocation")
+                .containsEntry("statusListIndex", "94567")
+                .containsEntry("statusListCredential", URI);
+    }
+
+    private static byte[] gunzip(byte[] gzip) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzip))) {
+            return in.readAllBytes();
+        }
+    }
+
+}
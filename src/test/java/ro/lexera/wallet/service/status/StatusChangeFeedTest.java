@@ -0,0 +1,149 @@
+package ro.lexera.wallet.service.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.assertj.core.api.InstanceOfAssertFactories;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ro.lexera.wallet.config.JacksonConfig;
+import ro.lexera.wallet.exception.DigitalWalletException;
+import ro.lexera.wallet.repository.StatusRegistryRepository;
+import ro.lexera.wallet.repository.StatusRegistryRepositoryCustom.StatusChange;
+import ro.lexera.wallet.service.crypto.SigningService;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class StatusChangeFeedTest {
+
+    private static final UUID FIRST = UUID.fromString("00000000-0000-4000-8000-000000000001");
+    private static final UUID SECOND = UUID.fromString("00000000-0000-4000-8000-000000000002");
+
+    @Mock
+    private StatusRegistryRepository repository;
+
+    @Mock
+    private SigningService signingService;
+
+    private final ObjectMapper objectMapper = new JacksonConfig().objectMapper();
+
+    private StatusChangeFeed feed;
+
+    @BeforeEach
+    void setUp() {
+        feed = new StatusChangeFeed(repository, signingService, objectMapper, 100);
+    }
+
+    @Test
+    void shouldSignPageOfChangesFromTheBeginning() {
+        // Arrange
+        stubChanges(new StatusChange(FIRST, false, 0L, 10), new StatusChange(SECOND, true, 1L, 12));
+        when(signingService.signStatusProof(eq(StatusChangeFeed.SUBJECT), anyMap())).thenReturn("signed-page");
+
+        // Act
+        String page = feed.page(null, 2);
+
+        // Assert
+        assertThat(page).isEqualTo("signed-page");
+        verify(repository).forEachChangeAfter(eq(-1L), eq(new UUID(0, 0)), eq(2), any());
+        Map<String, Object> claims = signedClaims();
+        assertThat(claims).containsEntry("nextCursor", "12:" + SECOND).containsEntry("hasMore", true);
+        assertThat(claims.get("cursor")).isNull();
+        assertThat(claims.get("changes")).asInstanceOf(InstanceOfAssertFactories.LIST).containsExactly(
+                Map.of("credentialId", FIRST.toString(), "status", "VALID", "statusIndex", 0L),
+                Map.of("credentialId", SECOND.toString(), "status", "REVOKED", "statusIndex", 1L));
+    }
+
+    @Test
+    void shouldResumeAfterCursorAndKeepItWhenNothingChanged() {
+        // Arrange
+        when(signingService.signStatusProof(eq(StatusChangeFeed.SUBJECT), anyMap())).thenReturn("signed-page");
+
+        // Act
+        feed.page("12:" + SECOND, 50);
+
+        // Assert
+        verify(repository).forEachChangeAfter(eq(12L), eq(SECOND), eq(50), any());
+        assertThat(signedClaims())
+                .containsEntry("cursor", "12:" + SECOND)
+                .containsEntry("nextCursor", "12:" + SECOND)
+                .containsEntry("hasMore", false);
+    }
+
+    @Test
+    void shouldStreamNdjsonWithSignedDigestTrailer() throws Exception {
+        // Arrange
+        stubChanges(new StatusChange(FIRST, false, null, 10), new StatusChange(SECOND, true, 1L, 12));
+        when(signingService.signStatusProof(eq(StatusChangeFeed.SUBJECT), anyMap())).thenReturn("signed-trailer");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        feed.stream(null, 100).writeTo(out);
+
+        // Assert
+        String body = out.toString(StandardCharsets.UTF_8);
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(3);
+        assertThat(objectMapper.readValue(lines[0], Map.class)).isEqualTo(Map.of("credentialId", FIRST.toString(), "status", "VALID"));
+        assertThat(objectMapper.readValue(lines[2], Map.class)).isEqualTo(Map.of("trailer", "signed-trailer"));
+
+        byte[] changes = body.substring(0, body.indexOf(lines[2])).getBytes(StandardCharsets.UTF_8);
+        String digest = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(MessageDigest.getInstance("SHA-256").digest(changes));
+        assertThat(signedClaims())
+                .containsEntry("count", 2)
+                .containsEntry("digest", digest)
+                .containsEntry("nextCursor", "12:" + SECOND)
+                .containsEntry("hasMore", false);
+    }
+
+    @Test
+    void shouldRejectMalformedCursorOrLimitBeforeReading() {
+        assertThatThrownBy(() -> feed.page("not-a-cursor", 10))
+                .isInstanceOf(DigitalWalletException.class)
+                .hasFieldOrPropertyWithValue("errorCode", "ERR_INVALID_CURSOR");
+        assertThatThrownBy(() -> feed.stream(null, 101))
+                .isInstanceOf(DigitalWalletException.class)
+                .hasFieldOrPropertyWithValue("errorCode", "ERR_INVALID_LIMIT");
+
+        verifyNoInteractions(repository, signingService);
+    }
+
+    private void stubChanges(StatusChange... changes) {
+        doAnswer(invocation -> {
+            Consumer<StatusChange> consumer = invocation.getArgument(3);
+            List.of(changes).forEach(consumer);
+            return null;
+        }).when(repository).forEachChangeAfter(anyLong(), any(), anyInt(), any());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> signedClaims() {
+        ArgumentCaptor<Map<String, Object>> claims = ArgumentCaptor.forClass(Map.class);
+        verify(signingService).signStatusProof(eq(StatusChangeFeed.SUBJECT), claims.capture());
+        return claims.getValue();
+    }
+
+}
@@ -0,0 +1,123 @@
+package ro.lexera.wallet.service.status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ro.lexera.wallet.repository.StatusRegistryPartitionRepository;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class StatusRetentionTest {
+
+    // Credentials live one day; with a 7-day grace, a day is purged 8 days after it ends
+    private static final LocalDate TODAY = LocalDate.of(2026, 10, 18);
+    private static final LocalDate EXPIRED_DAY = TODAY.minusDays(9);
+    private static final LocalDate LIVE_DAY = TODAY.minusDays(8);
+
+    @Mock
+    private StatusRegistryPartitionRepository partitions;
+
+    @Mock
+    private RevocationIndex revocationIndex;
+
+    private StatusRetention retention;
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(TODAY.atTime(12, 0).toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+        retention = new StatusRetention(partitions, revocationIndex, Duration.ofDays(7), clock);
+    }
+
+    @Test
+    void shouldCreatePartitionsAheadOnStartup() {
+        // Arrange
+        when(partitions.isPartitioned()).thenReturn(true);
+
+        // Act
+        retention.init();
+
+        // Assert
+        verify(partitions).createPartitionsThrough(TODAY, TODAY.plusDays(3));
+    }
+
+    @Test
+    void shouldLeaveUnpartitionedTableAlone() {
+        // Arrange
+        when(partitions.isPartitioned()).thenReturn(false);
+
+        // Act
+        retention.init();
+        retention.run();
+
+        // Assert
+        verify(partitions, never()).createPartitionsThrough(any(), any());
+        verify(partitions, never()).purge(any());
+    }
+
+    @Test
+    void shouldPurgeExpiredPartitions() {
+        // Arrange
+        when(partitions.isPartitioned()).thenReturn(true);
+        when(partitions.partitionDays()).thenReturn(List.of(EXPIRED_DAY, LIVE_DAY, TODAY));
+
+        // Act
+        retention.run();
+
+        // Assert
+        verify(partitions).purge(EXPIRED_DAY);
+        verify(partitions, never()).purge(LIVE_DAY);
+        verify(revocationIndex).load();
+    }
+
+    @Test
+    void shouldReloadTheIndexWhenALaterPurgeFails() {
+        // Arrange
+        when(partitions.isPartitioned()).thenReturn(true);
+        when(partitions.partitionDays()).thenReturn(List.of(EXPIRED_DAY.minusDays(1), EXPIRED_DAY, TODAY));
+        doNothing().doThrow(new IllegalStateException("Connection lost")).when(partitions).purge(any());
+
+        // Act & Assert
+        assertThatThrownBy(retention::run).isInstanceOf(IllegalStateException.class);
+        verify(partitions).purge(EXPIRED_DAY.minusDays(1));
+        verify(partitions).purge(EXPIRED_DAY);
+        verify(revocationIndex).load();
+    }
+
+    @Test
+    void shouldTellPurgedCredentialsFromTheirId() {
+        // Act & Assert
+        assertThat(retention.isPurged(idIssuedOn(EXPIRED_DAY))).isTrue();
+        assertThat(retention.isPurged(idIssuedOn(LIVE_DAY))).isFalse();
+        assertThat(retention.isPurged(UUID.randomUUID())).isFalse(); // undated, never purged
+    }
+
+    @Test
+    void shouldTellPostdatedCredentialsFromTheirId() {
+        // Act & Assert
+        assertThat(retention.isPostdated(idIssuedOn(TODAY.plusDays(3)))).isFalse();
+        assertThat(retention.isPostdated(idIssuedOn(TODAY.plusDays(4)))).isTrue();
+        assertThat(retention.isPostdated(UUID.randomUUID())).isFalse();
+    }
+
+    private static UUID idIssuedOn(LocalDate day) {
+        long millis = day.atTime(23, 59).toInstant(ZoneOffset.UTC).toEpochMilli();
+        return new UUID(millis << 16 | 0x7000L, 0x8000_0000_0000_0000L | 42);
+    }
+
+}
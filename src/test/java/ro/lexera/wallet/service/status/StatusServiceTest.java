@@ -1,23 +1,38 @@
 package ro.lexera.wallet.service.status;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
 import ro.lexera.wallet.exception.DigitalWalletException;
+import ro.lexera.wallet.model.entity.RevocationReason;
 import ro.lexera.wallet.model.entity.StatusRegistryEntity;
+import ro.lexera.wallet.model.entity.StatusRegistryKey;
 import ro.lexera.wallet.repository.StatusRegistryRepository;
+import ro.lexera.wallet.repository.StatusRegistryRepositoryCustom.RevokedStatus;
 import ro.lexera.wallet.service.crypto.SigningService;
 
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
-import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -33,6 +48,25 @@ class StatusServiceTest {
     @Mock
     private SigningService signingService;
 
+    @Spy
+    private StatusProofCache proofCache = new StatusProofCache(100, 0.5, new SimpleMeterRegistry());
+
+    @Mock
+    private RevocationStatusList statusList;
+
+    @Spy
+    private RevocationIndex revocationIndex = new RevocationIndex(mock(StatusRegistryRepository.class),
+            mock(RevocationStatusList.class), proofCache, Duration.ofSeconds(30), new SimpleMeterRegistry());
+
+    @Mock
+    private StatusRetention statusRetention;
+
+    @Mock
+    private StatusWriteBehindLog writeBehindLog;
+
+    @Mock
+    private RevocationEventHub revocationEventHub;
+
     @Test
     void shouldReturnSignedProofWhenValid() {
         // Arrange
@@ -42,7 +76,7 @@ class StatusServiceTest {
                 .isRevoked(false)
                 .build();
 
-        when(repository.findById(id)).thenReturn(Optional.of(validEntity));
+        when(repository.findById(StatusRegistryKey.of(id))).thenReturn(Optional.of(validEntity));
         when(signingService.signStatusProof(anyString(), anyMap())).thenReturn("mocked-jwt-proof");
 
         // Act
@@ -53,22 +87,243 @@ class StatusServiceTest {
         verify(signingService).signStatusProof(eq(id.toString()), anyMap());
     }
 
+    @Test
+    void shouldServeRepeatedProofRequestsFromCache() {
+        // Arrange
+        UUID id = UUID.randomUUID();
+        StatusRegistryEntity validEntity = StatusRegistryEntity.builder()
+                .credentialId(id)
+                .isRevoked(false)
+                .build();
+
+        when(repository.findById(StatusRegistryKey.of(id))).thenReturn(Optional.of(validEntity));
+        when(signingService.signStatusProof(anyString(), anyMap())).thenReturn("mocked-jwt-proof");
+
+        // Act
+        String first = statusService.getSignedStatusProof(id);
+        String second = statusService.getSignedStatusProof(id);
+
+        // Assert: one DB read and one signature for both calls
+        assertThat(second).isEqualTo(first);
+        verify(repository, times(1)).findById(StatusRegistryKey.of(id));
+        verify(signingService, times(1)).signStatusProof(anyString(), anyMap());
+    }
+
+    @Test
+    void shouldEvictCachedProofOnRevocation() {
+        // Arrange: a VALID proof is cached
+        UUID id = UUID.randomUUID();
+        StatusRegistryEntity entity = StatusRegistryEntity.builder()
+                .credentialId(id)
+                .isRevoked(false)
+                .build();
+
+        when(repository.findById(StatusRegistryKey.of(id))).thenReturn(Optional.of(entity));
+        when(signingService.signStatusProof(anyString(), anyMap())).thenReturn("mocked-jwt-proof");
+        statusService.getSignedStatusProof(id);
+
+        // Act
+        statusService.revokeCredential(id, RevocationReason.KEY_COMPROMISE);
+
+        // Assert: the next lookup misses the cache and sees the revocation in the index
+        DigitalWalletException ex = assertThrows(DigitalWalletException.class,
+                () -> statusService.getSignedStatusProof(id));
+        assertThat(ex.getErrorCode()).isEqualTo("ERR_CREDENTIAL_REVOKED");
+        verify(proofCache).evict(id);
+    }
+
+    @Test
+    void shouldAnswerKnownCredentialWithoutRegistryLookup() {
+        // Arrange
+        UUID id = UUID.randomUUID();
+        revocationIndex.apply(id, false, 3L);
+        when(signingService.signStatusProof(anyString(), anyMap())).thenReturn("mocked-jwt-proof");
+
+        // Act
+        String result = statusService.getSignedStatusProof(id);
+
+        // Assert
+        assertThat(result).isEqualTo("mocked-jwt-proof");
+        verify(repository, never()).findById(any());
+    }
+
+    @Test
+    void shouldRejectIndexedRevocationWithoutRegistryLookup() {
+        // Arrange
+        UUID id = UUID.randomUUID();
+        revocationIndex.apply(id, true, 3L);
+
+        // Act & Assert
+        DigitalWalletException ex = assertThrows(DigitalWalletException.class,
+                () -> statusService.getSignedStatusProof(id));
+
+        assertThat(ex.getErrorCode()).isEqualTo("ERR_CREDENTIAL_REVOKED");
+        verify(repository, never()).findById(any());
+        verify(signingService, never()).signStatusProof(anyString(), anyMap());
+    }
+
+    @Test
+    void shouldReportUnknownCredentialAfterRegistryMiss() {
+        // Arrange
+        UUID id = UUID.randomUUID();
+        when(repository.findById(StatusRegistryKey.of(id))).thenReturn(Optional.empty());
+
+        // Act & Assert
+        DigitalWalletException ex = assertThrows(DigitalWalletException.class,
+                () -> statusService.getSignedStatusProof(id));
+
+        assertThat(ex.getErrorCode()).isEqualTo("CREDENTIAL_NOT_FOUND");
+        assertThat(revocationIndex.isKnown(id)).isFalse();
+    }
+
+    @Test
+    void shouldReportPurgedCredentialAsExpiredWithoutRegistryLookup() {
+        // Arrange
+        UUID id = UUID.randomUUID();
+        when(statusRetention.isPurged(id)).thenReturn(true);
+
+        // Act
+        DigitalWalletException ex = assertThrows(DigitalWalletException.class,
+                () -> statusService.getSignedStatusProof(id));
+
+        // Assert
+        assertThat(ex.getErrorCode()).isEqualTo("ERR_CREDENTIAL_EXPIRED");
+        assertThat(ex.getStatus()).isEqualTo(HttpStatus.GONE);
+        verify(repository, never()).findById(any());
+    }
+
+    @Test
+    void shouldAnswerPendingCredentialWithoutRegistryLookup() {
+        // Arrange
+        UUID id = UUID.randomUUID();
+        when(writeBehindLog.isPending(id)).thenReturn(true);
+        when(signingService.signStatusProof(anyString(), anyMap())).thenReturn("mocked-jwt-proof");
+
+        // Act
+        String result = statusService.getSignedStatusProof(id);
+
+        // Assert
+        assertThat(result).isEqualTo("mocked-jwt-proof");
+        verify(repository, never()).findById(any());
+    }
+
+    @Test
+    void shouldAppendToWriteBehindLogInsteadOfInserting() {
+        // Arrange
+        UUID id = UUID.randomUUID();
+        when(writeBehindLog.isEnabled()).thenReturn(true);
+        when(statusList.reserveIndex()).thenReturn(42L);
+
+        // Act
+        CredentialStatus status = statusService.initializeStatus(id, "holder-hash");
+
+        // Assert
+        assertThat(status).isEqualTo(new CredentialStatus(id, 42L, "holder-hash"));
+        verify(writeBehindLog).append(status);
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void shouldFlushPendingRegistrationBeforeRevoking() {
+        // Arrange
+        UUID id = UUID.randomUUID();
+        when(repository.findById(StatusRegistryKey.of(id))).thenReturn(Optional.empty());
+
+        // Act
+        statusService.revokeCredential(id, RevocationReason.KEY_COMPROMISE);
+
+        // Assert
+        var inOrder = inOrder(writeBehindLog, repository);
+        inOrder.verify(writeBehindLog).flushIfPending(List.of(id));
+        inOrder.verify(repository).findById(StatusRegistryKey.of(id));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldSignOneBatchProofWithSingleRegistryQuery() {
+        // Arrange
+        ReflectionTestUtils.setField(statusService, "maxProofBatchSize", 10);
+        UUID indexed = UUID.randomUUID();
+        UUID pending = UUID.randomUUID();
+        UUID revoked = UUID.randomUUID();
+        UUID unknown = UUID.randomUUID();
+        revocationIndex.apply(indexed, false, 0L);
+        when(writeBehindLog.isPending(any())).thenAnswer(invocation -> pending.equals(invocation.getArgument(0)));
+        when(repository.findAllById(List.of(StatusRegistryKey.of(revoked), StatusRegistryKey.of(unknown)))).thenReturn(List.of(
+                StatusRegistryEntity.builder().credentialId(revoked).statusIndex(3L).isRevoked(true).build()));
+        when(signingService.signStatusProof(eq(StatusService.BATCH_PROOF_SUBJECT), anyMap())).thenReturn("batch-proof");
+
+        // Act
+        String proof = statusService.getSignedStatusProofs(List.of(indexed, pending, revoked, unknown, indexed));
+
+        // Assert: one query for the IDs the index cannot answer, one signature for all
+        assertThat(proof).isEqualTo("batch-proof");
+        ArgumentCaptor<Map<String, Object>> claimsCaptor = ArgumentCaptor.forClass(Map.class);
+        verify(signingService, times(1)).signStatusProof(eq(StatusService.BATCH_PROOF_SUBJECT), claimsCaptor.capture());
+        assertThat((List<Map<String, Object>>) claimsCaptor.getValue().get("statuses")).containsExactly(
+                Map.of("credentialId", indexed.toString(), "status", ProofStatus.VALID),
+                Map.of("credentialId", pending.toString(), "status", ProofStatus.VALID),
+                Map.of("credentialId", revoked.toString(), "status", ProofStatus.REVOKED),
+                Map.of("credentialId", unknown.toString(), "status", ProofStatus.UNKNOWN));
+    }
+
+    @Test
+    void shouldRejectOversizedProofBatch() {
+        // Arrange
+        ReflectionTestUtils.setField(statusService, "maxProofBatchSize", 2);
+        List<UUID> ids = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+
+        // Act & Assert
+        DigitalWalletException ex = assertThrows(DigitalWalletException.class,
+                () -> statusService.getSignedStatusProofs(ids));
+
+        assertThat(ex.getErrorCode()).isEqualTo("ERR_INVALID_BATCH_SIZE");
+        verify(repository, never()).findAllById(any());
+    }
+
     @Test
     void shouldInitializeStatusAsValid() {
         // Arrange
         UUID credentialId = UUID.randomUUID();
         ArgumentCaptor<StatusRegistryEntity> captor = ArgumentCaptor.forClass(StatusRegistryEntity.class);
+        when(statusList.reserveIndex()).thenReturn(42L);
 
         // Act
-        statusService.initializeStatus(credentialId);
+        CredentialStatus status = statusService.initializeStatus(credentialId, "holder-hash");
 
         // Assert
         verify(repository).save(captor.capture());
         StatusRegistryEntity saved = captor.getValue();
 
         assertThat(saved.getCredentialId()).isEqualTo(credentialId);
+        assertThat(saved.getStatusIndex()).isEqualTo(42L);
+        assertThat(saved.getHolderHash()).isEqualTo("holder-hash");
         assertThat(saved.isRevoked()).isFalse();
         assertThat(saved.getUpdatedAt()).isNotNull();
+        assertThat(status).isEqualTo(new CredentialStatus(credentialId, 42, "holder-hash"));
+        assertThat(revocationIndex.isKnown(credentialId)).isTrue();
+    }
+
+    @Test
+    void shouldInitializeBatchWithSingleBulkInsert() {
+        // Arrange
+        List<CredentialStatus> statuses = List.of(
+                new CredentialStatus(UUID.randomUUID(), 1, "holder-1"),
+                new CredentialStatus(UUID.randomUUID(), 2, "holder-2"));
+
+        // Act
+        statusService.initializeStatuses(statuses);
+
+        // Assert
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<StatusRegistryEntity>> captor = ArgumentCaptor.forClass(List.class);
+        verify(repository).insertAll(captor.capture());
+        assertThat(captor.getValue())
+                .extracting(StatusRegistryEntity::getCredentialId, StatusRegistryEntity::getStatusIndex, StatusRegistryEntity::getHolderHash)
+                .containsExactly(
+                        tuple(statuses.get(0).credentialId(), 1L, "holder-1"),
+                        tuple(statuses.get(1).credentialId(), 2L, "holder-2"));
+        assertThat(statuses).allMatch(status -> revocationIndex.isKnown(status.credentialId()));
     }
 
     @Test
@@ -77,18 +332,141 @@ class StatusServiceTest {
         UUID id = UUID.randomUUID();
         StatusRegistryEntity existing = StatusRegistryEntity.builder()
                 .credentialId(id)
+                .statusIndex(7L)
                 .isRevoked(false)
                 .build();
 
-        when(repository.findById(id)).thenReturn(Optional.of(existing));
+        when(repository.findById(StatusRegistryKey.of(id))).thenReturn(Optional.of(existing));
 
         // Act
-        statusService.revokeCredential(id, "Security Breach");
+        statusService.revokeCredential(id, RevocationReason.KEY_COMPROMISE);
 
         // Assert
         verify(repository).save(existing);
+        verify(statusList).markRevoked(7L);
         assertThat(existing.isRevoked()).isTrue();
-        assertThat(existing.getRevocationReason()).isEqualTo("Security Breach");
+        assertThat(existing.getRevocationReason()).isEqualTo(RevocationReason.KEY_COMPROMISE);
+        assertThat(revocationIndex.isRevoked(id)).isTrue();
+        verify(revocationEventHub).onRevoked();
+    }
+
+    @Test
+    void shouldRevokeBatchWithSingleBulkUpsert() {
+        // Arrange
+        ReflectionTestUtils.setField(statusService, "maxRevocationBatchSize", 10);
+        UUID valid = UUID.randomUUID();
+        UUID alreadyRevoked = UUID.randomUUID();
+        UUID unknown = UUID.randomUUID();
+        when(repository.revokeAll(any(), eq(RevocationReason.SUPERSEDED))).thenReturn(List.of(
+                new RevokedStatus(valid, 7L, false),
+                new RevokedStatus(unknown, null, true)));
+
+        // Act
+        List<RevocationResult> results = statusService.revokeCredentials(
+                List.of(valid, alreadyRevoked, valid, unknown), RevocationReason.SUPERSEDED);
+
+        // Assert: duplicates collapsed, one outcome per ID in input order
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<UUID>> idsCaptor = ArgumentCaptor.forClass(Collection.class);
+        verify(repository).revokeAll(idsCaptor.capture(), eq(RevocationReason.SUPERSEDED));
+        assertThat(idsCaptor.getValue()).containsExactly(valid, alreadyRevoked, unknown);
+        assertThat(results).containsExactly(
+                new RevocationResult(valid, RevocationResult.Outcome.REVOKED),
+                new RevocationResult(alreadyRevoked, RevocationResult.Outcome.ALREADY_REVOKED),
+                new RevocationResult(unknown, RevocationResult.Outcome.UNKNOWN));
+        verify(statusList).markRevoked(List.of(7L));
+        verify(proofCache).evictAll(List.of(valid, unknown));
+        assertThat(revocationIndex.isRevoked(valid)).isTrue();
+        assertThat(revocationIndex.isRevoked(unknown)).isTrue();
+        verify(repository, never()).findById(any());
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void shouldSkipPurgedCredentialsOfRevocationBatch() {
+        // Arrange
+        ReflectionTestUtils.setField(statusService, "maxRevocationBatchSize", 10);
+        UUID purged = UUID.randomUUID();
+        UUID valid = UUID.randomUUID();
+        when(statusRetention.isPurged(purged)).thenReturn(true);
+        when(repository.revokeAll(List.of(valid), RevocationReason.SUPERSEDED)).thenReturn(List.of(
+                new RevokedStatus(valid, 7L, false)));
+
+        // Act
+        List<RevocationResult> results = statusService.revokeCredentials(List.of(purged, valid), RevocationReason.SUPERSEDED);
+
+        // Assert: its partition may be gone, so it is not written
+        assertThat(results).containsExactly(
+                new RevocationResult(purged, RevocationResult.Outcome.EXPIRED),
+                new RevocationResult(valid, RevocationResult.Outcome.REVOKED));
+    }
+
+    @Test
+    void shouldRejectPostdatedCredentialIds() {
+        // Arrange
+        ReflectionTestUtils.setField(statusService, "maxRevocationBatchSize", 10);
+        UUID postdated = UUID.randomUUID();
+        when(statusRetention.isPostdated(postdated)).thenReturn(true);
+
+        // Act & Assert
+        DigitalWalletException ex = assertThrows(DigitalWalletException.class,
+                () -> statusService.revokeCredentials(List.of(postdated), RevocationReason.SUPERSEDED));
+
+        assertThat(ex.getErrorCode()).isEqualTo("ERR_INVALID_CREDENTIAL_ID");
+        verify(repository, never()).revokeAll(any(), any());
+    }
+
+    @Test
+    void shouldRejectRevocationWithoutReason() {
+        // Arrange
+        ReflectionTestUtils.setField(statusService, "maxRevocationBatchSize", 10);
+        List<UUID> ids = List.of(UUID.randomUUID());
+
+        // Act & Assert
+        DigitalWalletException byIds = assertThrows(DigitalWalletException.class,
+                () -> statusService.revokeCredentials(ids, null));
+        DigitalWalletException byHolder = assertThrows(DigitalWalletException.class,
+                () -> statusService.revokeHolderCredentials("hash", null));
+
+        assertThat(byIds.getErrorCode()).isEqualTo("ERR_INVALID_REVOCATION_REQUEST");
+        assertThat(byHolder.getErrorCode()).isEqualTo("ERR_INVALID_REVOCATION_REQUEST");
+        assertThat(byHolder.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST);
+        verify(repository, never()).revokeAll(any(), any());
+        verify(repository, never()).revokeAllByHolderHash(any(), any());
+    }
+
+    @Test
+    void shouldRejectOversizedRevocationBatch() {
+        // Arrange
+        ReflectionTestUtils.setField(statusService, "maxRevocationBatchSize", 2);
+        List<UUID> ids = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+
+        // Act & Assert
+        DigitalWalletException ex = assertThrows(DigitalWalletException.class,
+                () -> statusService.revokeCredentials(ids, RevocationReason.SUPERSEDED));
+
+        assertThat(ex.getErrorCode()).isEqualTo("ERR_INVALID_BATCH_SIZE");
+        verify(repository, never()).revokeAll(any(), any());
+    }
+
+    @Test
+    void shouldRevokeEveryCredentialOfHolder() {
+        // Arrange
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        when(repository.revokeAllByHolderHash("holder-hash", RevocationReason.KEY_COMPROMISE)).thenReturn(List.of(
+                new RevokedStatus(first, 3L, false),
+                new RevokedStatus(second, 9L, false)));
+
+        // Act
+        List<RevocationResult> results = statusService.revokeHolderCredentials("holder-hash", RevocationReason.KEY_COMPROMISE);
+
+        // Assert
+        assertThat(results).extracting(RevocationResult::credentialId, RevocationResult::outcome).containsExactly(
+                tuple(first, RevocationResult.Outcome.REVOKED),
+                tuple(second, RevocationResult.Outcome.REVOKED));
+        verify(statusList).markRevoked(List.of(3L, 9L));
+        assertThat(revocationIndex.isRevoked(second)).isTrue();
     }
 
     @Test
@@ -100,7 +478,7 @@ class StatusServiceTest {
                 .isRevoked(true)
                 .build();
 
-        when(repository.findById(id)).thenReturn(Optional.of(revokedEntity));
+        when(repository.findById(StatusRegistryKey.of(id))).thenReturn(Optional.of(revokedEntity));
 
         // Act & Assert
         DigitalWalletException ex = assertThrows(DigitalWalletException.class,
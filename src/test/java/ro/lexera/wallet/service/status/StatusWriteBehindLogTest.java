@@ -0,0 +1,164 @@
+package ro.lexera.wallet.service.status;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import ro.lexera.wallet.model.entity.StatusRegistryEntity;
+import ro.lexera.wallet.model.entity.StatusRegistryKey;
+import ro.lexera.wallet.repository.StatusRegistryRepository;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class StatusWriteBehindLogTest {
+
+    @TempDir
+    private Path directory;
+
+    @Mock
+    private StatusRegistryRepository repository;
+
+    @Mock
+    private RevocationIndex revocationIndex;
+
+    @Mock
+    private RevocationStatusList statusList;
+
+    private final List<StatusWriteBehindLog> logs = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        for (StatusWriteBehindLog log : logs) {
+            log.stop();
+        }
+    }
+
+    @Test
+    void shouldKeepAppendedRegistrationPendingUntilFlushed() throws Exception {
+        // Arrange
+        StatusWriteBehindLog log = start(repository);
+        CredentialStatus status = new CredentialStatus(UUID.randomUUID(), 7L, "holder-hash");
+
+        // Act
+        log.append(status);
+        boolean pendingBeforeFlush = log.isPending(status.credentialId());
+        log.flush();
+
+        // Assert
+        assertThat(pendingBeforeFlush).isTrue();
+        assertThat(log.isPending(status.credentialId())).isFalse();
+        assertThat(inserted(repository))
+                .singleElement()
+                .satisfies(entity -> {
+                    assertThat(entity.getCredentialId()).isEqualTo(status.credentialId());
+                    assertThat(entity.getStatusIndex()).isEqualTo(7L);
+                    assertThat(entity.getHolderHash()).isEqualTo("holder-hash");
+                    assertThat(entity.getIssuedAt()).isEqualTo(StatusRegistryKey.issuedAtOf(status.credentialId()));
+                });
+        verify(revocationIndex).onRegistered(List.of(status.credentialId()));
+        assertThat(segments()).allMatch(segment -> segment.toFile().length() == 0);
+    }
+
+    @Test
+    void shouldReplayUnflushedSegmentsOnRestart() throws Exception {
+        // Arrange: the registry is down, so the flush fails and the segment stays on disk
+        StatusRegistryRepository unavailable = mock(StatusRegistryRepository.class);
+        doThrow(new IllegalStateException("connection refused")).when(unavailable).upsertAll(any());
+        StatusWriteBehindLog crashed = start(unavailable);
+        CredentialStatus status = new CredentialStatus(UUID.randomUUID(), 3L, "holder-hash");
+        crashed.append(status);
+        assertThatThrownBy(crashed::flush).isInstanceOf(IllegalStateException.class);
+        StatusRegistryEntity lost = inserted(unavailable).getFirst();
+
+        // Act
+        StatusWriteBehindLog restarted = start(repository);
+
+        // Assert: re-inserted with the same key, so a row that made it before the crash is skipped
+        assertThat(inserted(repository))
+                .singleElement()
+                .satisfies(entity -> {
+                    assertThat(entity.getCredentialId()).isEqualTo(status.credentialId());
+                    assertThat(entity.getIssuedAt()).isEqualTo(lost.getIssuedAt());
+                });
+        verify(statusList).cover(3L);
+        assertThat(restarted.isPending(status.credentialId())).isFalse();
+    }
+
+    @Test
+    void shouldIgnoreTornRecordOnReplay() throws Exception {
+        // Arrange: an acknowledged append, then a crash in the middle of the next one
+        StatusWriteBehindLog crashed = start(mock(StatusRegistryRepository.class));
+        CredentialStatus status = new CredentialStatus(UUID.randomUUID(), 3L, "holder-hash");
+        crashed.append(status);
+        Path segment = segments().getFirst();
+        Files.write(segment, new byte[]{0, 0, 0, 60, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        // Act
+        start(repository);
+
+        // Assert
+        assertThat(inserted(repository))
+                .singleElement()
+                .extracting(StatusRegistryEntity::getCredentialId)
+                .isEqualTo(status.credentialId());
+    }
+
+    @Test
+    void shouldDoNothingWhenDisabled() throws Exception {
+        // Arrange
+        StatusWriteBehindLog log = new StatusWriteBehindLog(false, directory, 100, repository, revocationIndex,
+                statusList, mock(PlatformTransactionManager.class), new SimpleMeterRegistry());
+
+        // Act
+        log.start();
+        log.flush();
+
+        // Assert
+        assertThat(log.isEnabled()).isFalse();
+        assertThat(segments()).isEmpty();
+        verify(repository, never()).upsertAll(any());
+    }
+
+    private StatusWriteBehindLog start(StatusRegistryRepository target) throws Exception {
+        StatusWriteBehindLog log = new StatusWriteBehindLog(true, directory, 100, target, revocationIndex,
+                statusList, mock(PlatformTransactionManager.class), new SimpleMeterRegistry());
+        log.start();
+        logs.add(log);
+        return log;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<StatusRegistryEntity> inserted(StatusRegistryRepository target) {
+        ArgumentCaptor<Collection<StatusRegistryEntity>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(target).upsertAll(captor.capture());
+        return List.copyOf(captor.getValue());
+    }
+
+    private List<Path> segments() throws Exception {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().toList();
+        }
+    }
+
+}
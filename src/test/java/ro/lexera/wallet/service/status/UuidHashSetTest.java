@@ -0,0 +1,79 @@
+package ro.lexera.wallet.service.status;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UuidHashSetTest {
+
+    @Test
+    void shouldContainAddedIdsOnly() {
+        // Arrange
+        UuidHashSet set = new UuidHashSet();
+        UUID member = UUID.randomUUID();
+
+        // Act
+        boolean added = set.add(member);
+        boolean addedAgain = set.add(member);
+
+        // Assert
+        assertThat(added).isTrue();
+        assertThat(addedAgain).isFalse();
+        assertThat(set.size()).isEqualTo(1);
+        assertThat(set.contains(member)).isTrue();
+        assertThat(set.contains(UUID.randomUUID())).isFalse();
+    }
+
+    @Test
+    void shouldHoldOneMillionIdsInThirtyTwoMebibytes() {
+        // Arrange
+        Random random = new Random(42);
+        List<UUID> ids = new ArrayList<>(1_000_000);
+        for (int i = 0; i < 1_000_000; i++) {
+            ids.add(new UUID(random.nextLong(), random.nextLong()));
+        }
+        UuidHashSet set = new UuidHashSet();
+
+        // Act
+        ids.forEach(set::add);
+
+        // Assert: 2^21 slots of 16 bytes
+        assertThat(set.size()).isEqualTo(1_000_000);
+        assertThat(set.memoryFootprintBytes()).isEqualTo(32L * 1024 * 1024);
+        assertThat(ids).allMatch(set::contains);
+        assertThat(random.ints(10_000).mapToObj(i -> new UUID(random.nextLong(), random.nextLong())))
+                .noneMatch(set::contains);
+    }
+
+    @Test
+    void shouldSpreadTimeOrderedIds() {
+        // Arrange: identical random bits, only the leading timestamp differs
+        UuidHashSet set = new UuidHashSet();
+
+        // Act
+        for (long millis = 0; millis < 100_000; millis++) {
+            set.add(new UUID(millis << 16 | 0x7000, 0x8000_0000_0000_0001L));
+        }
+
+        // Assert
+        assertThat(set.size()).isEqualTo(100_000);
+        assertThat(set.contains(new UUID(50_000L << 16 | 0x7000, 0x8000_0000_0000_0001L))).isTrue();
+        assertThat(set.contains(new UUID(100_000L << 16 | 0x7000, 0x8000_0000_0000_0001L))).isFalse();
+    }
+
+    @Test
+    void shouldRejectNilId() {
+        // Arrange
+        UuidHashSet set = new UuidHashSet();
+
+        // Act & Assert
+        assertThatThrownBy(() -> set.add(new UUID(0, 0))).isInstanceOf(IllegalArgumentException.class);
+    }
+
+}
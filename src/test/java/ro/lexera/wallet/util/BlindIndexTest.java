@@ -0,0 +1,44 @@
+package ro.lexera.wallet.util;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BlindIndexTest {
+
+    private static final String KEY = Base64.getEncoder().encodeToString("0123456789abcdef0123456789abcdef".getBytes());
+
+    private final BlindIndex blindIndex = new BlindIndex(new MockEnvironment().withProperty("wallet.pii.blind-index.key", KEY));
+
+    @Test
+    void shouldIndexNormalizedValuesDeterministically() {
+        // Act
+        String index = blindIndex.of("abc 9876");
+
+        // Assert
+        assertThat(index).hasSize(64).isEqualTo(blindIndex.of("ABC9876")).isEqualTo(blindIndex.of(" Abc\t98 76 "));
+        assertThat(index).isNotEqualTo(blindIndex.of("ABC9877"));
+        assertThat(blindIndex.of(null)).isNull();
+    }
+
+    @Test
+    void shouldDependOnTheKey() {
+        // Arrange
+        BlindIndex derived = new BlindIndex(new MockEnvironment().withProperty("jasypt.encryptor.password", "test-password"));
+
+        // Act & Assert
+        assertThat(derived.of("ABC9876")).isNotEqualTo(blindIndex.of("ABC9876"));
+    }
+
+    @Test
+    void shouldRejectShortKeys() {
+        // Act & Assert
+        assertThatThrownBy(() -> new BlindIndex(new MockEnvironment().withProperty("wallet.pii.blind-index.key", "c2hvcnQ=")))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+}
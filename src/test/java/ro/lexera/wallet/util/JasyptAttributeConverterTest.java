@@ -0,0 +1,65 @@
+package ro.lexera.wallet.util;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JasyptAttributeConverterTest {
+
+    private static final String PASSWORD = "test-password";
+
+    private static final JasyptAttributeConverter LEGACY = converter("JASYPT");
+    private static final JasyptAttributeConverter AES_GCM = converter("AES_GCM");
+
+    private static JasyptAttributeConverter converter(String mode) {
+        return new JasyptAttributeConverter(new MockEnvironment()
+                .withProperty("jasypt.encryptor.password", PASSWORD)
+                .withProperty("wallet.pii.encryption.mode", mode));
+    }
+
+    @Test
+    void shouldRoundTripWithVersionedAesGcmValues() {
+        // Act
+        String encrypted = AES_GCM.convertToDatabaseColumn("Ștefan");
+
+        // Assert
+        assertThat(encrypted).startsWith(JasyptAttributeConverter.AES_GCM_V1);
+        assertThat(encrypted).isNotEqualTo(AES_GCM.convertToDatabaseColumn("Ștefan")); // random IV
+        assertThat(AES_GCM.convertToEntityAttribute(encrypted)).isEqualTo("Ștefan");
+        assertThat(LEGACY.convertToEntityAttribute(encrypted)).isEqualTo("Ștefan");
+    }
+
+    @Test
+    void shouldStillDecryptLegacyJasyptValues() {
+        // Arrange
+        String legacy = LEGACY.convertToDatabaseColumn("1960512123456");
+
+        // Act & Assert
+        assertThat(legacy).doesNotStartWith(JasyptAttributeConverter.AES_GCM_V1);
+        assertThat(AES_GCM.convertToEntityAttribute(legacy)).isEqualTo("1960512123456");
+        assertThat(AES_GCM.needsReencryption(legacy)).isTrue();
+        assertThat(LEGACY.needsReencryption(legacy)).isFalse();
+    }
+
+    @Test
+    void shouldRejectTamperedCiphertext() {
+        // Arrange
+        String encrypted = AES_GCM.convertToDatabaseColumn("John");
+        char last = encrypted.charAt(encrypted.length() - 3);
+        String tampered = encrypted.substring(0, encrypted.length() - 3) + (last == 'A' ? 'B' : 'A') + encrypted.substring(encrypted.length() - 2);
+
+        // Act & Assert
+        assertThatThrownBy(() -> AES_GCM.convertToEntityAttribute(tampered)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void shouldRejectUnknownMode() {
+        // Act & Assert
+        assertThatThrownBy(() -> converter("ROT13"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("ROT13");
+    }
+
+}
@@ -0,0 +1,78 @@
+package ro.lexera.wallet.util;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import ro.lexera.wallet.model.entity.UserEntity;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LazyPiiConverterTest {
+
+    private static final JasyptAttributeConverter CIPHER = new JasyptAttributeConverter(new MockEnvironment()
+            .withProperty("jasypt.encryptor.password", "test-password")
+            .withProperty("wallet.pii.encryption.mode", "AES_GCM"));
+
+    private final LazyPiiConverter converter = new LazyPiiConverter(CIPHER);
+
+    @Test
+    void shouldDecryptOnFirstReadOnly() {
+        // Arrange
+        AtomicInteger decryptions = new AtomicInteger();
+        LazyPii loaded = LazyPii.encrypted(CIPHER.convertToDatabaseColumn("Popescu"), ciphertext -> {
+            decryptions.incrementAndGet();
+            return CIPHER.convertToEntityAttribute(ciphertext);
+        });
+
+        // Act & Assert
+        assertThat(loaded.isDecrypted()).isFalse();
+        assertThat(decryptions).hasValue(0);
+        assertThat(loaded.value()).isEqualTo("Popescu");
+        assertThat(loaded.value()).isEqualTo("Popescu");
+        assertThat(decryptions).hasValue(1);
+    }
+
+    @Test
+    void shouldWriteBackLoadedCiphertextUnchanged() {
+        // Arrange
+        String stored = CIPHER.convertToDatabaseColumn("1960512123456");
+
+        // Act
+        LazyPii loaded = converter.convertToEntityAttribute(stored);
+
+        // Assert
+        assertThat(converter.convertToDatabaseColumn(loaded)).isEqualTo(stored);
+        assertThat(loaded.isDecrypted()).isFalse();
+    }
+
+    @Test
+    void shouldEncryptNewValuesOnce() {
+        // Arrange
+        LazyPii created = LazyPii.of("Ion");
+
+        // Act
+        String first = converter.convertToDatabaseColumn(created);
+        String second = converter.convertToDatabaseColumn(created);
+
+        // Assert
+        assertThat(first).startsWith(JasyptAttributeConverter.AES_GCM_V1).isEqualTo(second);
+        assertThat(CIPHER.convertToEntityAttribute(first)).isEqualTo("Ion");
+        assertThat(converter.convertToEntityAttribute(first)).isEqualTo(created);
+        assertThat(converter.convertToDatabaseColumn(null)).isNull();
+        assertThat(converter.convertToEntityAttribute(null)).isNull();
+    }
+
+    @Test
+    void shouldExposePlaintextThroughUserEntity() {
+        // Act
+        UserEntity user = UserEntity.builder().firstName("John").lastName("Doe").nationalId(null).build();
+        user.setNationalId("123");
+
+        // Assert
+        assertThat(user.getFirstName()).isEqualTo("John");
+        assertThat(user.getLastName()).isEqualTo("Doe");
+        assertThat(user.getNationalId()).isEqualTo("123");
+    }
+
+}